@@ -0,0 +1,262 @@
+package com.hotel.benchmark;
+
+import com.hotel.api.ServidorApiHotel;
+import com.hotel.model.Cliente;
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Suite;
+import com.hotel.repository.impl.ClienteRepositoryEnMemoria;
+import com.hotel.repository.impl.ReservaRepositoryEnMemoria;
+import com.hotel.service.impl.ClienteServiceImpl;
+import com.hotel.service.impl.ReservaServiceImpl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga local de {@link ServidorApiHotel}. No es un benchmark JMH: levanta la API en el propio
+ * proceso con un catálogo generado con semilla fija y
+ * <ol>
+ *     <li>abre {@code inactivas} conexiones keep-alive, hace una petición por cada una y las deja abiertas
+ *     sin uso (quioscos y app móvil en reposo);</li>
+ *     <li>con esas conexiones abiertas, {@code activas} clientes, cada uno en su hilo virtual y con su
+ *     propia conexión, lanzan durante {@code segundos} una mezcla de consultas de reserva, de
+ *     disponibilidad y altas de reserva, y se informa del throughput y de los percentiles de latencia;</li>
+ *     <li>comprueba que las conexiones inactivas siguen vivas haciendo otra petición por cada una.</li>
+ * </ol>
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar com.hotel.benchmark.CargaApiHotel [inactivas] [activas] [segundos]
+ * </pre>
+ * Cada conexión consume dos descriptores de archivo (cliente y servidor en el mismo proceso), así que
+ * {@code ulimit -n} debe superar el doble de las conexiones.
+ */
+public class CargaApiHotel {
+
+    private static final int HABITACIONES_ESTANDAR = 1800;
+    private static final int SUITES = 200;
+    private static final int CLIENTES = 10_000;
+    private static final int VENTANA_DIAS = 365;
+    private static final int PORCENTAJE_ALTAS = 20;
+    private static final int PORCENTAJE_DISPONIBILIDAD = 40;
+    private static final long SEMILLA = 42;
+
+    public static void main(String[] args) throws Exception {
+        int inactivas = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int activas = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        HabitacionesEnMemoria habitaciones = new HabitacionesEnMemoria();
+        for (int i = 0; i < HABITACIONES_ESTANDAR; i++) {
+            habitaciones.guardar(new HabitacionEstandar("E" + i, 80.0, 2, "Estándar", true, true, true));
+        }
+        for (int i = 0; i < SUITES; i++) {
+            habitaciones.guardar(new Suite("S" + i, 150.0, 4, "Suite", true, true, true, 2));
+        }
+        ClienteRepositoryEnMemoria clientes = new ClienteRepositoryEnMemoria();
+        for (int i = 0; i < CLIENTES; i++) {
+            clientes.guardar(new Cliente("C" + i, "Cliente " + i, "cliente" + i + "@hotel.com", "600000000", "Calle " + i));
+        }
+        LocalDate primeraFecha = LocalDate.now().plusDays(1);
+
+        try (ServidorApiHotel api = ServidorApiHotel.iniciar(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new ReservaServiceImpl(new ReservaRepositoryEnMemoria(), clientes, habitaciones),
+                new ClienteServiceImpl(clientes));
+             ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            InetSocketAddress direccion = api.getDireccion();
+            String consultaInactiva = "/api/habitaciones/E0/disponibilidad?desde=" + primeraFecha
+                    + "&hasta=" + primeraFecha.plusDays(1);
+
+            long inicio = System.nanoTime();
+            List<Future<Conexion>> abiertas = new ArrayList<>(inactivas);
+            for (int i = 0; i < inactivas; i++) {
+                abiertas.add(hilos.submit(() -> {
+                    Conexion conexion = new Conexion(direccion);
+                    conexion.enviar("GET", consultaInactiva, null);
+                    return conexion;
+                }));
+            }
+            List<Conexion> conexionesInactivas = new ArrayList<>(inactivas);
+            for (Future<Conexion> abierta : abiertas) {
+                conexionesInactivas.add(abierta.get());
+            }
+            System.out.printf("Conexiones inactivas abiertas: %d en %d ms%n", conexionesInactivas.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+
+            long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+            AtomicInteger errores = new AtomicInteger();
+            List<Future<long[]>> clientesActivos = new ArrayList<>(activas);
+            for (int i = 0; i < activas; i++) {
+                long semilla = SEMILLA + i;
+                clientesActivos.add(hilos.submit(() -> simularCliente(direccion, primeraFecha, semilla, fin, errores)));
+            }
+            long[] latencias = new long[0];
+            for (Future<long[]> cliente : clientesActivos) {
+                long[] delCliente = cliente.get();
+                int previas = latencias.length;
+                latencias = Arrays.copyOf(latencias, previas + delCliente.length);
+                System.arraycopy(delCliente, 0, latencias, previas, delCliente.length);
+            }
+            Arrays.sort(latencias);
+            System.out.printf("Peticiones: %d en %d s con %d clientes activos (%,.0f peticiones/s), errores de red: %d%n",
+                    latencias.length, segundos, activas, latencias.length / (double) segundos, errores.get());
+            System.out.printf("Latencia p50: %.2f ms, p99: %.2f ms, p99.9: %.2f ms, máxima: %.2f ms%n",
+                    percentil(latencias, 0.50), percentil(latencias, 0.99), percentil(latencias, 0.999),
+                    percentil(latencias, 1.0));
+
+            int vivas = 0;
+            for (Conexion conexion : conexionesInactivas) {
+                try (conexion) {
+                    if (conexion.enviar("GET", consultaInactiva, null) == 200) {
+                        vivas++;
+                    }
+                } catch (IOException e) {
+                    // Conexión cerrada por el servidor durante la prueba
+                }
+            }
+            System.out.printf("Conexiones inactivas que siguen vivas: %d de %d%n", vivas, conexionesInactivas.size());
+        }
+    }
+
+    /**
+     * Lanza peticiones por una única conexión keep-alive hasta el instante {@code fin}.
+     * @return la latencia de cada petición, en nanosegundos
+     */
+    private static long[] simularCliente(InetSocketAddress direccion, LocalDate primeraFecha, long semilla, long fin,
+                                         AtomicInteger errores) throws IOException {
+        SplittableRandom aleatorio = new SplittableRandom(semilla);
+        List<String> reservasCreadas = new ArrayList<>();
+        long[] latencias = new long[1024];
+        int total = 0;
+        Conexion conexion = new Conexion(direccion);
+        try {
+            while (System.nanoTime() < fin) {
+                int tirada = aleatorio.nextInt(100);
+                LocalDate entrada = primeraFecha.plusDays(aleatorio.nextInt(VENTANA_DIAS));
+                LocalDate salida = entrada.plusDays(1 + aleatorio.nextInt(4));
+                String habitacion = aleatorio.nextInt(10) == 0 ? "S" + aleatorio.nextInt(SUITES)
+                        : "E" + aleatorio.nextInt(HABITACIONES_ESTANDAR);
+                long inicio = System.nanoTime();
+                try {
+                    if (tirada < PORCENTAJE_ALTAS || reservasCreadas.isEmpty()) {
+                        String cuerpo = "{\"clienteId\":\"C" + aleatorio.nextInt(CLIENTES) + "\",\"habitacionNumero\":\""
+                                + habitacion + "\",\"fechaCheckIn\":\"" + entrada + "\",\"fechaCheckOut\":\"" + salida
+                                + "\",\"numeroHuespedes\":1}";
+                        if (conexion.enviar("POST", "/api/reservas", cuerpo) == 201) {
+                            reservasCreadas.add(idDe(conexion.ultimoCuerpo));
+                        }
+                    } else if (tirada < PORCENTAJE_ALTAS + PORCENTAJE_DISPONIBILIDAD) {
+                        conexion.enviar("GET", "/api/habitaciones/" + habitacion + "/disponibilidad?desde=" + entrada
+                                + "&hasta=" + salida, null);
+                    } else {
+                        conexion.enviar("GET", "/api/reservas/"
+                                + reservasCreadas.get(aleatorio.nextInt(reservasCreadas.size())), null);
+                    }
+                } catch (IOException e) {
+                    errores.incrementAndGet();
+                    conexion.close();
+                    conexion = new Conexion(direccion);
+                    continue;
+                }
+                if (total == latencias.length) {
+                    latencias = Arrays.copyOf(latencias, total * 2);
+                }
+                latencias[total++] = System.nanoTime() - inicio;
+            }
+        } finally {
+            conexion.close();
+        }
+        return Arrays.copyOf(latencias, total);
+    }
+
+    private static String idDe(String json) {
+        int inicio = json.indexOf("\"id\":\"") + 6;
+        return json.substring(inicio, json.indexOf('"', inicio));
+    }
+
+    private static double percentil(long[] ordenadas, double fraccion) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(fraccion * ordenadas.length) - 1);
+        return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+    }
+
+    /**
+     * Cliente HTTP/1.1 mínimo sobre un socket keep-alive; lee las respuestas por {@code Content-Length}.
+     */
+    private static final class Conexion implements AutoCloseable {
+        private final Socket socket;
+        private final InputStream entrada;
+        private final OutputStream salida;
+        private final String host;
+        private String ultimoCuerpo;
+
+        private Conexion(InetSocketAddress direccion) throws IOException {
+            this.socket = new Socket(direccion.getAddress(), direccion.getPort());
+            this.socket.setTcpNoDelay(true);
+            this.entrada = new BufferedInputStream(socket.getInputStream());
+            this.salida = socket.getOutputStream();
+            this.host = direccion.getHostString() + ":" + direccion.getPort();
+        }
+
+        /**
+         * @return el código de estado de la respuesta
+         */
+        private int enviar(String metodo, String ruta, String cuerpo) throws IOException {
+            byte[] bytesCuerpo = cuerpo != null ? cuerpo.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            String cabecera = metodo + " " + ruta + " HTTP/1.1\r\nHost: " + host
+                    + "\r\nContent-Type: application/json\r\nContent-Length: " + bytesCuerpo.length + "\r\n\r\n";
+            salida.write(cabecera.getBytes(StandardCharsets.US_ASCII));
+            salida.write(bytesCuerpo);
+            salida.flush();
+
+            String lineaEstado = leerLinea();
+            if (lineaEstado == null) {
+                throw new IOException("El servidor cerró la conexión");
+            }
+            int estado = Integer.parseInt(lineaEstado.substring(9, 12));
+            int longitud = 0;
+            String linea;
+            while ((linea = leerLinea()) != null && !linea.isEmpty()) {
+                if (linea.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    longitud = Integer.parseInt(linea.substring(15).trim());
+                }
+            }
+            ultimoCuerpo = new String(entrada.readNBytes(longitud), StandardCharsets.UTF_8);
+            return estado;
+        }
+
+        private String leerLinea() throws IOException {
+            ByteArrayOutputStream linea = new ByteArrayOutputStream(64);
+            int b;
+            while ((b = entrada.read()) != -1) {
+                if (b == '\n') {
+                    return linea.toString(StandardCharsets.US_ASCII).stripTrailing();
+                }
+                linea.write(b);
+            }
+            return linea.size() > 0 ? linea.toString(StandardCharsets.US_ASCII) : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotel.benchmark;
+
+import com.hotel.model.CheckIn;
+import com.hotel.model.CheckOut;
+import com.hotel.model.Huesped;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de registrar los huéspedes de un check-in y de liquidar un check-out con totales {@link BigDecimal}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckInCheckOutBenchmark {
+
+    private static final int HUESPEDES = 4;
+
+    private Huesped[] huespedes;
+    private BigDecimal totalEstadia;
+    private BigDecimal totalServicios;
+
+    @Setup
+    public void preparar() {
+        huespedes = new Huesped[HUESPEDES];
+        for (int i = 0; i < HUESPEDES; i++) {
+            Huesped huesped = new Huesped();
+            huesped.setId("H" + i);
+            huesped.setNombre("Huésped " + i);
+            huesped.setApellido("Apellido");
+            huesped.setTipoDocumento("DNI");
+            huesped.setNumeroDocumento("0000000" + i);
+            huesped.setTitular(i == 0);
+            huespedes[i] = huesped;
+        }
+        totalEstadia = new BigDecimal("450.00");
+        totalServicios = new BigDecimal("87.35");
+    }
+
+    @Benchmark
+    public CheckIn agregarHuespedes() {
+        CheckIn checkIn = new CheckIn();
+        checkIn.setCapacidadMaxima(HUESPEDES);
+        for (Huesped huesped : huespedes) {
+            checkIn.agregarHuesped(huesped);
+        }
+        return checkIn;
+    }
+
+    @Benchmark
+    public CheckOut liquidar() {
+        CheckOut checkOut = new CheckOut();
+        checkOut.setCheckInId("CI-1");
+        checkOut.liquidar(totalEstadia, totalServicios, "TARJETA", "REF-1");
+        return checkOut;
+    }
+}
@@ -0,0 +1,92 @@
+package com.hotel.benchmark;
+
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Suite;
+import com.hotel.tarifa.MotorTarifas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cotización de estancias con el motor de tarifas: un año de tarifas por noche que cambian cada semana
+ * para cada tipo de habitación, y estancias de 1 a 7 noches. La cotización por tramos no debería
+ * asignar memoria ({@code gc.alloc.rate.norm} ≈ 0). También mide la publicación en bloque de un año
+ * de tarifas para los dos tipos.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CotizacionBenchmark {
+
+    private static final int HORIZONTE_DIAS = 365;
+    private static final int CONSULTAS = 4096;
+
+    private MotorTarifas motor;
+    private HabitacionEstandar estandar;
+    private Suite suite;
+    private long[] tarifasAnuales;
+    private LocalDate origen;
+    private long[] consultasInicio;
+    private long[] consultasFin;
+    private int siguiente;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        origen = LocalDate.now();
+        estandar = new HabitacionEstandar("101", 100.0, 2, "Habitación estándar", true, true, true);
+        suite = new Suite("501", 250.0, 4, "Suite", true, true, true, 2);
+        tarifasAnuales = new long[HORIZONTE_DIAS];
+        for (int dia = 0; dia < HORIZONTE_DIAS; dia++) {
+            tarifasAnuales[dia] = 10_000 + (dia / 7 % 8) * 1_500L;
+        }
+        motor = new MotorTarifas();
+        motor.establecerTarifasPorNoche(estandar.getTipo(), origen, tarifasAnuales);
+        motor.establecerTarifasPorNoche(suite.getTipo(), origen, tarifasAnuales);
+        consultasInicio = new long[CONSULTAS];
+        consultasFin = new long[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            consultasInicio[i] = origen.toEpochDay() + aleatorio.nextInt(HORIZONTE_DIAS - 7);
+            consultasFin[i] = consultasInicio[i] + 1 + aleatorio.nextInt(7);
+        }
+    }
+
+    @Benchmark
+    public long cotizarEstandar() {
+        int i = siguienteConsulta();
+        return motor.cotizar(estandar.getTipo(), 10_000, 0, consultasInicio[i], consultasFin[i]);
+    }
+
+    @Benchmark
+    public long cotizarSuiteDesdeHabitacion() {
+        int i = siguienteConsulta();
+        return motor.cotizar(suite, LocalDate.ofEpochDay(consultasInicio[i]), LocalDate.ofEpochDay(consultasFin[i]));
+    }
+
+    @Benchmark
+    public MotorTarifas publicarAnoCompleto() {
+        motor.establecerTarifasPorNoche(estandar.getTipo(), origen, tarifasAnuales);
+        motor.establecerTarifasPorNoche(suite.getTipo(), origen, tarifasAnuales);
+        return motor;
+    }
+
+    private int siguienteConsulta() {
+        int i = siguiente;
+        siguiente = (i + 1) & (CONSULTAS - 1);
+        return i;
+    }
+}
@@ -0,0 +1,121 @@
+package com.hotel.benchmark;
+
+import com.hotel.dto.ReservaDTO;
+import com.hotel.exception.HabitacionNoDisponibleException;
+import com.hotel.model.Cliente;
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Suite;
+import com.hotel.repository.impl.ClienteRepositoryEnMemoria;
+import com.hotel.repository.impl.ReservaRepositoryEnMemoria;
+import com.hotel.service.ReservaService;
+import com.hotel.service.impl.ReservaServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de {@link ReservaService#crearReserva} bajo una venta flash: la mayoría de las
+ * solicitudes se concentran en unas pocas suites promocionadas y el resto se reparte por el catálogo.
+ * Cada método fija un número de hilos distinto para obtener la curva de escalado de 1 a N núcleos:
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar CrearReservaConcurrenteBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CrearReservaConcurrenteBenchmark {
+
+    private static final int HABITACIONES_ESTANDAR = 1800;
+    private static final int SUITES = 200;
+    private static final int SUITES_PROMOCIONADAS = 40;
+    private static final int PORCENTAJE_DEMANDA_PROMOCION = 90;
+    private static final int CLIENTES = 10_000;
+    private static final int VENTANA_DIAS = 180;
+
+    private ReservaService reservaService;
+    private LocalDate primeraFecha;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        HabitacionesEnMemoria habitaciones = new HabitacionesEnMemoria();
+        for (int i = 0; i < HABITACIONES_ESTANDAR; i++) {
+            habitaciones.guardar(new HabitacionEstandar("E" + i, 80.0, 2, "Estándar", true, true, true));
+        }
+        for (int i = 0; i < SUITES; i++) {
+            habitaciones.guardar(new Suite("S" + i, 150.0, 4, "Suite", true, true, true, 2));
+        }
+        ClienteRepositoryEnMemoria clientes = new ClienteRepositoryEnMemoria();
+        for (int i = 0; i < CLIENTES; i++) {
+            clientes.guardar(new Cliente("C" + i, "Cliente " + i, "cliente" + i + "@hotel.com", "600000000", "Calle " + i));
+        }
+        reservaService = new ReservaServiceImpl(new ReservaRepositoryEnMemoria(), clientes, habitaciones);
+        primeraFecha = LocalDate.now().plusDays(1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object unHilo() {
+        return reservar();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Object dosHilos() {
+        return reservar();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object cuatroHilos() {
+        return reservar();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object ochoHilos() {
+        return reservar();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object todosLosNucleos() {
+        return reservar();
+    }
+
+    private Object reservar() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        String habitacion = aleatorio.nextInt(100) < PORCENTAJE_DEMANDA_PROMOCION
+                ? "S" + aleatorio.nextInt(SUITES_PROMOCIONADAS)
+                : aleatorio.nextBoolean() ? "E" + aleatorio.nextInt(HABITACIONES_ESTANDAR) : "S" + aleatorio.nextInt(SUITES);
+        LocalDate checkIn = primeraFecha.plusDays(aleatorio.nextInt(VENTANA_DIAS));
+
+        ReservaDTO solicitud = new ReservaDTO();
+        solicitud.setClienteId("C" + aleatorio.nextInt(CLIENTES));
+        solicitud.setHabitacionNumero(habitacion);
+        solicitud.setFechaCheckIn(checkIn);
+        solicitud.setFechaCheckOut(checkIn.plusDays(1 + aleatorio.nextInt(4)));
+        solicitud.setNumeroHuespedes(1);
+        try {
+            return reservaService.crearReserva(solicitud);
+        } catch (HabitacionNoDisponibleException e) {
+            return e;
+        }
+    }
+}
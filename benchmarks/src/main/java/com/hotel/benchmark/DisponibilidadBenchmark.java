@@ -0,0 +1,92 @@
+package com.hotel.benchmark;
+
+import com.hotel.disponibilidad.IndiceDisponibilidad;
+import com.hotel.disponibilidad.MatrizOcupacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de disponibilidad sobre un hotel de tamaño realista: 2.000 habitaciones con un año de
+ * reservas (estancias de 1 a 7 noches, ~75 % de ocupación). Mide la comprobación de una habitación
+ * en el índice de intervalos y la búsqueda de habitaciones libres en todo el catálogo con la matriz.
+ * Las consultas se generan con semilla fija para que los resultados sean reproducibles.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DisponibilidadBenchmark {
+
+    private static final int HABITACIONES = 2000;
+    private static final int HORIZONTE_DIAS = 365;
+    private static final int CONSULTAS = 4096;
+
+    private IndiceDisponibilidad indice;
+    private MatrizOcupacion matriz;
+    private String[] consultasHabitacion;
+    private LocalDate[] consultasInicio;
+    private int siguiente;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        LocalDate origen = LocalDate.now();
+        indice = new IndiceDisponibilidad();
+        matriz = MatrizOcupacion.enHeap(origen, HORIZONTE_DIAS, HABITACIONES);
+        for (int h = 0; h < HABITACIONES; h++) {
+            String numero = "H" + h;
+            matriz.registrarHabitacion(numero);
+            int dia = 0;
+            int reserva = 0;
+            while (dia < HORIZONTE_DIAS - 7) {
+                int noches = 1 + aleatorio.nextInt(7);
+                LocalDate inicio = origen.plusDays(dia);
+                LocalDate fin = inicio.plusDays(noches);
+                indice.ocupar(numero, numero + "-" + reserva++, inicio, fin);
+                matriz.ocupar(numero, inicio, fin);
+                // Huecos de 0 a 4 noches entre estancias
+                dia += noches + aleatorio.nextInt(5);
+            }
+        }
+        consultasHabitacion = new String[CONSULTAS];
+        consultasInicio = new LocalDate[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            consultasHabitacion[i] = "H" + aleatorio.nextInt(HABITACIONES);
+            consultasInicio[i] = origen.plusDays(aleatorio.nextInt(HORIZONTE_DIAS - 7));
+        }
+    }
+
+    @Benchmark
+    public boolean estaDisponibleIndice() {
+        int i = siguienteConsulta();
+        LocalDate inicio = consultasInicio[i];
+        return indice.estaDisponible(consultasHabitacion[i], inicio, inicio.plusDays(3));
+    }
+
+    @Benchmark
+    public List<String> habitacionesLibresMatriz() {
+        LocalDate inicio = consultasInicio[siguienteConsulta()];
+        return matriz.habitacionesLibres(inicio, inicio.plusDays(3)).orElseThrow();
+    }
+
+    private int siguienteConsulta() {
+        int i = siguiente;
+        siguiente = (i + 1) & (CONSULTAS - 1);
+        return i;
+    }
+}
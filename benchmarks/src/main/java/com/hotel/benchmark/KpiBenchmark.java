@@ -0,0 +1,98 @@
+package com.hotel.benchmark;
+
+import com.hotel.analitica.AlmacenColumnarReservas;
+import com.hotel.analitica.InformeKpi;
+import com.hotel.analitica.MotorKpi;
+import com.hotel.model.Cliente;
+import com.hotel.model.Habitacion;
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Reserva;
+import com.hotel.model.Suite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de ocupación, ADR y RevPAR para un hotel de 2.000 habitaciones con tres años de reservas
+ * (cerca de medio millón) de 1 a 6 noches y estados variados. El objetivo es que un informe de todo
+ * el periodo tarde bastante menos de un segundo. Las variantes {@code Columnar} recorren la proyección
+ * columnar en lugar de los objetos {@code Reserva}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KpiBenchmark {
+
+    private static final int HABITACIONES = 2_000;
+    private static final int HORIZONTE_DIAS = 3 * 365;
+
+    private MotorKpi motor;
+    private List<Habitacion> habitaciones;
+    private List<Reserva> reservas;
+    private AlmacenColumnarReservas almacen;
+    private LocalDate origen;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        origen = LocalDate.now();
+        Cliente cliente = new Cliente("C1", "Cliente", "cliente@hotel.com", "600000000", "Dirección");
+        Reserva.EstadoReserva[] estados = Reserva.EstadoReserva.values();
+        habitaciones = new ArrayList<>(HABITACIONES);
+        for (int i = 0; i < HABITACIONES; i++) {
+            habitaciones.add(i % 5 == 0
+                    ? new Suite("S" + i, 250.0, 4, "Suite", true, true, true, 2)
+                    : new HabitacionEstandar("E" + i, 100.0, 2, "Habitación estándar", true, true, true));
+        }
+        reservas = new ArrayList<>();
+        for (Habitacion habitacion : habitaciones) {
+            int dia = 0;
+            while (dia < HORIZONTE_DIAS) {
+                int noches = 1 + aleatorio.nextInt(6);
+                reservas.add(Reserva.restaurar("R" + reservas.size(), cliente, habitacion, origen.plusDays(dia),
+                        origen.plusDays(dia + noches), 1, estados[aleatorio.nextInt(estados.length)],
+                        noches * habitacion.getPrecioPorNoche(), origen, ""));
+                dia += noches + aleatorio.nextInt(3);
+            }
+        }
+        almacen = new AlmacenColumnarReservas();
+        almacen.actualizarLote(reservas);
+        motor = new MotorKpi(null, null);
+    }
+
+    @Benchmark
+    public InformeKpi informeTresAnos() {
+        return motor.calcular(origen, origen.plusDays(HORIZONTE_DIAS), reservas, habitaciones);
+    }
+
+    @Benchmark
+    public InformeKpi informeUnMes() {
+        return motor.calcular(origen.plusDays(365), origen.plusDays(395), reservas, habitaciones);
+    }
+
+    @Benchmark
+    public InformeKpi informeTresAnosColumnar() {
+        return motor.calcular(origen, origen.plusDays(HORIZONTE_DIAS), almacen, habitaciones);
+    }
+
+    @Benchmark
+    public InformeKpi informeUnMesColumnar() {
+        return motor.calcular(origen.plusDays(365), origen.plusDays(395), almacen, habitaciones);
+    }
+}
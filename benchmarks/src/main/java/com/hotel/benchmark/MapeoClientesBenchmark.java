@@ -0,0 +1,64 @@
+package com.hotel.benchmark;
+
+import com.hotel.dto.ClienteDTO;
+import com.hotel.dto.mapper.ClienteMapper;
+import com.hotel.model.Cliente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de convertir un listado de clientes a DTOs (exportación al CRM): copia reflexiva con
+ * {@link BeanUtils#copyProperties} frente a {@link ClienteMapper}.
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar MapeoClientesBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoClientesBenchmark {
+
+    private static final int CLIENTES = 100_000;
+
+    private List<Cliente> clientes;
+
+    @Setup
+    public void preparar() {
+        clientes = new ArrayList<>(CLIENTES);
+        for (int i = 0; i < CLIENTES; i++) {
+            clientes.add(new Cliente("C" + i, "Cliente " + i, "cliente" + i + "@hotel.com", "600000000", "Calle " + i));
+        }
+    }
+
+    @Benchmark
+    public List<ClienteDTO> reflexivo() {
+        List<ClienteDTO> dtos = new ArrayList<>(clientes.size());
+        for (Cliente cliente : clientes) {
+            ClienteDTO dto = new ClienteDTO();
+            BeanUtils.copyProperties(cliente, dto);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<ClienteDTO> explicito() {
+        return ClienteMapper.aDTOs(clientes);
+    }
+}
@@ -0,0 +1,61 @@
+package com.hotel.benchmark;
+
+import com.hotel.dto.HabitacionDTO;
+import com.hotel.dto.ReservaDTO;
+import com.hotel.model.Cliente;
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Reserva;
+import com.hotel.model.Suite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de construir los DTOs de reservas y de habitaciones de ambos subtipos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapeoDTOBenchmark {
+
+    private Reserva reserva;
+    private HabitacionEstandar estandar;
+    private Suite suite;
+
+    @Setup
+    public void preparar() {
+        Cliente cliente = new Cliente("C1", "Cliente", "cliente@hotel.com", "600000000", "Calle 1");
+        estandar = new HabitacionEstandar("101", 80.0, 2, "Estándar", true, true, true);
+        suite = new Suite("201", 150.0, 4, "Suite", true, true, true, 2);
+        LocalDate checkIn = LocalDate.now().plusDays(7);
+        reserva = new Reserva(cliente, suite, checkIn, checkIn.plusDays(3), 3, "Aniversario");
+    }
+
+    @Benchmark
+    public ReservaDTO reserva() {
+        return new ReservaDTO(reserva);
+    }
+
+    @Benchmark
+    public HabitacionDTO habitacionEstandar() {
+        return new HabitacionDTO(estandar);
+    }
+
+    @Benchmark
+    public HabitacionDTO suite() {
+        return new HabitacionDTO(suite);
+    }
+}
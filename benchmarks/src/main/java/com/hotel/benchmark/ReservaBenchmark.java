@@ -0,0 +1,66 @@
+package com.hotel.benchmark;
+
+import com.hotel.model.Cliente;
+import com.hotel.model.Habitacion;
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Reserva;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de construir una {@link Reserva} y de recorrer sus transiciones de estado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReservaBenchmark {
+
+    private Cliente cliente;
+    private Habitacion habitacion;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void preparar() {
+        cliente = new Cliente("C1", "Cliente", "cliente@hotel.com", "600000000", "Calle 1");
+        habitacion = new HabitacionEstandar("101", 80.0, 2, "Estándar", true, true, true);
+        checkIn = LocalDate.now().plusDays(7);
+        checkOut = checkIn.plusDays(3);
+    }
+
+    @Benchmark
+    public Reserva crear() {
+        return new Reserva(cliente, habitacion, checkIn, checkOut, 2, "Llegada tarde");
+    }
+
+    @Benchmark
+    public Reserva cicloCompleto() {
+        Reserva reserva = new Reserva(cliente, habitacion, checkIn, checkOut, 2, "Llegada tarde");
+        reserva.confirmar();
+        reserva.registrarCheckIn();
+        reserva.registrarCheckOut();
+        return reserva;
+    }
+
+    @Benchmark
+    public Reserva cancelar() {
+        Reserva reserva = new Reserva(cliente, habitacion, checkIn, checkOut, 2, "Llegada tarde");
+        reserva.confirmar();
+        reserva.cancelar("Cambio de planes");
+        return reserva;
+    }
+}
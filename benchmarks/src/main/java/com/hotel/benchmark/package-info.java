@@ -0,0 +1,18 @@
+/**
+ * Benchmarks JMH de las rutas críticas del sistema de reservas.
+ * <p>
+ * Se compilan en un proyecto Maven independiente que depende del artefacto principal:
+ * <pre>
+ *     mvn -B install                       # en la raíz, instala sistema_reservas_hotel
+ *     mvn -B -f benchmarks/pom.xml package
+ *     java -jar benchmarks/target/benchmarks.jar -prof gc -rf json -rff resultados.json
+ * </pre>
+ * Con {@code -prof gc} JMH informa {@code gc.alloc.rate.norm} (bytes asignados por operación),
+ * que junto con el throughput es la métrica a vigilar como presupuesto de rendimiento: es estable
+ * entre máquinas y cualquier asignación nueva en una ruta crítica se ve en ella directamente.
+ * Todos los benchmarks usan datos generados con semilla fija o deterministas.
+ * <p>
+ * {@link com.hotel.benchmark.CargaApiHotel} no es un benchmark JMH sino una prueba de carga de la API
+ * HTTP con miles de conexiones keep-alive abiertas; se lanza con su propio {@code main}.
+ */
+package com.hotel.benchmark;
@@ -0,0 +1,307 @@
+package com.hotel.analitica;
+
+import com.hotel.model.Reserva;
+import com.hotel.model.Reserva.EstadoReserva;
+import com.hotel.tarifa.Montos;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Proyección columnar de las reservas para recorridos analíticos.
+ * <p>
+ * Cada atributo que usan los informes se guarda en su propio arreglo primitivo (días epoch de entrada y
+ * salida, ordinal de habitación, estado y tipo codificados por diccionario, monto en unidades mínimas y
+ * huéspedes), de modo que filtrar y agregar recorre memoria contigua en lugar de saltar por
+ * {@code Reserva → Habitacion → Cliente}. Las filas se mantienen densas: al retirar una reserva, la
+ * última fila ocupa su hueco.
+ * <p>
+ * Se mantiene de forma incremental desde el repositorio de reservas en cada guardado y eliminación,
+ * así que los informes nunca necesitan reconstruirla. Es seguro para hilos.
+ */
+public class AlmacenColumnarReservas {
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    private final ReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    private final Map<String, Integer> filaPorId = new HashMap<>();
+    private final Diccionario habitaciones = new Diccionario();
+    private final Diccionario tipos = new Diccionario();
+
+    private String[] ids = new String[CAPACIDAD_INICIAL];
+    int[] checkIn = new int[CAPACIDAD_INICIAL];
+    int[] checkOut = new int[CAPACIDAD_INICIAL];
+    int[] habitacion = new int[CAPACIDAD_INICIAL];
+    byte[] estado = new byte[CAPACIDAD_INICIAL];
+    short[] tipo = new short[CAPACIDAD_INICIAL];
+    long[] monto = new long[CAPACIDAD_INICIAL];
+    short[] huespedes = new short[CAPACIDAD_INICIAL];
+    int filas;
+
+    /**
+     * Inserta la reserva o sustituye su fila con los valores actuales.
+     * @param reserva La reserva guardada
+     */
+    public void actualizar(Reserva reserva) {
+        bloqueo.writeLock().lock();
+        try {
+            escribir(reserva);
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserta o sustituye las filas de varias reservas bajo un único bloqueo.
+     * @param reservas Las reservas guardadas
+     */
+    public void actualizarLote(List<Reserva> reservas) {
+        bloqueo.writeLock().lock();
+        try {
+            for (Reserva reserva : reservas) {
+                escribir(reserva);
+            }
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retira la fila de una reserva.
+     * @param id ID de la reserva
+     * @return true si la reserva estaba en el almacén
+     */
+    public boolean retirar(String id) {
+        bloqueo.writeLock().lock();
+        try {
+            Integer fila = filaPorId.remove(id);
+            if (fila == null) {
+                return false;
+            }
+            int ultima = --filas;
+            if (fila != ultima) {
+                moverFila(ultima, fila);
+                filaPorId.put(ids[fila], fila);
+            }
+            ids[ultima] = null;
+            return true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return el número de reservas en el almacén
+     */
+    public int getFilas() {
+        bloqueo.readLock().lock();
+        try {
+            return filas;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return los tipos de habitación vistos en las reservas, en el orden de su código de diccionario
+     */
+    public List<String> getTipos() {
+        bloqueo.readLock().lock();
+        try {
+            return List.copyOf(tipos.valores);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega las reservas cuya estancia se solapa con [desde, hasta).
+     * @param desde Primera noche del rango
+     * @param hasta Día siguiente a la última noche del rango
+     * @param tipoHabitacion Tipo de habitación, o null para todos
+     * @param estados Estados a incluir, o null/vacío para todos
+     * @return el resumen con las reservas, las noches dentro del rango, los huéspedes y la suma de montos
+     */
+    public ResumenReservas resumir(LocalDate desde, LocalDate hasta, String tipoHabitacion, Set<EstadoReserva> estados) {
+        int inicio = Math.toIntExact(desde.toEpochDay());
+        int fin = Math.toIntExact(hasta.toEpochDay());
+        int mascaraEstados = mascaraDe(estados);
+        return leer(() -> {
+            int codigoTipo = codigoTipo(tipoHabitacion);
+            if (codigoTipo == Diccionario.AUSENTE) {
+                return new ResumenReservas(0, 0, 0, 0);
+            }
+            int reservas = 0;
+            long noches = 0;
+            long totalHuespedes = 0;
+            long total = 0;
+            for (int i = 0; i < filas; i++) {
+                int entrada = Math.max(checkIn[i], inicio);
+                int salida = Math.min(checkOut[i], fin);
+                if (entrada >= salida || (mascaraEstados & (1 << estado[i])) == 0
+                        || (codigoTipo >= 0 && tipo[i] != codigoTipo)) {
+                    continue;
+                }
+                reservas++;
+                noches += salida - entrada;
+                totalHuespedes += huespedes[i];
+                total += monto[i];
+            }
+            return new ResumenReservas(reservas, noches, totalHuespedes, total);
+        });
+    }
+
+    /**
+     * Cuenta por estado las reservas cuya estancia se solapa con [desde, hasta).
+     * @param desde Primera noche del rango
+     * @param hasta Día siguiente a la última noche del rango
+     * @return el número de reservas de cada estado
+     */
+    public Map<EstadoReserva, Integer> contarPorEstado(LocalDate desde, LocalDate hasta) {
+        int inicio = Math.toIntExact(desde.toEpochDay());
+        int fin = Math.toIntExact(hasta.toEpochDay());
+        int[] conteos = leer(() -> {
+            int[] resultado = new int[EstadoReserva.values().length];
+            for (int i = 0; i < filas; i++) {
+                if (checkIn[i] < fin && checkOut[i] > inicio) {
+                    resultado[estado[i]]++;
+                }
+            }
+            return resultado;
+        });
+        Map<EstadoReserva, Integer> porEstado = new EnumMap<>(EstadoReserva.class);
+        for (EstadoReserva e : EstadoReserva.values()) {
+            porEstado.put(e, conteos[e.ordinal()]);
+        }
+        return porEstado;
+    }
+
+    // Métodos auxiliares
+    /**
+     * Ejecuta un recorrido con el bloqueo de lectura: los arreglos y {@link #filas} no cambian mientras dura.
+     */
+    <T> T leer(Supplier<T> recorrido) {
+        bloqueo.readLock().lock();
+        try {
+            return recorrido.get();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre del tipo con el código indicado; solo debe llamarse dentro de {@link #leer}.
+     */
+    String nombreTipo(int codigo) {
+        return tipos.valores.get(codigo);
+    }
+
+    /**
+     * Código del tipo (sin distinguir mayúsculas), -1 si es null (todos) o {@link Diccionario#AUSENTE}
+     * si no hay reservas de ese tipo; solo debe llamarse dentro de {@link #leer}.
+     */
+    int codigoTipo(String tipoHabitacion) {
+        if (tipoHabitacion == null) {
+            return -1;
+        }
+        return tipos.codigoDe(tipoHabitacion.toUpperCase(Locale.ROOT));
+    }
+
+    int numeroTipos() {
+        return tipos.valores.size();
+    }
+
+    static int mascaraDe(Set<EstadoReserva> estados) {
+        if (estados == null || estados.isEmpty()) {
+            return -1;
+        }
+        int mascara = 0;
+        for (EstadoReserva e : estados) {
+            mascara |= 1 << e.ordinal();
+        }
+        return mascara;
+    }
+
+    private void escribir(Reserva reserva) {
+        Integer existente = filaPorId.get(reserva.getId());
+        int fila;
+        if (existente != null) {
+            fila = existente;
+        } else {
+            if (filas == ids.length) {
+                crecer();
+            }
+            fila = filas++;
+            ids[fila] = reserva.getId();
+            filaPorId.put(reserva.getId(), fila);
+        }
+        checkIn[fila] = Math.toIntExact(reserva.getFechaCheckIn().toEpochDay());
+        checkOut[fila] = Math.toIntExact(reserva.getFechaCheckOut().toEpochDay());
+        habitacion[fila] = habitaciones.codificar(reserva.getHabitacion().getNumeroHabitacion(),
+                reserva.getHabitacion().getNumeroHabitacion());
+        estado[fila] = (byte) reserva.getEstado().ordinal();
+        String nombreTipo = reserva.getHabitacion().getTipo();
+        tipo[fila] = (short) tipos.codificar(nombreTipo.toUpperCase(Locale.ROOT), nombreTipo);
+        monto[fila] = Montos.aUnidadesMinimas(reserva.getMontoTotal());
+        huespedes[fila] = (short) reserva.getNumeroHuespedes();
+    }
+
+    private void moverFila(int origen, int destino) {
+        ids[destino] = ids[origen];
+        checkIn[destino] = checkIn[origen];
+        checkOut[destino] = checkOut[origen];
+        habitacion[destino] = habitacion[origen];
+        estado[destino] = estado[origen];
+        tipo[destino] = tipo[origen];
+        monto[destino] = monto[origen];
+        huespedes[destino] = huespedes[origen];
+    }
+
+    private void crecer() {
+        int capacidad = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacidad);
+        checkIn = Arrays.copyOf(checkIn, capacidad);
+        checkOut = Arrays.copyOf(checkOut, capacidad);
+        habitacion = Arrays.copyOf(habitacion, capacidad);
+        estado = Arrays.copyOf(estado, capacidad);
+        tipo = Arrays.copyOf(tipo, capacidad);
+        monto = Arrays.copyOf(monto, capacidad);
+        huespedes = Arrays.copyOf(huespedes, capacidad);
+    }
+
+    /**
+     * Codificación por diccionario: cada clave distinta recibe el siguiente entero. Los códigos no se
+     * reutilizan aunque ya no quede ninguna fila con la clave.
+     */
+    private static final class Diccionario {
+        private static final int AUSENTE = Integer.MIN_VALUE;
+
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private final List<String> valores = new ArrayList<>();
+
+        private int codificar(String clave, String valor) {
+            Integer codigo = codigos.get(clave);
+            if (codigo == null) {
+                codigo = valores.size();
+                codigos.put(clave, codigo);
+                valores.add(valor);
+            }
+            return codigo;
+        }
+
+        private int codigoDe(String clave) {
+            Integer codigo = codigos.get(clave);
+            return codigo != null ? codigo : AUSENTE;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotel.analitica;
+
+/**
+ * Indicadores de revenue de un periodo (una noche o un rango) para un tipo de habitación o para todo el hotel.
+ * Los importes están en unidades mínimas de la moneda ({@link com.hotel.tarifa.Montos}).
+ */
+public class IndicadoresKpi {
+
+    private final long nochesDisponibles;
+    private final long nochesVendidas;
+    private final long ingresos;
+
+    public IndicadoresKpi(long nochesDisponibles, long nochesVendidas, long ingresos) {
+        this.nochesDisponibles = nochesDisponibles;
+        this.nochesVendidas = nochesVendidas;
+        this.ingresos = ingresos;
+    }
+
+    /**
+     * @return la ocupación como fracción entre 0 y 1 (noches vendidas / noches disponibles)
+     */
+    public double getOcupacion() {
+        return nochesDisponibles > 0 ? (double) nochesVendidas / nochesDisponibles : 0;
+    }
+
+    /**
+     * @return la tarifa media diaria (ADR): ingresos / noches vendidas, en unidades mínimas
+     */
+    public double getAdr() {
+        return nochesVendidas > 0 ? (double) ingresos / nochesVendidas : 0;
+    }
+
+    /**
+     * @return el ingreso por habitación disponible (RevPAR): ingresos / noches disponibles, en unidades mínimas
+     */
+    public double getRevPar() {
+        return nochesDisponibles > 0 ? (double) ingresos / nochesDisponibles : 0;
+    }
+
+    // Getters
+    public long getNochesDisponibles() {
+        return nochesDisponibles;
+    }
+
+    public long getNochesVendidas() {
+        return nochesVendidas;
+    }
+
+    public long getIngresos() {
+        return ingresos;
+    }
+
+    @Override
+    public String toString() {
+        return "IndicadoresKpi{" +
+                "nochesDisponibles=" + nochesDisponibles +
+                ", nochesVendidas=" + nochesVendidas +
+                ", ingresos=" + ingresos +
+                ", ocupacion=" + getOcupacion() +
+                ", adr=" + getAdr() +
+                ", revPar=" + getRevPar() +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+package com.hotel.analitica;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resultado del {@link MotorKpi} para un rango de noches: noches vendidas e ingresos por noche y tipo de
+ * habitación, más la oferta de habitaciones de cada tipo. Los indicadores se derivan bajo demanda sin
+ * recorrer las reservas de nuevo.
+ */
+public class InformeKpi {
+
+    private final LocalDate desde;
+    private final int dias;
+    private final String[] tipos;
+    private final int[] habitacionesPorTipo;
+    private final long[][] nochesVendidas;
+    private final long[][] ingresos;
+
+    InformeKpi(LocalDate desde, int dias, String[] tipos, int[] habitacionesPorTipo,
+               long[][] nochesVendidas, long[][] ingresos) {
+        this.desde = desde;
+        this.dias = dias;
+        this.tipos = tipos;
+        this.habitacionesPorTipo = habitacionesPorTipo;
+        this.nochesVendidas = nochesVendidas;
+        this.ingresos = ingresos;
+    }
+
+    /**
+     * Indicadores de una noche.
+     * @param tipo Tipo de habitación, o null para todo el hotel
+     * @param fecha La noche
+     * @return los indicadores de esa noche
+     * @throws IllegalArgumentException Si la noche está fuera del rango del informe
+     */
+    public IndicadoresKpi indicadoresDe(String tipo, LocalDate fecha) {
+        int dia = Math.toIntExact(fecha.toEpochDay() - desde.toEpochDay());
+        if (dia < 0 || dia >= dias) {
+            throw new IllegalArgumentException("La noche " + fecha + " está fuera del rango del informe");
+        }
+        return sumar(tipo, dia, dia + 1);
+    }
+
+    /**
+     * Indicadores acumulados de todo el rango del informe.
+     * @param tipo Tipo de habitación, o null para todo el hotel
+     * @return los indicadores del rango
+     */
+    public IndicadoresKpi indicadoresDelRango(String tipo) {
+        return sumar(tipo, 0, dias);
+    }
+
+    /**
+     * Serie diaria de indicadores, una entrada por noche del rango.
+     * @param tipo Tipo de habitación, o null para todo el hotel
+     * @return los indicadores de cada noche, en orden
+     */
+    public List<IndicadoresKpi> serieDiaria(String tipo) {
+        List<IndicadoresKpi> serie = new ArrayList<>(dias);
+        for (int dia = 0; dia < dias; dia++) {
+            serie.add(sumar(tipo, dia, dia + 1));
+        }
+        return serie;
+    }
+
+    /**
+     * @return los tipos de habitación presentes en el informe
+     */
+    public List<String> getTipos() {
+        return List.of(tipos);
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    public LocalDate getHasta() {
+        return desde.plusDays(dias);
+    }
+
+    // Métodos auxiliares
+    private IndicadoresKpi sumar(String tipo, int desdeDia, int hastaDia) {
+        long disponibles = 0;
+        long vendidas = 0;
+        long total = 0;
+        for (int t = 0; t < tipos.length; t++) {
+            if (tipo != null && !tipos[t].equalsIgnoreCase(tipo)) {
+                continue;
+            }
+            disponibles += (long) habitacionesPorTipo[t] * (hastaDia - desdeDia);
+            for (int dia = desdeDia; dia < hastaDia; dia++) {
+                vendidas += nochesVendidas[t][dia];
+                total += ingresos[t][dia];
+            }
+        }
+        return new IndicadoresKpi(disponibles, vendidas, total);
+    }
+
+    @Override
+    public String toString() {
+        return "InformeKpi{" +
+                "desde=" + desde +
+                ", dias=" + dias +
+                ", tipos=" + Arrays.toString(tipos) +
+                ", total=" + indicadoresDelRango(null) +
+                '}';
+    }
+}
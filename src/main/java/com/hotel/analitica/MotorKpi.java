@@ -0,0 +1,355 @@
+package com.hotel.analitica;
+
+import com.hotel.model.Habitacion;
+import com.hotel.model.Reserva;
+import com.hotel.model.Reserva.EstadoReserva;
+import com.hotel.repository.HabitacionRepository;
+import com.hotel.repository.ReservaRepository;
+import com.hotel.tarifa.Montos;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Motor de indicadores de revenue (ocupación, ADR y RevPAR) por tipo de habitación y noche.
+ * <p>
+ * Las reservas se reparten en bloques que se procesan en paralelo en un {@link ForkJoinPool}. Cada bloque
+ * acumula sus noches vendidas e ingresos en arreglos de diferencias por tipo y noche, de modo que una
+ * reserva cuesta lo mismo sea cual sea su duración; los bloques se combinan sumando los arreglos y al
+ * final una suma acumulada convierte las diferencias en los valores de cada noche. Las reservas pueden
+ * venir como objetos o, para recorridos más rápidos, de un {@link AlmacenColumnarReservas}.
+ * <p>
+ * Cuentan como vendidas las reservas confirmadas, en curso o completadas. El ingreso de cada reserva se
+ * reparte por igual entre las noches de su estancia completa (los céntimos sobrantes van a las primeras
+ * noches), y solo se suman las noches que caen dentro del rango consultado.
+ */
+public class MotorKpi {
+
+    private static final int RESERVAS_POR_BLOQUE_MINIMO = 4096;
+    private static final Set<EstadoReserva> ESTADOS_VENDIDOS =
+            EnumSet.of(EstadoReserva.CONFIRMADA, EstadoReserva.EN_CURSO, EstadoReserva.COMPLETADA);
+    private static final int MASCARA_VENDIDOS = AlmacenColumnarReservas.mascaraDe(ESTADOS_VENDIDOS);
+
+    private final ReservaRepository reservaRepository;
+    private final HabitacionRepository habitacionRepository;
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea el motor sobre los repositorios usando el pool común.
+     * @param reservaRepository Repositorio de reservas
+     * @param habitacionRepository Repositorio de habitaciones (catálogo)
+     */
+    public MotorKpi(ReservaRepository reservaRepository, HabitacionRepository habitacionRepository) {
+        this(reservaRepository, habitacionRepository, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea el motor sobre los repositorios.
+     * @param reservaRepository Repositorio de reservas
+     * @param habitacionRepository Repositorio de habitaciones (catálogo)
+     * @param pool Pool en el que se ejecuta el cálculo
+     */
+    public MotorKpi(ReservaRepository reservaRepository, HabitacionRepository habitacionRepository,
+                    ForkJoinPool pool) {
+        this.reservaRepository = reservaRepository;
+        this.habitacionRepository = habitacionRepository;
+        this.pool = pool;
+    }
+
+    /**
+     * Calcula los indicadores de las noches del rango [desde, hasta) con las reservas y el catálogo
+     * actuales de los repositorios.
+     * @param desde Primera noche del rango
+     * @param hasta Día siguiente a la última noche del rango
+     * @return el informe con los indicadores por noche y tipo
+     */
+    public InformeKpi calcular(LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        return calcular(desde, hasta, reservaRepository.listarPorRangoFechas(desde, hasta),
+                habitacionRepository.listarTodas());
+    }
+
+    /**
+     * Calcula los indicadores de las noches del rango [desde, hasta) sobre las reservas y el catálogo indicados.
+     * @param desde Primera noche del rango
+     * @param hasta Día siguiente a la última noche del rango
+     * @param reservas Reservas a considerar; las que no se solapan con el rango se ignoran
+     * @param habitaciones Catálogo de habitaciones que define la oferta de cada tipo
+     * @return el informe con los indicadores por noche y tipo
+     */
+    public InformeKpi calcular(LocalDate desde, LocalDate hasta, Collection<Reserva> reservas,
+                               Collection<Habitacion> habitaciones) {
+        validarRango(desde, hasta);
+        int dias = Math.toIntExact(hasta.toEpochDay() - desde.toEpochDay());
+
+        Map<String, Integer> indices = new HashMap<>();
+        Map<Integer, String> nombres = new HashMap<>();
+        Map<Integer, Integer> oferta = new HashMap<>();
+        for (Habitacion habitacion : habitaciones) {
+            int indice = indiceDe(habitacion.getTipo(), indices, nombres);
+            oferta.merge(indice, 1, Integer::sum);
+        }
+        Reserva[] arreglo = reservas.toArray(new Reserva[0]);
+        for (Reserva reserva : arreglo) {
+            // Tipos con reservas históricas que ya no están en el catálogo (oferta cero)
+            indiceDe(reserva.getHabitacion().getTipo(), indices, nombres);
+        }
+
+        int bloque = Math.max(RESERVAS_POR_BLOQUE_MINIMO, arreglo.length / (pool.getParallelism() * 4) + 1);
+        Acumulado acumulado = pool.invoke(new Acumular(arreglo, 0, arreglo.length, bloque,
+                desde.toEpochDay(), dias, indices));
+        return informe(desde, dias, nombres, oferta, acumulado);
+    }
+
+    /**
+     * Calcula los indicadores de las noches del rango [desde, hasta) recorriendo la proyección columnar
+     * de las reservas, sin tocar los objetos {@link Reserva}.
+     * @param desde Primera noche del rango
+     * @param hasta Día siguiente a la última noche del rango
+     * @param almacen Proyección columnar de las reservas
+     * @param habitaciones Catálogo de habitaciones que define la oferta de cada tipo
+     * @return el informe con los indicadores por noche y tipo
+     */
+    public InformeKpi calcular(LocalDate desde, LocalDate hasta, AlmacenColumnarReservas almacen,
+                               Collection<Habitacion> habitaciones) {
+        validarRango(desde, hasta);
+        int dias = Math.toIntExact(hasta.toEpochDay() - desde.toEpochDay());
+
+        Map<String, Integer> indices = new HashMap<>();
+        Map<Integer, String> nombres = new HashMap<>();
+        Map<Integer, Integer> oferta = new HashMap<>();
+        for (Habitacion habitacion : habitaciones) {
+            int indice = indiceDe(habitacion.getTipo(), indices, nombres);
+            oferta.merge(indice, 1, Integer::sum);
+        }
+        return almacen.leer(() -> {
+            // Traduce los códigos de tipo del almacén a los índices del informe
+            int[] indicePorCodigo = new int[almacen.numeroTipos()];
+            for (int codigo = 0; codigo < indicePorCodigo.length; codigo++) {
+                indicePorCodigo[codigo] = indiceDe(almacen.nombreTipo(codigo), indices, nombres);
+            }
+            int filas = almacen.filas;
+            int bloque = Math.max(RESERVAS_POR_BLOQUE_MINIMO, filas / (pool.getParallelism() * 4) + 1);
+            Acumulado acumulado = pool.invoke(new AcumularColumnas(almacen, 0, filas, bloque,
+                    Math.toIntExact(desde.toEpochDay()), dias, indicePorCodigo, indices.size()));
+            return informe(desde, dias, nombres, oferta, acumulado);
+        });
+    }
+
+    // Métodos auxiliares
+    private static void validarRango(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("El rango de fechas no puede ser nulo");
+        }
+        if (!hasta.isAfter(desde)) {
+            throw new IllegalArgumentException("La fecha final debe ser posterior a la inicial");
+        }
+    }
+
+    private static int indiceDe(String tipo, Map<String, Integer> indices, Map<Integer, String> nombres) {
+        String clave = tipo.toUpperCase(Locale.ROOT);
+        Integer indice = indices.get(clave);
+        if (indice == null) {
+            indice = indices.size();
+            indices.put(clave, indice);
+            nombres.put(indice, tipo);
+        }
+        return indice;
+    }
+
+    private static InformeKpi informe(LocalDate desde, int dias, Map<Integer, String> nombres,
+                                      Map<Integer, Integer> oferta, Acumulado acumulado) {
+        int numeroTipos = acumulado.noches.length;
+        String[] tipos = new String[numeroTipos];
+        int[] habitacionesPorTipo = new int[numeroTipos];
+        for (int t = 0; t < numeroTipos; t++) {
+            tipos[t] = nombres.get(t);
+            habitacionesPorTipo[t] = oferta.getOrDefault(t, 0);
+            acumularPrefijo(acumulado.noches[t]);
+            acumularPrefijo(acumulado.ingresos[t]);
+        }
+        return new InformeKpi(desde, dias, tipos, habitacionesPorTipo, acumulado.noches, acumulado.ingresos);
+    }
+
+    private static void acumularPrefijo(long[] valores) {
+        for (int i = 1; i < valores.length; i++) {
+            valores[i] += valores[i - 1];
+        }
+    }
+
+    private static boolean generaIngreso(EstadoReserva estado) {
+        return ESTADOS_VENDIDOS.contains(estado);
+    }
+
+    /**
+     * Arreglos de diferencias por tipo y noche; tienen una posición extra para el cierre de la última noche.
+     */
+    private static final class Acumulado {
+        private final long[][] noches;
+        private final long[][] ingresos;
+
+        private Acumulado(int tipos, int dias) {
+            this.noches = new long[tipos][dias + 1];
+            this.ingresos = new long[tipos][dias + 1];
+        }
+
+        /**
+         * Suma una estancia [entrada, salida) recortada a las posiciones [inicio, fin) del rango.
+         */
+        private void sumarEstancia(int t, long entrada, long salida, int inicio, int fin, long total,
+                                   long primerDia) {
+            long[] n = noches[t];
+            long[] i = ingresos[t];
+            n[inicio]++;
+            n[fin]--;
+
+            long nochesEstancia = salida - entrada;
+            long porNoche = Math.floorDiv(total, nochesEstancia);
+            i[inicio] += porNoche;
+            i[fin] -= porNoche;
+            // Las noches con un céntimo extra son las primeras 'sobrante' de la estancia completa
+            long sobrante = total - porNoche * nochesEstancia;
+            int finSobrante = (int) Math.min(entrada + sobrante - primerDia, fin);
+            if (finSobrante > inicio) {
+                i[inicio]++;
+                i[finSobrante]--;
+            }
+        }
+
+        private void sumar(Acumulado otro) {
+            for (int t = 0; t < noches.length; t++) {
+                long[] n = noches[t];
+                long[] i = ingresos[t];
+                long[] otrasNoches = otro.noches[t];
+                long[] otrosIngresos = otro.ingresos[t];
+                for (int d = 0; d < n.length; d++) {
+                    n[d] += otrasNoches[d];
+                    i[d] += otrosIngresos[d];
+                }
+            }
+        }
+    }
+
+    private static final class Acumular extends RecursiveTask<Acumulado> {
+        private final Reserva[] reservas;
+        private final int desde;
+        private final int hasta;
+        private final int bloque;
+        private final long primerDia;
+        private final int dias;
+        private final Map<String, Integer> indices;
+
+        private Acumular(Reserva[] reservas, int desde, int hasta, int bloque, long primerDia, int dias,
+                         Map<String, Integer> indices) {
+            this.reservas = reservas;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.bloque = bloque;
+            this.primerDia = primerDia;
+            this.dias = dias;
+            this.indices = indices;
+        }
+
+        @Override
+        protected Acumulado compute() {
+            if (hasta - desde <= bloque) {
+                return acumularBloque();
+            }
+            int mitad = (desde + hasta) >>> 1;
+            Acumular izquierda = new Acumular(reservas, desde, mitad, bloque, primerDia, dias, indices);
+            Acumular derecha = new Acumular(reservas, mitad, hasta, bloque, primerDia, dias, indices);
+            izquierda.fork();
+            Acumulado resultado = derecha.compute();
+            resultado.sumar(izquierda.join());
+            return resultado;
+        }
+
+        private Acumulado acumularBloque() {
+            Acumulado acumulado = new Acumulado(indices.size(), dias);
+            for (int r = desde; r < hasta; r++) {
+                Reserva reserva = reservas[r];
+                if (!generaIngreso(reserva.getEstado())) {
+                    continue;
+                }
+                long entrada = reserva.getFechaCheckIn().toEpochDay();
+                long salida = reserva.getFechaCheckOut().toEpochDay();
+                long noches = salida - entrada;
+                int inicio = (int) Math.max(entrada - primerDia, 0);
+                int fin = (int) Math.min(salida - primerDia, dias);
+                if (noches <= 0 || inicio >= fin) {
+                    continue;
+                }
+                int t = indices.get(reserva.getHabitacion().getTipo().toUpperCase(Locale.ROOT));
+                acumulado.sumarEstancia(t, entrada, salida, inicio, fin,
+                        Montos.aUnidadesMinimas(reserva.getMontoTotal()), primerDia);
+            }
+            return acumulado;
+        }
+    }
+
+    private static final class AcumularColumnas extends RecursiveTask<Acumulado> {
+        private final AlmacenColumnarReservas almacen;
+        private final int desde;
+        private final int hasta;
+        private final int bloque;
+        private final int primerDia;
+        private final int dias;
+        private final int[] indicePorCodigo;
+        private final int numeroTipos;
+
+        private AcumularColumnas(AlmacenColumnarReservas almacen, int desde, int hasta, int bloque, int primerDia,
+                                 int dias, int[] indicePorCodigo, int numeroTipos) {
+            this.almacen = almacen;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.bloque = bloque;
+            this.primerDia = primerDia;
+            this.dias = dias;
+            this.indicePorCodigo = indicePorCodigo;
+            this.numeroTipos = numeroTipos;
+        }
+
+        @Override
+        protected Acumulado compute() {
+            if (hasta - desde <= bloque) {
+                return acumularBloque();
+            }
+            int mitad = (desde + hasta) >>> 1;
+            AcumularColumnas izquierda = new AcumularColumnas(almacen, desde, mitad, bloque, primerDia, dias,
+                    indicePorCodigo, numeroTipos);
+            AcumularColumnas derecha = new AcumularColumnas(almacen, mitad, hasta, bloque, primerDia, dias,
+                    indicePorCodigo, numeroTipos);
+            izquierda.fork();
+            Acumulado resultado = derecha.compute();
+            resultado.sumar(izquierda.join());
+            return resultado;
+        }
+
+        private Acumulado acumularBloque() {
+            Acumulado acumulado = new Acumulado(numeroTipos, dias);
+            int[] checkIn = almacen.checkIn;
+            int[] checkOut = almacen.checkOut;
+            byte[] estado = almacen.estado;
+            short[] tipo = almacen.tipo;
+            long[] monto = almacen.monto;
+            for (int r = desde; r < hasta; r++) {
+                int entrada = checkIn[r];
+                int salida = checkOut[r];
+                int inicio = Math.max(entrada - primerDia, 0);
+                int fin = Math.min(salida - primerDia, dias);
+                if ((MASCARA_VENDIDOS & (1 << estado[r])) == 0 || salida <= entrada || inicio >= fin) {
+                    continue;
+                }
+                acumulado.sumarEstancia(indicePorCodigo[tipo[r]], entrada, salida, inicio, fin, monto[r], primerDia);
+            }
+            return acumulado;
+        }
+    }
+}
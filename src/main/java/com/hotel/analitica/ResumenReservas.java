@@ -0,0 +1,50 @@
+package com.hotel.analitica;
+
+/**
+ * Agregado de un recorrido del {@link AlmacenColumnarReservas}: reservas que cumplen el filtro,
+ * noches que caen dentro del rango, huéspedes y suma de sus montos en unidades mínimas.
+ */
+public class ResumenReservas {
+
+    private final int reservas;
+    private final long noches;
+    private final long huespedes;
+    private final long montoTotal;
+
+    public ResumenReservas(int reservas, long noches, long huespedes, long montoTotal) {
+        this.reservas = reservas;
+        this.noches = noches;
+        this.huespedes = huespedes;
+        this.montoTotal = montoTotal;
+    }
+
+    // Getters
+    public int getReservas() {
+        return reservas;
+    }
+
+    public long getNoches() {
+        return noches;
+    }
+
+    public long getHuespedes() {
+        return huespedes;
+    }
+
+    /**
+     * @return la suma de los montos totales de las reservas, en unidades mínimas
+     */
+    public long getMontoTotal() {
+        return montoTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumenReservas{" +
+                "reservas=" + reservas +
+                ", noches=" + noches +
+                ", huespedes=" + huespedes +
+                ", montoTotal=" + montoTotal +
+                '}';
+    }
+}
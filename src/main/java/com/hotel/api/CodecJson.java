@@ -0,0 +1,363 @@
+package com.hotel.api;
+
+import com.hotel.dto.ClienteDTO;
+import com.hotel.dto.HabitacionDTO;
+import com.hotel.dto.Pagina;
+import com.hotel.dto.ReservaDTO;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Codificación JSON de la API: escritura explícita de cada DTO, campo a campo y sin reflexión (como los
+ * mappers de {@code com.hotel.dto.mapper}), y lectura de los cuerpos de las peticiones, que son objetos
+ * planos con valores de texto, número, booleano o null.
+ */
+final class CodecJson {
+
+    private CodecJson() {
+    }
+
+    static String cliente(ClienteDTO cliente) {
+        Escritor escritor = new Escritor();
+        escribirCliente(escritor, cliente);
+        return escritor.toString();
+    }
+
+    static String reserva(ReservaDTO reserva) {
+        Escritor escritor = new Escritor();
+        escribirReserva(escritor, reserva);
+        return escritor.toString();
+    }
+
+    static String habitaciones(List<HabitacionDTO> habitaciones) {
+        Escritor escritor = new Escritor();
+        escribirLista(escritor, habitaciones, CodecJson::escribirHabitacion);
+        return escritor.toString();
+    }
+
+    static String paginaClientes(Pagina<ClienteDTO> pagina) {
+        return pagina(pagina, CodecJson::escribirCliente);
+    }
+
+    static String paginaReservas(Pagina<ReservaDTO> pagina) {
+        return pagina(pagina, CodecJson::escribirReserva);
+    }
+
+    static String disponibilidad(String numeroHabitacion, boolean disponible) {
+        Escritor escritor = new Escritor();
+        escritor.abrirObjeto();
+        escritor.texto("numeroHabitacion", numeroHabitacion);
+        escritor.booleano("disponible", disponible);
+        escritor.cerrarObjeto();
+        return escritor.toString();
+    }
+
+    static String error(String mensaje) {
+        Escritor escritor = new Escritor();
+        escritor.abrirObjeto();
+        escritor.texto("error", mensaje);
+        escritor.cerrarObjeto();
+        return escritor.toString();
+    }
+
+    /**
+     * Lee un objeto JSON plano.
+     * @param json Texto del objeto
+     * @return los campos del objeto; los números y booleanos se devuelven como texto y null como {@code null}
+     * @throws IllegalArgumentException Si el texto no es un objeto JSON plano válido
+     */
+    static Map<String, String> leerObjeto(String json) {
+        return new Lector(json).leerObjeto();
+    }
+
+    // Métodos auxiliares
+    private static <T> String pagina(Pagina<T> pagina, BiConsumer<Escritor, T> escribirElemento) {
+        Escritor escritor = new Escritor();
+        escritor.abrirObjeto();
+        escritor.nombre("elementos");
+        escribirLista(escritor, pagina.getElementos(), escribirElemento);
+        escritor.texto("siguienteCursor", pagina.getSiguienteCursor());
+        escritor.cerrarObjeto();
+        return escritor.toString();
+    }
+
+    private static <T> void escribirLista(Escritor escritor, List<T> elementos, BiConsumer<Escritor, T> escribirElemento) {
+        escritor.abrirLista();
+        for (T elemento : elementos) {
+            escribirElemento.accept(escritor, elemento);
+        }
+        escritor.cerrarLista();
+    }
+
+    private static void escribirCliente(Escritor escritor, ClienteDTO cliente) {
+        escritor.abrirObjeto();
+        escritor.texto("id", cliente.getId());
+        escritor.texto("nombre", cliente.getNombre());
+        escritor.texto("email", cliente.getEmail());
+        escritor.texto("telefono", cliente.getTelefono());
+        escritor.texto("direccion", cliente.getDireccion());
+        escritor.booleano("activo", cliente.isActivo());
+        escritor.cerrarObjeto();
+    }
+
+    private static void escribirReserva(Escritor escritor, ReservaDTO reserva) {
+        escritor.abrirObjeto();
+        escritor.texto("id", reserva.getId());
+        escritor.texto("clienteId", reserva.getClienteId());
+        escritor.texto("clienteNombre", reserva.getClienteNombre());
+        escritor.texto("habitacionId", reserva.getHabitacionId());
+        escritor.texto("habitacionNumero", reserva.getHabitacionNumero());
+        escritor.texto("tipoHabitacion", reserva.getTipoHabitacion());
+        escritor.texto("fechaCheckIn", reserva.getFechaCheckIn());
+        escritor.texto("fechaCheckOut", reserva.getFechaCheckOut());
+        escritor.numero("numeroHuespedes", reserva.getNumeroHuespedes());
+        escritor.texto("estado", reserva.getEstado());
+        escritor.numero("montoTotal", reserva.getMontoTotal());
+        escritor.texto("fechaCreacion", reserva.getFechaCreacion());
+        escritor.texto("notas", reserva.getNotas());
+        escritor.numero("noches", reserva.getNoches());
+        escritor.numero("precioPorNoche", reserva.getPrecioPorNoche());
+        escritor.cerrarObjeto();
+    }
+
+    private static void escribirHabitacion(Escritor escritor, HabitacionDTO habitacion) {
+        escritor.abrirObjeto();
+        escritor.texto("numeroHabitacion", habitacion.getNumeroHabitacion());
+        escritor.texto("tipo", habitacion.getTipo());
+        escritor.numero("precioPorNoche", habitacion.getPrecioPorNoche());
+        escritor.numero("capacidadMaxima", habitacion.getCapacidadMaxima());
+        escritor.booleano("disponible", habitacion.isDisponible());
+        escritor.texto("descripcion", habitacion.getDescripcion());
+        escritor.booleano("tieneVistaExterior", habitacion.getTieneVistaExterior());
+        escritor.booleano("tieneAireAcondicionado", habitacion.getTieneAireAcondicionado());
+        escritor.booleano("tieneCalefaccion", habitacion.getTieneCalefaccion());
+        escritor.booleano("tieneJacuzzi", habitacion.getTieneJacuzzi());
+        escritor.booleano("tieneMinibar", habitacion.getTieneMinibar());
+        escritor.booleano("tieneServicioHabitaciones", habitacion.getTieneServicioHabitaciones());
+        escritor.numero("numeroHabitaciones", habitacion.getNumeroHabitaciones());
+        escritor.cerrarObjeto();
+    }
+
+    /**
+     * Escritor JSON que coloca las comas entre elementos. Los campos opcionales nulos se omiten.
+     */
+    private static final class Escritor {
+        private final StringBuilder json = new StringBuilder(256);
+        private boolean primero = true;
+
+        private void abrirObjeto() {
+            separar();
+            json.append('{');
+            primero = true;
+        }
+
+        private void cerrarObjeto() {
+            json.append('}');
+            primero = false;
+        }
+
+        private void abrirLista() {
+            separar();
+            json.append('[');
+            primero = true;
+        }
+
+        private void cerrarLista() {
+            json.append(']');
+            primero = false;
+        }
+
+        private void nombre(String nombre) {
+            separar();
+            escaparTexto(nombre);
+            json.append(':');
+            primero = true;
+        }
+
+        private void texto(String nombre, Object valor) {
+            if (valor != null) {
+                nombre(nombre);
+                escaparTexto(valor.toString());
+                primero = false;
+            }
+        }
+
+        private void numero(String nombre, Number valor) {
+            if (valor != null) {
+                nombre(nombre);
+                json.append(valor);
+                primero = false;
+            }
+        }
+
+        private void booleano(String nombre, Boolean valor) {
+            if (valor != null) {
+                nombre(nombre);
+                json.append(valor.booleanValue());
+                primero = false;
+            }
+        }
+
+        private void separar() {
+            if (!primero) {
+                json.append(',');
+            }
+        }
+
+        private void escaparTexto(String texto) {
+            json.append('"');
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                switch (c) {
+                    case '"' -> json.append("\\\"");
+                    case '\\' -> json.append("\\\\");
+                    case '\n' -> json.append("\\n");
+                    case '\r' -> json.append("\\r");
+                    case '\t' -> json.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            json.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            json.append(c);
+                        }
+                    }
+                }
+            }
+            json.append('"');
+        }
+
+        @Override
+        public String toString() {
+            return json.toString();
+        }
+    }
+
+    /**
+     * Analizador descendente de objetos JSON planos.
+     */
+    private static final class Lector {
+        private final String json;
+        private int posicion;
+
+        private Lector(String json) {
+            this.json = json;
+        }
+
+        private Map<String, String> leerObjeto() {
+            Map<String, String> campos = new HashMap<>();
+            esperar('{');
+            if (!consumirSi('}')) {
+                do {
+                    String nombre = leerTexto();
+                    esperar(':');
+                    campos.put(nombre, leerValor());
+                } while (consumirSi(','));
+                esperar('}');
+            }
+            saltarEspacios();
+            if (posicion != json.length()) {
+                throw error("contenido tras el objeto");
+            }
+            return campos;
+        }
+
+        private String leerValor() {
+            saltarEspacios();
+            if (posicion >= json.length()) {
+                throw error("falta un valor");
+            }
+            char c = json.charAt(posicion);
+            if (c == '"') {
+                return leerTexto();
+            }
+            if (c == '{' || c == '[') {
+                throw error("solo se admiten valores simples");
+            }
+            int inicio = posicion;
+            while (posicion < json.length() && "-+.eE0123456789truefalsn".indexOf(json.charAt(posicion)) >= 0) {
+                posicion++;
+            }
+            String literal = json.substring(inicio, posicion);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false")) {
+                return literal;
+            }
+            try {
+                Double.parseDouble(literal);
+            } catch (NumberFormatException e) {
+                throw error("valor no válido '" + literal + "'");
+            }
+            return literal;
+        }
+
+        private String leerTexto() {
+            esperar('"');
+            StringBuilder texto = new StringBuilder();
+            while (posicion < json.length()) {
+                char c = json.charAt(posicion++);
+                if (c == '"') {
+                    return texto.toString();
+                }
+                if (c != '\\') {
+                    texto.append(c);
+                    continue;
+                }
+                if (posicion >= json.length()) {
+                    break;
+                }
+                char escape = json.charAt(posicion++);
+                switch (escape) {
+                    case '"', '\\', '/' -> texto.append(escape);
+                    case 'b' -> texto.append('\b');
+                    case 'f' -> texto.append('\f');
+                    case 'n' -> texto.append('\n');
+                    case 'r' -> texto.append('\r');
+                    case 't' -> texto.append('\t');
+                    case 'u' -> {
+                        if (posicion + 4 > json.length()) {
+                            throw error("secuencia \\u incompleta");
+                        }
+                        try {
+                            texto.append((char) Integer.parseInt(json.substring(posicion, posicion + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("secuencia \\u no válida");
+                        }
+                        posicion += 4;
+                    }
+                    default -> throw error("escape no válido '\\" + escape + "'");
+                }
+            }
+            throw error("texto sin cerrar");
+        }
+
+        private void esperar(char esperado) {
+            if (!consumirSi(esperado)) {
+                throw error("se esperaba '" + esperado + "'");
+            }
+        }
+
+        private boolean consumirSi(char caracter) {
+            saltarEspacios();
+            if (posicion < json.length() && json.charAt(posicion) == caracter) {
+                posicion++;
+                return true;
+            }
+            return false;
+        }
+
+        private void saltarEspacios() {
+            while (posicion < json.length() && Character.isWhitespace(json.charAt(posicion))) {
+                posicion++;
+            }
+        }
+
+        private IllegalArgumentException error(String detalle) {
+            return new IllegalArgumentException("JSON no válido en la posición " + posicion + ": " + detalle);
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.hotel.api;
+
+import com.hotel.auditoria.ProgramadorAuditoriaNocturna;
+import com.hotel.dto.ClienteDTO;
+import com.hotel.dto.ReservaDTO;
+import com.hotel.evento.BusEventos;
+import com.hotel.exception.ClienteNoEncontradoException;
+import com.hotel.exception.EmailDuplicadoException;
+import com.hotel.exception.HabitacionNoDisponibleException;
+import com.hotel.exception.HabitacionNoEncontradaException;
+import com.hotel.exception.ReservaNoEncontradaException;
+import com.hotel.model.Reserva.EstadoReserva;
+import com.hotel.persistencia.ClienteRepositoryPersistente;
+import com.hotel.persistencia.EstadoHotel;
+import com.hotel.persistencia.PersistenciaHotel;
+import com.hotel.persistencia.PublicadorPersistente;
+import com.hotel.repository.ClienteRepository;
+import com.hotel.repository.impl.HabitacionRepositoryEnMemoria;
+import com.hotel.service.ClienteService;
+import com.hotel.service.ReservaService;
+import com.hotel.service.impl.ClienteServiceImpl;
+import com.hotel.service.impl.ReservaServiceImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * API HTTP/JSON del hotel sobre el {@link HttpServer} del JDK, que expone las operaciones de
+ * {@link ReservaService} y {@link ClienteService}:
+ * <pre>
+ *     POST /api/clientes                                  alta de cliente
+ *     GET  /api/clientes/{id}                             cliente por ID
+ *     GET  /api/clientes?email=...                        cliente por email
+ *     GET  /api/clientes?cursor=...&amp;tamano=...            página de clientes activos
+ *     POST /api/reservas                                  nueva reserva
+ *     GET  /api/reservas/{id}                             reserva por ID
+ *     GET  /api/reservas?desde=...&amp;hasta=...[&amp;estado=&amp;tipo=&amp;cursor=&amp;tamano=]   página del rango
+ *     POST /api/reservas/{id}/confirmacion                confirmación de una reserva pendiente
+ *     POST /api/reservas/{id}/cancelacion                 cancelación ({"motivo": ...})
+ *     POST /api/reservas/{id}/check-in                    check-in
+ *     POST /api/reservas/{id}/check-out                   check-out
+ *     GET  /api/habitaciones/disponibles?desde=...&amp;hasta=...           habitaciones libres
+ *     GET  /api/habitaciones/{numero}/disponibilidad?desde=...&amp;hasta=...   disponibilidad de una habitación
+ * </pre>
+ * Cada petición se atiende en un hilo virtual propio, así que una petición bloqueada (en un bloqueo de
+ * habitación o esperando al disco) no retiene un hilo de plataforma. Las conexiones keep-alive inactivas
+ * no ocupan ningún hilo: las vigila el selector del servidor. Como el {@code HttpServer} del JDK solo
+ * conserva por defecto 200 conexiones inactivas y las cierra a los 30 s, al iniciar se amplían ambos
+ * límites (propiedades {@code sun.net.httpserver.maxIdleConnections} e {@code idleInterval}) salvo que ya
+ * se hayan fijado; el servidor las lee una sola vez, al crear el primer {@code HttpServer} de la JVM. El
+ * límite real lo impone entonces el número de descriptores de archivo del proceso ({@code ulimit -n}).
+ * <p>
+ * Los errores se devuelven como {@code {"error": ...}}: 404 si no existe el recurso, 409 si choca con el
+ * estado actual (habitación ocupada, email duplicado, transición no válida), 400 si la petición no es válida
+ * y 413 si el cuerpo supera los 64 KiB; en ese caso se cierra la conexión en lugar de leer el resto.
+ */
+public final class ServidorApiHotel implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ServidorApiHotel.class.getName());
+    private static final String PUERTO = "hotel.puertoApi";
+    private static final String DIRECTORIO_DATOS = "hotel.directorioDatos";
+    private static final String HORA_AUDITORIA = "hotel.horaAuditoria";
+    private static final String MINUTOS_RETENCION = "hotel.minutosRetencion";
+    private static final String MAXIMO_CONEXIONES_INACTIVAS = "sun.net.httpserver.maxIdleConnections";
+    private static final String SEGUNDOS_INACTIVIDAD = "sun.net.httpserver.idleInterval";
+    private static final String SIN_RETARDO = "sun.net.httpserver.nodelay";
+    private static final int CONEXIONES_INACTIVAS_POR_DEFECTO = 100_000;
+    private static final int SEGUNDOS_INACTIVIDAD_POR_DEFECTO = 300;
+    private static final int COLA_CONEXIONES = 4096;
+    private static final int TAMANO_PAGINA_POR_DEFECTO = 100;
+    private static final int MAXIMO_CUERPO = 64 * 1024;
+    private static final int CAPACIDAD_EVENTOS = 1024;
+    private static final long SEGUNDOS_ESPERA_PETICIONES = 30;
+    private static final long NANOS_SONDEO_CIERRE = TimeUnit.MILLISECONDS.toNanos(10);
+    /** Búfer compartido para descartar cuerpos; su contenido nunca se lee, así que no importa que se pise. */
+    private static final byte[] DESCARTE = new byte[8192];
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+
+    private final ReservaService reservaService;
+    private final ClienteService clienteService;
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+    private final AtomicInteger peticionesEnCurso = new AtomicInteger();
+    private volatile boolean cerrando;
+
+    private ServidorApiHotel(InetSocketAddress direccion, ReservaService reservaService,
+                             ClienteService clienteService) throws IOException {
+        this.reservaService = reservaService;
+        this.clienteService = clienteService;
+        this.servidor = HttpServer.create(direccion, COLA_CONEXIONES);
+        this.ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Crea el servidor y empieza a aceptar conexiones.
+     * @param direccion Dirección y puerto de escucha (puerto 0 para uno libre)
+     * @param reservaService Servicio de reservas
+     * @param clienteService Servicio de clientes
+     * @return el servidor en marcha
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public static ServidorApiHotel iniciar(InetSocketAddress direccion, ReservaService reservaService,
+                                           ClienteService clienteService) throws IOException {
+        fijarSiAusente(MAXIMO_CONEXIONES_INACTIVAS, String.valueOf(CONEXIONES_INACTIVAS_POR_DEFECTO));
+        fijarSiAusente(SEGUNDOS_INACTIVIDAD, String.valueOf(SEGUNDOS_INACTIVIDAD_POR_DEFECTO));
+        fijarSiAusente(SIN_RETARDO, "true");
+        ServidorApiHotel api = new ServidorApiHotel(direccion, reservaService, clienteService);
+        api.servidor.createContext("/api/clientes", intercambio -> api.atender(intercambio, api::atenderClientes));
+        api.servidor.createContext("/api/reservas", intercambio -> api.atender(intercambio, api::atenderReservas));
+        api.servidor.createContext("/api/habitaciones",
+                intercambio -> api.atender(intercambio, api::atenderHabitaciones));
+        api.servidor.setExecutor(api.ejecutor);
+        api.servidor.start();
+        return api;
+    }
+
+    /**
+     * Arranca la API sobre el estado recuperado del directorio de datos de la propiedad
+     * {@code hotel.directorioDatos} (el mismo que usa la consola, que no debe abrirlo a la vez), en el puerto
+     * de {@code hotel.puertoApi} (8080 por defecto). Cada cambio de clientes y reservas se registra en el log
+     * de escritura anticipada antes de responder y después se publica en un {@link BusEventos}, igual que en la
+     * consola; al apagar se guarda una instantánea.
+     * La auditoría nocturna se programa a la hora de {@code hotel.horaAuditoria} (03:00 por defecto) y las
+     * reservas pendientes retienen su habitación {@code hotel.minutosRetencion} minutos (15 por defecto).
+     */
+    public static void main(String[] args) throws IOException {
+        int puerto = Integer.getInteger(PUERTO, 8080);
+        PersistenciaHotel persistencia = PersistenciaHotel.abrir(
+                Path.of(System.getProperty(DIRECTORIO_DATOS, "datos")));
+        EstadoHotel estado = persistencia.getEstado();
+        ClienteRepository clientes = new ClienteRepositoryPersistente(estado.getClientes(), persistencia);
+        // El servicio carga en su índice y su matriz las reservas recuperadas que ocupan habitación
+        ReservaServiceImpl reservaService = new ReservaServiceImpl(estado.getReservas(), clientes,
+                new HabitacionRepositoryEnMemoria(estado.getHabitaciones()));
+        BusEventos eventos = new BusEventos(CAPACIDAD_EVENTOS, List.of(
+                (evento, secuencia, finDeLote) -> LOGGER.fine("Evento " + secuencia + ": " + evento)));
+        // Primero el log de escritura anticipada: un cambio solo se anuncia en el bus una vez es durable
+        reservaService.setPublicadorEventos(new PublicadorPersistente(persistencia).luego(eventos));
+        // Las instantáneas automáticas detienen las mutaciones de ambos servicios mientras codifican el estado
+        reservaService.setBarreraMutaciones(persistencia.getBarreraMutaciones());
+        reservaService.activarRetenciones(Duration.ofMinutes(Long.getLong(MINUTOS_RETENCION, 15)));
+        ClienteServiceImpl clienteService = new ClienteServiceImpl(clientes);
+        clienteService.setBarreraMutaciones(persistencia.getBarreraMutaciones());
+        ServidorApiHotel api = iniciar(new InetSocketAddress(puerto), reservaService, clienteService);
+        // El servicio ya registra el resumen de cada auditoría en su log
+        ProgramadorAuditoriaNocturna auditoria = new ProgramadorAuditoriaNocturna(reservaService,
+                LocalTime.parse(System.getProperty(HORA_AUDITORIA, "03:00")), resumen -> { });
+        auditoria.iniciar();
+        // Cada close() espera a sus tareas en curso, así que la instantánea final ve todos los cambios completos
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            api.close();
+            auditoria.close();
+            reservaService.getRetenciones().close();
+            // Con los productores ya detenidos, el bus entrega lo pendiente antes de cerrarse
+            eventos.close();
+            try {
+                persistencia.tomarInstantanea();
+                persistencia.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "No se pudo guardar la instantánea del estado", e);
+            }
+        }));
+        LOGGER.info("API del hotel escuchando en " + api.getDireccion());
+    }
+
+    /**
+     * @return la dirección en la que escucha el servidor
+     */
+    public InetSocketAddress getDireccion() {
+        return servidor.getAddress();
+    }
+
+    /**
+     * Rechaza las peticiones nuevas con 503, espera a que las que están en curso terminen y respondan, y
+     * después cierra las conexiones; al volver, ninguna está a mitad de un cambio. Pasado el plazo se
+     * interrumpen las que queden.
+     */
+    @Override
+    public void close() {
+        // HttpServer.stop(n) agota el plazo aunque no quede nada en curso, así que la espera se hace aquí
+        cerrando = true;
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(SEGUNDOS_ESPERA_PETICIONES);
+        while (peticionesEnCurso.get() > 0 && System.nanoTime() - limite < 0
+                && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(NANOS_SONDEO_CIERRE);
+        }
+        servidor.stop(0);
+        ejecutor.shutdown();
+        try {
+            if (!ejecutor.awaitTermination(SEGUNDOS_ESPERA_PETICIONES, TimeUnit.SECONDS)) {
+                LOGGER.warning("Quedaron peticiones en curso tras " + SEGUNDOS_ESPERA_PETICIONES + " s; se interrumpen");
+                ejecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            ejecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Métodos auxiliares
+    private void atenderClientes(Peticion peticion) throws IOException {
+        String[] ruta = peticion.ruta;
+        if (ruta.length == 0 && peticion.es("POST")) {
+            ClienteDTO cliente = new ClienteDTO();
+            Map<String, String> cuerpo = peticion.cuerpo();
+            cliente.setNombre(cuerpo.get("nombre"));
+            cliente.setEmail(cuerpo.get("email"));
+            cliente.setTelefono(cuerpo.get("telefono"));
+            cliente.setDireccion(cuerpo.get("direccion"));
+            peticion.responder(201, CodecJson.cliente(clienteService.crearCliente(cliente)));
+        } else if (ruta.length == 0 && peticion.es("GET")) {
+            String email = peticion.parametros.get("email");
+            peticion.responder(200, email != null
+                    ? CodecJson.cliente(clienteService.obtenerClientePorEmail(email))
+                    : CodecJson.paginaClientes(clienteService.listarClientesActivos(
+                    peticion.parametros.get("cursor"), peticion.tamanoPagina())));
+        } else if (ruta.length == 1 && peticion.es("GET")) {
+            peticion.responder(200, CodecJson.cliente(clienteService.obtenerClientePorId(ruta[0])));
+        } else {
+            peticion.noEncontrada();
+        }
+    }
+
+    private void atenderReservas(Peticion peticion) throws IOException {
+        String[] ruta = peticion.ruta;
+        if (ruta.length == 0 && peticion.es("POST")) {
+            peticion.responder(201, CodecJson.reserva(reservaService.crearReserva(reservaDe(peticion.cuerpo()))));
+        } else if (ruta.length == 0 && peticion.es("GET")) {
+            String estado = peticion.parametros.get("estado");
+            peticion.responder(200, CodecJson.paginaReservas(reservaService.listarReservasPorRangoFechas(
+                    peticion.fecha("desde"), peticion.fecha("hasta"),
+                    estado != null ? EstadoReserva.valueOf(estado.toUpperCase(Locale.ROOT)) : null,
+                    peticion.parametros.get("tipo"), peticion.parametros.get("cursor"), peticion.tamanoPagina())));
+        } else if (ruta.length == 1 && peticion.es("GET")) {
+            peticion.responder(200, CodecJson.reserva(reservaService.buscarPorId(ruta[0])));
+        } else if (ruta.length == 2 && peticion.es("POST")) {
+            switch (ruta[1]) {
+                case "confirmacion" -> peticion.responder(200,
+                        CodecJson.reserva(reservaService.cambiarEstadoReserva(ruta[0], EstadoReserva.CONFIRMADA)));
+                case "cancelacion" -> {
+                    reservaService.cancelarReserva(ruta[0], peticion.cuerpo().get("motivo"));
+                    peticion.responder(200, CodecJson.reserva(reservaService.buscarPorId(ruta[0])));
+                }
+                case "check-in" -> peticion.responder(200, CodecJson.reserva(reservaService.registrarCheckIn(ruta[0])));
+                case "check-out" -> peticion.responder(200, CodecJson.reserva(reservaService.registrarCheckOut(ruta[0])));
+                default -> peticion.noEncontrada();
+            }
+        } else {
+            peticion.noEncontrada();
+        }
+    }
+
+    private void atenderHabitaciones(Peticion peticion) throws IOException {
+        String[] ruta = peticion.ruta;
+        if (!peticion.es("GET")) {
+            peticion.noEncontrada();
+        } else if (ruta.length == 1 && ruta[0].equals("disponibles")) {
+            peticion.responder(200, CodecJson.habitaciones(
+                    reservaService.buscarHabitacionesDisponibles(peticion.fecha("desde"), peticion.fecha("hasta"))));
+        } else if (ruta.length == 2 && ruta[1].equals("disponibilidad")) {
+            boolean disponible = reservaService.verificarDisponibilidad(ruta[0], peticion.fecha("desde"),
+                    peticion.fecha("hasta"));
+            peticion.responder(200, CodecJson.disponibilidad(ruta[0], disponible));
+        } else {
+            peticion.noEncontrada();
+        }
+    }
+
+    private static ReservaDTO reservaDe(Map<String, String> cuerpo) {
+        ReservaDTO reserva = new ReservaDTO();
+        reserva.setClienteId(cuerpo.get("clienteId"));
+        reserva.setHabitacionId(cuerpo.get("habitacionId"));
+        reserva.setHabitacionNumero(cuerpo.get("habitacionNumero"));
+        reserva.setFechaCheckIn(fechaDe(cuerpo.get("fechaCheckIn"), "fechaCheckIn"));
+        reserva.setFechaCheckOut(fechaDe(cuerpo.get("fechaCheckOut"), "fechaCheckOut"));
+        String huespedes = cuerpo.get("numeroHuespedes");
+        reserva.setNumeroHuespedes(huespedes != null ? Integer.parseInt(huespedes) : 1);
+        reserva.setNotas(cuerpo.get("notas"));
+        return reserva;
+    }
+
+    private static LocalDate fechaDe(String valor, String nombre) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Falta la fecha '" + nombre + "'");
+        }
+        return LocalDate.parse(valor);
+    }
+
+    /**
+     * Ejecuta el manejador y traduce sus excepciones a la respuesta de error correspondiente. El
+     * intercambio se cierra siempre, lo que devuelve la conexión al servidor para reutilizarla.
+     */
+    private void atender(HttpExchange intercambio, Manejador manejador) {
+        // Se cuenta antes de mirar si se está cerrando: close() ve la petición o la petición ve el cierre
+        peticionesEnCurso.incrementAndGet();
+        try (intercambio) {
+            Peticion peticion = new Peticion(intercambio);
+            if (cerrando) {
+                intercambio.getResponseHeaders().set("Connection", "close");
+                peticion.responder(503, CodecJson.error("El servidor se está deteniendo"));
+                return;
+            }
+            try {
+                manejador.atender(peticion);
+            } catch (ReservaNoEncontradaException | ClienteNoEncontradoException
+                     | HabitacionNoEncontradaException e) {
+                peticion.responder(404, CodecJson.error(e.getMessage()));
+            } catch (HabitacionNoDisponibleException | EmailDuplicadoException | IllegalStateException e) {
+                peticion.responder(409, CodecJson.error(e.getMessage()));
+            } catch (DateTimeParseException e) {
+                peticion.responder(400, CodecJson.error("Fecha no válida: " + e.getParsedString()));
+            } catch (IllegalArgumentException e) {
+                peticion.responder(400, CodecJson.error(e.getMessage()));
+            } catch (CuerpoDemasiadoGrandeException e) {
+                intercambio.getResponseHeaders().set("Connection", "close");
+                peticion.responder(413, CodecJson.error(e.getMessage()));
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error al atender " + intercambio.getRequestMethod() + " "
+                        + intercambio.getRequestURI(), e);
+                peticion.responder(500, CodecJson.error("Error interno del servidor"));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Conexión interrumpida al responder", e);
+        } finally {
+            peticionesEnCurso.decrementAndGet();
+        }
+    }
+
+    private static void fijarSiAusente(String propiedad, String valor) {
+        if (System.getProperty(propiedad) == null) {
+            System.setProperty(propiedad, valor);
+        }
+    }
+
+    private static final class CuerpoDemasiadoGrandeException extends RuntimeException {
+        private CuerpoDemasiadoGrandeException() {
+            super("El cuerpo de la petición supera el máximo de " + MAXIMO_CUERPO + " bytes");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Manejador {
+        void atender(Peticion peticion) throws IOException;
+    }
+
+    /**
+     * Petición en curso: segmentos de la ruta tras el contexto, parámetros de la consulta y respuesta.
+     */
+    private static final class Peticion {
+        private final HttpExchange intercambio;
+        private final String[] ruta;
+        private final Map<String, String> parametros;
+        private boolean respondida;
+
+        private Peticion(HttpExchange intercambio) {
+            this.intercambio = intercambio;
+            String contexto = intercambio.getHttpContext().getPath();
+            String resto = intercambio.getRequestURI().getRawPath().substring(contexto.length());
+            String[] segmentos = resto.isEmpty() || resto.equals("/")
+                    ? new String[0] : resto.substring(resto.startsWith("/") ? 1 : 0).split("/");
+            for (int i = 0; i < segmentos.length; i++) {
+                segmentos[i] = URLDecoder.decode(segmentos[i], StandardCharsets.UTF_8);
+            }
+            this.ruta = segmentos;
+            this.parametros = parametrosDe(intercambio.getRequestURI().getRawQuery());
+        }
+
+        private boolean es(String metodo) {
+            return intercambio.getRequestMethod().equalsIgnoreCase(metodo);
+        }
+
+        private Map<String, String> cuerpo() throws IOException {
+            String longitud = intercambio.getRequestHeaders().getFirst("Content-Length");
+            if (longitud != null && Long.parseLong(longitud.trim()) > MAXIMO_CUERPO) {
+                throw new CuerpoDemasiadoGrandeException();
+            }
+            // La lectura se acota también para cuerpos troceados, que no declaran su longitud. No se cierra
+            // el flujo: responder() lo termina de vaciar antes de contestar
+            InputStream entrada = intercambio.getRequestBody();
+            byte[] bytes = entrada.readNBytes(MAXIMO_CUERPO + 1);
+            if (bytes.length > MAXIMO_CUERPO) {
+                throw new CuerpoDemasiadoGrandeException();
+            }
+            String texto = new String(bytes, StandardCharsets.UTF_8);
+            return texto.isBlank() ? Map.of() : CodecJson.leerObjeto(texto);
+        }
+
+        private LocalDate fecha(String nombre) {
+            return fechaDe(parametros.get(nombre), nombre);
+        }
+
+        private int tamanoPagina() {
+            String tamano = parametros.get("tamano");
+            return tamano != null ? Integer.parseInt(tamano) : TAMANO_PAGINA_POR_DEFECTO;
+        }
+
+        private void noEncontrada() throws IOException {
+            responder(404, CodecJson.error("Ruta no encontrada: " + intercambio.getRequestMethod() + " "
+                    + intercambio.getRequestURI().getPath()));
+        }
+
+        private void responder(int estado, String json) throws IOException {
+            if (respondida) {
+                return;
+            }
+            respondida = true;
+            // Se descarta lo que quede del cuerpo para que la conexión pueda reutilizarse, salvo si va a cerrarse
+            if (!"close".equalsIgnoreCase(intercambio.getResponseHeaders().getFirst("Connection"))) {
+                descartarCuerpo();
+            }
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            intercambio.getResponseHeaders().set("Content-Type", TIPO_JSON);
+            intercambio.sendResponseHeaders(estado, bytes.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(bytes);
+            }
+        }
+
+        /**
+         * Descarta hasta {@code MAXIMO_CUERPO} bytes pendientes; si queda más, el servidor cierra la conexión
+         * al terminar el intercambio en lugar de leerlo.
+         */
+        private void descartarCuerpo() throws IOException {
+            // No se usa skip(): el flujo del JDK lo delega en el socket sin respetar la longitud del cuerpo
+            InputStream entrada = intercambio.getRequestBody();
+            int restante = MAXIMO_CUERPO;
+            int leidos;
+            while (restante > 0
+                    && (leidos = entrada.read(DESCARTE, 0, Math.min(DESCARTE.length, restante))) > 0) {
+                restante -= leidos;
+            }
+        }
+
+        private static Map<String, String> parametrosDe(String consulta) {
+            Map<String, String> parametros = new HashMap<>();
+            if (consulta == null || consulta.isEmpty()) {
+                return parametros;
+            }
+            for (String par : consulta.split("&")) {
+                int igual = par.indexOf('=');
+                String nombre = igual >= 0 ? par.substring(0, igual) : par;
+                String valor = igual >= 0 ? par.substring(igual + 1) : "";
+                parametros.put(URLDecoder.decode(nombre, StandardCharsets.UTF_8),
+                        URLDecoder.decode(valor, StandardCharsets.UTF_8));
+            }
+            return parametros;
+        }
+    }
+}
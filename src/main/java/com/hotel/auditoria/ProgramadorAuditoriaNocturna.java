@@ -0,0 +1,110 @@
+package com.hotel.auditoria;
+
+import com.hotel.dto.ResumenAuditoriaNocturna;
+import com.hotel.service.ReservaService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ejecuta la auditoría nocturna de {@link ReservaService#ejecutarAuditoriaNocturna} una vez al día a la
+ * hora indicada, en un hilo propio para no bloquear la recepción, y entrega el resumen al destino configurado.
+ * <p>
+ * Si la hora es anterior al mediodía se audita el día anterior (la noche ya cerrada); si es posterior,
+ * el día en curso. Cada ejecución calcula el retardo hasta la siguiente, de modo que los cambios de
+ * horario no desplazan la hora de la auditoría.
+ */
+public class ProgramadorAuditoriaNocturna implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ProgramadorAuditoriaNocturna.class.getName());
+    private static final long SEGUNDOS_ESPERA_CIERRE = 60;
+
+    private final ReservaService reservaService;
+    private final LocalTime hora;
+    private final Consumer<ResumenAuditoriaNocturna> destino;
+    private final ScheduledExecutorService planificador;
+
+    /**
+     * @param reservaService Servicio que realiza la auditoría
+     * @param hora Hora local a la que se ejecuta cada día
+     * @param destino Receptor del resumen de cada ejecución (por ejemplo, el informe del turno de noche)
+     */
+    public ProgramadorAuditoriaNocturna(ReservaService reservaService, LocalTime hora,
+                                        Consumer<ResumenAuditoriaNocturna> destino) {
+        this.reservaService = reservaService;
+        this.hora = hora;
+        this.destino = destino;
+        this.planificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "auditoria-nocturna");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Programa la primera ejecución a la próxima aparición de la hora configurada.
+     */
+    public void iniciar() {
+        programarSiguiente();
+    }
+
+    /**
+     * Ejecuta la auditoría inmediatamente, en el hilo que llama.
+     * @return el resumen de la auditoría
+     */
+    public ResumenAuditoriaNocturna ejecutarAhora() {
+        ResumenAuditoriaNocturna resumen = reservaService.ejecutarAuditoriaNocturna(fechaAAuditar(LocalDateTime.now()));
+        destino.accept(resumen);
+        return resumen;
+    }
+
+    /**
+     * Cancela la próxima ejecución y espera a que termine la auditoría en curso, si la hay.
+     */
+    @Override
+    public void close() {
+        planificador.shutdownNow();
+        try {
+            if (!planificador.awaitTermination(SEGUNDOS_ESPERA_CIERRE, TimeUnit.SECONDS)) {
+                LOGGER.warning("La auditoría nocturna en curso no terminó antes del cierre");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Métodos auxiliares
+    private void programarSiguiente() {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime siguiente = ahora.toLocalDate().atTime(hora);
+        if (!siguiente.isAfter(ahora)) {
+            siguiente = siguiente.plusDays(1);
+        }
+        planificador.schedule(this::ejecutarProgramada, Duration.between(ahora, siguiente).toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void ejecutarProgramada() {
+        try {
+            ejecutarAhora();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error en la auditoría nocturna", e);
+        } finally {
+            if (!planificador.isShutdown()) {
+                programarSiguiente();
+            }
+        }
+    }
+
+    private LocalDate fechaAAuditar(LocalDateTime momento) {
+        return momento.toLocalTime().isBefore(LocalTime.NOON) ? momento.toLocalDate().minusDays(1) : momento.toLocalDate();
+    }
+}
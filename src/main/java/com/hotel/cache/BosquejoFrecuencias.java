@@ -0,0 +1,93 @@
+package com.hotel.cache;
+
+/**
+ * Estimador aproximado de frecuencias de acceso (count-min sketch) con contadores de 4 bits, dieciséis
+ * por {@code long}. Cada clave incrementa cuatro contadores y su frecuencia es el mínimo de ellos. Tras
+ * un número de incrementos proporcional a la capacidad, todos los contadores se dividen a la mitad para
+ * que las claves que dejan de usarse pierdan peso (envejecimiento).
+ * <p>
+ * No es seguro para hilos: lo protege el bloqueo de la {@link CacheTinyLfu} que lo usa.
+ */
+final class BosquejoFrecuencias {
+
+    private static final long MASCARA_MITAD = 0x7777_7777_7777_7777L;
+    private static final int MAXIMO_CONTADOR = 15;
+    private static final long[] SEMILLAS = {
+            0x97cb_3127_ecb0_5a3bL, 0xbf58_476d_1ce4_e5b9L, 0x94d0_49bb_1331_11ebL, 0x9e37_79b9_7f4a_7c15L
+    };
+
+    private final long[] tabla;
+    private final int mascaraTabla;
+    private final int muestra;
+    private int incrementos;
+
+    /**
+     * @param capacidad Número máximo de entradas de la caché
+     */
+    BosquejoFrecuencias(int capacidad) {
+        int tamano = Integer.highestOneBit(Math.max(16, capacidad - 1)) << 1;
+        this.tabla = new long[tamano];
+        this.mascaraTabla = tamano - 1;
+        this.muestra = 10 * Math.max(16, capacidad);
+    }
+
+    /**
+     * @return la frecuencia estimada de la clave, entre 0 y 15
+     */
+    int frecuencia(Object clave) {
+        int hash = mezclar(clave.hashCode());
+        int minimo = MAXIMO_CONTADOR;
+        for (int i = 0; i < SEMILLAS.length; i++) {
+            minimo = Math.min(minimo, contador(hash, i));
+        }
+        return minimo;
+    }
+
+    /**
+     * Registra un acceso a la clave.
+     */
+    void incrementar(Object clave) {
+        int hash = mezclar(clave.hashCode());
+        boolean incrementado = false;
+        for (int i = 0; i < SEMILLAS.length; i++) {
+            int indice = indice(hash, i);
+            int desplazamiento = desplazamiento(hash, i);
+            if (((tabla[indice] >>> desplazamiento) & 0xF) < MAXIMO_CONTADOR) {
+                tabla[indice] += 1L << desplazamiento;
+                incrementado = true;
+            }
+        }
+        if (incrementado && ++incrementos >= muestra) {
+            envejecer();
+        }
+    }
+
+    // Métodos auxiliares
+    private void envejecer() {
+        for (int i = 0; i < tabla.length; i++) {
+            tabla[i] = (tabla[i] >>> 1) & MASCARA_MITAD;
+        }
+        incrementos /= 2;
+    }
+
+    private int contador(int hash, int i) {
+        return (int) ((tabla[indice(hash, i)] >>> desplazamiento(hash, i)) & 0xF);
+    }
+
+    private int indice(int hash, int i) {
+        long h = (hash + SEMILLAS[i]) * SEMILLAS[i];
+        return (int) (h >>> 32) & mascaraTabla;
+    }
+
+    /**
+     * Cada función de hash usa uno de los dieciséis contadores de 4 bits de su {@code long}.
+     */
+    private static int desplazamiento(int hash, int i) {
+        return ((hash >>> (i << 3)) & 0xF) << 2;
+    }
+
+    private static int mezclar(int hash) {
+        int h = hash * 0x9E37_79B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,88 @@
+package com.hotel.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Búfer de accesos repartido en franjas, una por grupo de hilos, para que las lecturas de la
+ * {@link CacheTinyLfu} no compitan por su bloqueo. Cada franja es un anillo acotado con varios productores
+ * y un único consumidor: quien tenga el bloqueo de la caché. Es deliberadamente con pérdidas: si una franja
+ * está llena o hay contención al reclamar una ranura, el acceso se descarta, lo que solo resta precisión a
+ * las frecuencias y al orden LRU.
+ * @param <E> Tipo de los accesos registrados
+ */
+final class BuferLecturas<E> {
+
+    private static final int TAMANO_FRANJA = 16;
+    private static final int MASCARA_FRANJA = TAMANO_FRANJA - 1;
+    private static final int FRANJAS_POR_PROCESADOR = 4;
+
+    private final Franja<E>[] franjas;
+    private final int mascaraFranjas;
+
+    @SuppressWarnings("unchecked")
+    BuferLecturas() {
+        int deseadas = FRANJAS_POR_PROCESADOR * Runtime.getRuntime().availableProcessors();
+        int total = Integer.highestOneBit(Math.max(1, deseadas - 1)) << 1;
+        this.franjas = new Franja[total];
+        for (int i = 0; i < total; i++) {
+            franjas[i] = new Franja<>();
+        }
+        this.mascaraFranjas = total - 1;
+    }
+
+    /**
+     * Registra un acceso en la franja del hilo actual, sin bloquear.
+     * @param elemento El acceso
+     * @return true si la franja está llena y conviene drenar el búfer
+     */
+    boolean ofrecer(E elemento) {
+        Franja<E> franja = franjas[franjaDelHilo()];
+        long escritos = franja.escritos.get();
+        if (escritos - franja.leidos >= TAMANO_FRANJA) {
+            return true;
+        }
+        if (franja.escritos.compareAndSet(escritos, escritos + 1)) {
+            franja.ranuras.lazySet((int) escritos & MASCARA_FRANJA, elemento);
+            return escritos + 1 - franja.leidos >= TAMANO_FRANJA;
+        }
+        return false;
+    }
+
+    /**
+     * Entrega al consumidor los accesos pendientes de todas las franjas. Solo puede llamarse con el
+     * bloqueo de la caché.
+     * @param consumidor Recibe cada acceso en el orden en que se registró dentro de su franja
+     */
+    void drenar(Consumer<E> consumidor) {
+        for (Franja<E> franja : franjas) {
+            long leidos = franja.leidos;
+            long escritos = franja.escritos.get();
+            while (leidos < escritos) {
+                int ranura = (int) leidos & MASCARA_FRANJA;
+                E elemento = franja.ranuras.get(ranura);
+                if (elemento == null) {
+                    // Ranura reclamada pero aún sin escribir: se recoge en el siguiente drenaje
+                    break;
+                }
+                franja.ranuras.lazySet(ranura, null);
+                consumidor.accept(elemento);
+                leidos++;
+            }
+            franja.leidos = leidos;
+        }
+    }
+
+    // Métodos auxiliares
+    private int franjaDelHilo() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 16)) * 0x9E37_79B9 >>> 16 & mascaraFranjas;
+    }
+
+    private static final class Franja<E> {
+        private final AtomicLong escritos = new AtomicLong();
+        private final AtomicReferenceArray<E> ranuras = new AtomicReferenceArray<>(TAMANO_FRANJA);
+        private volatile long leidos;
+    }
+}
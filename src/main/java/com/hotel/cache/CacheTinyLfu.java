@@ -0,0 +1,328 @@
+package com.hotel.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Caché acotada con política W-TinyLFU, limitada a la vez por número de entradas y por peso aproximado
+ * en bytes.
+ * <p>
+ * Las entradas nuevas entran en una ventana LRU pequeña (1 % de la capacidad). Al salir de ella compiten
+ * por quedarse en la zona principal, una LRU segmentada (probatoria y protegida, esta con el 80 %): la
+ * entrada solo desplaza a la víctima de la zona probatoria si su frecuencia estimada por el
+ * {@link BosquejoFrecuencias} es mayor. Así, un recorrido puntual de muchas claves no expulsa las
+ * reservas que se consultan de verdad a menudo.
+ * <p>
+ * Es segura para hilos. Las lecturas no esperan a ningún bloqueo: consultan un mapa concurrente y dejan el
+ * acceso en un {@link BuferLecturas} repartido en franjas. Cuando una franja se llena, la lectura que lo
+ * detecta aplica los accesos a las frecuencias y a las listas LRU solo si obtiene el bloqueo con
+ * {@code tryLock}; si no, lo hará otra más tarde. Solo las escrituras, el desalojo y la admisión esperan al
+ * bloqueo, y todas las operaciones siguen siendo O(1).
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+public class CacheTinyLfu<K, V> {
+
+    private static final int PORCENTAJE_VENTANA = 1;
+    private static final int PORCENTAJE_PROTEGIDA = 80;
+
+    private final int maximoEntradas;
+    private final long maximoPeso;
+    private final int maximoVentana;
+    private final int maximoProtegida;
+    private final ToIntFunction<V> pesador;
+    private final Map<K, Nodo<K, V>> nodos = new ConcurrentHashMap<>();
+    private final BosquejoFrecuencias bosquejo;
+    private final BuferLecturas<Object> lecturas = new BuferLecturas<>();
+    private final ReentrantLock bloqueo = new ReentrantLock();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final Lista<K, V> ventana = new Lista<>();
+    private final Lista<K, V> probatoria = new Lista<>();
+    private final Lista<K, V> protegida = new Lista<>();
+    private long peso;
+    private long desalojos;
+    private long invalidaciones;
+
+    /**
+     * @param maximoEntradas Número máximo de entradas
+     * @param maximoPeso Peso total máximo, en bytes aproximados
+     * @param pesador Estimación del peso en bytes de cada valor
+     */
+    public CacheTinyLfu(int maximoEntradas, long maximoPeso, ToIntFunction<V> pesador) {
+        if (maximoEntradas <= 0 || maximoPeso <= 0) {
+            throw new IllegalArgumentException("Los límites de la caché deben ser mayores a cero");
+        }
+        this.maximoEntradas = maximoEntradas;
+        this.maximoPeso = maximoPeso;
+        this.maximoVentana = Math.max(1, maximoEntradas * PORCENTAJE_VENTANA / 100);
+        this.maximoProtegida = Math.max(1, (maximoEntradas - maximoVentana) * PORCENTAJE_PROTEGIDA / 100);
+        this.pesador = pesador;
+        this.bosquejo = new BosquejoFrecuencias(maximoEntradas);
+    }
+
+    /**
+     * Obtiene el valor de una clave y registra el acceso, sin esperar al bloqueo de la caché.
+     * @param clave La clave
+     * @return el valor, o null si no está en la caché
+     */
+    public V obtener(K clave) {
+        Nodo<K, V> nodo = nodos.get(clave);
+        if (nodo == null) {
+            fallos.increment();
+        } else {
+            aciertos.increment();
+        }
+        // Un acierto deja el nodo (frecuencia y orden LRU); un fallo, solo la clave (frecuencia)
+        if (lecturas.ofrecer(nodo != null ? nodo : clave) && bloqueo.tryLock()) {
+            try {
+                drenarLecturas();
+            } finally {
+                bloqueo.unlock();
+            }
+        }
+        return nodo != null ? nodo.valor : null;
+    }
+
+    /**
+     * Guarda o sustituye el valor de una clave. Los valores que por sí solos superan el peso máximo no se guardan.
+     * @param clave La clave
+     * @param valor El valor
+     */
+    public void poner(K clave, V valor) {
+        int pesoValor = pesador.applyAsInt(valor);
+        bloqueo.lock();
+        try {
+            ponerConBloqueo(clave, valor, pesoValor);
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Retira una clave de la caché.
+     * @param clave La clave
+     * @return true si estaba en la caché
+     */
+    public boolean invalidar(K clave) {
+        bloqueo.lock();
+        try {
+            Nodo<K, V> nodo = nodos.remove(clave);
+            if (nodo == null) {
+                return false;
+            }
+            nodo.zona.quitar(nodo);
+            nodo.zona = null;
+            peso -= nodo.peso;
+            invalidaciones++;
+            return true;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Vacía la caché; las frecuencias aprendidas se conservan.
+     */
+    public void invalidarTodo() {
+        bloqueo.lock();
+        try {
+            drenarLecturas();
+            for (Nodo<K, V> nodo : nodos.values()) {
+                nodo.zona = null;
+            }
+            invalidaciones += nodos.size();
+            nodos.clear();
+            ventana.vaciar();
+            probatoria.vaciar();
+            protegida.vaciar();
+            peso = 0;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * @return una foto de los contadores de la caché
+     */
+    public EstadisticasCache getEstadisticas() {
+        bloqueo.lock();
+        try {
+            drenarLecturas();
+            return new EstadisticasCache(aciertos.sum(), fallos.sum(), desalojos, invalidaciones, nodos.size(), peso);
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    // Métodos auxiliares
+    private void ponerConBloqueo(K clave, V valor, int pesoValor) {
+        Nodo<K, V> existente = nodos.get(clave);
+        if (existente != null) {
+            peso += pesoValor - existente.peso;
+            existente.valor = valor;
+            existente.peso = pesoValor;
+            registrarAcceso(existente);
+        } else {
+            if (pesoValor > maximoPeso) {
+                return;
+            }
+            Nodo<K, V> nodo = new Nodo<>(clave, valor, pesoValor);
+            nodos.put(clave, nodo);
+            ventana.agregarAlInicio(nodo);
+            nodo.zona = ventana;
+            peso += pesoValor;
+        }
+        desalojarSiExcede();
+    }
+
+    /**
+     * Aplica los accesos acumulados por las lecturas; se invoca con el bloqueo de la caché.
+     */
+    @SuppressWarnings("unchecked")
+    private void drenarLecturas() {
+        lecturas.drenar(acceso -> {
+            if (acceso instanceof Nodo<?, ?> nodo) {
+                bosquejo.incrementar(nodo.clave);
+                // El nodo pudo desalojarse o invalidarse desde la lectura
+                if (nodo.zona != null) {
+                    registrarAcceso((Nodo<K, V>) nodo);
+                }
+            } else {
+                bosquejo.incrementar(acceso);
+            }
+        });
+    }
+
+    private void registrarAcceso(Nodo<K, V> nodo) {
+        if (nodo.zona == probatoria) {
+            // Un segundo acceso en la zona principal la promueve a protegida
+            probatoria.quitar(nodo);
+            protegida.agregarAlInicio(nodo);
+            nodo.zona = protegida;
+            while (protegida.tamano > maximoProtegida) {
+                Nodo<K, V> degradado = protegida.ultimo();
+                protegida.quitar(degradado);
+                probatoria.agregarAlInicio(degradado);
+                degradado.zona = probatoria;
+            }
+        } else {
+            nodo.zona.quitar(nodo);
+            nodo.zona.agregarAlInicio(nodo);
+        }
+    }
+
+    private boolean excede() {
+        return nodos.size() > maximoEntradas || peso > maximoPeso;
+    }
+
+    /**
+     * Pasa a la zona probatoria lo que sobra de la ventana y, mientras se superen los límites, enfrenta a
+     * cada candidata recién llegada con la víctima de la zona probatoria; se desaloja la menos frecuente.
+     */
+    private void desalojarSiExcede() {
+        List<Nodo<K, V>> candidatas = new ArrayList<>(1);
+        while (ventana.tamano > maximoVentana) {
+            Nodo<K, V> candidata = ventana.ultimo();
+            ventana.quitar(candidata);
+            probatoria.agregarAlInicio(candidata);
+            candidata.zona = probatoria;
+            candidatas.add(candidata);
+        }
+        int siguienteCandidata = 0;
+        while (excede()) {
+            Nodo<K, V> victima = probatoria.ultimo();
+            if (victima == null) {
+                victima = protegida.ultimo() != null ? protegida.ultimo() : ventana.ultimo();
+                desalojar(victima);
+                continue;
+            }
+            while (siguienteCandidata < candidatas.size() && candidatas.get(siguienteCandidata).zona == null) {
+                siguienteCandidata++;
+            }
+            Nodo<K, V> candidata = siguienteCandidata < candidatas.size() ? candidatas.get(siguienteCandidata) : null;
+            if (candidata == null || candidata == victima) {
+                desalojar(victima);
+            } else if (bosquejo.frecuencia(candidata.clave) > bosquejo.frecuencia(victima.clave)) {
+                desalojar(victima);
+            } else {
+                desalojar(candidata);
+            }
+        }
+    }
+
+    private void desalojar(Nodo<K, V> nodo) {
+        nodo.zona.quitar(nodo);
+        nodo.zona = null;
+        nodos.remove(nodo.clave);
+        peso -= nodo.peso;
+        desalojos++;
+    }
+
+    private static final class Nodo<K, V> {
+        private final K clave;
+        private volatile V valor;
+        private int peso;
+        private Lista<K, V> zona;
+        private Nodo<K, V> anterior;
+        private Nodo<K, V> siguiente;
+
+        private Nodo(K clave, V valor, int peso) {
+            this.clave = clave;
+            this.valor = valor;
+            this.peso = peso;
+        }
+    }
+
+    /**
+     * Lista doblemente enlazada en orden de uso: el primero es el más reciente.
+     */
+    private static final class Lista<K, V> {
+        private Nodo<K, V> primero;
+        private Nodo<K, V> ultimo;
+        private int tamano;
+
+        private void agregarAlInicio(Nodo<K, V> nodo) {
+            nodo.anterior = null;
+            nodo.siguiente = primero;
+            if (primero != null) {
+                primero.anterior = nodo;
+            } else {
+                ultimo = nodo;
+            }
+            primero = nodo;
+            tamano++;
+        }
+
+        private void quitar(Nodo<K, V> nodo) {
+            if (nodo.anterior != null) {
+                nodo.anterior.siguiente = nodo.siguiente;
+            } else {
+                primero = nodo.siguiente;
+            }
+            if (nodo.siguiente != null) {
+                nodo.siguiente.anterior = nodo.anterior;
+            } else {
+                ultimo = nodo.anterior;
+            }
+            nodo.anterior = null;
+            nodo.siguiente = null;
+            tamano--;
+        }
+
+        private Nodo<K, V> ultimo() {
+            return ultimo;
+        }
+
+        private void vaciar() {
+            primero = null;
+            ultimo = null;
+            tamano = 0;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.hotel.cache;
+
+/**
+ * Foto de los contadores de una {@link CacheTinyLfu}.
+ */
+public class EstadisticasCache {
+
+    private final long aciertos;
+    private final long fallos;
+    private final long desalojos;
+    private final long invalidaciones;
+    private final int entradas;
+    private final long peso;
+
+    public EstadisticasCache(long aciertos, long fallos, long desalojos, long invalidaciones, int entradas, long peso) {
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.desalojos = desalojos;
+        this.invalidaciones = invalidaciones;
+        this.entradas = entradas;
+        this.peso = peso;
+    }
+
+    /**
+     * @return la fracción de consultas que encontraron la entrada, entre 0 y 1
+     */
+    public double getTasaAciertos() {
+        long consultas = aciertos + fallos;
+        return consultas > 0 ? (double) aciertos / consultas : 0;
+    }
+
+    // Getters
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * @return las entradas descartadas para respetar los límites de tamaño (no incluye invalidaciones)
+     */
+    public long getDesalojos() {
+        return desalojos;
+    }
+
+    public long getInvalidaciones() {
+        return invalidaciones;
+    }
+
+    public int getEntradas() {
+        return entradas;
+    }
+
+    /**
+     * @return el peso aproximado, en bytes, de las entradas actuales
+     */
+    public long getPeso() {
+        return peso;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasCache{" +
+                "aciertos=" + aciertos +
+                ", fallos=" + fallos +
+                ", tasaAciertos=" + getTasaAciertos() +
+                ", desalojos=" + desalojos +
+                ", invalidaciones=" + invalidaciones +
+                ", entradas=" + entradas +
+                ", peso=" + peso +
+                '}';
+    }
+}
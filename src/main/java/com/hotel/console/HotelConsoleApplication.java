@@ -1,33 +1,203 @@
 package com.hotel.console;
 
+import com.hotel.disponibilidad.IndiceDisponibilidad;
+import com.hotel.evento.BusEventos;
+import com.hotel.evento.TipoEventoDominio;
+import com.hotel.exception.HabitacionNoDisponibleException;
+import com.hotel.identificador.Identificadores;
 import com.hotel.model.*;
-
+import com.hotel.persistencia.EstadoHotel;
+import com.hotel.persistencia.PersistenciaHotel;
+import com.hotel.registro.HuespedAlojado;
+import com.hotel.registro.RegistroHuespedesAlojados;
+import com.hotel.repository.ClienteRepository;
+import com.hotel.repository.ReservaRepository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Punto de entrada en consola para el sistema de reservas del hotel.
  * Ofrece un menú sencillo para crear clientes, habitaciones, reservas y ejecutar check-in/check-out.
+ * <p>
+ * Con {@code --lote [archivo]} ejecuta en cambio un guion de operaciones sin menú ni preguntas (leído del
+ * archivo o, si no se indica o es {@code -}, de la entrada estándar) y escribe los resultados con un
+ * writer con búfer; sirve para reproducir un día de recepción en pruebas de capacidad. Cada línea es
+ * {@code operacion | campo | campo ...}, con los campos en el orden en que el menú los pregunta, p. ej.
+ * {@code crear-reserva | $ana | 101 | 2025-03-01 | 2025-03-04 | 2 | Cuna}. Una línea que empieza por
+ * {@code nombre =} guarda el ID que crea la operación (cliente, reserva o check-in), y {@code $nombre}
+ * lo usa como campo en las líneas siguientes. Se ignoran las líneas vacías y las que empiezan por {@code #}.
  */
 public class HotelConsoleApplication {
 
     private static final Logger LOGGER = Logger.getLogger(HotelConsoleApplication.class.getName());
+    private static final String DIRECTORIO_DATOS = "hotel.directorioDatos";
+    private static final int CAPACIDAD_EVENTOS = 1024;
+    private static final String OPCION_LOTE = "--lote";
+    private static final int TAMANO_BUFER_SALIDA = 64 * 1024;
+    private static final Map<String, Integer> OPERACIONES_LOTE = Map.ofEntries(
+            Map.entry("registrar-cliente", 1),
+            Map.entry("registrar-habitacion", 2),
+            Map.entry("crear-reserva", 3),
+            Map.entry("confirmar-reserva", 4),
+            Map.entry("check-in", 5),
+            Map.entry("agregar-huesped", 6),
+            Map.entry("check-out", 7),
+            Map.entry("listar-reservas", 8),
+            Map.entry("buscar-huesped", 9),
+            Map.entry("parte-viajeros", 10),
+            Map.entry("salir", 11));
     private final Scanner scanner = new Scanner(System.in);
-    private final Map<String, Cliente> clientes = new HashMap<>();
-    private final Map<String, Habitacion> habitaciones = new HashMap<>();
-    private final Map<String, Reserva> reservas = new HashMap<>();
-    private final Map<String, CheckIn> checkIns = new HashMap<>();
-    private final Map<String, CheckOut> checkOuts = new HashMap<>();
-
-    public static void main(String[] args) {
-        new HotelConsoleApplication().run();
+    private final PersistenciaHotel persistencia;
+    private final ClienteRepository clientes;
+    private final Map<String, Habitacion> habitaciones;
+    private final ReservaRepository reservas;
+    private final Map<String, CheckIn> checkIns;
+    private final Map<String, CheckOut> checkOuts;
+    private final IndiceDisponibilidad indiceDisponibilidad;
+    private final RegistroHuespedesAlojados huespedesAlojados;
+    private final BusEventos eventos;
+    private Deque<String> camposLote;
+    private Writer salidaLote;
+    private String ultimoIdCreado;
+
+    public HotelConsoleApplication(PersistenciaHotel persistencia) {
+        this.persistencia = persistencia;
+        EstadoHotel estado = persistencia.getEstado();
+        this.clientes = estado.getClientes();
+        this.habitaciones = estado.getHabitaciones();
+        this.reservas = estado.getReservas();
+        this.checkIns = estado.getCheckIns();
+        this.checkOuts = estado.getCheckOuts();
+        this.indiceDisponibilidad = estado.getIndiceDisponibilidad();
+        this.huespedesAlojados = estado.getHuespedesAlojados();
+        this.eventos = new BusEventos(CAPACIDAD_EVENTOS, List.of(
+                (evento, secuencia, finDeLote) -> LOGGER.fine("Evento " + secuencia + ": " + evento)));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directorio = Path.of(System.getProperty(DIRECTORIO_DATOS, "datos"));
+        HotelConsoleApplication aplicacion = new HotelConsoleApplication(PersistenciaHotel.abrir(directorio));
+        if (args.length == 0 || !OPCION_LOTE.equals(args[0])) {
+            aplicacion.run();
+            return;
+        }
+        boolean desdeEntradaEstandar = args.length < 2 || "-".equals(args[1]);
+        try (BufferedReader guion = desdeEntradaEstandar
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(args[1]), StandardCharsets.UTF_8);
+             Writer salida = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+                     TAMANO_BUFER_SALIDA)) {
+            aplicacion.ejecutarLote(guion, salida);
+        }
+    }
+
+    /**
+     * Ejecuta un guion de operaciones sin menú ni preguntas (ver la descripción de la clase). Un error en
+     * una línea se informa con su número y no detiene el resto del guion, salvo si la operación llegó a
+     * aplicarse a medias: entonces el guion se detiene en esa línea. Al terminar escribe el número de
+     * operaciones, de errores y las operaciones por segundo, y guarda una instantánea del estado.
+     * @param guion Líneas del guion
+     * @param salida Destino de los resultados; no se cierra
+     * @return el número de operaciones que fallaron
+     * @throws IOException Si no se puede leer el guion o escribir la salida
+     */
+    public int ejecutarLote(BufferedReader guion, Writer salida) throws IOException {
+        precargarHabitacionesDemo();
+        salidaLote = salida;
+        Map<String, String> variables = new HashMap<>();
+        int operaciones = 0;
+        int errores = 0;
+        int numeroLinea = 0;
+        long inicio = System.nanoTime();
+        try {
+            String linea;
+            boolean ejecutando = true;
+            while (ejecutando && (linea = guion.readLine()) != null) {
+                numeroLinea++;
+                linea = linea.trim();
+                if (linea.isEmpty() || linea.startsWith("#")) {
+                    continue;
+                }
+                operaciones++;
+                try {
+                    ejecutando = ejecutarLineaLote(linea, variables);
+                } catch (OperacionIncompletaException e) {
+                    errores++;
+                    informar("ERROR línea " + numeroLinea + ": " + e.getMessage() + "; se detiene el lote");
+                    ejecutando = false;
+                } catch (RuntimeException e) {
+                    errores++;
+                    informar("ERROR línea " + numeroLinea + ": " + e.getMessage());
+                }
+            }
+            long nanos = Math.max(1, System.nanoTime() - inicio);
+            informar("Operaciones: " + operaciones + ", errores: " + errores
+                    + ", tiempo: " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms"
+                    + String.format(", operaciones por segundo: %.1f", operaciones * 1e9 / nanos));
+            salida.flush();
+        } finally {
+            salidaLote = null;
+            camposLote = null;
+            cerrarPersistencia();
+        }
+        return errores;
+    }
+
+    private boolean ejecutarLineaLote(String linea, Map<String, String> variables) {
+        String[] partes = linea.split("\\|", -1);
+        String operacion = partes[0].trim();
+        String variable = null;
+        int igual = operacion.indexOf('=');
+        if (igual >= 0) {
+            variable = operacion.substring(0, igual).trim();
+            operacion = operacion.substring(igual + 1).trim();
+        }
+        Integer opcion = OPERACIONES_LOTE.get(operacion);
+        if (opcion == null) {
+            throw new IllegalArgumentException("Operación desconocida: " + operacion);
+        }
+        camposLote = new ArrayDeque<>(partes.length);
+        for (int i = 1; i < partes.length; i++) {
+            String campo = partes[i].trim();
+            if (campo.startsWith("$")) {
+                String valor = variables.get(campo.substring(1));
+                if (valor == null) {
+                    throw new IllegalArgumentException("Variable no definida: " + campo);
+                }
+                campo = valor;
+            }
+            camposLote.add(campo);
+        }
+        ultimoIdCreado = null;
+        boolean continuar = procesarOpcion(opcion);
+        if (variable != null) {
+            if (ultimoIdCreado == null) {
+                throw new IllegalArgumentException("La operación " + operacion + " no crea ningún ID");
+            }
+            variables.put(variable, ultimoIdCreado);
+        }
+        return continuar;
     }
 
     private void run() {
@@ -42,9 +212,20 @@ public class HotelConsoleApplication {
                 LOGGER.log(Level.SEVERE, "Error durante la ejecución", e);
             }
         }
+        cerrarPersistencia();
         LOGGER.info("¡Hasta pronto!");
     }
 
+    private void cerrarPersistencia() {
+        eventos.close();
+        try {
+            persistencia.tomarInstantanea();
+            persistencia.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "No se pudo guardar la instantánea del estado", e);
+        }
+    }
+
     private void mostrarMenu() {
         LOGGER.info("\n===== Sistema de Reservas - Consola =====");
         LOGGER.info("1. Registrar cliente");
@@ -55,7 +236,9 @@ public class HotelConsoleApplication {
         LOGGER.info("6. Agregar huésped adicional al check-in");
         LOGGER.info("7. Registrar check-out");
         LOGGER.info("8. Listar reservas");
-        LOGGER.info("9. Salir");
+        LOGGER.info("9. Buscar huésped alojado");
+        LOGGER.info("10. Parte de viajeros");
+        LOGGER.info("11. Salir");
     }
 
     private boolean procesarOpcion(int opcion) {
@@ -68,7 +251,9 @@ public class HotelConsoleApplication {
             case 6 -> { agregarHuespedAdicional(); yield true; }
             case 7 -> { registrarCheckOut(); yield true; }
             case 8 -> { listarReservas(); yield true; }
-            case 9 -> false;
+            case 9 -> { buscarHuespedAlojado(); yield true; }
+            case 10 -> { listarHuespedesAlojados(); yield true; }
+            case 11 -> false;
             default -> { LOGGER.warning("Opción inválida"); yield true; }
         };
     }
@@ -76,15 +261,19 @@ public class HotelConsoleApplication {
     private void registrarCliente() {
         String nombre = leerLinea("Nombre completo: ");
         String email = leerLinea("Email: ");
-        if (clientes.values().stream().anyMatch(c -> c.getEmail().equalsIgnoreCase(email))) {
+        if (clientes.existePorEmail(email)) {
             throw new IllegalArgumentException("Ya existe un cliente con ese email");
         }
         String telefono = leerLinea("Teléfono: ");
         String direccion = leerLinea("Dirección: ");
 
-        Cliente cliente = new Cliente(UUID.randomUUID().toString(), nombre, email, telefono, direccion);
-        clientes.put(cliente.getId(), cliente);
-        LOGGER.info("Cliente registrado con ID: " + cliente.getId());
+        Cliente cliente = new Cliente(Identificadores.nuevoId(), nombre, email, telefono, direccion);
+        aplicarCambios(() -> {
+            clientes.guardar(cliente);
+            persistencia.clienteRegistrado(cliente);
+        });
+        ultimoIdCreado = cliente.getId();
+        informar("Cliente registrado con ID: " + cliente.getId());
     }
 
     private void registrarHabitacionEstandar() {
@@ -100,16 +289,17 @@ public class HotelConsoleApplication {
         boolean calefaccion = leerBooleano("¿Tiene calefacción? (s/n): ");
 
         Habitacion habitacion = new HabitacionEstandar(numero, precio, capacidad, descripcion, vista, aire, calefaccion);
-        habitaciones.put(numero, habitacion);
-        LOGGER.info("Habitación registrada correctamente");
+        aplicarCambios(() -> {
+            habitaciones.put(numero, habitacion);
+            persistencia.habitacionRegistrada(habitacion);
+        });
+        informar("Habitación registrada correctamente");
     }
 
     private void crearReserva() {
         String clienteId = leerLinea("ID del cliente: ");
-        Cliente cliente = clientes.get(clienteId);
-        if (cliente == null) {
-            throw new IllegalArgumentException("Cliente no encontrado");
-        }
+        Cliente cliente = clientes.buscarPorId(clienteId)
+                .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado"));
         String numeroHabitacion = leerLinea("Número de habitación: ");
         Habitacion habitacion = habitaciones.get(numeroHabitacion);
         if (habitacion == null) {
@@ -121,20 +311,37 @@ public class HotelConsoleApplication {
         String notas = leerLinea("Notas adicionales: ");
 
         Reserva reserva = new Reserva(cliente, habitacion, checkIn, checkOut, huespedes, notas);
-        reservas.put(reserva.getId(), reserva);
-        habitacion.marcarComoOcupada();
-        LOGGER.info("Reserva creada con ID: " + reserva.getId());
+        aplicarCambios(() -> {
+            if (!indiceDisponibilidad.ocupar(numeroHabitacion, reserva.getId(), checkIn, checkOut)) {
+                throw new HabitacionNoDisponibleException(numeroHabitacion, checkIn.toString(), checkOut.toString());
+            }
+            try {
+                reservas.guardar(reserva);
+            } catch (RuntimeException e) {
+                indiceDisponibilidad.liberar(numeroHabitacion, reserva.getId());
+                throw e;
+            }
+        }, () -> {
+            habitacion.marcarComoOcupada();
+            persistencia.reservaCreada(reserva);
+            eventos.publicar(TipoEventoDominio.RESERVA_CREADA, reserva);
+        });
+        ultimoIdCreado = reserva.getId();
+        informar("Reserva creada con ID: " + reserva.getId());
     }
 
     private void confirmarReserva() {
         Reserva reserva = obtenerReservaPorUsuario();
-        reserva.confirmar();
-        LOGGER.info("Reserva confirmada");
+        aplicarCambios(reserva::confirmar, () -> {
+            reservas.guardar(reserva);
+            persistencia.reservaConfirmada(reserva);
+            eventos.publicar(TipoEventoDominio.RESERVA_CONFIRMADA, reserva);
+        });
+        informar("Reserva confirmada");
     }
 
     private void registrarCheckIn() {
         Reserva reserva = obtenerReservaPorUsuario();
-        reserva.registrarCheckIn();
         if (checkIns.containsKey(reserva.getId())) {
             throw new IllegalStateException("La reserva ya tiene un check-in registrado");
         }
@@ -149,10 +356,18 @@ public class HotelConsoleApplication {
         Huesped titular = convertirClienteAHuesped(reserva.getCliente());
         titular.setTitular(true);
         checkIn.agregarHuesped(titular);
-        reserva.setNumeroHuespedes(checkIn.getHuespedes().size());
 
-        checkIns.put(reserva.getId(), checkIn);
-        LOGGER.info("Check-in registrado con ID: " + checkIn.getId());
+        // La transición valida el estado antes de cambiarlo; después ya no se rechaza nada
+        aplicarCambios(reserva::registrarCheckIn, () -> {
+            reserva.setNumeroHuespedes(checkIn.getHuespedes().size());
+            checkIns.put(reserva.getId(), checkIn);
+            huespedesAlojados.registrarCheckIn(checkIn);
+            reservas.guardar(reserva);
+            persistencia.checkInRegistrado(reserva, checkIn);
+            eventos.publicar(TipoEventoDominio.CHECK_IN_REGISTRADO, reserva, checkIn.getId(), null);
+        });
+        ultimoIdCreado = checkIn.getId();
+        informar("Check-in registrado con ID: " + checkIn.getId());
     }
 
     private void agregarHuespedAdicional() {
@@ -161,13 +376,11 @@ public class HotelConsoleApplication {
         if (checkIn == null) {
             throw new IllegalArgumentException("No existe un check-in para esa reserva");
         }
-        Reserva reserva = reservas.get(reservaId);
-        if (reserva == null) {
-            throw new IllegalStateException("Reserva no encontrada");
-        }
+        Reserva reserva = reservas.buscarPorId(reservaId)
+                .orElseThrow(() -> new IllegalStateException("Reserva no encontrada"));
 
         Huesped huesped = new Huesped();
-        huesped.setId(UUID.randomUUID().toString());
+        huesped.setId(Identificadores.nuevoId());
         huesped.setNombre(leerLinea("Nombre del huésped: "));
         huesped.setApellido(leerLinea("Apellido del huésped: "));
         huesped.setTipoDocumento(leerLinea("Tipo de documento: "));
@@ -176,9 +389,14 @@ public class HotelConsoleApplication {
         huesped.setTelefono(leerLinea("Teléfono del huésped: "));
         huesped.setTitular(leerBooleano("¿Es titular? (s/n): "));
 
-        checkIn.agregarHuesped(huesped);
-        reserva.setNumeroHuespedes(checkIn.getHuespedes().size());
-        LOGGER.info("Huésped agregado correctamente");
+        aplicarCambios(() -> checkIn.agregarHuesped(huesped), () -> {
+            huespedesAlojados.registrarHuesped(checkIn, huesped);
+            reserva.setNumeroHuespedes(checkIn.getHuespedes().size());
+            reservas.guardar(reserva);
+            persistencia.huespedAgregado(reserva, checkIn);
+            eventos.publicar(TipoEventoDominio.HUESPED_AGREGADO, reserva, checkIn.getId(), huesped.getId());
+        });
+        informar("Huésped agregado correctamente");
     }
 
     private void registrarCheckOut() {
@@ -187,52 +405,82 @@ public class HotelConsoleApplication {
         if (checkIn == null) {
             throw new IllegalStateException("Debe existir un check-in antes de registrar el check-out");
         }
-        reserva.registrarCheckOut();
-
-        CheckOut checkOut = checkOuts.computeIfAbsent(reserva.getId(), id -> {
-            CheckOut co = new CheckOut();
-            co.setCheckInId(checkIn.getId());
-            return co;
-        });
-
-        BigDecimal totalEstadia = BigDecimal.valueOf(reserva.getMontoTotal());
+        if (reserva.getEstado() != Reserva.EstadoReserva.EN_CURSO) {
+            throw new IllegalStateException("Solo se puede hacer check-out de reservas en curso");
+        }
         BigDecimal totalServicios = leerBigDecimal("Total de servicios adicionales: ");
         String metodoPago = leerLinea("Método de pago: ");
         String referenciaPago = leerLinea("Referencia de pago: ");
 
-        checkOut.liquidar(totalEstadia, totalServicios, metodoPago, referenciaPago);
-        checkOuts.put(reserva.getId(), checkOut);
-        reserva.getHabitacion().marcarComoDisponible();
-        LOGGER.info("Check-out liquidado. Total a pagar: " + checkOut.getTotalGeneral());
+        // Se liquida un check-out nuevo antes de tocar la reserva, para que un dato inválido no deje nada a
+        // medias; el total de la estadía solo se conoce tras registrar la salida y se fija después
+        CheckOut checkOut = new CheckOut();
+        checkOut.setCheckInId(checkIn.getId());
+        checkOut.liquidar(BigDecimal.ZERO, totalServicios, metodoPago, referenciaPago);
+
+        aplicarCambios(reserva::registrarCheckOut, () -> {
+            checkOut.setTotalEstadia(BigDecimal.valueOf(reserva.getMontoTotal()));
+            checkOuts.put(reserva.getId(), checkOut);
+            huespedesAlojados.retirarCheckIn(checkIn.getId());
+            reservas.guardar(reserva);
+            reserva.getHabitacion().marcarComoDisponible();
+            indiceDisponibilidad.liberar(reserva.getHabitacion().getNumeroHabitacion(), reserva.getId());
+            persistencia.checkOutLiquidado(reserva, checkOut);
+            eventos.publicar(TipoEventoDominio.CHECK_OUT_LIQUIDADO, reserva, checkOut.getId(),
+                    String.valueOf(checkOut.getTotalGeneral()));
+        });
+        informar("Check-out liquidado. Total a pagar: " + checkOut.getTotalGeneral());
     }
 
     private void listarReservas() {
-        if (reservas.isEmpty()) {
-            LOGGER.info("No hay reservas registradas");
+        List<Reserva> registradas = reservas.listarTodas();
+        if (registradas.isEmpty()) {
+            informar("No hay reservas registradas");
             return;
         }
-        reservas.values().forEach(reserva -> {
-            LOGGER.info("---------------------------");
-            LOGGER.info("ID: " + reserva.getId());
-            LOGGER.info("Cliente: " + reserva.getCliente().getNombreCompleto());
-            LOGGER.info("Habitación: " + reserva.getHabitacion().getNumeroHabitacion());
-            LOGGER.info("Estado: " + reserva.getEstado());
-            LOGGER.info("Check-in: " + reserva.getFechaCheckIn());
-            LOGGER.info("Check-out: " + reserva.getFechaCheckOut());
-            LOGGER.info("Monto total: " + reserva.getMontoTotal());
+        registradas.forEach(reserva -> {
+            informar("---------------------------");
+            informar("ID: " + reserva.getId());
+            informar("Cliente: " + reserva.getCliente().getNombreCompleto());
+            informar("Habitación: " + reserva.getHabitacion().getNumeroHabitacion());
+            informar("Estado: " + reserva.getEstado());
+            informar("Check-in: " + reserva.getFechaCheckIn());
+            informar("Check-out: " + reserva.getFechaCheckOut());
+            informar("Monto total: " + reserva.getMontoTotal());
             if (checkIns.containsKey(reserva.getId())) {
-                LOGGER.info("Huéspedes registrados: " + checkIns.get(reserva.getId()).getHuespedes().size());
+                informar("Huéspedes registrados: " + checkIns.get(reserva.getId()).getHuespedes().size());
             }
         });
     }
 
+    private void buscarHuespedAlojado() {
+        String criterio = leerLinea("Buscar por (1) documento, (2) email o (3) teléfono: ");
+        List<HuespedAlojado> encontrados = switch (criterio) {
+            case "1" -> huespedesAlojados.buscarPorDocumento(leerLinea("Tipo de documento: "),
+                    leerLinea("Número de documento: "));
+            case "2" -> huespedesAlojados.buscarPorEmail(leerLinea("Email: "));
+            case "3" -> huespedesAlojados.buscarPorTelefono(leerLinea("Teléfono: "));
+            default -> throw new IllegalArgumentException("Criterio de búsqueda inválido");
+        };
+        if (encontrados.isEmpty()) {
+            informar("El huésped no está alojado en el hotel");
+            return;
+        }
+        encontrados.forEach(alojado -> informar(alojado.toString()));
+    }
+
+    private void listarHuespedesAlojados() {
+        List<HuespedAlojado> alojados = huespedesAlojados.listarAlojados();
+        informar("Huéspedes alojados: " + alojados.size());
+        alojados.forEach(alojado -> informar(alojado.getHabitacionId() + " | " + alojado.getHuesped()
+                + " | Entrada: " + alojado.getFechaHoraEntrada()
+                + " | Salida prevista: " + alojado.getFechaHoraSalidaPrevista()));
+    }
+
     private Reserva obtenerReservaPorUsuario() {
         String reservaId = leerLinea("ID de la reserva: ");
-        Reserva reserva = reservas.get(reservaId);
-        if (reserva == null) {
-            throw new IllegalArgumentException("Reserva no encontrada");
-        }
-        return reserva;
+        return reservas.buscarPorId(reservaId)
+                .orElseThrow(() -> new IllegalArgumentException("Reserva no encontrada"));
     }
 
     private void precargarHabitacionesDemo() {
@@ -244,8 +492,13 @@ public class HotelConsoleApplication {
                 .conServicioHabitaciones(true)
                 .conNumeroHabitaciones(2)
                 .build();
-        habitaciones.put(estandar.getNumeroHabitacion(), estandar);
-        habitaciones.put(suite.getNumeroHabitacion(), suite);
+        for (Habitacion habitacion : List.of(estandar, suite)) {
+            persistencia.mutar(() -> {
+                if (habitaciones.putIfAbsent(habitacion.getNumeroHabitacion(), habitacion) == null) {
+                    persistencia.habitacionRegistrada(habitacion);
+                }
+            });
+        }
     }
 
     private Huesped convertirClienteAHuesped(Cliente cliente) {
@@ -260,7 +513,52 @@ public class HotelConsoleApplication {
         return huesped;
     }
 
+    private void aplicarCambios(Runnable cambios) {
+        aplicarCambios(() -> { }, cambios);
+    }
+
+    /**
+     * Aplica los cambios de una operación ya validada con la barrera de mutaciones de la persistencia
+     * adquirida, para que una instantánea no los vea a medias. {@code ultimaComprobacion} puede rechazar la
+     * operación sin dejar nada cambiado (p. ej. una transición de estado de la reserva); si en cambio algo
+     * falla en {@code cambios} (por ejemplo, al escribir en el registro), el estado puede quedar aplicado a
+     * medias y el error se distingue de un rechazo.
+     */
+    private void aplicarCambios(Runnable ultimaComprobacion, Runnable cambios) {
+        persistencia.mutar(() -> {
+            ultimaComprobacion.run();
+            try {
+                cambios.run();
+            } catch (RuntimeException e) {
+                throw new OperacionIncompletaException(e);
+            }
+        });
+    }
+
+    /**
+     * Muestra un resultado: en el modo por lotes se escribe en la salida del lote en lugar de pasar por el log.
+     */
+    private void informar(String mensaje) {
+        if (salidaLote == null) {
+            LOGGER.info(mensaje);
+            return;
+        }
+        try {
+            salidaLote.write(mensaje);
+            salidaLote.write(System.lineSeparator());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir la salida del lote", e);
+        }
+    }
+
     private String leerLinea(String mensaje) {
+        if (camposLote != null) {
+            String campo = camposLote.poll();
+            if (campo == null) {
+                throw new IllegalArgumentException("Falta el campo: " + mensaje.replace(": ", "").trim());
+            }
+            return campo;
+        }
         LOGGER.info(mensaje);
         return scanner.nextLine().trim();
     }
@@ -286,4 +584,10 @@ public class HotelConsoleApplication {
         DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
         return LocalDate.parse(leerLinea(mensaje), formatter);
     }
+
+    private static final class OperacionIncompletaException extends RuntimeException {
+        private OperacionIncompletaException(RuntimeException causa) {
+            super("La operación quedó aplicada a medias: " + causa.getMessage(), causa);
+        }
+    }
 }
@@ -0,0 +1,147 @@
+package com.hotel.disponibilidad;
+
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Conjunto de bloqueos repartidos en franjas por número de habitación (lock striping).
+ * Las operaciones sobre habitaciones de franjas distintas avanzan en paralelo; las que
+ * comparten franja se serializan. Cuando una operación afecta a varias habitaciones,
+ * las franjas se adquieren siempre en orden ascendente para evitar interbloqueos.
+ * Opcionalmente, antes de cualquier franja se adquiere una barrera común (por ejemplo, la parte compartida
+ * de un bloqueo de lectura/escritura) que permite a un tercero detener todas las operaciones a la vez.
+ */
+public class BloqueosPorHabitacion {
+
+    private final ReentrantLock[] franjas;
+    private final int mascara;
+    private volatile Lock barrera;
+
+    /**
+     * @param franjasMinimas Número mínimo de franjas; se redondea a la siguiente potencia de dos
+     */
+    public BloqueosPorHabitacion(int franjasMinimas) {
+        if (franjasMinimas <= 0) {
+            throw new IllegalArgumentException("El número de franjas debe ser mayor a cero");
+        }
+        int total = Integer.highestOneBit(franjasMinimas);
+        if (total < franjasMinimas) {
+            total <<= 1;
+        }
+        this.franjas = new ReentrantLock[total];
+        for (int i = 0; i < total; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+        this.mascara = total - 1;
+    }
+
+    /**
+     * Configura la barrera que se adquiere antes que cualquier franja, o ninguna si es null.
+     * @param barrera Bloqueo común a todas las operaciones
+     */
+    public void setBarrera(Lock barrera) {
+        this.barrera = barrera;
+    }
+
+    /**
+     * Obtiene el bloqueo de la franja a la que pertenece una habitación.
+     * @param numeroHabitacion Número de la habitación
+     * @return el bloqueo de su franja
+     */
+    public Lock bloqueoDe(String numeroHabitacion) {
+        return franjas[franja(numeroHabitacion)];
+    }
+
+    /**
+     * Ejecuta una operación en exclusión mutua con las demás operaciones sobre la misma habitación.
+     * @param numeroHabitacion Número de la habitación
+     * @param operacion Operación a ejecutar
+     * @return el resultado de la operación
+     */
+    public <T> T conBloqueo(String numeroHabitacion, Supplier<T> operacion) {
+        return conBarrera(() -> {
+            Lock bloqueo = bloqueoDe(numeroHabitacion);
+            bloqueo.lock();
+            try {
+                return operacion.get();
+            } finally {
+                bloqueo.unlock();
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una operación en exclusión mutua sobre una habitación que puede cambiar mientras se espera el
+     * bloqueo (por ejemplo, la de una reserva que se está reubicando): si al adquirirlo la habitación ya no es
+     * la misma, se libera y se reintenta con la nueva.
+     * @param numeroHabitacion Devuelve el número de la habitación en cada momento
+     * @param operacion Operación a ejecutar
+     * @return el resultado de la operación
+     */
+    public <T> T conBloqueoVigente(Supplier<String> numeroHabitacion, Supplier<T> operacion) {
+        return conBarrera(() -> {
+            while (true) {
+                String numero = numeroHabitacion.get();
+                Lock bloqueo = bloqueoDe(numero);
+                bloqueo.lock();
+                try {
+                    if (numero.equals(numeroHabitacion.get())) {
+                        return operacion.get();
+                    }
+                } finally {
+                    bloqueo.unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una operación con los bloqueos de varias habitaciones adquiridos en orden determinista.
+     * @param numerosHabitacion Números de las habitaciones implicadas
+     * @param operacion Operación a ejecutar
+     * @return el resultado de la operación
+     */
+    public <T> T conBloqueo(Collection<String> numerosHabitacion, Supplier<T> operacion) {
+        boolean[] necesarias = new boolean[franjas.length];
+        for (String numero : numerosHabitacion) {
+            necesarias[franja(numero)] = true;
+        }
+        return conBarrera(() -> {
+            int adquiridas = 0;
+            try {
+                for (; adquiridas < franjas.length; adquiridas++) {
+                    if (necesarias[adquiridas]) {
+                        franjas[adquiridas].lock();
+                    }
+                }
+                return operacion.get();
+            } finally {
+                for (int i = adquiridas - 1; i >= 0; i--) {
+                    if (necesarias[i]) {
+                        franjas[i].unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    private <T> T conBarrera(Supplier<T> operacion) {
+        Lock comun = barrera;
+        if (comun == null) {
+            return operacion.get();
+        }
+        comun.lock();
+        try {
+            return operacion.get();
+        } finally {
+            comun.unlock();
+        }
+    }
+
+    private int franja(String numeroHabitacion) {
+        int h = numeroHabitacion.hashCode();
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
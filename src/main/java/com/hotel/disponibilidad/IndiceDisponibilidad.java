@@ -0,0 +1,193 @@
+package com.hotel.disponibilidad;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Índice de disponibilidad por habitación basado en intervalos de noches.
+ * Cada habitación mantiene un mapa ordenado de segmentos [inicio, fin) no solapados,
+ * expresados en días epoch, de modo que una consulta de solapamiento es O(log n).
+ */
+public class IndiceDisponibilidad {
+
+    private final Map<String, CalendarioHabitacion> calendarios = new ConcurrentHashMap<>();
+
+    /**
+     * Verifica si una habitación está libre para todas las noches del rango [fechaInicio, fechaFin).
+     * @param numeroHabitacion Número de la habitación
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     * @return true si no existe ninguna ocupación que se solape con el rango
+     */
+    public boolean estaDisponible(String numeroHabitacion, LocalDate fechaInicio, LocalDate fechaFin) {
+        return estaDisponible(numeroHabitacion, fechaInicio, fechaFin, null);
+    }
+
+    /**
+     * Verifica la disponibilidad ignorando la ocupación de una reserva concreta.
+     * Útil al modificar una reserva existente, que no debe entrar en conflicto consigo misma.
+     * @param numeroHabitacion Número de la habitación
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     * @param reservaIgnorada ID de la reserva a ignorar, o null
+     * @return true si la habitación está libre en el rango
+     */
+    public boolean estaDisponible(String numeroHabitacion, LocalDate fechaInicio, LocalDate fechaFin,
+                                  String reservaIgnorada) {
+        validarRango(fechaInicio, fechaFin);
+        CalendarioHabitacion calendario = calendarios.get(numeroHabitacion);
+        return calendario == null
+                || calendario.estaLibre(fechaInicio.toEpochDay(), fechaFin.toEpochDay(), reservaIgnorada);
+    }
+
+    /**
+     * Ocupa una habitación para una reserva si el rango está libre (comprobación y escritura atómicas).
+     * @param numeroHabitacion Número de la habitación
+     * @param reservaId ID de la reserva que ocupa la habitación
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     * @return true si se registró la ocupación, false si el rango se solapa con otra reserva
+     */
+    public boolean ocupar(String numeroHabitacion, String reservaId, LocalDate fechaInicio, LocalDate fechaFin) {
+        validarRango(fechaInicio, fechaFin);
+        return calendarios.computeIfAbsent(numeroHabitacion, n -> new CalendarioHabitacion())
+                .ocupar(reservaId, fechaInicio.toEpochDay(), fechaFin.toEpochDay());
+    }
+
+    /**
+     * Libera la ocupación de una reserva en una habitación.
+     * @param numeroHabitacion Número de la habitación
+     * @param reservaId ID de la reserva
+     * @return true si la reserva tenía una ocupación registrada, false en caso contrario
+     */
+    public boolean liberar(String numeroHabitacion, String reservaId) {
+        CalendarioHabitacion calendario = calendarios.get(numeroHabitacion);
+        return calendario != null && calendario.liberar(reservaId);
+    }
+
+    /**
+     * Mueve la ocupación de una reserva a otra habitación y/o a otras fechas.
+     * Si el nuevo rango no está libre, la ocupación original se conserva.
+     * @param reservaId ID de la reserva
+     * @param numeroAnterior Habitación ocupada actualmente
+     * @param numeroNuevo Habitación destino (puede ser la misma)
+     * @param fechaInicio Nueva fecha de entrada
+     * @param fechaFin Nueva fecha de salida
+     * @return true si se aplicó el cambio, false si el nuevo rango no está disponible
+     */
+    public boolean reubicar(String reservaId, String numeroAnterior, String numeroNuevo,
+                            LocalDate fechaInicio, LocalDate fechaFin) {
+        validarRango(fechaInicio, fechaFin);
+        if (numeroAnterior.equals(numeroNuevo)) {
+            return calendarios.computeIfAbsent(numeroNuevo, n -> new CalendarioHabitacion())
+                    .reemplazar(reservaId, fechaInicio.toEpochDay(), fechaFin.toEpochDay());
+        }
+        if (!ocupar(numeroNuevo, reservaId, fechaInicio, fechaFin)) {
+            return false;
+        }
+        liberar(numeroAnterior, reservaId);
+        return true;
+    }
+
+    /**
+     * Recorre, en orden, las ocupaciones de una habitación que se solapan con el rango [fechaInicio, fechaFin).
+     * @param numeroHabitacion Número de la habitación
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     * @param accion Recibe la entrada y la salida de cada ocupación
+     */
+    public void paraCadaOcupacion(String numeroHabitacion, LocalDate fechaInicio, LocalDate fechaFin,
+                                  BiConsumer<LocalDate, LocalDate> accion) {
+        validarRango(fechaInicio, fechaFin);
+        CalendarioHabitacion calendario = calendarios.get(numeroHabitacion);
+        if (calendario != null) {
+            calendario.solapadas(fechaInicio.toEpochDay(), fechaFin.toEpochDay())
+                    .forEach(segmento -> accion.accept(LocalDate.ofEpochDay(segmento.inicio),
+                            LocalDate.ofEpochDay(segmento.fin)));
+        }
+    }
+
+    private void validarRango(LocalDate fechaInicio, LocalDate fechaFin) {
+        if (fechaInicio == null || fechaFin == null) {
+            throw new IllegalArgumentException("Las fechas de inicio y fin son obligatorias");
+        }
+        if (!fechaFin.isAfter(fechaInicio)) {
+            throw new IllegalArgumentException("La fecha de fin debe ser posterior a la fecha de inicio");
+        }
+    }
+
+    /**
+     * Calendario de una habitación: segmentos no solapados ordenados por día de inicio.
+     * Como los segmentos no se solapan, el único candidato a conflicto con [inicio, fin)
+     * es el segmento con mayor inicio menor que fin (o su predecesor si se ignora ese segmento).
+     */
+    private static final class CalendarioHabitacion {
+        private final TreeMap<Long, Segmento> segmentos = new TreeMap<>();
+        private final Map<String, Segmento> porReserva = new HashMap<>();
+
+        synchronized boolean estaLibre(long inicio, long fin, String reservaIgnorada) {
+            Map.Entry<Long, Segmento> candidato = segmentos.lowerEntry(fin);
+            if (candidato != null && candidato.getValue().reservaId.equals(reservaIgnorada)) {
+                candidato = segmentos.lowerEntry(candidato.getKey());
+            }
+            return candidato == null || candidato.getValue().fin <= inicio;
+        }
+
+        synchronized List<Segmento> solapadas(long inicio, long fin) {
+            // Solo el segmento que empieza antes del rango puede entrar en él desde la izquierda
+            Long desde = segmentos.floorKey(inicio);
+            List<Segmento> resultado = new ArrayList<>();
+            for (Segmento segmento : segmentos.subMap(desde != null ? desde : inicio, true, fin, false).values()) {
+                if (segmento.fin > inicio) {
+                    resultado.add(segmento);
+                }
+            }
+            return resultado;
+        }
+
+        synchronized boolean ocupar(String reservaId, long inicio, long fin) {
+            if (porReserva.containsKey(reservaId) || !estaLibre(inicio, fin, null)) {
+                return false;
+            }
+            Segmento segmento = new Segmento(reservaId, inicio, fin);
+            segmentos.put(inicio, segmento);
+            porReserva.put(reservaId, segmento);
+            return true;
+        }
+
+        synchronized boolean liberar(String reservaId) {
+            Segmento segmento = porReserva.remove(reservaId);
+            if (segmento == null) {
+                return false;
+            }
+            segmentos.remove(segmento.inicio);
+            return true;
+        }
+
+        synchronized boolean reemplazar(String reservaId, long inicio, long fin) {
+            if (!estaLibre(inicio, fin, reservaId)) {
+                return false;
+            }
+            liberar(reservaId);
+            return ocupar(reservaId, inicio, fin);
+        }
+    }
+
+    private static final class Segmento {
+        private final String reservaId;
+        private final long inicio;
+        private final long fin;
+
+        private Segmento(String reservaId, long inicio, long fin) {
+            this.reservaId = reservaId;
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+    }
+}
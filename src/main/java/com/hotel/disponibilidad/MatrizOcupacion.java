@@ -0,0 +1,394 @@
+package com.hotel.disponibilidad;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Matriz de ocupación habitación × noche para búsquedas de disponibilidad sobre todo el catálogo.
+ * Cada noche del horizonte es un bitset sobre los ordinales de las habitaciones (bit a 1 = ocupada),
+ * de modo que "habitaciones libres en [inicio, fin)" se resuelve combinando palabras de 64 habitaciones
+ * a la vez en lugar de consultar habitación por habitación.
+ * Las celdas pueden residir en el heap o fuera de él (buffer directo).
+ * <p>
+ * Cada bit se marca con una operación atómica sobre su palabra, sin bloqueos: las reservas de habitaciones
+ * distintas no se esperan entre sí. Quien llama debe serializar las operaciones sobre una misma habitación
+ * (el servicio lo hace con el bloqueo de la habitación). Las noches se guardan en un anillo indexado por el
+ * día, así que el horizonte avanza con {@link #avanzarHasta(LocalDate)} sin mover las filas existentes;
+ * ese avance es lo único que toma el bloqueo en exclusiva, y lecturas y marcas lo validan de forma optimista.
+ */
+public class MatrizOcupacion {
+
+    private static final int BITS_POR_PALABRA = Long.SIZE;
+    private static final VarHandle CELDA_HEAP = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle CELDA_DIRECTA =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final int horizonteDias;
+    private final int capacidadHabitaciones;
+    private final int palabrasPorNoche;
+    private final long[] celdasHeap;
+    private final ByteBuffer celdasDirectas;
+    private final Map<String, Integer> ordinales = new ConcurrentHashMap<>();
+    private final String[] numeros;
+    private final StampedLock horizonte = new StampedLock();
+    private volatile long origen;
+    private volatile long finCubierto;
+    private volatile int totalHabitaciones;
+
+    private MatrizOcupacion(LocalDate origen, int horizonteDias, int capacidadHabitaciones, boolean fueraDeHeap) {
+        if (origen == null) {
+            throw new IllegalArgumentException("La fecha de origen es obligatoria");
+        }
+        if (horizonteDias <= 0 || capacidadHabitaciones <= 0) {
+            throw new IllegalArgumentException("El horizonte y la capacidad deben ser mayores a cero");
+        }
+        this.origen = origen.toEpochDay();
+        this.horizonteDias = horizonteDias;
+        this.finCubierto = this.origen + horizonteDias;
+        this.capacidadHabitaciones = capacidadHabitaciones;
+        this.palabrasPorNoche = (capacidadHabitaciones + BITS_POR_PALABRA - 1) / BITS_POR_PALABRA;
+        this.numeros = new String[capacidadHabitaciones];
+        int palabras = Math.multiplyExact(palabrasPorNoche, horizonteDias);
+        this.celdasHeap = fueraDeHeap ? null : new long[palabras];
+        this.celdasDirectas = fueraDeHeap
+                ? ByteBuffer.allocateDirect(Math.multiplyExact(palabras, Long.BYTES)).order(ByteOrder.nativeOrder())
+                : null;
+    }
+
+    /**
+     * Crea una matriz cuyas celdas residen en el heap.
+     * @param origen Primera noche cubierta
+     * @param horizonteDias Número de noches cubiertas a partir del origen
+     * @param capacidadHabitaciones Número máximo de habitaciones registrables
+     * @return la matriz creada
+     */
+    public static MatrizOcupacion enHeap(LocalDate origen, int horizonteDias, int capacidadHabitaciones) {
+        return new MatrizOcupacion(origen, horizonteDias, capacidadHabitaciones, false);
+    }
+
+    /**
+     * Crea una matriz cuyas celdas residen en memoria directa, fuera del heap.
+     * @param origen Primera noche cubierta
+     * @param horizonteDias Número de noches cubiertas a partir del origen
+     * @param capacidadHabitaciones Número máximo de habitaciones registrables
+     * @return la matriz creada
+     */
+    public static MatrizOcupacion fueraDeHeap(LocalDate origen, int horizonteDias, int capacidadHabitaciones) {
+        return new MatrizOcupacion(origen, horizonteDias, capacidadHabitaciones, true);
+    }
+
+    /**
+     * Registra una habitación en la matriz asignándole un ordinal. Es idempotente.
+     * @param numeroHabitacion Número de la habitación
+     * @return el ordinal asignado
+     * @throws IllegalStateException Si se alcanzó la capacidad de la matriz
+     */
+    public int registrarHabitacion(String numeroHabitacion) {
+        Integer ordinal = ordinales.get(numeroHabitacion);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (ordinales) {
+            ordinal = ordinales.get(numeroHabitacion);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            if (totalHabitaciones >= capacidadHabitaciones) {
+                throw new IllegalStateException("Se alcanzó la capacidad máxima de habitaciones de la matriz de ocupación");
+            }
+            int nuevo = totalHabitaciones;
+            numeros[nuevo] = numeroHabitacion;
+            ordinales.put(numeroHabitacion, nuevo);
+            // Se publica después del número: quien vea el total nuevo ve también la habitación
+            totalHabitaciones = nuevo + 1;
+            return nuevo;
+        }
+    }
+
+    /**
+     * Indica si el rango [fechaInicio, fechaFin) cae por completo dentro del horizonte de la matriz.
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     * @return true si la matriz puede responder sobre ese rango
+     */
+    public boolean cubre(LocalDate fechaInicio, LocalDate fechaFin) {
+        return cubre(fechaInicio.toEpochDay(), fechaFin.toEpochDay(), origen);
+    }
+
+    /**
+     * Marca como ocupadas las noches [fechaInicio, fechaFin) de una habitación.
+     * Las noches fuera del horizonte se ignoran.
+     * @param numeroHabitacion Número de la habitación
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     */
+    public void ocupar(String numeroHabitacion, LocalDate fechaInicio, LocalDate fechaFin) {
+        marcar(registrarHabitacion(numeroHabitacion), fechaInicio, fechaFin, true);
+    }
+
+    /**
+     * Libera las noches [fechaInicio, fechaFin) de una habitación.
+     * @param numeroHabitacion Número de la habitación
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     */
+    public void liberar(String numeroHabitacion, LocalDate fechaInicio, LocalDate fechaFin) {
+        Integer ordinal = ordinales.get(numeroHabitacion);
+        if (ordinal != null) {
+            marcar(ordinal, fechaInicio, fechaFin, false);
+        }
+    }
+
+    /**
+     * Avanza el horizonte para que empiece en la fecha indicada: las noches anteriores dejan de cubrirse y
+     * sus filas, ya vacías, pasan a representar las noches nuevas del final. Si la fecha no es posterior al
+     * origen actual no hace nada. Las noches nuevas aceptan marcas desde ese momento, pero no se consideran
+     * cubiertas hasta {@link #completarAvance()}: antes hay que volver a marcar en ellas las ocupaciones que
+     * ya existían.
+     * @param nuevoOrigen Primera noche que debe cubrir la matriz
+     * @return la primera noche nueva que pasa a cubrirse (el final anterior del horizonte), o null si no avanzó
+     */
+    public LocalDate avanzarHasta(LocalDate nuevoOrigen) {
+        long destino = nuevoOrigen.toEpochDay();
+        long sello = horizonte.writeLock();
+        try {
+            long actual = origen;
+            if (destino <= actual) {
+                return null;
+            }
+            long finAnterior = actual + horizonteDias;
+            // Más allá de un horizonte completo todas las filas se reutilizan
+            for (long dia = actual; dia < Math.min(destino, finAnterior); dia++) {
+                int base = fila(dia) * palabrasPorNoche;
+                for (int palabra = 0; palabra < palabrasPorNoche; palabra++) {
+                    escribir(base + palabra, 0L);
+                }
+            }
+            origen = destino;
+            finCubierto = Math.max(finAnterior, destino);
+            return LocalDate.ofEpochDay(finCubierto);
+        } finally {
+            horizonte.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Da por cubiertas las noches que entraron con el último {@link #avanzarHasta(LocalDate)}, una vez
+     * marcadas en ellas las ocupaciones que ya existían.
+     */
+    public void completarAvance() {
+        long sello = horizonte.writeLock();
+        try {
+            finCubierto = origen + horizonteDias;
+        } finally {
+            horizonte.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Obtiene las habitaciones libres durante todas las noches del rango [fechaInicio, fechaFin).
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     * @return números de las habitaciones libres, en orden de registro, o vacío si el rango no está cubierto
+     */
+    public Optional<List<String>> habitacionesLibres(LocalDate fechaInicio, LocalDate fechaFin) {
+        long inicio = fechaInicio.toEpochDay();
+        long fin = fechaFin.toEpochDay();
+        int habitaciones = totalHabitaciones;
+        long[] ocupadas = new long[palabrasPorNoche];
+
+        long sello = horizonte.tryOptimisticRead();
+        boolean cubierto = cubre(inicio, fin, origen);
+        if (cubierto) {
+            acumularOcupacion(ocupadas, inicio, fin, habitaciones);
+        }
+        if (!horizonte.validate(sello)) {
+            // El horizonte avanzó mientras se leía: se repite sin que pueda volver a moverse
+            sello = horizonte.readLock();
+            try {
+                cubierto = cubre(inicio, fin, origen);
+                Arrays.fill(ocupadas, 0L);
+                if (cubierto) {
+                    acumularOcupacion(ocupadas, inicio, fin, habitaciones);
+                }
+            } finally {
+                horizonte.unlockRead(sello);
+            }
+        }
+        if (!cubierto) {
+            return Optional.empty();
+        }
+
+        List<String> libres = new ArrayList<>();
+        int palabras = palabrasEn(habitaciones);
+        for (int palabra = 0; palabra < palabras; palabra++) {
+            long disponibles = ~ocupadas[palabra] & mascaraValida(palabra, habitaciones);
+            while (disponibles != 0) {
+                int bit = Long.numberOfTrailingZeros(disponibles);
+                libres.add(numeros[palabra * BITS_POR_PALABRA + bit]);
+                disponibles &= disponibles - 1;
+            }
+        }
+        return Optional.of(libres);
+    }
+
+    /**
+     * Verifica si una habitación está libre durante todas las noches del rango.
+     * @param numeroHabitacion Número de la habitación
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     * @return true si la habitación está registrada y libre en el rango
+     */
+    public boolean estaLibre(String numeroHabitacion, LocalDate fechaInicio, LocalDate fechaFin) {
+        Integer ordinal = ordinales.get(numeroHabitacion);
+        if (ordinal == null) {
+            return false;
+        }
+        long inicio = fechaInicio.toEpochDay();
+        long fin = fechaFin.toEpochDay();
+        long sello = horizonte.tryOptimisticRead();
+        boolean libre = cubre(inicio, fin, origen) && libreEn(ordinal, inicio, fin);
+        if (horizonte.validate(sello)) {
+            return libre;
+        }
+        sello = horizonte.readLock();
+        try {
+            return cubre(inicio, fin, origen) && libreEn(ordinal, inicio, fin);
+        } finally {
+            horizonte.unlockRead(sello);
+        }
+    }
+
+    public LocalDate getOrigen() {
+        return LocalDate.ofEpochDay(origen);
+    }
+
+    public int getHorizonteDias() {
+        return horizonteDias;
+    }
+
+    // Métodos auxiliares
+    private boolean cubre(long inicio, long fin, long primeraNoche) {
+        return inicio >= primeraNoche && fin <= Math.min(primeraNoche + horizonteDias, finCubierto) && fin > inicio;
+    }
+
+    private void acumularOcupacion(long[] ocupadas, long inicio, long fin, int habitaciones) {
+        int palabras = palabrasEn(habitaciones);
+        for (long dia = inicio; dia < fin; dia++) {
+            int base = fila(dia) * palabrasPorNoche;
+            for (int palabra = 0; palabra < palabras; palabra++) {
+                ocupadas[palabra] |= leer(base + palabra);
+            }
+        }
+    }
+
+    private boolean libreEn(int ordinal, long inicio, long fin) {
+        int palabra = ordinal / BITS_POR_PALABRA;
+        long bit = 1L << (ordinal % BITS_POR_PALABRA);
+        for (long dia = inicio; dia < fin; dia++) {
+            if ((leer(fila(dia) * palabrasPorNoche + palabra) & bit) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void marcar(int ordinal, LocalDate fechaInicio, LocalDate fechaFin, boolean ocupada) {
+        long inicio = fechaInicio.toEpochDay();
+        long fin = fechaFin.toEpochDay();
+        long sello = horizonte.tryOptimisticRead();
+        long primeraNoche = origen;
+        boolean marcadaSinBloqueo = sello != 0;
+        if (marcadaSinBloqueo) {
+            marcarEnHorizonte(ordinal, inicio, fin, ocupada, primeraNoche);
+            if (horizonte.validate(sello)) {
+                return;
+            }
+        }
+        // El horizonte avanzó durante la marca: una noche que salía pudo marcarse en una fila ya reutilizada
+        // por una noche nueva. Nadie más toca esta habitación a la vez y las noches nuevas aún no se han
+        // rellenado para ella, así que esos bits se limpian y la marca se repite sobre el horizonte actual
+        sello = horizonte.readLock();
+        try {
+            long actual = origen;
+            if (ocupada && marcadaSinBloqueo) {
+                long hastaSaliente = Math.min(Math.min(fin, primeraNoche + horizonteDias), actual);
+                long desdeSaliente = Math.max(Math.max(inicio, primeraNoche), hastaSaliente - horizonteDias);
+                marcarNoches(ordinal, desdeSaliente, hastaSaliente, false);
+            }
+            marcarEnHorizonte(ordinal, inicio, fin, ocupada, actual);
+        } finally {
+            horizonte.unlockRead(sello);
+        }
+    }
+
+    private void marcarEnHorizonte(int ordinal, long inicio, long fin, boolean ocupada, long primeraNoche) {
+        marcarNoches(ordinal, Math.max(inicio, primeraNoche), Math.min(fin, primeraNoche + horizonteDias), ocupada);
+    }
+
+    private void marcarNoches(int ordinal, long desde, long hasta, boolean ocupada) {
+        int palabra = ordinal / BITS_POR_PALABRA;
+        long bit = 1L << (ordinal % BITS_POR_PALABRA);
+        for (long dia = desde; dia < hasta; dia++) {
+            int indice = fila(dia) * palabrasPorNoche + palabra;
+            if (ocupada) {
+                activar(indice, bit);
+            } else {
+                desactivar(indice, ~bit);
+            }
+        }
+    }
+
+    private int fila(long dia) {
+        return (int) Math.floorMod(dia, (long) horizonteDias);
+    }
+
+    private long leer(int indice) {
+        return celdasHeap != null
+                ? (long) CELDA_HEAP.getAcquire(celdasHeap, indice)
+                : (long) CELDA_DIRECTA.getAcquire(celdasDirectas, indice * Long.BYTES);
+    }
+
+    private void escribir(int indice, long valor) {
+        if (celdasHeap != null) {
+            CELDA_HEAP.setRelease(celdasHeap, indice, valor);
+        } else {
+            CELDA_DIRECTA.setRelease(celdasDirectas, indice * Long.BYTES, valor);
+        }
+    }
+
+    private void activar(int indice, long bit) {
+        if (celdasHeap != null) {
+            CELDA_HEAP.getAndBitwiseOrRelease(celdasHeap, indice, bit);
+        } else {
+            CELDA_DIRECTA.getAndBitwiseOrRelease(celdasDirectas, indice * Long.BYTES, bit);
+        }
+    }
+
+    private void desactivar(int indice, long mascara) {
+        if (celdasHeap != null) {
+            CELDA_HEAP.getAndBitwiseAndRelease(celdasHeap, indice, mascara);
+        } else {
+            CELDA_DIRECTA.getAndBitwiseAndRelease(celdasDirectas, indice * Long.BYTES, mascara);
+        }
+    }
+
+    private static int palabrasEn(int habitaciones) {
+        return (habitaciones + BITS_POR_PALABRA - 1) / BITS_POR_PALABRA;
+    }
+
+    private static long mascaraValida(int palabra, int habitaciones) {
+        int restantes = habitaciones - palabra * BITS_POR_PALABRA;
+        return restantes >= BITS_POR_PALABRA ? -1L : (1L << restantes) - 1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.hotel.disponibilidad;
+
+import com.hotel.disponibilidad.RuedaTemporizadora.Temporizador;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Retenciones con caducidad para reservas pendientes: mientras el huésped paga, la reserva ocupa la
+ * habitación durante un TTL; si no se libera antes (al confirmarla o cancelarla), vence y se notifica
+ * su ID para que se devuelva el inventario.
+ * <p>
+ * Todas las retenciones comparten una {@link RuedaTemporizadora} que avanza un hilo propio a la
+ * resolución indicada, así que registrar o liberar una retención es O(1) aunque haya millones
+ * pendientes, en lugar de programar una tarea por retención.
+ */
+public final class RetencionesTemporales implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(RetencionesTemporales.class.getName());
+    private static final long SEGUNDOS_ESPERA_CIERRE = 30;
+
+    private final Duration ttlPorDefecto;
+    private final long nanosPorTick;
+    private final long origen = System.nanoTime();
+    private final RuedaTemporizadora<String> rueda = new RuedaTemporizadora<>();
+    private final Map<String, Temporizador<String>> porReserva = new ConcurrentHashMap<>();
+    private final Consumer<String> alVencer;
+    private final ScheduledExecutorService reloj;
+
+    /**
+     * Crea las retenciones y arranca el hilo que avanza la rueda.
+     * @param ttlPorDefecto Duración de una retención si no se indica otra
+     * @param resolucion Duración de un tick; las retenciones vencen con esta precisión
+     * @param alVencer Acción con el ID de cada reserva cuya retención vence
+     */
+    public RetencionesTemporales(Duration ttlPorDefecto, Duration resolucion, Consumer<String> alVencer) {
+        if (ttlPorDefecto.isNegative() || ttlPorDefecto.isZero()) {
+            throw new IllegalArgumentException("El TTL de las retenciones debe ser positivo");
+        }
+        if (resolucion.isNegative() || resolucion.isZero()) {
+            throw new IllegalArgumentException("La resolución debe ser positiva");
+        }
+        this.ttlPorDefecto = ttlPorDefecto;
+        this.nanosPorTick = resolucion.toNanos();
+        this.alVencer = alVencer;
+        this.reloj = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "retenciones-reserva");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        reloj.scheduleAtFixedRate(this::procesarVencidas, nanosPorTick, nanosPorTick, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Retiene la reserva durante el TTL por defecto.
+     * @param reservaId ID de la reserva pendiente
+     */
+    public void retener(String reservaId) {
+        retener(reservaId, ttlPorDefecto);
+    }
+
+    /**
+     * Retiene la reserva durante el TTL indicado; si ya estaba retenida, el plazo se reinicia.
+     * @param reservaId ID de la reserva pendiente
+     * @param ttl Duración de la retención
+     */
+    public void retener(String reservaId, Duration ttl) {
+        long vencimiento = tickActual() + Math.max(1, (ttl.toNanos() + nanosPorTick - 1) / nanosPorTick);
+        Temporizador<String> anterior = porReserva.put(reservaId, rueda.programar(reservaId, vencimiento));
+        if (anterior != null) {
+            rueda.cancelar(anterior);
+        }
+    }
+
+    /**
+     * Libera la retención de una reserva (confirmada o cancelada) para que no venza.
+     * @param reservaId ID de la reserva
+     * @return true si la reserva tenía una retención pendiente
+     */
+    public boolean liberar(String reservaId) {
+        Temporizador<String> temporizador = porReserva.remove(reservaId);
+        return temporizador != null && rueda.cancelar(temporizador);
+    }
+
+    /**
+     * @param reservaId ID de la reserva
+     * @return true si la reserva tiene una retención pendiente
+     */
+    public boolean estaRetenida(String reservaId) {
+        return porReserva.containsKey(reservaId);
+    }
+
+    /**
+     * @return el número de retenciones pendientes
+     */
+    public int getPendientes() {
+        return rueda.getPendientes();
+    }
+
+    /**
+     * Avanza la rueda hasta el instante actual y notifica las retenciones vencidas. Lo invoca el hilo
+     * de la rueda en cada tick.
+     */
+    public void procesarVencidas() {
+        List<String> vencidas = rueda.avanzar(tickActual());
+        for (String reservaId : vencidas) {
+            // Si se retuvo de nuevo mientras vencía, el temporizador del mapa ya es otro
+            Temporizador<String> actual = porReserva.get(reservaId);
+            if (actual == null || actual.getVencimiento() > rueda.getTickActual()) {
+                continue;
+            }
+            porReserva.remove(reservaId, actual);
+            try {
+                alVencer.accept(reservaId);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error al expirar la retención de la reserva " + reservaId, e);
+            }
+        }
+    }
+
+    /**
+     * Detiene el reloj y espera a que termine el tick en curso, que puede estar cancelando reservas vencidas.
+     */
+    @Override
+    public void close() {
+        reloj.shutdownNow();
+        try {
+            if (!reloj.awaitTermination(SEGUNDOS_ESPERA_CIERRE, TimeUnit.SECONDS)) {
+                LOGGER.warning("El tick de las retenciones no terminó antes del cierre");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Métodos auxiliares
+    private long tickActual() {
+        return (System.nanoTime() - origen) / nanosPorTick;
+    }
+}
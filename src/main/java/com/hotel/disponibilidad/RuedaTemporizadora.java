@@ -0,0 +1,180 @@
+package com.hotel.disponibilidad;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rueda de temporizadores jerárquica: {@value #NIVELES} niveles de {@value #RANURAS} ranuras, donde cada
+ * ranura del nivel {@code n} abarca {@code 64^n} ticks. Programar y cancelar son O(1) (listas doblemente
+ * enlazadas por ranura) y avanzar un tick es O(1) amortizado: al completar una vuelta de un nivel, los
+ * temporizadores de la ranura correspondiente del nivel superior se redistribuyen hacia abajo.
+ * <p>
+ * Los temporizadores más lejanos que el alcance de la rueda se aparcan en el último nivel y se vuelven
+ * a colocar cada vez que se redistribuyen, hasta que entran en rango. Es segura para hilos; los
+ * temporizadores vencidos se devuelven al llamante en lugar de ejecutarse con el bloqueo tomado.
+ * @param <T> Tipo del elemento asociado a cada temporizador
+ */
+public class RuedaTemporizadora<T> {
+
+    private static final int BITS_POR_NIVEL = 6;
+    static final int RANURAS = 1 << BITS_POR_NIVEL;
+    static final int NIVELES = 4;
+    private static final int MASCARA = RANURAS - 1;
+    private static final long ALCANCE = 1L << (BITS_POR_NIVEL * NIVELES);
+
+    private final Temporizador<T>[][] ranuras;
+    private long tickActual;
+    private int pendientes;
+
+    /**
+     * Crea la rueda con el tick actual en cero.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RuedaTemporizadora() {
+        this.ranuras = new Temporizador[NIVELES][RANURAS];
+    }
+
+    /**
+     * Programa un temporizador.
+     * @param elemento Elemento que se devolverá al vencer
+     * @param vencimiento Tick en el que vence; si ya pasó, vence en el siguiente avance
+     * @return el temporizador, que sirve para cancelarlo
+     */
+    public synchronized Temporizador<T> programar(T elemento, long vencimiento) {
+        Temporizador<T> temporizador = new Temporizador<>(elemento, Math.max(vencimiento, tickActual + 1));
+        colocar(temporizador);
+        pendientes++;
+        return temporizador;
+    }
+
+    /**
+     * Cancela un temporizador pendiente.
+     * @param temporizador El temporizador devuelto por {@link #programar}
+     * @return true si estaba pendiente; false si ya había vencido o se había cancelado
+     */
+    public synchronized boolean cancelar(Temporizador<T> temporizador) {
+        if (temporizador.nivel < 0) {
+            return false;
+        }
+        quitar(temporizador);
+        pendientes--;
+        return true;
+    }
+
+    /**
+     * Avanza la rueda tick a tick hasta {@code hasta} inclusive.
+     * @param hasta Tick al que se avanza
+     * @return los elementos de los temporizadores vencidos, en orden de vencimiento
+     */
+    public synchronized List<T> avanzar(long hasta) {
+        List<T> vencidos = new ArrayList<>();
+        while (tickActual < hasta) {
+            tickActual++;
+            redistribuir();
+            Temporizador<T> temporizador = ranuras[0][(int) (tickActual & MASCARA)];
+            while (temporizador != null) {
+                Temporizador<T> siguiente = temporizador.siguiente;
+                quitar(temporizador);
+                pendientes--;
+                vencidos.add(temporizador.elemento);
+                temporizador = siguiente;
+            }
+        }
+        return vencidos;
+    }
+
+    public synchronized long getTickActual() {
+        return tickActual;
+    }
+
+    /**
+     * @return el número de temporizadores programados que aún no han vencido ni se han cancelado
+     */
+    public synchronized int getPendientes() {
+        return pendientes;
+    }
+
+    // Métodos auxiliares
+    /**
+     * Al cruzar el límite de una vuelta del nivel {@code n - 1}, baja los temporizadores de la ranura actual
+     * del nivel {@code n}. Se recorre de arriba abajo para que lo que baja de un nivel alto llegue a tiempo
+     * a la redistribución del siguiente.
+     */
+    private void redistribuir() {
+        int niveles = 0;
+        while (niveles + 1 < NIVELES && (tickActual & ((1L << (BITS_POR_NIVEL * (niveles + 1))) - 1)) == 0) {
+            niveles++;
+        }
+        for (int nivel = niveles; nivel >= 1; nivel--) {
+            int indice = (int) ((tickActual >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+            Temporizador<T> temporizador = ranuras[nivel][indice];
+            ranuras[nivel][indice] = null;
+            while (temporizador != null) {
+                Temporizador<T> siguiente = temporizador.siguiente;
+                temporizador.anterior = null;
+                temporizador.siguiente = null;
+                colocar(temporizador);
+                temporizador = siguiente;
+            }
+        }
+    }
+
+    private void colocar(Temporizador<T> temporizador) {
+        long distancia = temporizador.vencimiento - tickActual;
+        // Fuera de alcance se aparca en el último nivel, en la ranura que se redistribuye más tarde
+        long destino = distancia < ALCANCE ? temporizador.vencimiento : tickActual + ALCANCE - 1;
+        int nivel = 0;
+        while (nivel + 1 < NIVELES && Math.min(distancia, ALCANCE - 1) >= 1L << (BITS_POR_NIVEL * (nivel + 1))) {
+            nivel++;
+        }
+        int indice = (int) ((destino >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+        Temporizador<T> cabeza = ranuras[nivel][indice];
+        temporizador.siguiente = cabeza;
+        if (cabeza != null) {
+            cabeza.anterior = temporizador;
+        }
+        ranuras[nivel][indice] = temporizador;
+        temporizador.nivel = nivel;
+        temporizador.ranura = indice;
+    }
+
+    private void quitar(Temporizador<T> temporizador) {
+        if (temporizador.anterior != null) {
+            temporizador.anterior.siguiente = temporizador.siguiente;
+        } else {
+            ranuras[temporizador.nivel][temporizador.ranura] = temporizador.siguiente;
+        }
+        if (temporizador.siguiente != null) {
+            temporizador.siguiente.anterior = temporizador.anterior;
+        }
+        temporizador.anterior = null;
+        temporizador.siguiente = null;
+        temporizador.nivel = -1;
+    }
+
+    /**
+     * Temporizador programado en la rueda; es a la vez el nodo de la lista de su ranura.
+     * @param <T> Tipo del elemento asociado
+     */
+    public static final class Temporizador<T> {
+        private final T elemento;
+        private final long vencimiento;
+        private Temporizador<T> anterior;
+        private Temporizador<T> siguiente;
+        private int nivel = -1;
+        private int ranura;
+
+        private Temporizador(T elemento, long vencimiento) {
+            this.elemento = elemento;
+            this.vencimiento = vencimiento;
+        }
+
+        public T getElemento() {
+            return elemento;
+        }
+
+        public long getVencimiento() {
+            return vencimiento;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.hotel.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Página de resultados de un listado paginado por clave (keyset).
+ * El cursor es un token opaco que identifica el último elemento devuelto; se pasa tal cual
+ * para pedir la página siguiente y es nulo cuando no quedan más resultados.
+ * @param <T> Tipo de los elementos de la página
+ */
+public class Pagina<T> {
+
+    private final List<T> elementos;
+    private final String siguienteCursor;
+
+    public Pagina(List<T> elementos, String siguienteCursor) {
+        this.elementos = List.copyOf(elementos);
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    /**
+     * Codifica la clave del último elemento de una página como cursor.
+     * @param clave Clave de ordenación del último elemento devuelto
+     * @return el cursor opaco
+     */
+    public static String cursorDe(String clave) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(clave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Obtiene la clave codificada en un cursor.
+     * @param cursor Cursor devuelto por una página anterior, o nulo para empezar desde el principio
+     * @return la clave, o nulo si el cursor es nulo
+     * @throws IllegalArgumentException Si el cursor no es válido
+     */
+    public static String claveDe(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + cursor, e);
+        }
+    }
+
+    // Getters
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public boolean haySiguiente() {
+        return siguienteCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{" +
+                "elementos=" + elementos.size() +
+                ", siguienteCursor='" + siguienteCursor + '\'' +
+                '}';
+    }
+}
@@ -49,6 +49,25 @@ public class ReservaDTO {
         this.precioPorNoche = reserva.getHabitacion().getPrecioPorNoche();
     }
 
+    // Constructor de copia: copia los campos sin volver a consultar la entidad
+    public ReservaDTO(ReservaDTO otra) {
+        this.id = otra.id;
+        this.clienteId = otra.clienteId;
+        this.clienteNombre = otra.clienteNombre;
+        this.habitacionId = otra.habitacionId;
+        this.habitacionNumero = otra.habitacionNumero;
+        this.tipoHabitacion = otra.tipoHabitacion;
+        this.fechaCheckIn = otra.fechaCheckIn;
+        this.fechaCheckOut = otra.fechaCheckOut;
+        this.numeroHuespedes = otra.numeroHuespedes;
+        this.estado = otra.estado;
+        this.montoTotal = otra.montoTotal;
+        this.fechaCreacion = otra.fechaCreacion;
+        this.notas = otra.notas;
+        this.noches = otra.noches;
+        this.precioPorNoche = otra.precioPorNoche;
+    }
+
     // Getters y Setters
     public String getId() {
         return id;
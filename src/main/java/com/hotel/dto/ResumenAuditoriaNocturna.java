@@ -0,0 +1,67 @@
+package com.hotel.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Resumen de una auditoría nocturna: qué fechas de llegada se revisaron, cuántas llegadas se
+ * examinaron y qué reservas confirmadas se marcaron como no presentadas (NO_SHOW).
+ */
+public class ResumenAuditoriaNocturna {
+
+    private final LocalDate desde;
+    private final LocalDate hasta;
+    private final int llegadasRevisadas;
+    private final List<String> reservasNoShow;
+    private final long nochesLiberadas;
+    private final long duracionMillis;
+
+    public ResumenAuditoriaNocturna(LocalDate desde, LocalDate hasta, int llegadasRevisadas,
+                                    List<String> reservasNoShow, long nochesLiberadas, long duracionMillis) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.llegadasRevisadas = llegadasRevisadas;
+        this.reservasNoShow = List.copyOf(reservasNoShow);
+        this.nochesLiberadas = nochesLiberadas;
+        this.duracionMillis = duracionMillis;
+    }
+
+    // Getters
+    /**
+     * @return la primera fecha de llegada revisada, o null si no había fechas pendientes de auditar
+     */
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    /**
+     * @return la última fecha de llegada revisada, o null si no había fechas pendientes de auditar
+     */
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    public int getLlegadasRevisadas() {
+        return llegadasRevisadas;
+    }
+
+    public List<String> getReservasNoShow() {
+        return reservasNoShow;
+    }
+
+    public long getNochesLiberadas() {
+        return nochesLiberadas;
+    }
+
+    public long getDuracionMillis() {
+        return duracionMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Auditoría nocturna " + (desde == null ? "sin fechas pendientes"
+                : desde.equals(hasta) ? "del " + desde : "del " + desde + " al " + hasta) +
+                ": " + llegadasRevisadas + " llegadas revisadas, " + reservasNoShow.size() +
+                " no presentadas, " + nochesLiberadas + " noches liberadas (" + duracionMillis + " ms)";
+    }
+}
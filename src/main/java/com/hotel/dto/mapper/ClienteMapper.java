@@ -0,0 +1,70 @@
+package com.hotel.dto.mapper;
+
+import com.hotel.dto.ClienteDTO;
+import com.hotel.model.Cliente;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Conversión explícita entre {@link Cliente} y {@link ClienteDTO}.
+ * Cada campo se copia con una llamada directa a su getter/setter, sin reflexión,
+ * por lo que el coste por elemento es el de construir el DTO.
+ */
+public final class ClienteMapper {
+
+    private ClienteMapper() {
+    }
+
+    /**
+     * Convierte un cliente en su DTO.
+     * @param cliente El cliente a convertir
+     * @return el DTO con los datos del cliente
+     */
+    public static ClienteDTO aDTO(Cliente cliente) {
+        return new ClienteDTO(
+                cliente.getId(),
+                cliente.getNombre(),
+                cliente.getEmail(),
+                cliente.getTelefono(),
+                cliente.getDireccion(),
+                cliente.isActivo()
+        );
+    }
+
+    /**
+     * Convierte una colección de clientes en DTOs, conservando el orden de iteración.
+     * @param clientes Los clientes a convertir
+     * @return la lista de DTOs
+     */
+    public static List<ClienteDTO> aDTOs(Collection<Cliente> clientes) {
+        List<ClienteDTO> dtos = new ArrayList<>(clientes.size());
+        for (Cliente cliente : clientes) {
+            dtos.add(aDTO(cliente));
+        }
+        return dtos;
+    }
+
+    /**
+     * Crea un cliente activo a partir de un DTO.
+     * @param id ID asignado al nuevo cliente
+     * @param dto Los datos del cliente
+     * @return el cliente creado
+     */
+    public static Cliente aEntidad(String id, ClienteDTO dto) {
+        return new Cliente(id, dto.getNombre(), dto.getEmail(), dto.getTelefono(), dto.getDireccion());
+    }
+
+    /**
+     * Copia sobre un cliente existente los datos editables del DTO (nombre, email, teléfono y dirección).
+     * @param cliente El cliente a actualizar
+     * @param dto Los datos nuevos
+     */
+    public static void actualizarEntidad(Cliente cliente, ClienteDTO dto) {
+        cliente.setNombre(dto.getNombre());
+        cliente.setEmail(dto.getEmail());
+        cliente.setTelefono(dto.getTelefono());
+        cliente.setDireccion(dto.getDireccion());
+    }
+}
@@ -0,0 +1,39 @@
+package com.hotel.dto.mapper;
+
+import com.hotel.dto.HabitacionDTO;
+import com.hotel.model.Habitacion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Conversión explícita de {@link Habitacion} a {@link HabitacionDTO}, sin reflexión.
+ */
+public final class HabitacionMapper {
+
+    private HabitacionMapper() {
+    }
+
+    /**
+     * Convierte una habitación en su DTO, incluidos los campos propios de su tipo concreto.
+     * @param habitacion La habitación a convertir
+     * @return el DTO con los datos de la habitación
+     */
+    public static HabitacionDTO aDTO(Habitacion habitacion) {
+        return new HabitacionDTO(habitacion);
+    }
+
+    /**
+     * Convierte una colección de habitaciones en DTOs, conservando el orden de iteración.
+     * @param habitaciones Las habitaciones a convertir
+     * @return la lista de DTOs
+     */
+    public static List<HabitacionDTO> aDTOs(Collection<Habitacion> habitaciones) {
+        List<HabitacionDTO> dtos = new ArrayList<>(habitaciones.size());
+        for (Habitacion habitacion : habitaciones) {
+            dtos.add(new HabitacionDTO(habitacion));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,39 @@
+package com.hotel.dto.mapper;
+
+import com.hotel.dto.ReservaDTO;
+import com.hotel.model.Reserva;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Conversión explícita de {@link Reserva} a {@link ReservaDTO}, sin reflexión.
+ */
+public final class ReservaMapper {
+
+    private ReservaMapper() {
+    }
+
+    /**
+     * Convierte una reserva en su DTO.
+     * @param reserva La reserva a convertir
+     * @return el DTO con los datos de la reserva, su cliente y su habitación
+     */
+    public static ReservaDTO aDTO(Reserva reserva) {
+        return new ReservaDTO(reserva);
+    }
+
+    /**
+     * Convierte una colección de reservas en DTOs, conservando el orden de iteración.
+     * @param reservas Las reservas a convertir
+     * @return la lista de DTOs
+     */
+    public static List<ReservaDTO> aDTOs(Collection<Reserva> reservas) {
+        List<ReservaDTO> dtos = new ArrayList<>(reservas.size());
+        for (Reserva reserva : reservas) {
+            dtos.add(new ReservaDTO(reserva));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,242 @@
+package com.hotel.evento;
+
+import com.hotel.model.Reserva;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bus de eventos de dominio asíncrono sobre un anillo acotado de ranuras preasignadas.
+ * <p>
+ * Los productores (hilos de petición) reclaman una secuencia con un incremento atómico, copian los datos
+ * de la reserva en la ranura y la marcan como publicada; no crean objetos ni toman bloqueos. Cada
+ * consumidor corre en su propio hilo, avanza con su propia secuencia y procesa en lote todo lo publicado
+ * desde su última pasada. Si el anillo está lleno, el productor espera a que el consumidor más lento
+ * libere ranuras, de modo que la memoria del bus nunca crece.
+ * <p>
+ * Un consumidor sin trabajo gira unas pocas veces y después se bloquea hasta que un productor lo despierta,
+ * así que un bus inactivo no consume CPU. Al cerrarse, el bus publica una secuencia de cierre: los eventos
+ * reclamados antes se entregan y los productores que llegan después fallan de inmediato.
+ */
+public class BusEventos implements PublicadorEventos, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(BusEventos.class.getName());
+    private static final int GIROS_ANTES_DE_DORMIR = 100;
+    private static final long ESPERA_NANOS = 50_000;
+
+    private final EventoDominio[] ranuras;
+    private final AtomicLongArray publicadas;
+    private final int mascara;
+    private final AtomicLong reclamada = new AtomicLong(-1);
+    private final Procesador[] procesadores;
+    private volatile long minimoProcesado = -1;
+    private volatile boolean abierto = true;
+    /** Secuencia reservada por {@link #close()}; {@code Long.MAX_VALUE} mientras el bus está abierto. */
+    private volatile long secuenciaCierre = Long.MAX_VALUE;
+
+    /**
+     * Crea el bus y arranca un hilo por consumidor.
+     * @param capacidad Número de ranuras del anillo (se redondea a la siguiente potencia de dos)
+     * @param consumidores Consumidores que recibirán todos los eventos
+     */
+    public BusEventos(int capacidad, List<ConsumidorEventos> consumidores) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor a cero");
+        }
+        if (consumidores.isEmpty()) {
+            throw new IllegalArgumentException("El bus necesita al menos un consumidor");
+        }
+        int tamano = Integer.highestOneBit(capacidad);
+        if (tamano < capacidad) {
+            tamano <<= 1;
+        }
+        this.ranuras = new EventoDominio[tamano];
+        this.publicadas = new AtomicLongArray(tamano);
+        for (int i = 0; i < tamano; i++) {
+            ranuras[i] = new EventoDominio();
+            publicadas.set(i, -1);
+        }
+        this.mascara = tamano - 1;
+        this.procesadores = new Procesador[consumidores.size()];
+        for (int i = 0; i < procesadores.length; i++) {
+            procesadores[i] = new Procesador(consumidores.get(i));
+        }
+        for (int i = 0; i < procesadores.length; i++) {
+            Thread hilo = new Thread(procesadores[i], "bus-eventos-" + i);
+            hilo.setDaemon(true);
+            procesadores[i].hilo = hilo;
+            hilo.start();
+        }
+    }
+
+    @Override
+    public void publicar(TipoEventoDominio tipo, Reserva reserva, String referenciaId, String detalle) {
+        if (!abierto) {
+            throw new IllegalStateException("El bus de eventos está cerrado");
+        }
+        long secuencia = reclamada.incrementAndGet();
+        // Se vuelve a comprobar tras reclamar: close() pudo reservar su secuencia entre medias
+        if (!abierto && secuencia > esperarSecuenciaCierre()) {
+            throw new IllegalStateException("El bus de eventos está cerrado");
+        }
+        esperarRanuraLibre(secuencia);
+        int indice = (int) (secuencia & mascara);
+        ranuras[indice].cargar(tipo, reserva, referenciaId, detalle, System.currentTimeMillis());
+        // La escritura volátil publica los datos de la ranura a los consumidores
+        publicadas.set(indice, secuencia);
+        despertarConsumidores();
+    }
+
+    /**
+     * @return el número de eventos publicados desde que se creó el bus
+     */
+    public long getPublicados() {
+        return Math.min(reclamada.get(), secuenciaCierre - 1) + 1;
+    }
+
+    /**
+     * Deja de aceptar eventos, espera a que los consumidores procesen los ya publicados y detiene sus hilos.
+     * Los eventos reclamados antes del cierre se entregan; las publicaciones posteriores fallan.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!abierto) {
+                return;
+            }
+            abierto = false;
+            // Todo productor que reclame después de esta secuencia ve el bus cerrado
+            long cierre = reclamada.incrementAndGet();
+            secuenciaCierre = cierre;
+            esperarRanuraLibre(cierre);
+            publicadas.set((int) (cierre & mascara), cierre);
+        }
+        for (Procesador procesador : procesadores) {
+            LockSupport.unpark(procesador.hilo);
+        }
+        for (Procesador procesador : procesadores) {
+            try {
+                procesador.hilo.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Métodos auxiliares
+    /**
+     * Secuencia de cierre; close() la fija justo después de reclamarla, así que la espera es muy corta.
+     */
+    private long esperarSecuenciaCierre() {
+        long cierre;
+        while ((cierre = secuenciaCierre) == Long.MAX_VALUE) {
+            Thread.onSpinWait();
+        }
+        return cierre;
+    }
+
+    private void despertarConsumidores() {
+        for (Procesador procesador : procesadores) {
+            if (procesador.dormido) {
+                LockSupport.unpark(procesador.hilo);
+            }
+        }
+    }
+
+    /**
+     * Espera hasta que la ranura de la secuencia haya sido procesada por todos los consumidores
+     * en la vuelta anterior del anillo.
+     */
+    private void esperarRanuraLibre(long secuencia) {
+        long vueltaAnterior = secuencia - ranuras.length;
+        if (vueltaAnterior <= minimoProcesado) {
+            return;
+        }
+        while (true) {
+            long minimo = Long.MAX_VALUE;
+            for (Procesador procesador : procesadores) {
+                minimo = Math.min(minimo, procesador.procesada.get());
+            }
+            minimoProcesado = minimo;
+            if (vueltaAnterior <= minimo) {
+                return;
+            }
+            LockSupport.parkNanos(ESPERA_NANOS);
+        }
+    }
+
+    /**
+     * Última secuencia publicada sin huecos a partir de {@code desde}, o {@code desde - 1} si no hay ninguna.
+     */
+    private long ultimaPublicadaDesde(long desde) {
+        long hasta = Math.min(reclamada.get(), desde + mascara);
+        long secuencia = desde;
+        while (secuencia <= hasta && publicadas.get((int) (secuencia & mascara)) == secuencia) {
+            secuencia++;
+        }
+        return secuencia - 1;
+    }
+
+    private final class Procesador implements Runnable {
+        private final ConsumidorEventos consumidor;
+        private final AtomicLong procesada = new AtomicLong(-1);
+        private Thread hilo;
+        /** Indica a los productores que el consumidor está bloqueado y hay que despertarlo. */
+        private volatile boolean dormido;
+
+        private Procesador(ConsumidorEventos consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void run() {
+            long siguiente = 0;
+            int giros = 0;
+            while (true) {
+                long disponible = ultimaPublicadaDesde(siguiente);
+                if (disponible < siguiente) {
+                    if (++giros < GIROS_ANTES_DE_DORMIR) {
+                        Thread.onSpinWait();
+                    } else {
+                        dormir(siguiente);
+                    }
+                    continue;
+                }
+                giros = 0;
+                // La secuencia de cierre se publica después de fijarse, así que aquí ya es visible si está en el lote
+                long cierre = secuenciaCierre;
+                long ultima = Math.min(disponible, cierre - 1);
+                for (long secuencia = siguiente; secuencia <= ultima; secuencia++) {
+                    try {
+                        consumidor.alRecibir(ranuras[(int) (secuencia & mascara)], secuencia, secuencia == ultima);
+                    } catch (Exception e) {
+                        LOGGER.log(Level.WARNING, "Error al procesar el evento " + secuencia, e);
+                    }
+                }
+                // Las ranuras del lote se liberan de una vez para los productores
+                procesada.set(disponible);
+                if (disponible >= cierre) {
+                    return;
+                }
+                siguiente = disponible + 1;
+            }
+        }
+
+        /**
+         * Se bloquea hasta que un productor publique. La marca se escribe antes de volver a mirar el anillo
+         * y el productor la lee después de publicar, así que uno de los dos ve siempre al otro.
+         */
+        private void dormir(long siguiente) {
+            dormido = true;
+            if (ultimaPublicadaDesde(siguiente) < siguiente) {
+                LockSupport.park(this);
+            }
+            dormido = false;
+        }
+    }
+}
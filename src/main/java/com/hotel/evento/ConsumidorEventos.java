@@ -0,0 +1,19 @@
+package com.hotel.evento;
+
+/**
+ * Consumidor de eventos del {@link BusEventos}. Cada consumidor tiene su propio hilo y recibe todos
+ * los eventos en orden de publicación.
+ */
+@FunctionalInterface
+public interface ConsumidorEventos {
+
+    /**
+     * Procesa un evento. Los eventos llegan en lotes con todo lo publicado desde el lote anterior;
+     * {@code finDeLote} permite agrupar el trabajo caro (envíos, escrituras) una vez por lote.
+     * @param evento El evento; solo es válido durante esta llamada (ver {@link EventoDominio#copiar()})
+     * @param secuencia Número de secuencia del evento en el bus
+     * @param finDeLote true si es el último evento disponible del lote actual
+     * @throws Exception Si el procesamiento falla; el bus lo registra y continúa con el siguiente evento
+     */
+    void alRecibir(EventoDominio evento, long secuencia, boolean finDeLote) throws Exception;
+}
@@ -0,0 +1,133 @@
+package com.hotel.evento;
+
+import com.hotel.model.Reserva;
+import com.hotel.model.Reserva.EstadoReserva;
+
+import java.time.LocalDate;
+
+/**
+ * Evento de dominio sobre una reserva: una foto de sus datos en el momento de la transición.
+ * <p>
+ * Las instancias son las ranuras preasignadas del {@link BusEventos} y se reutilizan al dar la vuelta
+ * al anillo: un consumidor solo puede usarlas durante {@link ConsumidorEventos#alRecibir}; si necesita
+ * conservar el evento debe quedarse con {@link #copiar()}.
+ */
+public final class EventoDominio {
+
+    private TipoEventoDominio tipo;
+    private long instante;
+    private String reservaId;
+    private String clienteId;
+    private String numeroHabitacion;
+    private EstadoReserva estadoReserva;
+    private LocalDate fechaCheckIn;
+    private LocalDate fechaCheckOut;
+    private double montoTotal;
+    private String referenciaId;
+    private String detalle;
+
+    EventoDominio() {
+    }
+
+    /**
+     * Copia en la ranura los datos de la reserva; solo asigna referencias, sin crear objetos.
+     */
+    void cargar(TipoEventoDominio tipo, Reserva reserva, String referenciaId, String detalle, long instante) {
+        this.tipo = tipo;
+        this.instante = instante;
+        this.reservaId = reserva.getId();
+        this.clienteId = reserva.getCliente() != null ? reserva.getCliente().getId() : null;
+        this.numeroHabitacion = reserva.getHabitacion().getNumeroHabitacion();
+        this.estadoReserva = reserva.getEstado();
+        this.fechaCheckIn = reserva.getFechaCheckIn();
+        this.fechaCheckOut = reserva.getFechaCheckOut();
+        this.montoTotal = reserva.getMontoTotal();
+        this.referenciaId = referenciaId;
+        this.detalle = detalle;
+    }
+
+    /**
+     * @return una copia independiente del evento, que puede conservarse tras procesarlo
+     */
+    public EventoDominio copiar() {
+        EventoDominio copia = new EventoDominio();
+        copia.tipo = tipo;
+        copia.instante = instante;
+        copia.reservaId = reservaId;
+        copia.clienteId = clienteId;
+        copia.numeroHabitacion = numeroHabitacion;
+        copia.estadoReserva = estadoReserva;
+        copia.fechaCheckIn = fechaCheckIn;
+        copia.fechaCheckOut = fechaCheckOut;
+        copia.montoTotal = montoTotal;
+        copia.referenciaId = referenciaId;
+        copia.detalle = detalle;
+        return copia;
+    }
+
+    // Getters
+    public TipoEventoDominio getTipo() {
+        return tipo;
+    }
+
+    /**
+     * @return el instante de la transición, en milisegundos desde epoch
+     */
+    public long getInstante() {
+        return instante;
+    }
+
+    public String getReservaId() {
+        return reservaId;
+    }
+
+    public String getClienteId() {
+        return clienteId;
+    }
+
+    public String getNumeroHabitacion() {
+        return numeroHabitacion;
+    }
+
+    public EstadoReserva getEstadoReserva() {
+        return estadoReserva;
+    }
+
+    public LocalDate getFechaCheckIn() {
+        return fechaCheckIn;
+    }
+
+    public LocalDate getFechaCheckOut() {
+        return fechaCheckOut;
+    }
+
+    public double getMontoTotal() {
+        return montoTotal;
+    }
+
+    /**
+     * @return el ID del check-in o check-out asociado, o null si el evento no tiene uno
+     */
+    public String getReferenciaId() {
+        return referenciaId;
+    }
+
+    /**
+     * @return información adicional del evento (por ejemplo, el motivo de una cancelación), o null
+     */
+    public String getDetalle() {
+        return detalle;
+    }
+
+    @Override
+    public String toString() {
+        return "EventoDominio{" +
+                "tipo=" + tipo +
+                ", reservaId='" + reservaId + '\'' +
+                ", numeroHabitacion='" + numeroHabitacion + '\'' +
+                ", estadoReserva=" + estadoReserva +
+                ", referenciaId='" + referenciaId + '\'' +
+                ", detalle='" + detalle + '\'' +
+                '}';
+    }
+}
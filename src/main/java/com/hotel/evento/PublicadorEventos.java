@@ -0,0 +1,44 @@
+package com.hotel.evento;
+
+import com.hotel.model.Reserva;
+
+/**
+ * Destino de los eventos de dominio que emiten los servicios al cambiar el estado de una reserva.
+ */
+@FunctionalInterface
+public interface PublicadorEventos {
+
+    /** Publicador que descarta los eventos; es el que se usa mientras no se configure otro. */
+    PublicadorEventos NINGUNO = (tipo, reserva, referenciaId, detalle) -> { };
+
+    /**
+     * Publica un evento con los datos actuales de la reserva.
+     * @param tipo Tipo de transición
+     * @param reserva La reserva afectada
+     * @param referenciaId ID del check-in o check-out asociado, o null
+     * @param detalle Información adicional, o null
+     */
+    void publicar(TipoEventoDominio tipo, Reserva reserva, String referenciaId, String detalle);
+
+    /**
+     * Publica un evento sin check-in/check-out asociado ni detalle.
+     * @param tipo Tipo de transición
+     * @param reserva La reserva afectada
+     */
+    default void publicar(TipoEventoDominio tipo, Reserva reserva) {
+        publicar(tipo, reserva, null, null);
+    }
+
+    /**
+     * Compone este publicador con otro que recibe cada evento a continuación. Si este falla, el evento no
+     * llega al siguiente: así un destino durable puede ir delante de los que solo notifican.
+     * @param siguiente Publicador que recibe el evento después de este
+     * @return el publicador compuesto
+     */
+    default PublicadorEventos luego(PublicadorEventos siguiente) {
+        return (tipo, reserva, referenciaId, detalle) -> {
+            publicar(tipo, reserva, referenciaId, detalle);
+            siguiente.publicar(tipo, reserva, referenciaId, detalle);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.hotel.evento;
+
+/**
+ * Transiciones del ciclo de vida de una reserva que se publican como eventos de dominio.
+ */
+public enum TipoEventoDominio {
+    RESERVA_CREADA,
+    RESERVA_CONFIRMADA,
+    RESERVA_MODIFICADA,
+    RESERVA_CANCELADA,
+    RETENCION_EXPIRADA,
+    RESERVA_NO_SHOW,
+    CHECK_IN_REGISTRADO,
+    HUESPED_AGREGADO,
+    CHECK_OUT_REGISTRADO,
+    CHECK_OUT_LIQUIDADO
+}
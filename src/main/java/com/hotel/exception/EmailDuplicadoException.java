@@ -0,0 +1,25 @@
+package com.hotel.exception;
+
+/**
+ * Excepción lanzada cuando se intenta registrar un cliente con un email que ya está en uso.
+ * Extiende {@link IllegalArgumentException} para conservar el contrato previo de los servicios.
+ */
+public class EmailDuplicadoException extends IllegalArgumentException {
+
+    /**
+     * Constructor con un mensaje de error.
+     * @param message Mensaje descriptivo del error
+     */
+    public EmailDuplicadoException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor con un mensaje de error y una causa.
+     * @param message Mensaje descriptivo del error
+     * @param cause La causa de la excepción
+     */
+    public EmailDuplicadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
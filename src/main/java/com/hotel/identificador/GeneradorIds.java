@@ -0,0 +1,23 @@
+package com.hotel.identificador;
+
+/**
+ * Estrategia de generación de identificadores para las entidades del sistema.
+ * La implementación en uso se configura en {@link Identificadores}.
+ */
+@FunctionalInterface
+public interface GeneradorIds {
+
+    /**
+     * Genera un identificador nuevo.
+     * @return el identificador
+     */
+    Identificador nuevoIdentificador();
+
+    /**
+     * Genera un identificador nuevo en su forma textual.
+     * @return el texto del identificador
+     */
+    default String nuevoId() {
+        return nuevoIdentificador().toString();
+    }
+}
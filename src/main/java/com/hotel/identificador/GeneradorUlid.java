@@ -0,0 +1,54 @@
+package com.hotel.identificador;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Generador de identificadores con formato ULID a partir de estado local de cada hilo.
+ * <p>
+ * En cada milisegundo nuevo, el hilo parte de 80 bits tomados de {@link ThreadLocalRandom}. Dentro del
+ * mismo milisegundo, o si el reloj retrocede, incrementa esos bits. Así los identificadores de un hilo
+ * son estrictamente crecientes, y los de hilos distintos quedan ordenados por milisegundo sin ningún
+ * punto de contención. A diferencia de {@link java.util.UUID#randomUUID()}, no pasa por
+ * {@code SecureRandom}: los identificadores no deben usarse como secretos.
+ */
+public final class GeneradorUlid implements GeneradorIds {
+
+    private static final long MASCARA_MARCA_TIEMPO = (1L << 48) - 1;
+
+    private final LongSupplier reloj;
+    private final ThreadLocal<Estado> estado = ThreadLocal.withInitial(Estado::new);
+
+    public GeneradorUlid() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param reloj Fuente de la marca de tiempo en milisegundos desde epoch
+     */
+    public GeneradorUlid(LongSupplier reloj) {
+        this.reloj = reloj;
+    }
+
+    @Override
+    public Identificador nuevoIdentificador() {
+        Estado actual = estado.get();
+        long ahora = reloj.getAsLong() & MASCARA_MARCA_TIEMPO;
+        if (ahora > actual.milis) {
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            actual.milis = ahora;
+            actual.aleatorioAlto = aleatorio.nextInt() & 0xFFFF;
+            actual.aleatorioBajo = aleatorio.nextLong();
+        } else if (++actual.aleatorioBajo == 0 && (actual.aleatorioAlto = (actual.aleatorioAlto + 1) & 0xFFFF) == 0) {
+            // Se agotaron los 80 bits del milisegundo: se adelanta la marca de tiempo
+            actual.milis = (actual.milis + 1) & MASCARA_MARCA_TIEMPO;
+        }
+        return new Identificador((actual.milis << 16) | actual.aleatorioAlto, actual.aleatorioBajo);
+    }
+
+    private static final class Estado {
+        private long milis = -1;
+        private int aleatorioAlto;
+        private long aleatorioBajo;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hotel.identificador;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Identificador de 128 bits ordenado por tiempo, con el formato de un ULID: 48 bits de marca de tiempo
+ * en milisegundos seguidos de 80 bits aleatorios o de secuencia.
+ * <p>
+ * Tiene dos representaciones con el mismo orden: la binaria de 16 bytes big-endian ({@link #aBytes()}),
+ * compacta para índices, y la textual de 26 caracteres en Base32 de Crockford ({@link #toString()}),
+ * que es la que usan las entidades y los DTOs. Comparar dos identificadores, sus bytes sin signo o sus
+ * textos da el mismo resultado.
+ */
+public final class Identificador implements Comparable<Identificador> {
+
+    public static final int LONGITUD_TEXTO = 26;
+    public static final int LONGITUD_BYTES = 16;
+
+    private static final char[] ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] VALORES = new byte[128];
+
+    static {
+        Arrays.fill(VALORES, (byte) -1);
+        for (int i = 0; i < ALFABETO.length; i++) {
+            VALORES[ALFABETO[i]] = (byte) i;
+            VALORES[Character.toLowerCase(ALFABETO[i])] = (byte) i;
+        }
+    }
+
+    private final long alto;
+    private final long bajo;
+
+    public Identificador(long alto, long bajo) {
+        this.alto = alto;
+        this.bajo = bajo;
+    }
+
+    /**
+     * Interpreta la forma textual de un identificador (sin distinguir mayúsculas).
+     * @param texto Texto de 26 caracteres en Base32 de Crockford
+     * @return el identificador
+     * @throws IllegalArgumentException Si el texto no es un identificador válido
+     */
+    public static Identificador desdeTexto(String texto) {
+        if (texto == null || texto.length() != LONGITUD_TEXTO) {
+            throw new IllegalArgumentException("Identificador inválido: " + texto);
+        }
+        long alto = 0;
+        long bajo = 0;
+        for (int i = 0; i < LONGITUD_TEXTO; i++) {
+            char c = texto.charAt(i);
+            int valor = c < VALORES.length ? VALORES[c] : -1;
+            // El primer carácter solo aporta 3 bits: 26 × 5 = 130
+            if (valor < 0 || (i == 0 && valor > 7)) {
+                throw new IllegalArgumentException("Identificador inválido: " + texto);
+            }
+            alto = (alto << 5) | (bajo >>> 59);
+            bajo = (bajo << 5) | valor;
+        }
+        return new Identificador(alto, bajo);
+    }
+
+    /**
+     * Interpreta la forma binaria de un identificador.
+     * @param bytes 16 bytes big-endian
+     * @return el identificador
+     */
+    public static Identificador desdeBytes(byte[] bytes) {
+        if (bytes.length != LONGITUD_BYTES) {
+            throw new IllegalArgumentException("Un identificador ocupa " + LONGITUD_BYTES + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new Identificador(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * @return la forma binaria de 16 bytes big-endian
+     */
+    public byte[] aBytes() {
+        return ByteBuffer.allocate(LONGITUD_BYTES).putLong(alto).putLong(bajo).array();
+    }
+
+    /**
+     * Escribe la forma binaria en un buffer, sin asignar memoria.
+     * @param destino Buffer con al menos 16 bytes libres
+     */
+    public void escribirEn(ByteBuffer destino) {
+        destino.putLong(alto).putLong(bajo);
+    }
+
+    /**
+     * @return la marca de tiempo en milisegundos desde epoch
+     */
+    public long getMarcaTiempo() {
+        return alto >>> 16;
+    }
+
+    public long getAlto() {
+        return alto;
+    }
+
+    public long getBajo() {
+        return bajo;
+    }
+
+    @Override
+    public int compareTo(Identificador otro) {
+        int porAlto = Long.compareUnsigned(alto, otro.alto);
+        return porAlto != 0 ? porAlto : Long.compareUnsigned(bajo, otro.bajo);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Identificador that = (Identificador) o;
+        return alto == that.alto && bajo == that.bajo;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(alto) * 31 + Long.hashCode(bajo);
+    }
+
+    @Override
+    public String toString() {
+        char[] texto = new char[LONGITUD_TEXTO];
+        long a = alto;
+        long b = bajo;
+        for (int i = LONGITUD_TEXTO - 1; i >= 0; i--) {
+            texto[i] = ALFABETO[(int) (b & 31)];
+            b = (b >>> 5) | (a << 59);
+            a >>>= 5;
+        }
+        return new String(texto);
+    }
+}
@@ -0,0 +1,40 @@
+package com.hotel.identificador;
+
+import java.util.Objects;
+
+/**
+ * Punto de acceso al generador de identificadores de las entidades (reservas, clientes, check-ins,
+ * check-outs y huéspedes). Por defecto usa {@link GeneradorUlid}; puede sustituirse, por ejemplo,
+ * por un generador determinista al reproducir escenarios.
+ */
+public final class Identificadores {
+
+    private static volatile GeneradorIds generador = new GeneradorUlid();
+
+    private Identificadores() {
+    }
+
+    /**
+     * Genera un identificador nuevo en su forma textual.
+     * @return el texto del identificador
+     */
+    public static String nuevoId() {
+        return generador.nuevoId();
+    }
+
+    /**
+     * Genera un identificador nuevo.
+     * @return el identificador
+     */
+    public static Identificador nuevoIdentificador() {
+        return generador.nuevoIdentificador();
+    }
+
+    /**
+     * Sustituye el generador en uso.
+     * @param nuevoGenerador El generador a usar a partir de ahora
+     */
+    public static void establecerGenerador(GeneradorIds nuevoGenerador) {
+        generador = Objects.requireNonNull(nuevoGenerador, "El generador no puede ser nulo");
+    }
+}
@@ -0,0 +1,291 @@
+package com.hotel.importacion;
+
+import com.hotel.identificador.Identificadores;
+import com.hotel.model.Cliente;
+import com.hotel.repository.ClienteRepository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+/**
+ * Importación masiva de clientes desde un archivo CSV.
+ * <p>
+ * El archivo se lee en streaming desde un {@link FileChannel} en bloques de filas; cada bloque se analiza
+ * y valida en paralelo en el {@link Executor} configurado, con un número acotado de bloques en vuelo para
+ * limitar la memoria. Los bloques se guardan en orden con {@link ClienteRepository#guardarLote}, que descarta
+ * los emails ya registrados (o repetidos antes en el mismo archivo), por lo que ante duplicados siempre se
+ * conserva la primera fila. Cada fila rechazada se escribe en el archivo de rechazos con su número de línea
+ * y el motivo.
+ * <p>
+ * La primera línea debe ser una cabecera con las columnas {@code nombre} y {@code email}, y opcionalmente
+ * {@code telefono} y {@code direccion}, en cualquier orden. Los campos pueden ir entre comillas dobles;
+ * no se admiten saltos de línea dentro de un campo.
+ */
+public class ImportadorClientesCsv {
+
+    private static final int FILAS_POR_BLOQUE = 4096;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final ClienteRepository clienteRepository;
+    private final Executor ejecutor;
+    private final int bloquesEnVuelo;
+
+    public ImportadorClientesCsv(ClienteRepository clienteRepository) {
+        this(clienteRepository, ForkJoinPool.commonPool(), 2 * ForkJoinPool.getCommonPoolParallelism() + 1);
+    }
+
+    /**
+     * @param clienteRepository Repositorio donde se guardan los clientes
+     * @param ejecutor Ejecutor en el que se analizan los bloques
+     * @param bloquesEnVuelo Máximo de bloques leídos pendientes de guardar
+     */
+    public ImportadorClientesCsv(ClienteRepository clienteRepository, Executor ejecutor, int bloquesEnVuelo) {
+        if (bloquesEnVuelo <= 0) {
+            throw new IllegalArgumentException("El número de bloques en vuelo debe ser mayor a cero");
+        }
+        this.clienteRepository = clienteRepository;
+        this.ejecutor = ejecutor;
+        this.bloquesEnVuelo = bloquesEnVuelo;
+    }
+
+    /**
+     * Importa los clientes de un archivo CSV.
+     * @param archivo Archivo CSV de origen
+     * @param archivoRechazos Archivo donde se escriben las filas rechazadas (se sobrescribe)
+     * @return el resumen de la importación
+     * @throws IOException Si no se puede leer el origen, escribir los rechazos o la cabecera no es válida
+     */
+    public ResultadoImportacion importar(Path archivo, Path archivoRechazos) throws IOException {
+        long inicio = System.nanoTime();
+        long filasLeidas = 0;
+        Contadores contadores = new Contadores();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ);
+             BufferedReader lector = new BufferedReader(Channels.newReader(canal, StandardCharsets.UTF_8.newDecoder()
+                     .onMalformedInput(CodingErrorAction.REPLACE)
+                     .onUnmappableCharacter(CodingErrorAction.REPLACE), -1), 1 << 16);
+             BufferedWriter rechazos = Files.newBufferedWriter(archivoRechazos, StandardCharsets.UTF_8)) {
+            rechazos.write("linea,motivo,contenido");
+            rechazos.newLine();
+            String cabecera = lector.readLine();
+            if (cabecera == null) {
+                return new ResultadoImportacion(0, 0, 0, milisDesde(inicio));
+            }
+            Columnas columnas = Columnas.de(cabecera);
+
+            Deque<CompletableFuture<List<Fila>>> enVuelo = new ArrayDeque<>();
+            long numeroLinea = 1;
+            List<String> lineas = new ArrayList<>(FILAS_POR_BLOQUE);
+            String linea;
+            while (true) {
+                linea = lector.readLine();
+                if (linea != null) {
+                    lineas.add(linea);
+                    filasLeidas++;
+                }
+                if (lineas.size() == FILAS_POR_BLOQUE || (linea == null && !lineas.isEmpty())) {
+                    List<String> bloque = lineas;
+                    long primeraLinea = numeroLinea + 1;
+                    numeroLinea += bloque.size();
+                    enVuelo.add(CompletableFuture.supplyAsync(() -> analizar(bloque, primeraLinea, columnas), ejecutor));
+                    lineas = new ArrayList<>(FILAS_POR_BLOQUE);
+                    while (enVuelo.size() >= bloquesEnVuelo) {
+                        guardar(esperar(enVuelo.poll()), rechazos, contadores);
+                    }
+                }
+                if (linea == null) {
+                    break;
+                }
+            }
+            while (!enVuelo.isEmpty()) {
+                guardar(esperar(enVuelo.poll()), rechazos, contadores);
+            }
+        }
+        return new ResultadoImportacion(filasLeidas, contadores.importados, contadores.rechazados, milisDesde(inicio));
+    }
+
+    // Métodos auxiliares
+    private List<Fila> analizar(List<String> lineas, long primeraLinea, Columnas columnas) {
+        List<Fila> filas = new ArrayList<>(lineas.size());
+        for (int i = 0; i < lineas.size(); i++) {
+            String contenido = lineas.get(i);
+            Fila fila = new Fila(primeraLinea + i, contenido);
+            List<String> campos = separarCampos(contenido);
+            if (campos == null) {
+                fila.motivo = "Comillas sin cerrar";
+            } else if (campos.size() != columnas.total) {
+                fila.motivo = "Se esperaban " + columnas.total + " columnas y hay " + campos.size();
+            } else {
+                String nombre = campos.get(columnas.nombre).trim();
+                String email = campos.get(columnas.email).trim();
+                if (nombre.isEmpty()) {
+                    fila.motivo = "Nombre vacío";
+                } else if (!EMAIL.matcher(email).matches()) {
+                    fila.motivo = "Email inválido";
+                } else {
+                    fila.cliente = new Cliente(Identificadores.nuevoId(), nombre, email,
+                            columnas.telefono >= 0 ? campos.get(columnas.telefono).trim() : null,
+                            columnas.direccion >= 0 ? campos.get(columnas.direccion).trim() : null);
+                }
+            }
+            filas.add(fila);
+        }
+        return filas;
+    }
+
+    private void guardar(List<Fila> filas, BufferedWriter rechazos, Contadores contadores) throws IOException {
+        List<Cliente> validos = new ArrayList<>(filas.size());
+        for (Fila fila : filas) {
+            if (fila.cliente != null) {
+                validos.add(fila.cliente);
+            }
+        }
+        Set<Cliente> duplicados = Collections.newSetFromMap(new IdentityHashMap<>());
+        duplicados.addAll(clienteRepository.guardarLote(validos));
+        contadores.importados += validos.size() - duplicados.size();
+        for (Fila fila : filas) {
+            if (fila.cliente != null && duplicados.contains(fila.cliente)) {
+                fila.motivo = "Email duplicado";
+            }
+            if (fila.motivo != null) {
+                contadores.rechazados++;
+                rechazos.write(Long.toString(fila.linea));
+                rechazos.write(',');
+                rechazos.write(escapar(fila.motivo));
+                rechazos.write(',');
+                rechazos.write(escapar(fila.contenido));
+                rechazos.newLine();
+            }
+        }
+    }
+
+    private static List<Fila> esperar(CompletableFuture<List<Fila>> bloque) throws IOException {
+        try {
+            return bloque.join();
+        } catch (CompletionException e) {
+            throw new IOException("Error al analizar un bloque de filas", e.getCause());
+        }
+    }
+
+    /**
+     * Separa una línea CSV en campos, respetando comillas dobles y comillas escapadas ({@code ""}).
+     * @return los campos, o null si hay comillas sin cerrar
+     */
+    static List<String> separarCampos(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"') {
+                    if (i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                        campo.append('"');
+                        i++;
+                    } else {
+                        entreComillas = false;
+                    }
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreComillas) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static String escapar(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    private static long milisDesde(long inicioNanos) {
+        return (System.nanoTime() - inicioNanos) / 1_000_000;
+    }
+
+    private static final class Fila {
+        private final long linea;
+        private final String contenido;
+        private Cliente cliente;
+        private String motivo;
+
+        private Fila(long linea, String contenido) {
+            this.linea = linea;
+            this.contenido = contenido;
+        }
+    }
+
+    private static final class Contadores {
+        private long importados;
+        private long rechazados;
+    }
+
+    /**
+     * Posición de cada columna según la cabecera; -1 si una columna opcional no está presente.
+     */
+    private static final class Columnas {
+        private final int total;
+        private final int nombre;
+        private final int email;
+        private final int telefono;
+        private final int direccion;
+
+        private Columnas(int total, int nombre, int email, int telefono, int direccion) {
+            this.total = total;
+            this.nombre = nombre;
+            this.email = email;
+            this.telefono = telefono;
+            this.direccion = direccion;
+        }
+
+        private static Columnas de(String cabecera) throws IOException {
+            List<String> nombres = separarCampos(cabecera.startsWith("\uFEFF") ? cabecera.substring(1) : cabecera);
+            if (nombres == null) {
+                throw new IOException("Cabecera CSV inválida: " + cabecera);
+            }
+            List<String> normalizados = new ArrayList<>(nombres.size());
+            for (String nombre : nombres) {
+                normalizados.add(nombre.trim().toLowerCase(Locale.ROOT));
+            }
+            int nombre = normalizados.indexOf("nombre");
+            int email = normalizados.indexOf("email");
+            if (nombre < 0 || email < 0) {
+                throw new IOException("La cabecera CSV debe incluir las columnas 'nombre' y 'email'");
+            }
+            return new Columnas(normalizados.size(), nombre, email,
+                    normalizados.indexOf("telefono"), normalizados.indexOf("direccion"));
+        }
+    }
+}
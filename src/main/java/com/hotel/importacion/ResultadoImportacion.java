@@ -0,0 +1,47 @@
+package com.hotel.importacion;
+
+/**
+ * Resumen de una importación masiva: filas leídas, clientes importados y filas rechazadas.
+ * El detalle de cada rechazo queda en el archivo de rechazos.
+ */
+public class ResultadoImportacion {
+
+    private final long filasLeidas;
+    private final long importados;
+    private final long rechazados;
+    private final long duracionMillis;
+
+    public ResultadoImportacion(long filasLeidas, long importados, long rechazados, long duracionMillis) {
+        this.filasLeidas = filasLeidas;
+        this.importados = importados;
+        this.rechazados = rechazados;
+        this.duracionMillis = duracionMillis;
+    }
+
+    // Getters
+    public long getFilasLeidas() {
+        return filasLeidas;
+    }
+
+    public long getImportados() {
+        return importados;
+    }
+
+    public long getRechazados() {
+        return rechazados;
+    }
+
+    public long getDuracionMillis() {
+        return duracionMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoImportacion{" +
+                "filasLeidas=" + filasLeidas +
+                ", importados=" + importados +
+                ", rechazados=" + rechazados +
+                ", duracionMillis=" + duracionMillis +
+                '}';
+    }
+}
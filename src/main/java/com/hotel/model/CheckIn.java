@@ -1,10 +1,11 @@
 package com.hotel.model;
 
+import com.hotel.identificador.Identificadores;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 public class CheckIn {
     private String id;
@@ -20,7 +21,11 @@ public class CheckIn {
     private boolean titularRegistrado;
 
     public CheckIn() {
-        this.id = UUID.randomUUID().toString();
+        this(Identificadores.nuevoId());
+    }
+
+    public CheckIn(String id) {
+        this.id = id;
         this.fechaHoraEntrada = LocalDateTime.now();
         this.huespedes = new ArrayList<>();
         this.estado = EstadoCheckIn.ACTIVO;
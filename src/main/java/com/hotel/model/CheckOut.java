@@ -1,8 +1,9 @@
 package com.hotel.model;
 
+import com.hotel.identificador.Identificadores;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 public class CheckOut {
     private String id;
@@ -17,7 +18,11 @@ public class CheckOut {
     private EstadoCheckOut estado;
 
     public CheckOut() {
-        this.id = UUID.randomUUID().toString();
+        this(Identificadores.nuevoId());
+    }
+
+    public CheckOut(String id) {
+        this.id = id;
         this.fechaHoraSalida = LocalDateTime.now();
         this.totalEstadia = BigDecimal.ZERO;
         this.totalServicios = BigDecimal.ZERO;
@@ -1,5 +1,6 @@
 package com.hotel.model;
 
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -89,6 +90,15 @@ public class Cliente {
         this.activo = false;
     }
 
+    /**
+     * Normaliza un email para compararlo sin distinguir mayúsculas ni espacios en los extremos.
+     * @param email El email a normalizar
+     * @return el email normalizado, o null si el email es null
+     */
+    public static String normalizarEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
     // Equals y HashCode
     @Override
     public boolean equals(Object o) {
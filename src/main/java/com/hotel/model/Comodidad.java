@@ -0,0 +1,68 @@
+package com.hotel.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Comodidades que puede ofrecer una habitación. Cada una ocupa un bit de una máscara entera,
+ * lo que permite almacenarlas y filtrarlas sin materializar las habitaciones.
+ */
+public enum Comodidad {
+    VISTA_EXTERIOR,
+    AIRE_ACONDICIONADO,
+    CALEFACCION,
+    JACUZZI,
+    MINIBAR,
+    SERVICIO_HABITACIONES;
+
+    public int getMascara() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Calcula la máscara de comodidades de una habitación según su tipo concreto.
+     * @param habitacion La habitación
+     * @return la máscara con un bit por cada comodidad presente
+     */
+    public static int mascaraDe(Habitacion habitacion) {
+        int mascara = 0;
+        if (habitacion instanceof HabitacionEstandar estandar) {
+            mascara |= estandar.isTieneVistaExterior() ? VISTA_EXTERIOR.getMascara() : 0;
+            mascara |= estandar.isTieneAireAcondicionado() ? AIRE_ACONDICIONADO.getMascara() : 0;
+            mascara |= estandar.isTieneCalefaccion() ? CALEFACCION.getMascara() : 0;
+        } else if (habitacion instanceof Suite suite) {
+            mascara |= suite.isTieneJacuzzi() ? JACUZZI.getMascara() : 0;
+            mascara |= suite.isTieneMinibar() ? MINIBAR.getMascara() : 0;
+            mascara |= suite.isTieneServicioHabitaciones() ? SERVICIO_HABITACIONES.getMascara() : 0;
+        }
+        return mascara;
+    }
+
+    /**
+     * Calcula la máscara equivalente a un conjunto de comodidades.
+     * @param comodidades Las comodidades
+     * @return la máscara con un bit por cada comodidad
+     */
+    public static int mascaraDe(Set<Comodidad> comodidades) {
+        int mascara = 0;
+        for (Comodidad comodidad : comodidades) {
+            mascara |= comodidad.getMascara();
+        }
+        return mascara;
+    }
+
+    /**
+     * Obtiene el conjunto de comodidades representado por una máscara.
+     * @param mascara La máscara de comodidades
+     * @return las comodidades cuyo bit está activo
+     */
+    public static Set<Comodidad> deMascara(int mascara) {
+        Set<Comodidad> comodidades = EnumSet.noneOf(Comodidad.class);
+        for (Comodidad comodidad : values()) {
+            if ((mascara & comodidad.getMascara()) != 0) {
+                comodidades.add(comodidad);
+            }
+        }
+        return comodidades;
+    }
+}
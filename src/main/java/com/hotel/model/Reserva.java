@@ -1,8 +1,10 @@
 package com.hotel.model;
 
+import com.hotel.identificador.Identificadores;
+import com.hotel.tarifa.Montos;
+
 import java.time.LocalDate;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Clase que representa una reserva en el sistema de hotel.
@@ -59,7 +61,7 @@ public class Reserva {
             throw new IllegalArgumentException("El número de huéspedes excede la capacidad de la habitación");
         }
         
-        this.id = UUID.randomUUID().toString();
+        this.id = Identificadores.nuevoId();
         this.cliente = cliente;
         this.habitacion = habitacion;
         this.fechaCheckIn = fechaCheckIn;
@@ -71,13 +73,75 @@ public class Reserva {
         this.montoTotal = calcularMontoTotal();
     }
 
+    private Reserva() {
+    }
+
+    /**
+     * Reconstruye una reserva previamente persistida sin aplicar las validaciones de creación
+     * (por ejemplo, una fecha de check-in ya pasada). Solo debe usarse al recuperar el estado.
+     * @param id ID original de la reserva
+     * @param cliente El cliente que realizó la reserva
+     * @param habitacion La habitación reservada
+     * @param fechaCheckIn Fecha de entrada
+     * @param fechaCheckOut Fecha de salida
+     * @param numeroHuespedes Número de huéspedes
+     * @param estado Estado de la reserva
+     * @param montoTotal Monto total calculado en su momento
+     * @param fechaCreacion Fecha de creación original
+     * @param notas Notas de la reserva
+     * @return La reserva reconstruida con los valores indicados
+     */
+    public static Reserva restaurar(String id, Cliente cliente, Habitacion habitacion, LocalDate fechaCheckIn,
+                                    LocalDate fechaCheckOut, int numeroHuespedes, EstadoReserva estado,
+                                    double montoTotal, LocalDate fechaCreacion, String notas) {
+        Reserva reserva = new Reserva();
+        reserva.id = id;
+        reserva.cliente = cliente;
+        reserva.habitacion = habitacion;
+        reserva.fechaCheckIn = fechaCheckIn;
+        reserva.fechaCheckOut = fechaCheckOut;
+        reserva.numeroHuespedes = numeroHuespedes;
+        reserva.estado = estado;
+        reserva.montoTotal = montoTotal;
+        reserva.fechaCreacion = fechaCreacion;
+        reserva.notas = notas != null ? notas : "";
+        return reserva;
+    }
+
     /**
-     * Calcula el monto total de la reserva basado en las noches y el precio por noche.
+     * Calcula el monto total de la reserva basado en las noches y el precio base de la habitación
+     * (precio por noche más recargos). El cálculo se hace en unidades mínimas para que sea exacto.
+     * Cuando hay tarifas de calendario, el servicio sustituye este importe por la cotización del
+     * {@link com.hotel.tarifa.MotorTarifas} mediante {@link #establecerMontoTotal(double)}.
      * @return El monto total de la reserva
      */
     private double calcularMontoTotal() {
-        long noches = java.time.temporal.ChronoUnit.DAYS.between(fechaCheckIn, fechaCheckOut);
-        return habitacion.getPrecioPorNoche() * noches;
+        long noches = Math.max(0, fechaCheckOut.toEpochDay() - fechaCheckIn.toEpochDay());
+        return Montos.aDecimal(Math.multiplyExact(Montos.aUnidadesMinimas(habitacion.calcularPrecioBase()), noches));
+    }
+
+    /**
+     * Cambia la habitación y las fechas de la reserva, recalculando el monto una sola vez.
+     * @param habitacion La nueva habitación
+     * @param fechaCheckIn La nueva fecha de entrada
+     * @param fechaCheckOut La nueva fecha de salida
+     */
+    public void reprogramar(Habitacion habitacion, LocalDate fechaCheckIn, LocalDate fechaCheckOut) {
+        this.habitacion = habitacion;
+        this.fechaCheckIn = fechaCheckIn;
+        this.fechaCheckOut = fechaCheckOut;
+        this.montoTotal = calcularMontoTotal();
+    }
+
+    /**
+     * Fija el monto total a partir de una cotización externa (por ejemplo, del motor de tarifas).
+     * @param montoTotal El monto total cotizado
+     */
+    public void establecerMontoTotal(double montoTotal) {
+        if (montoTotal < 0) {
+            throw new IllegalArgumentException("El monto total no puede ser negativo");
+        }
+        this.montoTotal = montoTotal;
     }
 
     /**
@@ -94,12 +158,15 @@ public class Reserva {
     /**
      * Cancela la reserva, cambiando su estado a CANCELADA.
      * @param motivo El motivo de la cancelación
-     * @throws IllegalStateException Si la reserva ya está en curso, completada o cancelada
+     * @throws IllegalStateException Si la reserva ya está en curso, completada, no presentada o cancelada
      */
     public void cancelar(String motivo) {
         if (this.estado == EstadoReserva.EN_CURSO || this.estado == EstadoReserva.COMPLETADA) {
             throw new IllegalStateException("No se puede cancelar una reserva que ya está en curso o completada");
         }
+        if (this.estado == EstadoReserva.NO_SHOW) {
+            throw new IllegalStateException("No se puede cancelar una reserva marcada como no presentada");
+        }
         if (this.estado == EstadoReserva.CANCELADA) {
             throw new IllegalStateException("La reserva ya está cancelada");
         }
@@ -107,6 +174,17 @@ public class Reserva {
         this.notas += "\nCancelada: " + (motivo != null ? motivo : "Sin motivo especificado");
     }
 
+    /**
+     * Marca la reserva como no presentada (NO_SHOW) cuando el huésped no llegó en su fecha de entrada.
+     * @throws IllegalStateException Si la reserva no está confirmada
+     */
+    public void marcarNoShow() {
+        if (this.estado != EstadoReserva.CONFIRMADA) {
+            throw new IllegalStateException("Solo se pueden marcar como no presentadas las reservas confirmadas");
+        }
+        this.estado = EstadoReserva.NO_SHOW;
+    }
+
     /**
      * Registra el check-in del huésped.
      * @throws IllegalStateException Si la reserva no está confirmada o ya está en curso/completada
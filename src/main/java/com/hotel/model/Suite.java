@@ -92,6 +92,55 @@ public class Suite extends Habitacion {
         System.out.println("Solicitando servicio de habitación: " + servicio);
     }
 
+    /**
+     * Constructor por pasos de una suite: las comodidades son opcionales y por defecto no se incluyen.
+     */
+    public static class Builder {
+        private final String numeroHabitacion;
+        private final double precioPorNoche;
+        private final int capacidadMaxima;
+        private final String descripcion;
+        private boolean tieneJacuzzi;
+        private boolean tieneMinibar;
+        private boolean tieneServicioHabitaciones;
+        private int numeroHabitaciones = 1;
+
+        public Builder(String numeroHabitacion, double precioPorNoche, int capacidadMaxima, String descripcion) {
+            this.numeroHabitacion = numeroHabitacion;
+            this.precioPorNoche = precioPorNoche;
+            this.capacidadMaxima = capacidadMaxima;
+            this.descripcion = descripcion;
+        }
+
+        public Builder conJacuzzi(boolean tieneJacuzzi) {
+            this.tieneJacuzzi = tieneJacuzzi;
+            return this;
+        }
+
+        public Builder conMinibar(boolean tieneMinibar) {
+            this.tieneMinibar = tieneMinibar;
+            return this;
+        }
+
+        public Builder conServicioHabitaciones(boolean tieneServicioHabitaciones) {
+            this.tieneServicioHabitaciones = tieneServicioHabitaciones;
+            return this;
+        }
+
+        public Builder conNumeroHabitaciones(int numeroHabitaciones) {
+            if (numeroHabitaciones < 1) {
+                throw new IllegalArgumentException("El número de habitaciones debe ser al menos 1");
+            }
+            this.numeroHabitaciones = numeroHabitaciones;
+            return this;
+        }
+
+        public Suite build() {
+            return new Suite(numeroHabitacion, precioPorNoche, capacidadMaxima, descripcion,
+                    tieneJacuzzi, tieneMinibar, tieneServicioHabitaciones, numeroHabitaciones);
+        }
+    }
+
     // Sobrescribir el método toString para incluir información adicional
     @Override
     public String toString() {
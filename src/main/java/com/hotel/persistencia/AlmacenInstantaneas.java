@@ -0,0 +1,173 @@
+package com.hotel.persistencia;
+
+import com.hotel.model.CheckIn;
+import com.hotel.model.CheckOut;
+import com.hotel.model.Cliente;
+import com.hotel.model.Habitacion;
+import com.hotel.model.Reserva;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Instantáneas completas del {@link EstadoHotel}.
+ * <p>
+ * El archivo comienza con un número mágico, la versión del formato y el LSN del último registro incluido,
+ * y termina con un CRC32C de todo el contenido anterior. Se escribe primero en un archivo temporal que se
+ * sincroniza a disco y luego se renombra de forma atómica, de modo que siempre hay una instantánea completa.
+ */
+public class AlmacenInstantaneas {
+
+    private static final int NUMERO_MAGICO = 0x48544c53;
+    private static final int VERSION = 1;
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private final Path archivo;
+    private final Path temporal;
+
+    /**
+     * @param archivo Ruta del archivo de la instantánea
+     */
+    public AlmacenInstantaneas(Path archivo) {
+        this.archivo = archivo;
+        this.temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+    }
+
+    /**
+     * Carga la instantánea en el estado indicado, que debe estar vacío.
+     * @param estado Estado donde se cargan las entidades
+     * @return el LSN del último registro incluido en la instantánea, o 0 si no existe
+     * @throws IOException Si la instantánea no se puede leer o está corrupta
+     */
+    public long cargar(EstadoHotel estado) throws IOException {
+        if (!Files.exists(archivo)) {
+            return 0;
+        }
+        try (InputStream archivoEntrada = new BufferedInputStream(Files.newInputStream(archivo), TAMANO_BUFFER)) {
+            CheckedInputStream verificada = new CheckedInputStream(archivoEntrada, new CRC32C());
+            DataInputStream entrada = new DataInputStream(verificada);
+            if (entrada.readInt() != NUMERO_MAGICO) {
+                throw new IOException("El archivo no es una instantánea del hotel: " + archivo);
+            }
+            int version = entrada.readInt();
+            if (version != VERSION) {
+                throw new IOException("Versión de instantánea no soportada: " + version);
+            }
+            long lsn = entrada.readLong();
+
+            int total = entrada.readInt();
+            for (int i = 0; i < total; i++) {
+                estado.getClientes().guardar(CodecHotel.leerCliente(entrada));
+            }
+            total = entrada.readInt();
+            for (int i = 0; i < total; i++) {
+                Habitacion habitacion = CodecHotel.leerHabitacion(entrada);
+                estado.getHabitaciones().put(habitacion.getNumeroHabitacion(), habitacion);
+            }
+            total = entrada.readInt();
+            for (int i = 0; i < total; i++) {
+                estado.getReservas().guardar(CodecHotel.leerReserva(entrada, estado));
+            }
+            total = entrada.readInt();
+            for (int i = 0; i < total; i++) {
+                estado.getCheckIns().put(CodecHotel.leerTexto(entrada), CodecHotel.leerCheckIn(entrada));
+            }
+            total = entrada.readInt();
+            for (int i = 0; i < total; i++) {
+                estado.getCheckOuts().put(CodecHotel.leerTexto(entrada), CodecHotel.leerCheckOut(entrada));
+            }
+
+            int crcCalculado = (int) verificada.getChecksum().getValue();
+            int crcEsperado = new DataInputStream(archivoEntrada).readInt();
+            if (crcCalculado != crcEsperado) {
+                throw new IOException("CRC inválido en la instantánea: " + archivo);
+            }
+            return lsn;
+        }
+    }
+
+    /**
+     * Codifica en memoria una instantánea del estado, CRC incluido. No debe haber mutaciones concurrentes
+     * mientras se codifica; el resultado se escribe después con {@link #escribir(byte[])}, ya sin detenerlas.
+     * @param estado Estado a guardar
+     * @param lsn LSN del último registro aplicado al estado
+     * @return el contenido completo del archivo de la instantánea
+     * @throws IOException Si una entidad no se puede codificar
+     */
+    public byte[] codificar(EstadoHotel estado, long lsn) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(TAMANO_BUFFER);
+        CheckedOutputStream verificada = new CheckedOutputStream(bytes, new CRC32C());
+        DataOutputStream salida = new DataOutputStream(verificada);
+        salida.writeInt(NUMERO_MAGICO);
+        salida.writeInt(VERSION);
+        salida.writeLong(lsn);
+
+        List<Cliente> clientes = estado.getClientes().listarTodos();
+        salida.writeInt(clientes.size());
+        for (Cliente cliente : clientes) {
+            CodecHotel.escribirCliente(salida, cliente);
+        }
+        salida.writeInt(estado.getHabitaciones().size());
+        for (Habitacion habitacion : estado.getHabitaciones().values()) {
+            CodecHotel.escribirHabitacion(salida, habitacion);
+        }
+        List<Reserva> reservas = estado.getReservas().listarTodas();
+        salida.writeInt(reservas.size());
+        for (Reserva reserva : reservas) {
+            CodecHotel.escribirReserva(salida, reserva);
+        }
+        salida.writeInt(estado.getCheckIns().size());
+        for (Map.Entry<String, CheckIn> entrada : estado.getCheckIns().entrySet()) {
+            CodecHotel.escribirTexto(salida, entrada.getKey());
+            CodecHotel.escribirCheckIn(salida, entrada.getValue());
+        }
+        salida.writeInt(estado.getCheckOuts().size());
+        for (Map.Entry<String, CheckOut> entrada : estado.getCheckOuts().entrySet()) {
+            CodecHotel.escribirTexto(salida, entrada.getKey());
+            CodecHotel.escribirCheckOut(salida, entrada.getValue());
+        }
+
+        salida.flush();
+        // El CRC no se cubre a sí mismo: se escribe por debajo del flujo verificado
+        new DataOutputStream(bytes).writeInt((int) verificada.getChecksum().getValue());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Escribe una instantánea codificada con {@link #codificar} y reemplaza la anterior de forma atómica.
+     * @param instantanea Contenido de la instantánea
+     * @throws IOException Si no se puede escribir la instantánea
+     */
+    public void escribir(byte[] instantanea) throws IOException {
+        try (FileOutputStream archivoSalida = new FileOutputStream(temporal.toFile())) {
+            archivoSalida.write(instantanea);
+            archivoSalida.getFD().sync();
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        sincronizarDirectorio(archivo.toAbsolutePath().getParent());
+    }
+
+    private static void sincronizarDirectorio(Path directorio) {
+        // Hace durable el renombrado; no todos los sistemas permiten abrir un directorio para sincronizarlo
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // El contenido del archivo ya es durable; solo se pierde la garantía sobre el renombrado
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hotel.persistencia;
+
+import com.hotel.model.Cliente;
+import com.hotel.repository.ClienteRepository;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio de clientes que registra en la {@link PersistenciaHotel persistencia} cada cliente guardado o
+ * dado de baja, después de que el repositorio subyacente lo acepte. Se registra la imagen posterior del
+ * cliente, así que altas, modificaciones y bajas lógicas se recuperan igual.
+ */
+public class ClienteRepositoryPersistente implements ClienteRepository {
+
+    private final ClienteRepository clientes;
+    private final PersistenciaHotel persistencia;
+
+    /**
+     * @param clientes Repositorio en el que se guardan los clientes (normalmente el del estado recuperado)
+     * @param persistencia Persistencia en la que se registran los cambios
+     */
+    public ClienteRepositoryPersistente(ClienteRepository clientes, PersistenciaHotel persistencia) {
+        this.clientes = clientes;
+        this.persistencia = persistencia;
+    }
+
+    @Override
+    public Cliente guardar(Cliente cliente) {
+        Cliente guardado = clientes.guardar(cliente);
+        persistencia.clienteRegistrado(guardado);
+        return guardado;
+    }
+
+    @Override
+    public List<Cliente> guardarLote(List<Cliente> lote) {
+        List<Cliente> duplicados = clientes.guardarLote(lote);
+        Set<Cliente> omitidos = Collections.newSetFromMap(new IdentityHashMap<>());
+        omitidos.addAll(duplicados);
+        for (Cliente cliente : lote) {
+            if (!omitidos.contains(cliente)) {
+                persistencia.clienteRegistrado(cliente);
+            }
+        }
+        return duplicados;
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorId(String id) {
+        return clientes.buscarPorId(id);
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorEmail(String email) {
+        return clientes.buscarPorEmail(email);
+    }
+
+    @Override
+    public List<Cliente> listarTodos() {
+        return clientes.listarTodos();
+    }
+
+    @Override
+    public List<Cliente> listarTodosActivos() {
+        return clientes.listarTodosActivos();
+    }
+
+    @Override
+    public List<Cliente> listarActivosDesde(String despuesDeId, int limite) {
+        return clientes.listarActivosDesde(despuesDeId, limite);
+    }
+
+    @Override
+    public Stream<Cliente> streamActivos() {
+        return clientes.streamActivos();
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        if (!clientes.eliminar(id)) {
+            return false;
+        }
+        // La baja es lógica: se registra el cliente ya desactivado
+        clientes.buscarPorId(id).ifPresent(persistencia::clienteRegistrado);
+        return true;
+    }
+
+    @Override
+    public boolean existePorEmail(String email) {
+        return clientes.existePorEmail(email);
+    }
+
+    @Override
+    public boolean existePorId(String id) {
+        return clientes.existePorId(id);
+    }
+}
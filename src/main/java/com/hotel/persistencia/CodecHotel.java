@@ -0,0 +1,268 @@
+package com.hotel.persistencia;
+
+import com.hotel.model.CheckIn;
+import com.hotel.model.CheckOut;
+import com.hotel.model.Cliente;
+import com.hotel.model.Habitacion;
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Huesped;
+import com.hotel.model.Reserva;
+import com.hotel.model.Suite;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Codificación binaria de las entidades del dominio, compartida por el log de escritura anticipada
+ * y las instantáneas. Las reservas se escriben con los IDs de cliente y habitación, que se resuelven
+ * contra el {@link EstadoHotel} al leerlas.
+ */
+final class CodecHotel {
+
+    private static final byte HABITACION_ESTANDAR = 1;
+    private static final byte SUITE = 2;
+
+    private CodecHotel() {
+    }
+
+    // Clientes
+    static void escribirCliente(DataOutput salida, Cliente cliente) throws IOException {
+        escribirTexto(salida, cliente.getId());
+        escribirTexto(salida, cliente.getNombre());
+        escribirTexto(salida, cliente.getEmail());
+        escribirTexto(salida, cliente.getTelefono());
+        escribirTexto(salida, cliente.getDireccion());
+        salida.writeBoolean(cliente.isActivo());
+    }
+
+    static Cliente leerCliente(DataInput entrada) throws IOException {
+        Cliente cliente = new Cliente(leerTexto(entrada), leerTexto(entrada), leerTexto(entrada),
+                leerTexto(entrada), leerTexto(entrada));
+        cliente.setActivo(entrada.readBoolean());
+        return cliente;
+    }
+
+    // Habitaciones
+    static void escribirHabitacion(DataOutput salida, Habitacion habitacion) throws IOException {
+        if (habitacion instanceof Suite suite) {
+            salida.writeByte(SUITE);
+            escribirDatosHabitacion(salida, habitacion);
+            salida.writeBoolean(suite.isTieneJacuzzi());
+            salida.writeBoolean(suite.isTieneMinibar());
+            salida.writeBoolean(suite.isTieneServicioHabitaciones());
+            salida.writeInt(suite.getNumeroHabitaciones());
+        } else if (habitacion instanceof HabitacionEstandar estandar) {
+            salida.writeByte(HABITACION_ESTANDAR);
+            escribirDatosHabitacion(salida, habitacion);
+            salida.writeBoolean(estandar.isTieneVistaExterior());
+            salida.writeBoolean(estandar.isTieneAireAcondicionado());
+            salida.writeBoolean(estandar.isTieneCalefaccion());
+        } else {
+            throw new IllegalArgumentException("Tipo de habitación no persistible: " + habitacion.getClass().getName());
+        }
+    }
+
+    static Habitacion leerHabitacion(DataInput entrada) throws IOException {
+        byte tipo = entrada.readByte();
+        String numero = leerTexto(entrada);
+        double precio = entrada.readDouble();
+        int capacidad = entrada.readInt();
+        boolean disponible = entrada.readBoolean();
+        String descripcion = leerTexto(entrada);
+        Habitacion habitacion = switch (tipo) {
+            case SUITE -> new Suite(numero, precio, capacidad, descripcion, entrada.readBoolean(),
+                    entrada.readBoolean(), entrada.readBoolean(), entrada.readInt());
+            case HABITACION_ESTANDAR -> new HabitacionEstandar(numero, precio, capacidad, descripcion,
+                    entrada.readBoolean(), entrada.readBoolean(), entrada.readBoolean());
+            default -> throw new IOException("Tipo de habitación desconocido: " + tipo);
+        };
+        habitacion.setDisponible(disponible);
+        return habitacion;
+    }
+
+    private static void escribirDatosHabitacion(DataOutput salida, Habitacion habitacion) throws IOException {
+        escribirTexto(salida, habitacion.getNumeroHabitacion());
+        salida.writeDouble(habitacion.getPrecioPorNoche());
+        salida.writeInt(habitacion.getCapacidadMaxima());
+        salida.writeBoolean(habitacion.isDisponible());
+        escribirTexto(salida, habitacion.getDescripcion());
+    }
+
+    // Reservas
+    static void escribirReserva(DataOutput salida, Reserva reserva) throws IOException {
+        escribirTexto(salida, reserva.getId());
+        escribirTexto(salida, reserva.getCliente().getId());
+        escribirTexto(salida, reserva.getHabitacion().getNumeroHabitacion());
+        salida.writeLong(reserva.getFechaCheckIn().toEpochDay());
+        salida.writeLong(reserva.getFechaCheckOut().toEpochDay());
+        salida.writeInt(reserva.getNumeroHuespedes());
+        escribirTexto(salida, reserva.getEstado().name());
+        salida.writeDouble(reserva.getMontoTotal());
+        salida.writeLong(reserva.getFechaCreacion().toEpochDay());
+        escribirTexto(salida, reserva.getNotas());
+    }
+
+    static Reserva leerReserva(DataInput entrada, EstadoHotel estado) throws IOException {
+        String id = leerTexto(entrada);
+        String clienteId = leerTexto(entrada);
+        String numeroHabitacion = leerTexto(entrada);
+        Cliente cliente = estado.getClientes().buscarPorId(clienteId).orElse(null);
+        Habitacion habitacion = estado.getHabitaciones().get(numeroHabitacion);
+        if (cliente == null || habitacion == null) {
+            throw new IOException("La reserva " + id + " referencia un cliente o una habitación inexistente");
+        }
+        return Reserva.restaurar(id, cliente, habitacion,
+                LocalDate.ofEpochDay(entrada.readLong()),
+                LocalDate.ofEpochDay(entrada.readLong()),
+                entrada.readInt(),
+                Reserva.EstadoReserva.valueOf(leerTexto(entrada)),
+                entrada.readDouble(),
+                LocalDate.ofEpochDay(entrada.readLong()),
+                leerTexto(entrada));
+    }
+
+    // Huéspedes
+    static void escribirHuesped(DataOutput salida, Huesped huesped) throws IOException {
+        escribirTexto(salida, huesped.getId());
+        escribirTexto(salida, huesped.getNombre());
+        escribirTexto(salida, huesped.getApellido());
+        escribirTexto(salida, huesped.getTipoDocumento());
+        escribirTexto(salida, huesped.getNumeroDocumento());
+        escribirTexto(salida, huesped.getEmail());
+        escribirTexto(salida, huesped.getTelefono());
+        salida.writeBoolean(huesped.isTitular());
+    }
+
+    static Huesped leerHuesped(DataInput entrada) throws IOException {
+        Huesped huesped = new Huesped();
+        huesped.setId(leerTexto(entrada));
+        huesped.setNombre(leerTexto(entrada));
+        huesped.setApellido(leerTexto(entrada));
+        huesped.setTipoDocumento(leerTexto(entrada));
+        huesped.setNumeroDocumento(leerTexto(entrada));
+        huesped.setEmail(leerTexto(entrada));
+        huesped.setTelefono(leerTexto(entrada));
+        huesped.setTitular(entrada.readBoolean());
+        return huesped;
+    }
+
+    // Check-ins
+    static void escribirCheckIn(DataOutput salida, CheckIn checkIn) throws IOException {
+        escribirTexto(salida, checkIn.getId());
+        escribirTexto(salida, checkIn.getReservaId());
+        escribirTexto(salida, checkIn.getHabitacionId());
+        escribirFechaHora(salida, checkIn.getFechaHoraEntrada());
+        escribirFechaHora(salida, checkIn.getFechaHoraSalidaPrevista());
+        escribirDecimal(salida, checkIn.getDepositoGarantia());
+        escribirTexto(salida, checkIn.getObservaciones());
+        escribirTexto(salida, checkIn.getEstado().name());
+        salida.writeInt(checkIn.getCapacidadMaxima());
+        List<Huesped> huespedes = checkIn.getHuespedes();
+        salida.writeInt(huespedes.size());
+        for (Huesped huesped : huespedes) {
+            escribirHuesped(salida, huesped);
+        }
+    }
+
+    static CheckIn leerCheckIn(DataInput entrada) throws IOException {
+        CheckIn checkIn = new CheckIn(leerTexto(entrada));
+        checkIn.setReservaId(leerTexto(entrada));
+        checkIn.setHabitacionId(leerTexto(entrada));
+        checkIn.setFechaHoraEntrada(leerFechaHora(entrada));
+        checkIn.setFechaHoraSalidaPrevista(leerFechaHora(entrada));
+        checkIn.setDepositoGarantia(leerDecimal(entrada));
+        checkIn.setObservaciones(leerTexto(entrada));
+        checkIn.setEstado(CheckIn.EstadoCheckIn.valueOf(leerTexto(entrada)));
+        checkIn.setCapacidadMaxima(entrada.readInt());
+        int huespedes = entrada.readInt();
+        for (int i = 0; i < huespedes; i++) {
+            checkIn.agregarHuesped(leerHuesped(entrada));
+        }
+        return checkIn;
+    }
+
+    // Check-outs
+    static void escribirCheckOut(DataOutput salida, CheckOut checkOut) throws IOException {
+        escribirTexto(salida, checkOut.getId());
+        escribirTexto(salida, checkOut.getCheckInId());
+        escribirFechaHora(salida, checkOut.getFechaHoraSalida());
+        escribirDecimal(salida, checkOut.getTotalEstadia());
+        escribirDecimal(salida, checkOut.getTotalServicios());
+        escribirTexto(salida, checkOut.getObservaciones());
+        escribirTexto(salida, checkOut.getMetodoPago());
+        escribirTexto(salida, checkOut.getReferenciaPago());
+        salida.writeBoolean(checkOut.estaLiquidado());
+    }
+
+    static CheckOut leerCheckOut(DataInput entrada) throws IOException {
+        CheckOut checkOut = new CheckOut(leerTexto(entrada));
+        checkOut.setCheckInId(leerTexto(entrada));
+        LocalDateTime fechaHoraSalida = leerFechaHora(entrada);
+        BigDecimal totalEstadia = leerDecimal(entrada);
+        BigDecimal totalServicios = leerDecimal(entrada);
+        checkOut.setObservaciones(leerTexto(entrada));
+        String metodoPago = leerTexto(entrada);
+        String referenciaPago = leerTexto(entrada);
+        if (entrada.readBoolean()) {
+            checkOut.liquidar(totalEstadia, totalServicios, metodoPago, referenciaPago);
+        } else {
+            checkOut.setTotalEstadia(totalEstadia);
+            checkOut.setTotalServicios(totalServicios);
+            checkOut.setReferenciaPago(referenciaPago);
+        }
+        checkOut.setFechaHoraSalida(fechaHoraSalida);
+        return checkOut;
+    }
+
+    // Tipos básicos
+    static void escribirTexto(DataOutput salida, String texto) throws IOException {
+        if (texto == null) {
+            salida.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    static String leerTexto(DataInput entrada) throws IOException {
+        int longitud = entrada.readInt();
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void escribirDecimal(DataOutput salida, BigDecimal valor) throws IOException {
+        escribirTexto(salida, valor != null ? valor.toPlainString() : null);
+    }
+
+    private static BigDecimal leerDecimal(DataInput entrada) throws IOException {
+        String valor = leerTexto(entrada);
+        return valor != null ? new BigDecimal(valor) : null;
+    }
+
+    private static void escribirFechaHora(DataOutput salida, LocalDateTime fechaHora) throws IOException {
+        salida.writeBoolean(fechaHora != null);
+        if (fechaHora != null) {
+            salida.writeLong(fechaHora.toLocalDate().toEpochDay());
+            salida.writeLong(fechaHora.toLocalTime().toNanoOfDay());
+        }
+    }
+
+    private static LocalDateTime leerFechaHora(DataInput entrada) throws IOException {
+        if (!entrada.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.of(LocalDate.ofEpochDay(entrada.readLong()), LocalTime.ofNanoOfDay(entrada.readLong()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.hotel.persistencia;
+
+import com.hotel.analitica.AlmacenColumnarReservas;
+import com.hotel.disponibilidad.IndiceDisponibilidad;
+import com.hotel.model.CheckIn;
+import com.hotel.model.CheckOut;
+import com.hotel.model.Habitacion;
+import com.hotel.model.Reserva;
+import com.hotel.model.Reserva.EstadoReserva;
+import com.hotel.registro.RegistroHuespedesAlojados;
+import com.hotel.repository.ClienteRepository;
+import com.hotel.repository.ReservaRepository;
+import com.hotel.repository.impl.ClienteRepositoryEnMemoria;
+import com.hotel.repository.impl.ReservaRepositoryEnMemoria;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Estado en memoria del hotel: clientes, habitaciones, reservas, check-ins y check-outs
+ * (estos dos últimos indexados por ID de reserva), junto con el índice de disponibilidad, la proyección
+ * columnar de las reservas para informes y el registro de huéspedes alojados.
+ * Es lo que se guarda en las instantáneas y sobre lo que se reproduce el registro de escritura anticipada.
+ */
+public class EstadoHotel {
+
+    private final ClienteRepository clientes = new ClienteRepositoryEnMemoria();
+    // La API lo consulta desde varios hilos mientras la consola puede dar de alta habitaciones
+    private final Map<String, Habitacion> habitaciones = new ConcurrentHashMap<>();
+    private final AlmacenColumnarReservas almacenColumnar = new AlmacenColumnarReservas();
+    private final ReservaRepository reservas = new ReservaRepositoryEnMemoria(almacenColumnar);
+    private final Map<String, CheckIn> checkIns = new HashMap<>();
+    private final Map<String, CheckOut> checkOuts = new HashMap<>();
+    private final IndiceDisponibilidad indiceDisponibilidad = new IndiceDisponibilidad();
+    private final RegistroHuespedesAlojados huespedesAlojados = new RegistroHuespedesAlojados();
+
+    /**
+     * Reconstruye el índice de disponibilidad a partir de las reservas que ocupan habitación.
+     * Los calendarios de habitaciones distintas son independientes, por lo que se recorre en paralelo.
+     * El registro de huéspedes alojados se llena con los check-ins activos que aún no tienen check-out.
+     */
+    public void reconstruirIndices() {
+        reservas.listarTodas().parallelStream()
+                .filter(EstadoHotel::ocupaHabitacion)
+                .forEach(r -> indiceDisponibilidad.ocupar(r.getHabitacion().getNumeroHabitacion(), r.getId(),
+                        r.getFechaCheckIn(), r.getFechaCheckOut()));
+        huespedesAlojados.reconstruir(checkIns.entrySet().stream()
+                .filter(entrada -> !checkOuts.containsKey(entrada.getKey()))
+                .map(Map.Entry::getValue)
+                .filter(checkIn -> checkIn.getEstado() == CheckIn.EstadoCheckIn.ACTIVO)
+                .collect(Collectors.toList()));
+    }
+
+    private static boolean ocupaHabitacion(Reserva reserva) {
+        EstadoReserva estado = reserva.getEstado();
+        return estado == EstadoReserva.PENDIENTE || estado == EstadoReserva.CONFIRMADA || estado == EstadoReserva.EN_CURSO;
+    }
+
+    // Getters
+    public ClienteRepository getClientes() {
+        return clientes;
+    }
+
+    public Map<String, Habitacion> getHabitaciones() {
+        return habitaciones;
+    }
+
+    public ReservaRepository getReservas() {
+        return reservas;
+    }
+
+    public AlmacenColumnarReservas getAlmacenColumnar() {
+        return almacenColumnar;
+    }
+
+    public Map<String, CheckIn> getCheckIns() {
+        return checkIns;
+    }
+
+    public Map<String, CheckOut> getCheckOuts() {
+        return checkOuts;
+    }
+
+    public IndiceDisponibilidad getIndiceDisponibilidad() {
+        return indiceDisponibilidad;
+    }
+
+    public RegistroHuespedesAlojados getHuespedesAlojados() {
+        return huespedesAlojados;
+    }
+}
@@ -0,0 +1,275 @@
+package com.hotel.persistencia;
+
+import com.hotel.model.CheckIn;
+import com.hotel.model.CheckOut;
+import com.hotel.model.Cliente;
+import com.hotel.model.Habitacion;
+import com.hotel.model.Reserva;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistencia del estado del hotel mediante un registro de escritura anticipada y instantáneas periódicas.
+ * <p>
+ * Cada mutación se registra como la imagen posterior de las entidades afectadas, por lo que reproducirla
+ * es idempotente (se reemplaza la entidad por su ID). Al abrir se carga la última instantánea, se reproduce
+ * solo la cola del registro posterior a ella y se reconstruye el índice de disponibilidad en paralelo.
+ * <p>
+ * Cada {@value #REGISTROS_ENTRE_INSTANTANEAS} registros se toma una instantánea en un hilo propio, nunca en el
+ * de la petición que cruza el umbral. Para que capture un estado coherente, quienes mutan el estado lo hacen
+ * con la {@link #getBarreraMutaciones() barrera de mutaciones} adquirida, y la instantánea la toma en
+ * exclusiva solo mientras lo codifica en memoria; la escritura a disco ocurre ya sin detener a nadie.
+ */
+public class PersistenciaHotel implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(PersistenciaHotel.class.getName());
+    private static final long REGISTROS_ENTRE_INSTANTANEAS = 10_000;
+    private static final long SEGUNDOS_ESPERA_CIERRE = 30;
+
+    @FunctionalInterface
+    private interface Escritura {
+        void escribir(DataOutputStream salida) throws IOException;
+    }
+
+    private final EstadoHotel estado;
+    private final RegistroEscrituraAnticipada registro;
+    private final AlmacenInstantaneas instantaneas;
+    private final AtomicLong registrosDesdeInstantanea = new AtomicLong();
+    private final ReentrantReadWriteLock barrera = new ReentrantReadWriteLock();
+    private final AtomicBoolean instantaneaProgramada = new AtomicBoolean();
+    private final ExecutorService hiloInstantaneas = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "instantaneas-hotel");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private PersistenciaHotel(EstadoHotel estado, RegistroEscrituraAnticipada registro,
+                              AlmacenInstantaneas instantaneas) {
+        this.estado = estado;
+        this.registro = registro;
+        this.instantaneas = instantaneas;
+    }
+
+    /**
+     * Abre la persistencia del directorio indicado y recupera el estado guardado.
+     * @param directorio Directorio de datos (se crea si no existe)
+     * @return la persistencia abierta, con el estado recuperado
+     * @throws IOException Si la instantánea o el registro no se pueden leer
+     */
+    public static PersistenciaHotel abrir(Path directorio) throws IOException {
+        EstadoHotel estado = new EstadoHotel();
+        AlmacenInstantaneas instantaneas = new AlmacenInstantaneas(directorio.resolve("instantanea.bin"));
+        long lsnInstantanea = instantaneas.cargar(estado);
+        RegistroEscrituraAnticipada registro = RegistroEscrituraAnticipada.abrir(directorio.resolve("wal"),
+                lsnInstantanea, (lsn, tipo, datos) -> aplicar(estado, TipoEvento.deCodigo(tipo), datos));
+        estado.reconstruirIndices();
+        return new PersistenciaHotel(estado, registro, instantaneas);
+    }
+
+    public EstadoHotel getEstado() {
+        return estado;
+    }
+
+    /**
+     * Bloqueo compartido que debe mantener quien muta el estado, desde el primer cambio en memoria hasta
+     * registrarlo; la instantánea adquiere la parte exclusiva. Es reentrante, pero quien lo mantiene no
+     * debe llamar a {@link #tomarInstantanea()}.
+     * @return la parte compartida de la barrera
+     */
+    public Lock getBarreraMutaciones() {
+        return barrera.readLock();
+    }
+
+    /**
+     * Ejecuta una mutación del estado con la barrera de mutaciones adquirida.
+     * @param mutacion Cambios en memoria y su registro
+     */
+    public void mutar(Runnable mutacion) {
+        Lock compartida = barrera.readLock();
+        compartida.lock();
+        try {
+            mutacion.run();
+        } finally {
+            compartida.unlock();
+        }
+    }
+
+    public void clienteRegistrado(Cliente cliente) {
+        registrar(TipoEvento.CLIENTE_REGISTRADO, salida -> CodecHotel.escribirCliente(salida, cliente));
+    }
+
+    public void habitacionRegistrada(Habitacion habitacion) {
+        registrar(TipoEvento.HABITACION_REGISTRADA, salida -> CodecHotel.escribirHabitacion(salida, habitacion));
+    }
+
+    public void reservaCreada(Reserva reserva) {
+        registrarReserva(TipoEvento.RESERVA_CREADA, reserva);
+    }
+
+    public void reservaConfirmada(Reserva reserva) {
+        registrarReserva(TipoEvento.RESERVA_CONFIRMADA, reserva);
+    }
+
+    public void reservaCancelada(Reserva reserva) {
+        registrarReserva(TipoEvento.RESERVA_CANCELADA, reserva);
+    }
+
+    /**
+     * Registra cualquier otro cambio de la reserva (reprogramación, check-in o check-out sin registro de
+     * huéspedes, no presentación); al recuperar se reemplaza la reserva igual que en las demás transiciones.
+     * @param reserva La reserva modificada
+     */
+    public void reservaActualizada(Reserva reserva) {
+        registrarReserva(TipoEvento.RESERVA_ACTUALIZADA, reserva);
+    }
+
+    public void checkInRegistrado(Reserva reserva, CheckIn checkIn) {
+        registrarConCheckIn(TipoEvento.CHECK_IN_REGISTRADO, reserva, checkIn);
+    }
+
+    public void huespedAgregado(Reserva reserva, CheckIn checkIn) {
+        registrarConCheckIn(TipoEvento.HUESPED_AGREGADO, reserva, checkIn);
+    }
+
+    public void checkOutLiquidado(Reserva reserva, CheckOut checkOut) {
+        registrar(TipoEvento.CHECK_OUT_LIQUIDADO, salida -> {
+            escribirReservaYHabitacion(salida, reserva);
+            CodecHotel.escribirCheckOut(salida, checkOut);
+        });
+    }
+
+    /**
+     * Guarda una instantánea del estado actual y descarta los segmentos del registro que cubre.
+     * Detiene las mutaciones (ver {@link #getBarreraMutaciones()}) solo mientras codifica el estado en memoria.
+     * @throws IOException Si no se puede escribir la instantánea
+     */
+    public synchronized void tomarInstantanea() throws IOException {
+        long lsn;
+        byte[] contenido;
+        Lock exclusiva = barrera.writeLock();
+        exclusiva.lock();
+        try {
+            lsn = registro.rotar();
+            contenido = instantaneas.codificar(estado, lsn);
+            registrosDesdeInstantanea.set(0);
+        } finally {
+            exclusiva.unlock();
+        }
+        instantaneas.escribir(contenido);
+        registro.descartarHasta(lsn);
+    }
+
+    /**
+     * Espera a la instantánea automática en curso, si la hay, y cierra el registro.
+     */
+    @Override
+    public void close() throws IOException {
+        hiloInstantaneas.shutdown();
+        try {
+            if (!hiloInstantaneas.awaitTermination(SEGUNDOS_ESPERA_CIERRE, TimeUnit.SECONDS)) {
+                LOGGER.warning("La instantánea automática no terminó antes del cierre");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        registro.close();
+    }
+
+    // Métodos auxiliares
+    private void registrarReserva(TipoEvento tipo, Reserva reserva) {
+        registrar(tipo, salida -> escribirReservaYHabitacion(salida, reserva));
+    }
+
+    private void registrarConCheckIn(TipoEvento tipo, Reserva reserva, CheckIn checkIn) {
+        registrar(tipo, salida -> {
+            escribirReservaYHabitacion(salida, reserva);
+            CodecHotel.escribirCheckIn(salida, checkIn);
+        });
+    }
+
+    private void registrar(TipoEvento tipo, Escritura escritura) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream salida = new DataOutputStream(bytes)) {
+            escritura.escribir(salida);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo codificar el evento " + tipo, e);
+        }
+        registro.anexar(tipo.getCodigo(), bytes.toByteArray());
+        // Quien registra suele mantener la barrera compartida: la instantánea se delega a su hilo
+        if (registrosDesdeInstantanea.incrementAndGet() >= REGISTROS_ENTRE_INSTANTANEAS
+                && instantaneaProgramada.compareAndSet(false, true)) {
+            try {
+                hiloInstantaneas.execute(this::tomarInstantaneaAutomatica);
+            } catch (RejectedExecutionException e) {
+                // Se está cerrando: la instantánea final la toma quien cierra
+                instantaneaProgramada.set(false);
+            }
+        }
+    }
+
+    private void tomarInstantaneaAutomatica() {
+        try {
+            tomarInstantanea();
+        } catch (IOException | RuntimeException e) {
+            // Los eventos ya son durables en el registro. La instantánea se reintenta tras otro intervalo
+            // completo: reintentarla en cada escritura repetiría un volcado de todo el estado por petición
+            registrosDesdeInstantanea.set(0);
+            LOGGER.log(Level.WARNING, "No se pudo tomar la instantánea automática; se reintentará dentro de "
+                    + REGISTROS_ENTRE_INSTANTANEAS + " registros", e);
+        } finally {
+            instantaneaProgramada.set(false);
+        }
+    }
+
+    /**
+     * La disponibilidad de la habitación cambia junto con la reserva, así que se registra con ella.
+     */
+    private static void escribirReservaYHabitacion(DataOutputStream salida, Reserva reserva) throws IOException {
+        CodecHotel.escribirReserva(salida, reserva);
+        salida.writeBoolean(reserva.getHabitacion().isDisponible());
+    }
+
+    private static Reserva aplicarReservaYHabitacion(EstadoHotel estado, DataInputStream entrada) throws IOException {
+        Reserva reserva = CodecHotel.leerReserva(entrada, estado);
+        reserva.getHabitacion().setDisponible(entrada.readBoolean());
+        estado.getReservas().guardar(reserva);
+        return reserva;
+    }
+
+    private static void aplicar(EstadoHotel estado, TipoEvento tipo, byte[] datos) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(datos));
+        switch (tipo) {
+            case CLIENTE_REGISTRADO -> estado.getClientes().guardar(CodecHotel.leerCliente(entrada));
+            case HABITACION_REGISTRADA -> {
+                Habitacion habitacion = CodecHotel.leerHabitacion(entrada);
+                estado.getHabitaciones().put(habitacion.getNumeroHabitacion(), habitacion);
+            }
+            case RESERVA_CREADA, RESERVA_CONFIRMADA, RESERVA_CANCELADA, RESERVA_ACTUALIZADA ->
+                    aplicarReservaYHabitacion(estado, entrada);
+            case CHECK_IN_REGISTRADO, HUESPED_AGREGADO -> {
+                Reserva reserva = aplicarReservaYHabitacion(estado, entrada);
+                estado.getCheckIns().put(reserva.getId(), CodecHotel.leerCheckIn(entrada));
+            }
+            case CHECK_OUT_LIQUIDADO -> {
+                Reserva reserva = aplicarReservaYHabitacion(estado, entrada);
+                estado.getCheckOuts().put(reserva.getId(), CodecHotel.leerCheckOut(entrada));
+            }
+        }
+    }
+}
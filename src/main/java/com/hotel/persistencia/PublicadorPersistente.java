@@ -0,0 +1,29 @@
+package com.hotel.persistencia;
+
+import com.hotel.evento.PublicadorEventos;
+import com.hotel.evento.TipoEventoDominio;
+import com.hotel.model.Reserva;
+
+/**
+ * Publicador de eventos de dominio que registra cada cambio de reserva de los servicios en la
+ * {@link PersistenciaHotel persistencia}. Se invoca de forma síncrona con el bloqueo de la habitación, así que
+ * la operación no termina hasta que el cambio es durable en el registro de escritura anticipada.
+ */
+public class PublicadorPersistente implements PublicadorEventos {
+
+    private final PersistenciaHotel persistencia;
+
+    public PublicadorPersistente(PersistenciaHotel persistencia) {
+        this.persistencia = persistencia;
+    }
+
+    @Override
+    public void publicar(TipoEventoDominio tipo, Reserva reserva, String referenciaId, String detalle) {
+        switch (tipo) {
+            case RESERVA_CREADA -> persistencia.reservaCreada(reserva);
+            case RESERVA_CONFIRMADA -> persistencia.reservaConfirmada(reserva);
+            case RESERVA_CANCELADA, RETENCION_EXPIRADA -> persistencia.reservaCancelada(reserva);
+            default -> persistencia.reservaActualizada(reserva);
+        }
+    }
+}
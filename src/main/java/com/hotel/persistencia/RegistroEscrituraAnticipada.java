@@ -0,0 +1,310 @@
+package com.hotel.persistencia;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Registro de escritura anticipada (WAL) en segmentos de solo anexado.
+ * <p>
+ * Cada registro se escribe como {@code [longitud:int][crc32c:int][lsn:long][tipo:byte][datos]}, donde el CRC
+ * cubre el LSN, el tipo y los datos. Un único hilo escritor agrupa en un lote todos los registros pendientes,
+ * los escribe con una sola llamada y hace un único {@code fsync} para el lote completo (group commit);
+ * quien anexa queda bloqueado hasta que su registro es durable.
+ * <p>
+ * Los segmentos se llaman {@code wal-<primer LSN>.log}. Al abrir se validan todos los segmentos y, si el
+ * último termina en un registro incompleto o corrupto (caída a mitad de escritura), se trunca en ese punto.
+ */
+public class RegistroEscrituraAnticipada implements AutoCloseable {
+
+    /**
+     * Recibe los registros leídos durante la recuperación.
+     */
+    @FunctionalInterface
+    public interface ConsumidorRegistro {
+        void aceptar(long lsn, byte tipo, byte[] datos) throws IOException;
+    }
+
+    private static final String PREFIJO_SEGMENTO = "wal-";
+    private static final String SUFIJO_SEGMENTO = ".log";
+    private static final int CABECERA = Integer.BYTES + Integer.BYTES + Long.BYTES + 1;
+    private static final int LONGITUD_MAXIMA = 64 * 1024 * 1024;
+    private static final int TAMANO_MAXIMO_LOTE = 4096;
+    private static final Pendiente FIN = new Pendiente((byte) 0, new byte[0]);
+
+    private final Path directorio;
+    private final BlockingQueue<Pendiente> pendientes = new LinkedBlockingQueue<>();
+    private final Thread escritor;
+    private final Object bloqueoSegmento = new Object();
+    private FileChannel segmentoActual;
+    private long siguienteLsn;
+    private volatile boolean cerrado;
+
+    private RegistroEscrituraAnticipada(Path directorio, long siguienteLsn, Path ultimoSegmento) throws IOException {
+        this.directorio = directorio;
+        this.siguienteLsn = siguienteLsn;
+        this.segmentoActual = FileChannel.open(
+                ultimoSegmento != null ? ultimoSegmento : rutaSegmento(siguienteLsn),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.escritor = new Thread(this::escribirLotes, "wal-escritor");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Abre el registro del directorio indicado, reproduciendo los registros con LSN mayor que {@code desdeLsn}.
+     * @param directorio Directorio de los segmentos (se crea si no existe)
+     * @param desdeLsn Último LSN ya incluido en la instantánea cargada (0 si no hay instantánea)
+     * @param consumidor Receptor de los registros a reproducir
+     * @return el registro abierto y listo para anexar
+     * @throws IOException Si no se pueden leer o crear los segmentos
+     */
+    public static RegistroEscrituraAnticipada abrir(Path directorio, long desdeLsn, ConsumidorRegistro consumidor)
+            throws IOException {
+        Files.createDirectories(directorio);
+        List<Path> segmentos = listarSegmentos(directorio);
+        long ultimoLsn = desdeLsn;
+        for (int i = 0; i < segmentos.size(); i++) {
+            boolean esUltimo = i == segmentos.size() - 1;
+            ultimoLsn = Math.max(ultimoLsn, reproducirSegmento(segmentos.get(i), desdeLsn, consumidor, esUltimo));
+        }
+        Path ultimo = segmentos.isEmpty() ? null : segmentos.get(segmentos.size() - 1);
+        return new RegistroEscrituraAnticipada(directorio, ultimoLsn + 1, ultimo);
+    }
+
+    /**
+     * Anexa un registro y espera a que sea durable en disco.
+     * @param tipo Tipo del registro
+     * @param datos Contenido del registro
+     * @return el LSN asignado
+     * @throws UncheckedIOException Si falla la escritura
+     */
+    public long anexar(byte tipo, byte[] datos) {
+        if (cerrado) {
+            throw new IllegalStateException("El registro de escritura anticipada está cerrado");
+        }
+        if (datos.length > LONGITUD_MAXIMA) {
+            throw new IllegalArgumentException("El registro excede el tamaño máximo permitido");
+        }
+        Pendiente pendiente = new Pendiente(tipo, datos);
+        pendientes.add(pendiente);
+        try {
+            return pendiente.resultado.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException io) {
+                throw new UncheckedIOException("No se pudo escribir en el registro de escritura anticipada", io);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cierra el segmento actual y abre uno nuevo; los registros posteriores irán al segmento nuevo.
+     * @return el último LSN escrito en los segmentos anteriores
+     * @throws IOException Si no se puede crear el segmento nuevo
+     */
+    public long rotar() throws IOException {
+        synchronized (bloqueoSegmento) {
+            segmentoActual.force(true);
+            segmentoActual.close();
+            segmentoActual = FileChannel.open(rutaSegmento(siguienteLsn),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return siguienteLsn - 1;
+        }
+    }
+
+    /**
+     * Elimina los segmentos cuyos registros tienen todos un LSN menor o igual al indicado.
+     * @param lsn LSN ya cubierto por una instantánea durable
+     * @throws IOException Si no se puede eliminar algún segmento
+     */
+    public void descartarHasta(long lsn) throws IOException {
+        List<Path> segmentos = listarSegmentos(directorio);
+        for (int i = 0; i + 1 < segmentos.size(); i++) {
+            // Un segmento solo contiene LSN menores que el primer LSN del siguiente
+            if (primerLsn(segmentos.get(i + 1)) - 1 <= lsn) {
+                Files.deleteIfExists(segmentos.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        cerrado = true;
+        pendientes.add(FIN);
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Pendiente rezagado;
+        while ((rezagado = pendientes.poll()) != null) {
+            rezagado.resultado.completeExceptionally(new IOException("El registro de escritura anticipada está cerrado"));
+        }
+        synchronized (bloqueoSegmento) {
+            segmentoActual.force(true);
+            segmentoActual.close();
+        }
+    }
+
+    private void escribirLotes() {
+        List<Pendiente> lote = new ArrayList<>();
+        boolean fin = false;
+        while (!fin) {
+            try {
+                lote.add(pendientes.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            pendientes.drainTo(lote, TAMANO_MAXIMO_LOTE);
+            // El marcador de fin se encola al cerrar: se escribe lo anterior y el hilo termina
+            fin = lote.remove(FIN);
+            if (!lote.isEmpty()) {
+                escribirLote(lote);
+            }
+            lote.clear();
+        }
+    }
+
+    private void escribirLote(List<Pendiente> lote) {
+        synchronized (bloqueoSegmento) {
+            long primerLsn = siguienteLsn;
+            try {
+                int total = 0;
+                for (Pendiente pendiente : lote) {
+                    total += CABECERA + pendiente.datos.length;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(total);
+                long lsn = primerLsn;
+                for (Pendiente pendiente : lote) {
+                    CRC32C crc = new CRC32C();
+                    ByteBuffer lsnYTipo = ByteBuffer.allocate(Long.BYTES + 1).putLong(lsn).put(pendiente.tipo).flip();
+                    crc.update(lsnYTipo);
+                    crc.update(pendiente.datos);
+                    buffer.putInt(pendiente.datos.length)
+                            .putInt((int) crc.getValue())
+                            .putLong(lsn)
+                            .put(pendiente.tipo)
+                            .put(pendiente.datos);
+                    lsn++;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    segmentoActual.write(buffer);
+                }
+                segmentoActual.force(false);
+                siguienteLsn = lsn;
+                lsn = primerLsn;
+                for (Pendiente pendiente : lote) {
+                    pendiente.resultado.complete(lsn++);
+                }
+            } catch (IOException e) {
+                lote.forEach(p -> p.resultado.completeExceptionally(e));
+            }
+        }
+    }
+
+    /**
+     * Reproduce un segmento y devuelve el último LSN válido encontrado.
+     * Un registro incompleto o corrupto solo se tolera al final del último segmento, que se trunca.
+     */
+    private static long reproducirSegmento(Path segmento, long desdeLsn, ConsumidorRegistro consumidor,
+                                           boolean esUltimo) throws IOException {
+        long ultimoLsn = 0;
+        long posicionValida = 0;
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ);
+             DataInputStream entrada = new DataInputStream(new BufferedInputStream(Channels.newInputStream(canal), 1 << 16))) {
+            while (true) {
+                int longitud;
+                try {
+                    longitud = entrada.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                try {
+                    if (longitud < 0 || longitud > LONGITUD_MAXIMA) {
+                        throw new IOException("Longitud de registro inválida: " + longitud);
+                    }
+                    int crcEsperado = entrada.readInt();
+                    long lsn = entrada.readLong();
+                    byte tipo = entrada.readByte();
+                    byte[] datos = new byte[longitud];
+                    entrada.readFully(datos);
+                    CRC32C crc = new CRC32C();
+                    crc.update(ByteBuffer.allocate(Long.BYTES + 1).putLong(lsn).put(tipo).flip());
+                    crc.update(datos);
+                    if ((int) crc.getValue() != crcEsperado) {
+                        throw new IOException("CRC inválido en el registro " + lsn);
+                    }
+                    if (lsn > desdeLsn) {
+                        consumidor.aceptar(lsn, tipo, datos);
+                    }
+                    ultimoLsn = lsn;
+                    posicionValida += CABECERA + longitud;
+                } catch (EOFException e) {
+                    break;
+                } catch (IOException e) {
+                    if (!esUltimo) {
+                        throw new IOException("Segmento corrupto: " + segmento, e);
+                    }
+                    break;
+                }
+            }
+        }
+        if (esUltimo && Files.size(segmento) > posicionValida) {
+            try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+                canal.truncate(posicionValida);
+                canal.force(true);
+            }
+        }
+        return ultimoLsn;
+    }
+
+    private static List<Path> listarSegmentos(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIJO_SEGMENTO)
+                            && p.getFileName().toString().endsWith(SUFIJO_SEGMENTO))
+                    .sorted((a, b) -> Long.compare(primerLsn(a), primerLsn(b)))
+                    .toList();
+        }
+    }
+
+    private static long primerLsn(Path segmento) {
+        String nombre = segmento.getFileName().toString();
+        return Long.parseLong(nombre.substring(PREFIJO_SEGMENTO.length(), nombre.length() - SUFIJO_SEGMENTO.length()));
+    }
+
+    private Path rutaSegmento(long primerLsn) {
+        return directorio.resolve(String.format("%s%020d%s", PREFIJO_SEGMENTO, primerLsn, SUFIJO_SEGMENTO));
+    }
+
+    private static final class Pendiente {
+        private final byte tipo;
+        private final byte[] datos;
+        private final CompletableFuture<Long> resultado = new CompletableFuture<>();
+
+        private Pendiente(byte tipo, byte[] datos) {
+            this.tipo = tipo;
+            this.datos = datos;
+        }
+    }
+}
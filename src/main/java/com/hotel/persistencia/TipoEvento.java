@@ -0,0 +1,49 @@
+package com.hotel.persistencia;
+
+/**
+ * Tipos de mutación de dominio que se registran en el log de escritura anticipada.
+ * El código es el byte que se escribe en disco, por lo que no debe cambiar entre versiones.
+ */
+public enum TipoEvento {
+    CLIENTE_REGISTRADO(1),
+    HABITACION_REGISTRADA(2),
+    RESERVA_CREADA(3),
+    RESERVA_CONFIRMADA(4),
+    RESERVA_CANCELADA(5),
+    CHECK_IN_REGISTRADO(6),
+    HUESPED_AGREGADO(7),
+    CHECK_OUT_LIQUIDADO(8),
+    RESERVA_ACTUALIZADA(9);
+
+    private static final TipoEvento[] POR_CODIGO = new TipoEvento[16];
+
+    static {
+        for (TipoEvento tipo : values()) {
+            POR_CODIGO[tipo.codigo] = tipo;
+        }
+    }
+
+    private final byte codigo;
+
+    TipoEvento(int codigo) {
+        this.codigo = (byte) codigo;
+    }
+
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Obtiene el tipo de evento correspondiente a un código leído de disco.
+     * @param codigo Código del evento
+     * @return el tipo de evento
+     * @throws IllegalArgumentException Si el código no corresponde a ningún tipo
+     */
+    public static TipoEvento deCodigo(byte codigo) {
+        TipoEvento tipo = codigo >= 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+        if (tipo == null) {
+            throw new IllegalArgumentException("Código de evento desconocido: " + codigo);
+        }
+        return tipo;
+    }
+}
@@ -0,0 +1,59 @@
+package com.hotel.registro;
+
+import com.hotel.model.CheckIn;
+import com.hotel.model.Huesped;
+
+import java.time.LocalDateTime;
+
+/**
+ * Huésped que está alojado en el hotel: sus datos junto con el check-in, la reserva y la habitación
+ * en que se registró. Es la fila del parte de viajeros y lo que devuelven las búsquedas de recepción.
+ */
+public class HuespedAlojado {
+
+    private final Huesped huesped;
+    private final String checkInId;
+    private final String reservaId;
+    private final String habitacionId;
+    private final LocalDateTime fechaHoraEntrada;
+    private final LocalDateTime fechaHoraSalidaPrevista;
+
+    public HuespedAlojado(CheckIn checkIn, Huesped huesped) {
+        this.huesped = huesped;
+        this.checkInId = checkIn.getId();
+        this.reservaId = checkIn.getReservaId();
+        this.habitacionId = checkIn.getHabitacionId();
+        this.fechaHoraEntrada = checkIn.getFechaHoraEntrada();
+        this.fechaHoraSalidaPrevista = checkIn.getFechaHoraSalidaPrevista();
+    }
+
+    // Getters
+    public Huesped getHuesped() {
+        return huesped;
+    }
+
+    public String getCheckInId() {
+        return checkInId;
+    }
+
+    public String getReservaId() {
+        return reservaId;
+    }
+
+    public String getHabitacionId() {
+        return habitacionId;
+    }
+
+    public LocalDateTime getFechaHoraEntrada() {
+        return fechaHoraEntrada;
+    }
+
+    public LocalDateTime getFechaHoraSalidaPrevista() {
+        return fechaHoraSalidaPrevista;
+    }
+
+    @Override
+    public String toString() {
+        return huesped + " - Habitación " + habitacionId + " (check-in " + checkInId + ")";
+    }
+}
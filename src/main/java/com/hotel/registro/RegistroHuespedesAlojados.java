@@ -0,0 +1,259 @@
+package com.hotel.registro;
+
+import com.hotel.model.CheckIn;
+import com.hotel.model.Cliente;
+import com.hotel.model.Huesped;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Registro de los huéspedes que están alojados en el hotel, indexado por documento
+ * (tipo y número), email y teléfono para responder en O(1) si alguien está en el hotel y en qué
+ * habitación, sin recorrer todos los check-ins activos.
+ * <p>
+ * Se mantiene al registrar el check-in, al agregar cada huésped y al liquidar el check-out, y se
+ * reconstruye desde los check-ins abiertos al recuperar el estado. Las claves se normalizan: el documento
+ * sin espacios, puntos ni guiones y en mayúsculas, el email como {@link Cliente#normalizarEmail} y el
+ * teléfono solo con sus dígitos. Una misma clave puede tener varios huéspedes (un titular con dos
+ * habitaciones, una familia que comparte email), así que las búsquedas devuelven listas.
+ * <p>
+ * Es seguro para hilos: las consultas comparten un bloqueo de lectura y las altas y bajas toman el de escritura.
+ */
+public class RegistroHuespedesAlojados {
+
+    private static final Comparator<HuespedAlojado> ORDEN_PARTE = Comparator
+            .comparing(HuespedAlojado::getHabitacionId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(alojado -> !alojado.getHuesped().isTitular())
+            .thenComparing(alojado -> String.valueOf(alojado.getHuesped().getApellido()));
+
+    private final Map<String, List<HuespedAlojado>> porDocumento = new HashMap<>();
+    private final Map<String, List<HuespedAlojado>> porEmail = new HashMap<>();
+    private final Map<String, List<HuespedAlojado>> porTelefono = new HashMap<>();
+    private final Map<String, List<HuespedAlojado>> porCheckIn = new HashMap<>();
+    private final ReadWriteLock bloqueo = new ReentrantReadWriteLock();
+
+    /**
+     * Registra todos los huéspedes de un check-in, sustituyendo lo que hubiera registrado antes para él.
+     * @param checkIn Check-in abierto
+     */
+    public void registrarCheckIn(CheckIn checkIn) {
+        bloqueo.writeLock().lock();
+        try {
+            quitarCheckIn(checkIn.getId());
+            for (Huesped huesped : checkIn.getHuespedes()) {
+                indexar(new HuespedAlojado(checkIn, huesped));
+            }
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registra un huésped recién agregado a un check-in.
+     * @param checkIn Check-in al que se agregó
+     * @param huesped El huésped
+     * @return la entrada del registro
+     */
+    public HuespedAlojado registrarHuesped(CheckIn checkIn, Huesped huesped) {
+        HuespedAlojado alojado = new HuespedAlojado(checkIn, huesped);
+        bloqueo.writeLock().lock();
+        try {
+            indexar(alojado);
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+        return alojado;
+    }
+
+    /**
+     * Retira del registro a todos los huéspedes de un check-in, normalmente al liquidar su check-out.
+     * @param checkInId ID del check-in
+     * @return el número de huéspedes retirados
+     */
+    public int retirarCheckIn(String checkInId) {
+        bloqueo.writeLock().lock();
+        try {
+            return quitarCheckIn(checkInId);
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el registro y lo vuelve a llenar con los check-ins indicados.
+     * @param abiertos Check-ins cuyos huéspedes siguen en el hotel
+     */
+    public void reconstruir(Collection<CheckIn> abiertos) {
+        bloqueo.writeLock().lock();
+        try {
+            porDocumento.clear();
+            porEmail.clear();
+            porTelefono.clear();
+            porCheckIn.clear();
+            for (CheckIn checkIn : abiertos) {
+                for (Huesped huesped : checkIn.getHuespedes()) {
+                    indexar(new HuespedAlojado(checkIn, huesped));
+                }
+            }
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca a los huéspedes alojados con un documento.
+     * @param tipoDocumento Tipo de documento (pasaporte, DNI...)
+     * @param numeroDocumento Número del documento
+     * @return los huéspedes alojados con ese documento; vacía si no hay ninguno
+     */
+    public List<HuespedAlojado> buscarPorDocumento(String tipoDocumento, String numeroDocumento) {
+        return buscar(porDocumento, claveDocumento(tipoDocumento, numeroDocumento));
+    }
+
+    /**
+     * @param tipoDocumento Tipo de documento
+     * @param numeroDocumento Número del documento
+     * @return true si hay algún huésped alojado con ese documento
+     */
+    public boolean estaAlojado(String tipoDocumento, String numeroDocumento) {
+        return !buscarPorDocumento(tipoDocumento, numeroDocumento).isEmpty();
+    }
+
+    public List<HuespedAlojado> buscarPorEmail(String email) {
+        return buscar(porEmail, claveEmail(email));
+    }
+
+    public List<HuespedAlojado> buscarPorTelefono(String telefono) {
+        return buscar(porTelefono, claveTelefono(telefono));
+    }
+
+    /**
+     * Lista a los huéspedes alojados para el parte de viajeros: por habitación y, dentro de cada una,
+     * primero el titular.
+     * @return todos los huéspedes alojados
+     */
+    public List<HuespedAlojado> listarAlojados() {
+        List<HuespedAlojado> alojados = new ArrayList<>();
+        bloqueo.readLock().lock();
+        try {
+            porCheckIn.values().forEach(alojados::addAll);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        alojados.sort(ORDEN_PARTE);
+        return alojados;
+    }
+
+    /**
+     * @return el número de huéspedes alojados
+     */
+    public int contarAlojados() {
+        bloqueo.readLock().lock();
+        try {
+            int total = 0;
+            for (List<HuespedAlojado> huespedes : porCheckIn.values()) {
+                total += huespedes.size();
+            }
+            return total;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Métodos auxiliares
+    private List<HuespedAlojado> buscar(Map<String, List<HuespedAlojado>> indice, String clave) {
+        if (clave == null) {
+            return List.of();
+        }
+        bloqueo.readLock().lock();
+        try {
+            List<HuespedAlojado> encontrados = indice.get(clave);
+            return encontrados != null ? List.copyOf(encontrados) : List.of();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    private void indexar(HuespedAlojado alojado) {
+        Huesped huesped = alojado.getHuesped();
+        porCheckIn.computeIfAbsent(alojado.getCheckInId(), id -> new ArrayList<>(2)).add(alojado);
+        agregar(porDocumento, claveDocumento(huesped.getTipoDocumento(), huesped.getNumeroDocumento()), alojado);
+        agregar(porEmail, claveEmail(huesped.getEmail()), alojado);
+        agregar(porTelefono, claveTelefono(huesped.getTelefono()), alojado);
+    }
+
+    private int quitarCheckIn(String checkInId) {
+        List<HuespedAlojado> alojados = porCheckIn.remove(checkInId);
+        if (alojados == null) {
+            return 0;
+        }
+        for (HuespedAlojado alojado : alojados) {
+            Huesped huesped = alojado.getHuesped();
+            quitar(porDocumento, claveDocumento(huesped.getTipoDocumento(), huesped.getNumeroDocumento()), alojado);
+            quitar(porEmail, claveEmail(huesped.getEmail()), alojado);
+            quitar(porTelefono, claveTelefono(huesped.getTelefono()), alojado);
+        }
+        return alojados.size();
+    }
+
+    private static void agregar(Map<String, List<HuespedAlojado>> indice, String clave, HuespedAlojado alojado) {
+        if (clave != null) {
+            indice.computeIfAbsent(clave, c -> new ArrayList<>(1)).add(alojado);
+        }
+    }
+
+    private static void quitar(Map<String, List<HuespedAlojado>> indice, String clave, HuespedAlojado alojado) {
+        if (clave == null) {
+            return;
+        }
+        List<HuespedAlojado> alojados = indice.get(clave);
+        if (alojados != null) {
+            alojados.remove(alojado);
+            if (alojados.isEmpty()) {
+                indice.remove(clave);
+            }
+        }
+    }
+
+    static String claveDocumento(String tipoDocumento, String numeroDocumento) {
+        if (numeroDocumento == null) {
+            return null;
+        }
+        StringBuilder clave = new StringBuilder(numeroDocumento.length() + 8);
+        clave.append(tipoDocumento != null ? tipoDocumento.trim().toUpperCase(Locale.ROOT) : "").append(':');
+        for (int i = 0; i < numeroDocumento.length(); i++) {
+            char c = numeroDocumento.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                clave.append(Character.toUpperCase(c));
+            }
+        }
+        return clave.charAt(clave.length() - 1) != ':' ? clave.toString() : null;
+    }
+
+    static String claveEmail(String email) {
+        String normalizado = Cliente.normalizarEmail(email);
+        return normalizado != null && !normalizado.isEmpty() ? normalizado : null;
+    }
+
+    static String claveTelefono(String telefono) {
+        if (telefono == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(telefono.length());
+        for (int i = 0; i < telefono.length(); i++) {
+            char c = telefono.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.length() > 0 ? digitos.toString() : null;
+    }
+}
@@ -4,6 +4,7 @@ import com.hotel.model.Cliente;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interfaz para el repositorio de clientes.
@@ -13,11 +14,21 @@ public interface ClienteRepository {
     
     /**
      * Guarda un cliente en la base de datos.
+     * La unicidad del email (sin distinguir mayúsculas) se comprueba y reserva de forma atómica.
      * @param cliente El cliente a guardar
      * @return El cliente guardado con su ID generado
+     * @throws com.hotel.exception.EmailDuplicadoException Si otro cliente ya usa ese email
      */
     Cliente guardar(Cliente cliente);
     
+    /**
+     * Guarda un lote de clientes, omitiendo los que tienen un email ya en uso (incluido por otro
+     * cliente del mismo lote). No lanza excepción por los duplicados.
+     * @param clientes Los clientes a guardar, en orden de prioridad
+     * @return Los clientes que no se guardaron por tener un email duplicado
+     */
+    List<Cliente> guardarLote(List<Cliente> clientes);
+    
     /**
      * Busca un cliente por su ID.
      * @param id El ID del cliente a buscar
@@ -32,12 +43,33 @@ public interface ClienteRepository {
      */
     Optional<Cliente> buscarPorEmail(String email);
     
+    /**
+     * Obtiene todos los clientes, incluidos los eliminados lógicamente.
+     * @return Lista con todos los clientes
+     */
+    List<Cliente> listarTodos();
+    
     /**
      * Obtiene todos los clientes activos.
      * @return Lista de clientes activos
      */
     List<Cliente> listarTodosActivos();
     
+    /**
+     * Obtiene una página de clientes activos ordenados por ID, empezando por el siguiente a {@code despuesDeId}.
+     * @param despuesDeId ID del último cliente de la página anterior, o nulo para empezar desde el principio
+     * @param limite Número máximo de clientes a devolver
+     * @return Lista de como máximo {@code limite} clientes activos, ordenada por ID
+     */
+    List<Cliente> listarActivosDesde(String despuesDeId, int limite);
+    
+    /**
+     * Recorre los clientes activos ordenados por ID sin materializarlos en una lista.
+     * El recorrido es débilmente consistente: refleja las altas concurrentes que alcance.
+     * @return Stream de clientes activos
+     */
+    Stream<Cliente> streamActivos();
+    
     /**
      * Elimina un cliente por su ID (eliminación lógica).
      * @param id El ID del cliente a eliminar
@@ -1,9 +1,11 @@
 package com.hotel.repository;
 
+import com.hotel.model.Comodidad;
 import com.hotel.model.Habitacion;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Interfaz para el repositorio de habitaciones.
@@ -25,6 +27,12 @@ public interface HabitacionRepository {
      */
     Optional<Habitacion> buscarPorNumero(String numeroHabitacion);
     
+    /**
+     * Obtiene todas las habitaciones del catálogo, independientemente de su disponibilidad.
+     * @return Lista con todas las habitaciones
+     */
+    List<Habitacion> listarTodas();
+    
     /**
      * Obtiene todas las habitaciones disponibles.
      * @return Lista de habitaciones disponibles
@@ -66,4 +74,23 @@ public interface HabitacionRepository {
      * @return Lista de habitaciones con capacidad igual o mayor a la especificada
      */
     List<Habitacion> buscarPorCapacidad(int capacidad);
+    
+    /**
+     * Busca habitaciones que cumplen a la vez un tipo, una capacidad mínima y un conjunto de comodidades.
+     * @param tipo El tipo de habitación (ej. "SUITE"), o null para cualquier tipo
+     * @param capacidadMinima La capacidad mínima requerida
+     * @param comodidades Las comodidades que deben tener todas las habitaciones (vacío para no filtrar)
+     * @return Lista de habitaciones que cumplen todos los criterios
+     */
+    List<Habitacion> buscarPorCriterios(String tipo, int capacidadMinima, Set<Comodidad> comodidades);
+    
+    /**
+     * Cuenta las habitaciones que cumplen los mismos criterios que {@link #buscarPorCriterios},
+     * sin materializarlas (por ejemplo, para los contadores de un filtro por facetas).
+     * @param tipo El tipo de habitación, o null para cualquier tipo
+     * @param capacidadMinima La capacidad mínima requerida
+     * @param comodidades Las comodidades que deben tener todas las habitaciones (vacío para no filtrar)
+     * @return Número de habitaciones que cumplen todos los criterios
+     */
+    int contarPorCriterios(String tipo, int capacidadMinima, Set<Comodidad> comodidades);
 }
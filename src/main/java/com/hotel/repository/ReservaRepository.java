@@ -0,0 +1,112 @@
+package com.hotel.repository;
+
+import com.hotel.model.Reserva;
+import com.hotel.model.Reserva.EstadoReserva;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Interfaz para el repositorio de reservas.
+ * Además del acceso por ID, expone consultas por cliente, por habitación y por rango de fechas.
+ */
+public interface ReservaRepository {
+
+    /**
+     * Guarda o actualiza una reserva, manteniendo sus índices secundarios.
+     * Debe invocarse después de cada modificación de la reserva.
+     * @param reserva La reserva a guardar
+     * @return La reserva guardada
+     */
+    Reserva guardar(Reserva reserva);
+
+    /**
+     * Guarda un lote de reservas de forma atómica: los lectores ven todas o ninguna.
+     * @param reservas Las reservas a guardar
+     * @return Las reservas guardadas
+     */
+    List<Reserva> guardarLote(List<Reserva> reservas);
+
+    /**
+     * Busca una reserva por su ID.
+     * @param id El ID de la reserva a buscar
+     * @return Un Optional que contiene la reserva si se encuentra, o vacío si no
+     */
+    Optional<Reserva> buscarPorId(String id);
+
+    /**
+     * Obtiene todas las reservas registradas.
+     * @return Lista con todas las reservas
+     */
+    List<Reserva> listarTodas();
+
+    /**
+     * Obtiene las reservas de un cliente.
+     * @param clienteId El ID del cliente
+     * @return Lista de reservas del cliente
+     */
+    List<Reserva> listarPorCliente(String clienteId);
+
+    /**
+     * Obtiene las reservas de una habitación.
+     * @param numeroHabitacion El número de la habitación
+     * @return Lista de reservas de la habitación
+     */
+    List<Reserva> listarPorHabitacion(String numeroHabitacion);
+
+    /**
+     * Obtiene las reservas cuya estancia se solapa con el rango [fechaInicio, fechaFin),
+     * ordenadas por fecha de check-in.
+     * @param fechaInicio Fecha de inicio del rango
+     * @param fechaFin Fecha de fin del rango
+     * @return Lista de reservas en el rango
+     */
+    List<Reserva> listarPorRangoFechas(LocalDate fechaInicio, LocalDate fechaFin);
+
+    /**
+     * Obtiene las reservas cuya fecha de check-in está en el rango [fechaInicio, fechaFin),
+     * ordenadas por fecha de check-in. Solo recorre las llegadas de esas fechas.
+     * @param fechaInicio Primera fecha de check-in
+     * @param fechaFin Día siguiente a la última fecha de check-in
+     * @return Lista de reservas con llegada en el rango
+     */
+    List<Reserva> listarPorFechaCheckIn(LocalDate fechaInicio, LocalDate fechaFin);
+
+    /**
+     * Busca la reserva con la fecha de check-in más antigua entre las que están en un estado.
+     * @param estado Estado de la reserva en su último guardado
+     * @return La primera reserva por (fecha de check-in, ID) en ese estado, si existe
+     */
+    Optional<Reserva> buscarPrimeraPorFechaCheckIn(EstadoReserva estado);
+
+    /**
+     * Obtiene una página de las reservas cuya estancia se solapa con el rango [fechaInicio, fechaFin),
+     * ordenadas por (fecha de check-in, ID) y empezando por la siguiente a la clave indicada.
+     * @param fechaInicio Fecha de inicio del rango
+     * @param fechaFin Fecha de fin del rango
+     * @param despuesDeCheckIn Fecha de check-in de la última reserva de la página anterior, o nulo para empezar
+     * @param despuesDeId ID de la última reserva de la página anterior (se ignora si despuesDeCheckIn es nulo)
+     * @param filtro Condición adicional que deben cumplir las reservas, o nulo para no filtrar
+     * @param limite Número máximo de reservas a devolver
+     * @return Lista de como máximo {@code limite} reservas, en orden de (fecha de check-in, ID)
+     */
+    List<Reserva> listarPorRangoFechasDesde(LocalDate fechaInicio, LocalDate fechaFin,
+                                            LocalDate despuesDeCheckIn, String despuesDeId,
+                                            Predicate<Reserva> filtro, int limite);
+
+    /**
+     * Elimina una reserva y sus entradas en los índices.
+     * @param id El ID de la reserva a eliminar
+     * @return true si se eliminó correctamente, false si no se encontró la reserva
+     */
+    boolean eliminar(String id);
+
+    /**
+     * Verifica si existe una reserva con el ID dado.
+     * @param id El ID a verificar
+     * @return true si existe, false en caso contrario
+     */
+    boolean existePorId(String id);
+}
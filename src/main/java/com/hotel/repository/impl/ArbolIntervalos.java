@@ -0,0 +1,168 @@
+package com.hotel.repository.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Árbol de intervalos ordenado por clave (treap): cada nodo guarda el fin de su intervalo y el mayor fin de
+ * su subárbol, de modo que un recorrido en orden puede saltarse los subárboles cuyos intervalos terminan
+ * antes del rango consultado. Recorrer los k intervalos que se solapan con un rango cuesta O((k + 1) log n)
+ * esperado, con independencia de lo larga que sea la estancia más larga. No es seguro para hilos: el
+ * repositorio lo protege con su propio bloqueo.
+ * @param <K> Tipo de la clave de orden
+ * @param <V> Tipo del valor asociado a cada intervalo
+ */
+class ArbolIntervalos<K extends Comparable<K>, V> {
+
+    private Nodo<K, V> raiz;
+
+    /**
+     * Inserta un intervalo o reemplaza el que tenía la misma clave.
+     * @param clave Clave de orden del intervalo
+     * @param fin Fin (excluido) del intervalo
+     * @param valor Valor asociado
+     */
+    void insertar(K clave, long fin, V valor) {
+        eliminar(clave);
+        raiz = insertar(raiz, new Nodo<>(clave, fin, valor, ThreadLocalRandom.current().nextInt()));
+    }
+
+    /**
+     * Elimina el intervalo con la clave indicada, si existe.
+     * @param clave Clave del intervalo
+     */
+    void eliminar(K clave) {
+        raiz = eliminar(raiz, clave);
+    }
+
+    /**
+     * Recorre en orden de clave los intervalos con clave en el rango indicado y fin posterior a
+     * {@code finMinimo}, mientras el visitante devuelva true.
+     * @param desde Primera clave del rango, o null para empezar por la menor
+     * @param incluirDesde Si la clave {@code desde} forma parte del rango
+     * @param hasta Clave (excluida) en la que termina el rango
+     * @param finMinimo Solo se visitan los intervalos cuyo fin es mayor que este valor
+     * @param visitante Recibe cada valor; devuelve false para detener el recorrido
+     */
+    void recorrer(K desde, boolean incluirDesde, K hasta, long finMinimo, Predicate<V> visitante) {
+        recorrer(raiz, desde, incluirDesde, hasta, finMinimo, visitante);
+    }
+
+    // Métodos auxiliares
+    private boolean recorrer(Nodo<K, V> nodo, K desde, boolean incluirDesde, K hasta, long finMinimo,
+                             Predicate<V> visitante) {
+        if (nodo == null || nodo.maximoFin <= finMinimo) {
+            return true;
+        }
+        int frenteADesde = desde == null ? 1 : nodo.clave.compareTo(desde);
+        boolean despuesDeDesde = frenteADesde > 0 || (frenteADesde == 0 && incluirDesde);
+        boolean antesDeHasta = nodo.clave.compareTo(hasta) < 0;
+        if (frenteADesde > 0 && !recorrer(nodo.izquierdo, desde, incluirDesde, hasta, finMinimo, visitante)) {
+            return false;
+        }
+        if (despuesDeDesde && antesDeHasta && nodo.fin > finMinimo && !visitante.test(nodo.valor)) {
+            return false;
+        }
+        return !antesDeHasta || recorrer(nodo.derecho, desde, incluirDesde, hasta, finMinimo, visitante);
+    }
+
+    private Nodo<K, V> insertar(Nodo<K, V> nodo, Nodo<K, V> nuevo) {
+        if (nodo == null) {
+            return nuevo;
+        }
+        if (nuevo.clave.compareTo(nodo.clave) < 0) {
+            nodo.izquierdo = insertar(nodo.izquierdo, nuevo);
+            if (nodo.izquierdo.prioridad > nodo.prioridad) {
+                return rotarDerecha(nodo);
+            }
+        } else {
+            nodo.derecho = insertar(nodo.derecho, nuevo);
+            if (nodo.derecho.prioridad > nodo.prioridad) {
+                return rotarIzquierda(nodo);
+            }
+        }
+        nodo.actualizar();
+        return nodo;
+    }
+
+    private Nodo<K, V> eliminar(Nodo<K, V> nodo, K clave) {
+        if (nodo == null) {
+            return null;
+        }
+        int comparacion = clave.compareTo(nodo.clave);
+        if (comparacion < 0) {
+            nodo.izquierdo = eliminar(nodo.izquierdo, clave);
+        } else if (comparacion > 0) {
+            nodo.derecho = eliminar(nodo.derecho, clave);
+        } else {
+            return unir(nodo.izquierdo, nodo.derecho);
+        }
+        nodo.actualizar();
+        return nodo;
+    }
+
+    /** Une dos subárboles en los que todas las claves del izquierdo son menores que las del derecho. */
+    private Nodo<K, V> unir(Nodo<K, V> izquierdo, Nodo<K, V> derecho) {
+        if (izquierdo == null) {
+            return derecho;
+        }
+        if (derecho == null) {
+            return izquierdo;
+        }
+        if (izquierdo.prioridad > derecho.prioridad) {
+            izquierdo.derecho = unir(izquierdo.derecho, derecho);
+            izquierdo.actualizar();
+            return izquierdo;
+        }
+        derecho.izquierdo = unir(izquierdo, derecho.izquierdo);
+        derecho.actualizar();
+        return derecho;
+    }
+
+    private Nodo<K, V> rotarDerecha(Nodo<K, V> nodo) {
+        Nodo<K, V> nuevaRaiz = nodo.izquierdo;
+        nodo.izquierdo = nuevaRaiz.derecho;
+        nuevaRaiz.derecho = nodo;
+        nodo.actualizar();
+        nuevaRaiz.actualizar();
+        return nuevaRaiz;
+    }
+
+    private Nodo<K, V> rotarIzquierda(Nodo<K, V> nodo) {
+        Nodo<K, V> nuevaRaiz = nodo.derecho;
+        nodo.derecho = nuevaRaiz.izquierdo;
+        nuevaRaiz.izquierdo = nodo;
+        nodo.actualizar();
+        nuevaRaiz.actualizar();
+        return nuevaRaiz;
+    }
+
+    private static final class Nodo<K, V> {
+        private final K clave;
+        private final long fin;
+        private final V valor;
+        private final int prioridad;
+        private long maximoFin;
+        private Nodo<K, V> izquierdo;
+        private Nodo<K, V> derecho;
+
+        private Nodo(K clave, long fin, V valor, int prioridad) {
+            this.clave = clave;
+            this.fin = fin;
+            this.valor = valor;
+            this.prioridad = prioridad;
+            this.maximoFin = fin;
+        }
+
+        private void actualizar() {
+            long maximo = fin;
+            if (izquierdo != null) {
+                maximo = Math.max(maximo, izquierdo.maximoFin);
+            }
+            if (derecho != null) {
+                maximo = Math.max(maximo, derecho.maximoFin);
+            }
+            maximoFin = maximo;
+        }
+    }
+}
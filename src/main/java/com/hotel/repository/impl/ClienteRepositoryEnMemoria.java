@@ -0,0 +1,157 @@
+package com.hotel.repository.impl;
+
+import com.hotel.exception.EmailDuplicadoException;
+import com.hotel.model.Cliente;
+import com.hotel.repository.ClienteRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio de clientes en memoria y seguro para hilos.
+ * Mantiene un índice único por email normalizado ({@link Cliente#normalizarEmail}) en el que cada
+ * guardado reserva su clave con {@code putIfAbsent}: dos altas concurrentes con el mismo email no
+ * pueden tener éxito a la vez, y las búsquedas por email son O(1).
+ * Los IDs se mantienen además ordenados para listar por páginas o en streaming sin copiar todo el conjunto.
+ */
+public class ClienteRepositoryEnMemoria implements ClienteRepository {
+
+    private final ConcurrentMap<String, Cliente> porId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idPorEmail = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> emailIndexadoPorId = new ConcurrentHashMap<>();
+    private final NavigableSet<String> idsOrdenados = new ConcurrentSkipListSet<>();
+
+    @Override
+    public Cliente guardar(Cliente cliente) {
+        if (!intentarGuardar(cliente)) {
+            throw new EmailDuplicadoException("Ya existe un cliente con el email: " + cliente.getEmail());
+        }
+        return cliente;
+    }
+
+    @Override
+    public List<Cliente> guardarLote(List<Cliente> clientes) {
+        List<Cliente> duplicados = new ArrayList<>();
+        for (Cliente cliente : clientes) {
+            if (!intentarGuardar(cliente)) {
+                duplicados.add(cliente);
+            }
+        }
+        return duplicados;
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorId(String id) {
+        return Optional.ofNullable(porId.get(id));
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorEmail(String email) {
+        String normalizado = Cliente.normalizarEmail(email);
+        if (normalizado == null) {
+            return Optional.empty();
+        }
+        String id = idPorEmail.get(normalizado);
+        return id != null ? Optional.ofNullable(porId.get(id)) : Optional.empty();
+    }
+
+    @Override
+    public List<Cliente> listarTodos() {
+        return new ArrayList<>(porId.values());
+    }
+
+    @Override
+    public List<Cliente> listarTodosActivos() {
+        return porId.values().stream()
+                .filter(Cliente::isActivo)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Cliente> listarActivosDesde(String despuesDeId, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor a cero");
+        }
+        NavigableSet<String> ids = despuesDeId != null ? idsOrdenados.tailSet(despuesDeId, false) : idsOrdenados;
+        List<Cliente> pagina = new ArrayList<>(Math.min(limite, 256));
+        for (String id : ids) {
+            Cliente cliente = porId.get(id);
+            if (cliente != null && cliente.isActivo()) {
+                pagina.add(cliente);
+                if (pagina.size() == limite) {
+                    break;
+                }
+            }
+        }
+        return pagina;
+    }
+
+    @Override
+    public Stream<Cliente> streamActivos() {
+        return idsOrdenados.stream()
+                .map(porId::get)
+                .filter(cliente -> cliente != null && cliente.isActivo());
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        Cliente cliente = porId.get(id);
+        if (cliente == null) {
+            return false;
+        }
+        // Eliminación lógica: el email sigue reservado por el cliente desactivado
+        cliente.desactivar();
+        return true;
+    }
+
+    @Override
+    public boolean existePorEmail(String email) {
+        String normalizado = Cliente.normalizarEmail(email);
+        return normalizado != null && idPorEmail.containsKey(normalizado);
+    }
+
+    @Override
+    public boolean existePorId(String id) {
+        return porId.containsKey(id);
+    }
+
+    /**
+     * Guarda el cliente si su email está libre o ya le pertenece.
+     * @return false si otro cliente usa el email; en ese caso no se modifica nada
+     */
+    private boolean intentarGuardar(Cliente cliente) {
+        Objects.requireNonNull(cliente, "El cliente no puede ser nulo");
+        Objects.requireNonNull(cliente.getId(), "El ID del cliente no puede ser nulo");
+        String email = Cliente.normalizarEmail(cliente.getEmail());
+        boolean[] guardado = {true};
+        // compute serializa los guardados del mismo cliente; el índice de email se actualiza dentro
+        porId.compute(cliente.getId(), (id, anterior) -> {
+            if (email != null) {
+                String propietario = idPorEmail.putIfAbsent(email, id);
+                if (propietario != null && !propietario.equals(id)) {
+                    guardado[0] = false;
+                    return anterior;
+                }
+            }
+            String emailAnterior = email != null
+                    ? emailIndexadoPorId.put(id, email)
+                    : emailIndexadoPorId.remove(id);
+            if (emailAnterior != null && !emailAnterior.equals(email)) {
+                idPorEmail.remove(emailAnterior, id);
+            }
+            if (anterior == null) {
+                idsOrdenados.add(id);
+            }
+            return cliente;
+        });
+        return guardado[0];
+    }
+}
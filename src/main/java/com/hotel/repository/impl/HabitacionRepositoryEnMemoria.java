@@ -0,0 +1,104 @@
+package com.hotel.repository.impl;
+
+import com.hotel.model.Comodidad;
+import com.hotel.model.Habitacion;
+import com.hotel.repository.HabitacionRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Repositorio de habitaciones en memoria sobre un mapa por número de habitación.
+ * Puede crear su propio mapa o trabajar como vista de uno existente, por ejemplo el catálogo recuperado en
+ * {@link com.hotel.persistencia.EstadoHotel}; en ese caso los cambios se ven en ambos sentidos. Es seguro
+ * para hilos si el mapa lo es.
+ */
+public class HabitacionRepositoryEnMemoria implements HabitacionRepository {
+
+    private final Map<String, Habitacion> habitaciones;
+
+    public HabitacionRepositoryEnMemoria() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @param habitaciones Mapa de habitaciones por número sobre el que trabaja el repositorio
+     */
+    public HabitacionRepositoryEnMemoria(Map<String, Habitacion> habitaciones) {
+        this.habitaciones = Objects.requireNonNull(habitaciones, "El mapa de habitaciones no puede ser nulo");
+    }
+
+    @Override
+    public Habitacion guardar(Habitacion habitacion) {
+        Objects.requireNonNull(habitacion, "La habitación no puede ser nula");
+        habitaciones.put(habitacion.getNumeroHabitacion(), habitacion);
+        return habitacion;
+    }
+
+    @Override
+    public Optional<Habitacion> buscarPorNumero(String numeroHabitacion) {
+        return Optional.ofNullable(habitaciones.get(numeroHabitacion));
+    }
+
+    @Override
+    public List<Habitacion> listarTodas() {
+        return new ArrayList<>(habitaciones.values());
+    }
+
+    @Override
+    public List<Habitacion> listarTodasDisponibles() {
+        return habitaciones.values().stream().filter(Habitacion::isDisponible).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Habitacion> listarPorTipo(String tipo) {
+        return habitaciones.values().stream().filter(h -> h.getTipo().equals(tipo)).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean eliminar(String numeroHabitacion) {
+        return habitaciones.remove(numeroHabitacion) != null;
+    }
+
+    @Override
+    public boolean existePorNumero(String numeroHabitacion) {
+        return habitaciones.containsKey(numeroHabitacion);
+    }
+
+    @Override
+    public boolean actualizarDisponibilidad(String numeroHabitacion, boolean disponible) {
+        Habitacion habitacion = habitaciones.get(numeroHabitacion);
+        if (habitacion == null) {
+            return false;
+        }
+        habitacion.setDisponible(disponible);
+        return true;
+    }
+
+    @Override
+    public List<Habitacion> buscarPorCapacidad(int capacidad) {
+        return habitaciones.values().stream()
+                .filter(h -> h.getCapacidadMaxima() >= capacidad)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Habitacion> buscarPorCriterios(String tipo, int capacidadMinima, Set<Comodidad> comodidades) {
+        int mascara = Comodidad.mascaraDe(comodidades);
+        return habitaciones.values().stream()
+                .filter(h -> (tipo == null || h.getTipo().equals(tipo)) && h.getCapacidadMaxima() >= capacidadMinima
+                        && (Comodidad.mascaraDe(h) & mascara) == mascara)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int contarPorCriterios(String tipo, int capacidadMinima, Set<Comodidad> comodidades) {
+        return buscarPorCriterios(tipo, capacidadMinima, comodidades).size();
+    }
+}
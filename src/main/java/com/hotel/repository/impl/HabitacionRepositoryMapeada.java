@@ -0,0 +1,419 @@
+package com.hotel.repository.impl;
+
+import com.hotel.model.Comodidad;
+import com.hotel.model.Habitacion;
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Suite;
+import com.hotel.repository.HabitacionRepository;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Repositorio de habitaciones respaldado por un archivo mapeado en memoria con registros de ancho fijo.
+ * <p>
+ * Cada habitación ocupa un registro de {@value #TAMANO_REGISTRO} bytes con su tipo, precio, capacidad,
+ * disponibilidad y máscara de {@link Comodidad}. Al abrir solo se leen los números de habitación para
+ * construir el índice en memoria número → registro; el resto de campos se consulta directamente sobre la
+ * región mapeada. Las búsquedas por tipo, capacidad y comodidades se resuelven con un {@link IndiceHabitaciones}
+ * sobre los números de registro, las demás recorren los registros, y en ambos casos solo se materializan las
+ * habitaciones que coinciden. {@link #actualizarDisponibilidad} escribe un único byte en su sitio.
+ * <p>
+ * Las habitaciones devueltas son copias: los cambios sobre ellas se persisten con {@link #guardar}.
+ */
+public class HabitacionRepositoryMapeada implements HabitacionRepository, AutoCloseable {
+
+    private static final int NUMERO_MAGICO = 0x48414231;
+    private static final int VERSION = 1;
+    private static final int TAMANO_CABECERA = 64;
+    private static final int TAMANO_REGISTRO = 256;
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    // Cabecera del archivo
+    private static final int CAB_MAGICO = 0;
+    private static final int CAB_VERSION = 4;
+    private static final int CAB_TAMANO_REGISTRO = 8;
+    private static final int CAB_REGISTROS_USADOS = 12;
+
+    // Campos de cada registro
+    private static final int REG_OCUPADO = 0;
+    private static final int REG_TIPO = 1;
+    private static final int REG_DISPONIBLE = 2;
+    private static final int REG_LONGITUD_NUMERO = 3;
+    private static final int REG_COMODIDADES = 4;
+    private static final int REG_PRECIO = 8;
+    private static final int REG_CAPACIDAD = 16;
+    private static final int REG_NUMERO_HABITACIONES = 20;
+    private static final int REG_NUMERO = 24;
+    private static final int MAXIMO_NUMERO = 32;
+    private static final int REG_LONGITUD_DESCRIPCION = REG_NUMERO + MAXIMO_NUMERO;
+    private static final int REG_DESCRIPCION = REG_LONGITUD_DESCRIPCION + Short.BYTES;
+    private static final int MAXIMO_DESCRIPCION = TAMANO_REGISTRO - REG_DESCRIPCION;
+
+    private static final byte TIPO_ESTANDAR = 1;
+    private static final byte TIPO_SUITE = 2;
+
+    private final FileChannel canal;
+    private final Map<String, Integer> registroPorNumero = new HashMap<>();
+    private final Deque<Integer> registrosLibres = new ArrayDeque<>();
+    private final IndiceHabitaciones indice = new IndiceHabitaciones();
+    private final ReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    private MappedByteBuffer region;
+    private int capacidad;
+    private int registrosUsados;
+
+    private HabitacionRepositoryMapeada(FileChannel canal) {
+        this.canal = canal;
+    }
+
+    /**
+     * Abre (o crea) el catálogo de habitaciones en el archivo indicado.
+     * @param archivo Ruta del archivo del catálogo
+     * @return el repositorio abierto
+     * @throws IOException Si el archivo no se puede abrir o no es un catálogo válido
+     */
+    public static HabitacionRepositoryMapeada abrir(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        HabitacionRepositoryMapeada repositorio = new HabitacionRepositoryMapeada(canal);
+        try {
+            repositorio.cargar();
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        return repositorio;
+    }
+
+    private void cargar() throws IOException {
+        long tamano = canal.size();
+        if (tamano == 0) {
+            mapear(CAPACIDAD_INICIAL);
+            region.putInt(CAB_MAGICO, NUMERO_MAGICO);
+            region.putInt(CAB_VERSION, VERSION);
+            region.putInt(CAB_TAMANO_REGISTRO, TAMANO_REGISTRO);
+            region.putInt(CAB_REGISTROS_USADOS, 0);
+            return;
+        }
+        mapear((int) Math.max(1, (tamano - TAMANO_CABECERA) / TAMANO_REGISTRO));
+        if (region.getInt(CAB_MAGICO) != NUMERO_MAGICO || region.getInt(CAB_VERSION) != VERSION
+                || region.getInt(CAB_TAMANO_REGISTRO) != TAMANO_REGISTRO) {
+            throw new IOException("El archivo no es un catálogo de habitaciones compatible");
+        }
+        registrosUsados = region.getInt(CAB_REGISTROS_USADOS);
+        if (registrosUsados < 0 || registrosUsados > capacidad) {
+            throw new IOException("Cabecera del catálogo de habitaciones corrupta");
+        }
+        for (int registro = 0; registro < registrosUsados; registro++) {
+            int posicion = posicion(registro);
+            if (region.get(posicion + REG_OCUPADO) == 1) {
+                registroPorNumero.put(leerNumero(posicion), registro);
+                indexar(registro);
+            } else {
+                registrosLibres.add(registro);
+            }
+        }
+    }
+
+    @Override
+    public Habitacion guardar(Habitacion habitacion) {
+        Objects.requireNonNull(habitacion, "La habitación no puede ser nula");
+        byte[] numero = codificar(habitacion.getNumeroHabitacion(), MAXIMO_NUMERO, "número de habitación");
+        byte[] descripcion = habitacion.getDescripcion() != null
+                ? codificar(habitacion.getDescripcion(), MAXIMO_DESCRIPCION, "descripción")
+                : null;
+        byte tipo = codigoTipo(habitacion);
+        bloqueo.writeLock().lock();
+        try {
+            Integer registro = registroPorNumero.get(habitacion.getNumeroHabitacion());
+            if (registro == null) {
+                registro = reservarRegistro();
+            }
+            int posicion = posicion(registro);
+            region.put(posicion + REG_OCUPADO, (byte) 0);
+            region.put(posicion + REG_TIPO, tipo);
+            region.put(posicion + REG_DISPONIBLE, (byte) (habitacion.isDisponible() ? 1 : 0));
+            region.put(posicion + REG_LONGITUD_NUMERO, (byte) numero.length);
+            region.putInt(posicion + REG_COMODIDADES, Comodidad.mascaraDe(habitacion));
+            region.putDouble(posicion + REG_PRECIO, habitacion.getPrecioPorNoche());
+            region.putInt(posicion + REG_CAPACIDAD, habitacion.getCapacidadMaxima());
+            region.putInt(posicion + REG_NUMERO_HABITACIONES,
+                    habitacion instanceof Suite suite ? suite.getNumeroHabitaciones() : 1);
+            region.put(posicion + REG_NUMERO, numero);
+            if (descripcion != null) {
+                region.putShort(posicion + REG_LONGITUD_DESCRIPCION, (short) descripcion.length);
+                region.put(posicion + REG_DESCRIPCION, descripcion);
+            } else {
+                region.putShort(posicion + REG_LONGITUD_DESCRIPCION, (short) -1);
+            }
+            // El registro solo se marca como ocupado cuando todos sus campos están escritos
+            region.put(posicion + REG_OCUPADO, (byte) 1);
+            registroPorNumero.put(habitacion.getNumeroHabitacion(), registro);
+            indexar(registro);
+            return habitacion;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Habitacion> buscarPorNumero(String numeroHabitacion) {
+        bloqueo.readLock().lock();
+        try {
+            Integer registro = registroPorNumero.get(numeroHabitacion);
+            return registro != null ? Optional.of(materializar(posicion(registro))) : Optional.empty();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Habitacion> listarTodas() {
+        return buscar(posicion -> true);
+    }
+
+    @Override
+    public List<Habitacion> listarTodasDisponibles() {
+        return buscar(posicion -> region.get(posicion + REG_DISPONIBLE) == 1);
+    }
+
+    @Override
+    public List<Habitacion> listarPorTipo(String tipo) {
+        if (tipo == null) {
+            return new ArrayList<>();
+        }
+        return buscarPorCriterios(tipo, 0, Set.of());
+    }
+
+    @Override
+    public boolean eliminar(String numeroHabitacion) {
+        bloqueo.writeLock().lock();
+        try {
+            Integer registro = registroPorNumero.remove(numeroHabitacion);
+            if (registro == null) {
+                return false;
+            }
+            region.put(posicion(registro) + REG_OCUPADO, (byte) 0);
+            indice.retirar(registro);
+            registrosLibres.add(registro);
+            return true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existePorNumero(String numeroHabitacion) {
+        bloqueo.readLock().lock();
+        try {
+            return registroPorNumero.containsKey(numeroHabitacion);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean actualizarDisponibilidad(String numeroHabitacion, boolean disponible) {
+        bloqueo.writeLock().lock();
+        try {
+            Integer registro = registroPorNumero.get(numeroHabitacion);
+            if (registro == null) {
+                return false;
+            }
+            region.put(posicion(registro) + REG_DISPONIBLE, (byte) (disponible ? 1 : 0));
+            return true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Habitacion> buscarPorCapacidad(int capacidad) {
+        return buscarPorCriterios(null, capacidad, Set.of());
+    }
+
+    @Override
+    public List<Habitacion> buscarPorCriterios(String tipo, int capacidadMinima, Set<Comodidad> comodidades) {
+        int mascara = Comodidad.mascaraDe(comodidades);
+        bloqueo.readLock().lock();
+        try {
+            BitSet registros = indice.buscar(tipo, capacidadMinima, mascara);
+            List<Habitacion> resultado = new ArrayList<>(registros.cardinality());
+            for (int registro = registros.nextSetBit(0); registro >= 0; registro = registros.nextSetBit(registro + 1)) {
+                resultado.add(materializar(posicion(registro)));
+            }
+            return resultado;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int contarPorCriterios(String tipo, int capacidadMinima, Set<Comodidad> comodidades) {
+        int mascara = Comodidad.mascaraDe(comodidades);
+        bloqueo.readLock().lock();
+        try {
+            return indice.contar(tipo, capacidadMinima, mascara);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fuerza la escritura a disco de los registros modificados.
+     */
+    public void sincronizar() {
+        bloqueo.readLock().lock();
+        try {
+            region.force();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        bloqueo.writeLock().lock();
+        try {
+            region.force();
+            canal.close();
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    // Métodos auxiliares
+    @FunctionalInterface
+    private interface FiltroRegistro {
+        boolean coincide(int posicion);
+    }
+
+    private List<Habitacion> buscar(FiltroRegistro filtro) {
+        bloqueo.readLock().lock();
+        try {
+            List<Habitacion> resultado = new ArrayList<>();
+            for (int registro = 0; registro < registrosUsados; registro++) {
+                int posicion = posicion(registro);
+                if (region.get(posicion + REG_OCUPADO) == 1 && filtro.coincide(posicion)) {
+                    resultado.add(materializar(posicion));
+                }
+            }
+            return resultado;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa el registro con los campos que ya están escritos en la región; se invoca con el bloqueo de escritura.
+     */
+    private void indexar(int registro) {
+        int posicion = posicion(registro);
+        indice.indexar(registro, region.get(posicion + REG_TIPO) == TIPO_SUITE ? "SUITE" : "ESTANDAR",
+                region.getInt(posicion + REG_CAPACIDAD), region.getInt(posicion + REG_COMODIDADES));
+    }
+
+    private int reservarRegistro() {
+        Integer libre = registrosLibres.poll();
+        if (libre != null) {
+            return libre;
+        }
+        if (registrosUsados == capacidad) {
+            try {
+                mapear(capacidad * 2);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo ampliar el catálogo de habitaciones", e);
+            }
+        }
+        int registro = registrosUsados++;
+        region.putInt(CAB_REGISTROS_USADOS, registrosUsados);
+        return registro;
+    }
+
+    private void mapear(int registros) throws IOException {
+        long tamano = (long) TAMANO_CABECERA + (long) registros * TAMANO_REGISTRO;
+        if (tamano > Integer.MAX_VALUE) {
+            throw new IOException("El catálogo de habitaciones excede el tamaño máximo mapeable");
+        }
+        region = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+        capacidad = registros;
+    }
+
+    private Habitacion materializar(int posicion) {
+        String numero = leerNumero(posicion);
+        double precio = region.getDouble(posicion + REG_PRECIO);
+        int capacidadMaxima = region.getInt(posicion + REG_CAPACIDAD);
+        int comodidades = region.getInt(posicion + REG_COMODIDADES);
+        String descripcion = leerDescripcion(posicion);
+        Habitacion habitacion;
+        if (region.get(posicion + REG_TIPO) == TIPO_SUITE) {
+            habitacion = new Suite(numero, precio, capacidadMaxima, descripcion,
+                    (comodidades & Comodidad.JACUZZI.getMascara()) != 0,
+                    (comodidades & Comodidad.MINIBAR.getMascara()) != 0,
+                    (comodidades & Comodidad.SERVICIO_HABITACIONES.getMascara()) != 0,
+                    region.getInt(posicion + REG_NUMERO_HABITACIONES));
+        } else {
+            habitacion = new HabitacionEstandar(numero, precio, capacidadMaxima, descripcion,
+                    (comodidades & Comodidad.VISTA_EXTERIOR.getMascara()) != 0,
+                    (comodidades & Comodidad.AIRE_ACONDICIONADO.getMascara()) != 0,
+                    (comodidades & Comodidad.CALEFACCION.getMascara()) != 0);
+        }
+        habitacion.setDisponible(region.get(posicion + REG_DISPONIBLE) == 1);
+        return habitacion;
+    }
+
+    private String leerNumero(int posicion) {
+        byte[] bytes = new byte[region.get(posicion + REG_LONGITUD_NUMERO)];
+        region.get(posicion + REG_NUMERO, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String leerDescripcion(int posicion) {
+        short longitud = region.getShort(posicion + REG_LONGITUD_DESCRIPCION);
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        region.get(posicion + REG_DESCRIPCION, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int posicion(int registro) {
+        return TAMANO_CABECERA + registro * TAMANO_REGISTRO;
+    }
+
+    private static byte codigoTipo(Habitacion habitacion) {
+        if (habitacion instanceof Suite) {
+            return TIPO_SUITE;
+        }
+        if (habitacion instanceof HabitacionEstandar) {
+            return TIPO_ESTANDAR;
+        }
+        throw new IllegalArgumentException("Tipo de habitación no soportado: " + habitacion.getClass().getName());
+    }
+
+    private static byte[] codificar(String texto, int maximo, String campo) {
+        Objects.requireNonNull(texto, "El campo " + campo + " no puede ser nulo");
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maximo) {
+            throw new IllegalArgumentException("El campo " + campo + " excede los " + maximo + " bytes permitidos");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,124 @@
+package com.hotel.repository.impl;
+
+import com.hotel.model.Comodidad;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice compuesto para las búsquedas de habitaciones por tipo, capacidad mínima y comodidades.
+ * <p>
+ * Las habitaciones se identifican por un ordinal denso (en el repositorio mapeado, su número de registro,
+ * que se reutiliza al eliminar). Por cada tipo hay un {@link NavigableMap} capacidad → bitset de ordinales,
+ * y por cada {@link Comodidad} un bitset con las habitaciones que la tienen. Una consulta como
+ * "SUITE, capacidad ≥ 3, jacuzzi y minibar" es la unión de los bitsets de capacidad ≥ 3 de las suites
+ * intersecada con los de cada comodidad, a 64 habitaciones por palabra.
+ * <p>
+ * No es seguro para hilos: el repositorio que lo contiene lo protege con su propio bloqueo.
+ */
+class IndiceHabitaciones {
+
+    private static final Comodidad[] COMODIDADES = Comodidad.values();
+
+    private final Map<String, NavigableMap<Integer, BitSet>> porTipo = new HashMap<>();
+    private final BitSet[] porComodidad = new BitSet[COMODIDADES.length];
+    private final BitSet indexadas = new BitSet();
+    private String[] tipos = new String[64];
+    private int[] capacidades = new int[64];
+
+    IndiceHabitaciones() {
+        for (int i = 0; i < porComodidad.length; i++) {
+            porComodidad[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Indexa una habitación, reemplazando lo que hubiera indexado con el mismo ordinal.
+     */
+    void indexar(int ordinal, String tipo, int capacidad, int mascaraComodidades) {
+        retirar(ordinal);
+        if (ordinal >= tipos.length) {
+            int longitud = Math.max(ordinal + 1, tipos.length * 2);
+            tipos = Arrays.copyOf(tipos, longitud);
+            capacidades = Arrays.copyOf(capacidades, longitud);
+        }
+        tipos[ordinal] = tipo;
+        capacidades[ordinal] = capacidad;
+        porTipo.computeIfAbsent(tipo, t -> new TreeMap<>())
+                .computeIfAbsent(capacidad, c -> new BitSet())
+                .set(ordinal);
+        for (Comodidad comodidad : COMODIDADES) {
+            porComodidad[comodidad.ordinal()].set(ordinal, (mascaraComodidades & comodidad.getMascara()) != 0);
+        }
+        indexadas.set(ordinal);
+    }
+
+    /**
+     * Retira una habitación del índice; no hace nada si el ordinal no estaba indexado.
+     */
+    void retirar(int ordinal) {
+        if (!indexadas.get(ordinal)) {
+            return;
+        }
+        NavigableMap<Integer, BitSet> porCapacidad = porTipo.get(tipos[ordinal]);
+        BitSet conCapacidad = porCapacidad.get(capacidades[ordinal]);
+        conCapacidad.clear(ordinal);
+        if (conCapacidad.isEmpty()) {
+            porCapacidad.remove(capacidades[ordinal]);
+            if (porCapacidad.isEmpty()) {
+                porTipo.remove(tipos[ordinal]);
+            }
+        }
+        for (BitSet conComodidad : porComodidad) {
+            conComodidad.clear(ordinal);
+        }
+        tipos[ordinal] = null;
+        indexadas.clear(ordinal);
+    }
+
+    /**
+     * Obtiene los ordinales de las habitaciones que cumplen todos los criterios.
+     * @param tipo Tipo de habitación, o nulo para cualquiera
+     * @param capacidadMinima Capacidad mínima (0 o menos para no filtrar)
+     * @param mascaraComodidades Comodidades que deben tener todas, como máscara de {@link Comodidad}
+     * @return un bitset nuevo con los ordinales que coinciden
+     */
+    BitSet buscar(String tipo, int capacidadMinima, int mascaraComodidades) {
+        BitSet resultado = new BitSet();
+        if (tipo != null) {
+            unirDesdeCapacidad(resultado, porTipo.get(tipo), capacidadMinima);
+        } else {
+            for (NavigableMap<Integer, BitSet> porCapacidad : porTipo.values()) {
+                unirDesdeCapacidad(resultado, porCapacidad, capacidadMinima);
+            }
+        }
+        for (Comodidad comodidad : COMODIDADES) {
+            if ((mascaraComodidades & comodidad.getMascara()) != 0 && !resultado.isEmpty()) {
+                resultado.and(porComodidad[comodidad.ordinal()]);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta las habitaciones que cumplen todos los criterios, por ejemplo para los contadores
+     * de cada faceta de un filtro de búsqueda.
+     */
+    int contar(String tipo, int capacidadMinima, int mascaraComodidades) {
+        return buscar(tipo, capacidadMinima, mascaraComodidades).cardinality();
+    }
+
+    private static void unirDesdeCapacidad(BitSet resultado, NavigableMap<Integer, BitSet> porCapacidad,
+                                           int capacidadMinima) {
+        if (porCapacidad == null) {
+            return;
+        }
+        for (BitSet conCapacidad : porCapacidad.tailMap(capacidadMinima, true).values()) {
+            resultado.or(conCapacidad);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.hotel.repository.impl;
+
+import com.hotel.analitica.AlmacenColumnarReservas;
+import com.hotel.model.Reserva;
+import com.hotel.model.Reserva.EstadoReserva;
+import com.hotel.repository.ReservaRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Repositorio de reservas en memoria y seguro para hilos.
+ * Mantiene un índice primario por ID y cuatro índices secundarios (cliente, habitación, fecha de check-in
+ * y fecha de check-in por estado) que se actualizan de forma atómica en cada guardado: los lectores nunca
+ * ven una reserva indexada a medias. Opcionalmente mantiene también una {@link AlmacenColumnarReservas proyección columnar}
+ * para los informes, que se actualiza dentro del mismo bloqueo de escritura.
+ */
+public class ReservaRepositoryEnMemoria implements ReservaRepository {
+
+    private final Map<String, Reserva> porId = new HashMap<>();
+    private final Map<String, ClavesIndexadas> clavesPorId = new HashMap<>();
+    private final Map<String, Set<Reserva>> porCliente = new HashMap<>();
+    private final Map<String, Set<Reserva>> porHabitacion = new HashMap<>();
+    private final ArbolIntervalos<ClaveFecha, Reserva> porFechaCheckIn = new ArbolIntervalos<>();
+    private final Map<EstadoReserva, NavigableMap<ClaveFecha, Reserva>> porEstadoYFechaCheckIn =
+            new EnumMap<>(EstadoReserva.class);
+    private final ReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    private final AlmacenColumnarReservas almacenColumnar;
+
+    public ReservaRepositoryEnMemoria() {
+        this(null);
+    }
+
+    /**
+     * @param almacenColumnar Proyección columnar que se mantiene con cada guardado y eliminación, o null
+     */
+    public ReservaRepositoryEnMemoria(AlmacenColumnarReservas almacenColumnar) {
+        this.almacenColumnar = almacenColumnar;
+    }
+
+    @Override
+    public Reserva guardar(Reserva reserva) {
+        Objects.requireNonNull(reserva, "La reserva no puede ser nula");
+        ClavesIndexadas nuevas = new ClavesIndexadas(reserva);
+        bloqueo.writeLock().lock();
+        try {
+            indexar(reserva, nuevas);
+            if (almacenColumnar != null) {
+                almacenColumnar.actualizar(reserva);
+            }
+            return reserva;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> guardarLote(List<Reserva> reservas) {
+        // Las claves se calculan fuera del bloqueo; dentro solo se actualizan los índices
+        List<ClavesIndexadas> claves = new ArrayList<>(reservas.size());
+        for (Reserva reserva : reservas) {
+            Objects.requireNonNull(reserva, "La reserva no puede ser nula");
+            claves.add(new ClavesIndexadas(reserva));
+        }
+        bloqueo.writeLock().lock();
+        try {
+            for (int i = 0; i < reservas.size(); i++) {
+                indexar(reservas.get(i), claves.get(i));
+            }
+            if (almacenColumnar != null) {
+                almacenColumnar.actualizarLote(reservas);
+            }
+            return reservas;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Reserva> buscarPorId(String id) {
+        bloqueo.readLock().lock();
+        try {
+            return Optional.ofNullable(porId.get(id));
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> listarTodas() {
+        bloqueo.readLock().lock();
+        try {
+            return new ArrayList<>(porId.values());
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> listarPorCliente(String clienteId) {
+        bloqueo.readLock().lock();
+        try {
+            return new ArrayList<>(porCliente.getOrDefault(clienteId, Collections.emptySet()));
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> listarPorHabitacion(String numeroHabitacion) {
+        bloqueo.readLock().lock();
+        try {
+            return new ArrayList<>(porHabitacion.getOrDefault(numeroHabitacion, Collections.emptySet()));
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> listarPorRangoFechas(LocalDate fechaInicio, LocalDate fechaFin) {
+        long inicio = fechaInicio.toEpochDay();
+        long fin = fechaFin.toEpochDay();
+        List<Reserva> resultado = new ArrayList<>();
+        bloqueo.readLock().lock();
+        try {
+            // El árbol descarta los subárboles cuyas estancias terminan antes del inicio del rango
+            porFechaCheckIn.recorrer(null, true, ClaveFecha.minima(fin), inicio, resultado::add);
+            return resultado;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> listarPorFechaCheckIn(LocalDate fechaInicio, LocalDate fechaFin) {
+        ClaveFecha desde = ClaveFecha.minima(fechaInicio.toEpochDay());
+        ClaveFecha hasta = ClaveFecha.minima(fechaFin.toEpochDay());
+        if (desde.compareTo(hasta) >= 0) {
+            return new ArrayList<>();
+        }
+        List<Reserva> resultado = new ArrayList<>();
+        bloqueo.readLock().lock();
+        try {
+            porFechaCheckIn.recorrer(desde, true, hasta, Long.MIN_VALUE, resultado::add);
+            return resultado;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Reserva> buscarPrimeraPorFechaCheckIn(EstadoReserva estado) {
+        Objects.requireNonNull(estado, "El estado no puede ser nulo");
+        bloqueo.readLock().lock();
+        try {
+            NavigableMap<ClaveFecha, Reserva> llegadas = porEstadoYFechaCheckIn.get(estado);
+            return llegadas == null ? Optional.empty() : Optional.of(llegadas.firstEntry().getValue());
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> listarPorRangoFechasDesde(LocalDate fechaInicio, LocalDate fechaFin,
+                                                   LocalDate despuesDeCheckIn, String despuesDeId,
+                                                   Predicate<Reserva> filtro, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor a cero");
+        }
+        long inicio = fechaInicio.toEpochDay();
+        long fin = fechaFin.toEpochDay();
+        List<Reserva> resultado = new ArrayList<>(Math.min(limite, 256));
+        bloqueo.readLock().lock();
+        try {
+            ClaveFecha desde = despuesDeCheckIn == null ? null : new ClaveFecha(despuesDeCheckIn.toEpochDay(),
+                    Objects.requireNonNull(despuesDeId, "El ID del cursor no puede ser nulo"));
+            // Se desciende hasta el cursor en O(log n) y se recorre solo lo que llena la página, saltando los
+            // subárboles cuyas estancias terminan antes del inicio del rango
+            porFechaCheckIn.recorrer(desde, false, ClaveFecha.minima(fin), inicio, reserva -> {
+                if (filtro == null || filtro.test(reserva)) {
+                    resultado.add(reserva);
+                }
+                return resultado.size() < limite;
+            });
+            return resultado;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        bloqueo.writeLock().lock();
+        try {
+            Reserva reserva = porId.remove(id);
+            if (reserva == null) {
+                return false;
+            }
+            desindexar(reserva, clavesPorId.remove(id));
+            if (almacenColumnar != null) {
+                almacenColumnar.retirar(id);
+            }
+            return true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existePorId(String id) {
+        bloqueo.readLock().lock();
+        try {
+            return porId.containsKey(id);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    private void indexar(Reserva reserva, ClavesIndexadas nuevas) {
+        ClavesIndexadas anteriores = clavesPorId.put(reserva.getId(), nuevas);
+        if (anteriores != null) {
+            desindexar(reserva, anteriores);
+        }
+        porId.put(reserva.getId(), reserva);
+        if (nuevas.clienteId != null) {
+            porCliente.computeIfAbsent(nuevas.clienteId, k -> new LinkedHashSet<>()).add(reserva);
+        }
+        porHabitacion.computeIfAbsent(nuevas.numeroHabitacion, k -> new LinkedHashSet<>()).add(reserva);
+        porFechaCheckIn.insertar(nuevas.claveFecha, nuevas.fechaFin, reserva);
+        porEstadoYFechaCheckIn.computeIfAbsent(nuevas.estado, k -> new TreeMap<>()).put(nuevas.claveFecha, reserva);
+    }
+
+    private void desindexar(Reserva reserva, ClavesIndexadas claves) {
+        if (claves.clienteId != null) {
+            quitarDe(porCliente, claves.clienteId, reserva);
+        }
+        quitarDe(porHabitacion, claves.numeroHabitacion, reserva);
+        porFechaCheckIn.eliminar(claves.claveFecha);
+        NavigableMap<ClaveFecha, Reserva> llegadas = porEstadoYFechaCheckIn.get(claves.estado);
+        if (llegadas != null) {
+            llegadas.remove(claves.claveFecha);
+            if (llegadas.isEmpty()) {
+                porEstadoYFechaCheckIn.remove(claves.estado);
+            }
+        }
+    }
+
+    private static void quitarDe(Map<String, Set<Reserva>> indice, String clave, Reserva reserva) {
+        Set<Reserva> reservas = indice.get(clave);
+        if (reservas != null) {
+            reservas.remove(reserva);
+            if (reservas.isEmpty()) {
+                indice.remove(clave);
+            }
+        }
+    }
+
+    /**
+     * Claves con las que se indexó una reserva en su último guardado.
+     * Como {@link Reserva} es mutable, se conservan para poder retirarla de los índices antiguos.
+     */
+    private static final class ClavesIndexadas {
+        private final String clienteId;
+        private final String numeroHabitacion;
+        private final EstadoReserva estado;
+        private final ClaveFecha claveFecha;
+        private final long fechaFin;
+
+        private ClavesIndexadas(Reserva reserva) {
+            this.clienteId = reserva.getCliente() != null ? reserva.getCliente().getId() : null;
+            this.numeroHabitacion = reserva.getHabitacion().getNumeroHabitacion();
+            this.estado = reserva.getEstado();
+            this.claveFecha = new ClaveFecha(reserva.getFechaCheckIn().toEpochDay(), reserva.getId());
+            this.fechaFin = reserva.getFechaCheckOut().toEpochDay();
+        }
+    }
+
+    /**
+     * Clave del índice por fecha: (día epoch de check-in, ID de la reserva).
+     */
+    private static final class ClaveFecha implements Comparable<ClaveFecha> {
+        private final long dia;
+        private final String id;
+
+        private ClaveFecha(long dia, String id) {
+            this.dia = dia;
+            this.id = id;
+        }
+
+        private static ClaveFecha minima(long dia) {
+            return new ClaveFecha(dia, "");
+        }
+
+        @Override
+        public int compareTo(ClaveFecha otra) {
+            int porDia = Long.compare(dia, otra.dia);
+            return porDia != 0 ? porDia : id.compareTo(otra.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ClaveFecha that = (ClaveFecha) o;
+            return dia == that.dia && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dia, id);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.hotel.service;
 
 import com.hotel.dto.ClienteDTO;
+import com.hotel.dto.Pagina;
 import com.hotel.exception.ClienteNoEncontradoException;
+import com.hotel.importacion.ResultadoImportacion;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interfaz para el servicio de gestión de clientes.
@@ -41,6 +46,21 @@ public interface ClienteService {
      */
     List<ClienteDTO> listarTodosLosClientesActivos();
     
+    /**
+     * Obtiene una página de clientes activos ordenados por ID.
+     * @param cursor Cursor devuelto por la página anterior, o nulo para obtener la primera
+     * @param tamanoPagina Número máximo de clientes por página
+     * @return La página de clientes, con el cursor de la siguiente si quedan más
+     * @throws IllegalArgumentException Si el cursor o el tamaño de página no son válidos
+     */
+    Pagina<ClienteDTO> listarClientesActivos(String cursor, int tamanoPagina);
+    
+    /**
+     * Recorre los clientes activos ordenados por ID, convirtiéndolos a DTO a medida que se consumen.
+     * @return Stream de clientes activos
+     */
+    Stream<ClienteDTO> streamClientesActivos();
+    
     /**
      * Actualiza la información de un cliente existente.
      * @param id ID del cliente a actualizar
@@ -70,4 +90,13 @@ public interface ClienteService {
      * @return true si existe y está activo, false en caso contrario
      */
     boolean existeClienteActivoPorId(String id);
+
+    /**
+     * Importa clientes de forma masiva desde un archivo CSV, descartando los emails ya registrados.
+     * @param archivo Archivo CSV con cabecera (columnas nombre, email, telefono, direccion)
+     * @param archivoRechazos Archivo donde se escriben las filas rechazadas y su motivo
+     * @return Resumen de la importación
+     * @throws IOException Si no se puede leer el archivo o escribir los rechazos
+     */
+    ResultadoImportacion importarClientesCsv(Path archivo, Path archivoRechazos) throws IOException;
 }
@@ -1,5 +1,8 @@
 package com.hotel.service;
 
+import com.hotel.dto.HabitacionDTO;
+import com.hotel.dto.Pagina;
+import com.hotel.dto.ResumenAuditoriaNocturna;
 import com.hotel.dto.ReservaDTO;
 import com.hotel.exception.HabitacionNoDisponibleException;
 import com.hotel.exception.HabitacionNoEncontradaException;
@@ -28,6 +31,20 @@ public interface ReservaService {
     ReservaDTO crearReserva(ReservaDTO reservaDTO) 
         throws HabitacionNoDisponibleException, HabitacionNoEncontradaException, ClienteNoEncontradoException;
 
+    /**
+     * Crea un bloque de reservas (por ejemplo, de un grupo o un operador turístico) de forma atómica:
+     * se registran todas o ninguna. Los clientes y habitaciones se validan una sola vez por lote.
+     *
+     * @param reservasDTO DTOs con los datos de las reservas a crear
+     * @return Los DTOs de las reservas creadas, en el mismo orden de la solicitud
+     * @throws HabitacionNoDisponibleException Si alguna habitación no está disponible; el mensaje
+     *         enumera todos los conflictos del lote
+     * @throws HabitacionNoEncontradaException Si alguna habitación no existe
+     * @throws ClienteNoEncontradoException Si algún cliente no existe
+     */
+    List<ReservaDTO> crearReservasEnLote(List<ReservaDTO> reservasDTO)
+        throws HabitacionNoDisponibleException, HabitacionNoEncontradaException, ClienteNoEncontradoException;
+
     /**
      * Busca una reserva por su ID.
      *
@@ -86,12 +103,23 @@ public interface ReservaService {
     boolean verificarDisponibilidad(String habitacionId, LocalDate fechaInicio, LocalDate fechaFin);
 
     /**
-     * Registra el check-in de una reserva.
+     * Obtiene las habitaciones libres durante todas las noches de un rango de fechas.
+     *
+     * @param fechaInicio Fecha de entrada
+     * @param fechaFin Fecha de salida
+     * @return Lista de DTOs de las habitaciones disponibles en el rango
+     */
+    List<HabitacionDTO> buscarHabitacionesDisponibles(LocalDate fechaInicio, LocalDate fechaFin);
+
+    /**
+     * Registra el check-in de una reserva. Si el huésped llega en una fecha distinta de la reservada, la
+     * estancia y su ocupación pasan a empezar el día de la llegada.
      *
      * @param id ID de la reserva
      * @return El DTO de la reserva actualizada
      * @throws ReservaNoEncontradaException Si la reserva no existe
-     * @throws IllegalStateException Si la reserva no está confirmada
+     * @throws HabitacionNoDisponibleException Si llega antes de lo reservado y la habitación está ocupada esas noches
+     * @throws IllegalStateException Si la reserva no está confirmada o ya pasó su fecha de salida
      */
     ReservaDTO registrarCheckIn(String id) throws ReservaNoEncontradaException;
 
@@ -114,6 +142,34 @@ public interface ReservaService {
      */
     List<ReservaDTO> listarReservasPorRangoFechas(LocalDate fechaInicio, LocalDate fechaFin);
 
+    /**
+     * Obtiene una página de las reservas en un rango de fechas, ordenadas por fecha de check-in e ID.
+     *
+     * @param fechaInicio Fecha de inicio del rango
+     * @param fechaFin Fecha de fin del rango
+     * @param estado Estado de las reservas a incluir, o nulo para todos
+     * @param tipoHabitacion Tipo de habitación a incluir (por ejemplo "SUITE"), o nulo para todos
+     * @param cursor Cursor devuelto por la página anterior, o nulo para obtener la primera
+     * @param tamanoPagina Número máximo de reservas por página
+     * @return La página de reservas, con el cursor de la siguiente si quedan más
+     * @throws IllegalArgumentException Si el cursor o el tamaño de página no son válidos
+     */
+    Pagina<ReservaDTO> listarReservasPorRangoFechas(LocalDate fechaInicio, LocalDate fechaFin,
+                                                    EstadoReserva estado, String tipoHabitacion,
+                                                    String cursor, int tamanoPagina);
+
+    /**
+     * Cotiza una estancia con las tarifas vigentes, incluidos los recargos de la habitación.
+     *
+     * @param numeroHabitacion Número de la habitación
+     * @param fechaCheckIn Fecha de entrada
+     * @param fechaCheckOut Fecha de salida
+     * @return El importe total de la estancia
+     * @throws HabitacionNoEncontradaException Si la habitación no existe
+     */
+    double cotizarEstancia(String numeroHabitacion, LocalDate fechaCheckIn, LocalDate fechaCheckOut)
+            throws HabitacionNoEncontradaException;
+
     /**
      * Cambia el estado de una reserva.
      *
@@ -124,4 +180,16 @@ public interface ReservaService {
      * @throws IllegalStateException Si el cambio de estado no es válido
      */
     ReservaDTO cambiarEstadoReserva(String id, EstadoReserva nuevoEstado) throws ReservaNoEncontradaException;
+
+    /**
+     * Ejecuta la auditoría nocturna: marca como no presentadas (NO_SHOW) las reservas confirmadas cuya
+     * fecha de llegada ya pasó y libera su disponibilidad. Solo revisa las llegadas de las fechas aún no
+     * auditadas hasta {@code fechaAuditoria} inclusive, consultando el índice por fecha de check-in; en la
+     * primera ejecución empieza por la llegada confirmada más antigua.
+     *
+     * @param fechaAuditoria Día de negocio que se cierra
+     * @return El resumen de la auditoría
+     * @throws IllegalArgumentException Si la fecha es nula o posterior a hoy
+     */
+    ResumenAuditoriaNocturna ejecutarAuditoriaNocturna(LocalDate fechaAuditoria);
 }
@@ -1,18 +1,26 @@
 package com.hotel.service.impl;
 
 import com.hotel.dto.ClienteDTO;
+import com.hotel.dto.Pagina;
+import com.hotel.dto.mapper.ClienteMapper;
 import com.hotel.exception.ClienteNoEncontradoException;
+import com.hotel.exception.EmailDuplicadoException;
+import com.hotel.identificador.Identificadores;
+import com.hotel.importacion.ImportadorClientesCsv;
+import com.hotel.importacion.ResultadoImportacion;
 import com.hotel.model.Cliente;
 import com.hotel.repository.ClienteRepository;
 import com.hotel.service.ClienteService;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio de gestión de clientes.
@@ -22,41 +30,44 @@ import java.util.stream.Collectors;
 @Transactional
 public class ClienteServiceImpl implements ClienteService {
 
+    private static final int TAMANO_PAGINA_MAXIMO = 1000;
+
     private final ClienteRepository clienteRepository;
+    private volatile Lock barreraMutaciones;
 
     @Autowired
     public ClienteServiceImpl(ClienteRepository clienteRepository) {
         this.clienteRepository = clienteRepository;
     }
 
+    /**
+     * Configura una barrera que se adquiere durante cada alta, modificación o baja, como la de
+     * {@link com.hotel.persistencia.PersistenciaHotel#getBarreraMutaciones()}. La importación CSV no la usa:
+     * solo inserta clientes nuevos, que una instantánea incluye o recupera del registro.
+     * @param barrera Bloqueo compartido por las mutaciones, o null para ninguno
+     */
+    public void setBarreraMutaciones(Lock barrera) {
+        this.barreraMutaciones = barrera;
+    }
+
     @Override
     public ClienteDTO crearCliente(ClienteDTO clienteDTO) {
-        // Validar que el email no esté en uso
-        if (clienteRepository.existePorEmail(clienteDTO.getEmail())) {
-            throw new IllegalArgumentException("Ya existe un cliente con el email: " + clienteDTO.getEmail());
-        }
-
         // Convertir DTO a entidad
-        Cliente cliente = new Cliente(
-                UUID.randomUUID().toString(),
-                clienteDTO.getNombre(),
-                clienteDTO.getEmail(),
-                clienteDTO.getTelefono(),
-                clienteDTO.getDireccion()
-        );
-
-        // Guardar en la base de datos
-        Cliente clienteGuardado = clienteRepository.guardar(cliente);
+        Cliente cliente = ClienteMapper.aEntidad(Identificadores.nuevoId(), clienteDTO);
+
+        // Guardar en la base de datos; el repositorio reserva el email de forma atómica
+        // y lanza EmailDuplicadoException si ya está en uso
+        Cliente clienteGuardado = conBarrera(() -> clienteRepository.guardar(cliente));
         
         // Convertir entidad a DTO y retornar
-        return convertirADTO(clienteGuardado);
+        return ClienteMapper.aDTO(clienteGuardado);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ClienteDTO obtenerClientePorId(String id) throws ClienteNoEncontradoException {
         return clienteRepository.buscarPorId(id)
-                .map(this::convertirADTO)
+                .map(ClienteMapper::aDTO)
                 .orElseThrow(() -> new ClienteNoEncontradoException("No se encontró el cliente con ID: " + id));
     }
 
@@ -64,16 +75,35 @@ public class ClienteServiceImpl implements ClienteService {
     @Transactional(readOnly = true)
     public ClienteDTO obtenerClientePorEmail(String email) throws ClienteNoEncontradoException {
         return clienteRepository.buscarPorEmail(email)
-                .map(this::convertirADTO)
+                .map(ClienteMapper::aDTO)
                 .orElseThrow(() -> new ClienteNoEncontradoException("No se encontró el cliente con email: " + email));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ClienteDTO> listarTodosLosClientesActivos() {
-        return clienteRepository.listarTodosActivos().stream()
-                .map(this::convertirADTO)
-                .collect(Collectors.toList());
+        return ClienteMapper.aDTOs(clienteRepository.listarTodosActivos());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<ClienteDTO> listarClientesActivos(String cursor, int tamanoPagina) {
+        if (tamanoPagina <= 0 || tamanoPagina > TAMANO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO);
+        }
+        // Se pide un cliente de más para saber si hay página siguiente sin otra consulta
+        List<Cliente> clientes = clienteRepository.listarActivosDesde(Pagina.claveDe(cursor), tamanoPagina + 1);
+        if (clientes.size() <= tamanoPagina) {
+            return new Pagina<>(ClienteMapper.aDTOs(clientes), null);
+        }
+        List<Cliente> pagina = clientes.subList(0, tamanoPagina);
+        return new Pagina<>(ClienteMapper.aDTOs(pagina), Pagina.cursorDe(pagina.get(tamanoPagina - 1).getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<ClienteDTO> streamClientesActivos() {
+        return clienteRepository.streamActivos().map(ClienteMapper::aDTO);
     }
 
     @Override
@@ -83,20 +113,27 @@ public class ClienteServiceImpl implements ClienteService {
                 .orElseThrow(() -> new ClienteNoEncontradoException("No se puede actualizar. Cliente no encontrado con ID: " + id));
         
         // Verificar si el nuevo email ya está en uso por otro cliente
-        if (!clienteExistente.getEmail().equals(clienteDTO.getEmail()) && 
-            clienteRepository.existePorEmail(clienteDTO.getEmail())) {
-            throw new IllegalArgumentException("Ya existe otro cliente con el email: " + clienteDTO.getEmail());
+        if (clienteRepository.buscarPorEmail(clienteDTO.getEmail())
+                .filter(otro -> !otro.getId().equals(id))
+                .isPresent()) {
+            throw new EmailDuplicadoException("Ya existe otro cliente con el email: " + clienteDTO.getEmail());
         }
         
-        // Actualizar datos del cliente
-        clienteExistente.setNombre(clienteDTO.getNombre());
-        clienteExistente.setEmail(clienteDTO.getEmail());
-        clienteExistente.setTelefono(clienteDTO.getTelefono());
-        clienteExistente.setDireccion(clienteDTO.getDireccion());
-        
-        // Guardar cambios
-        Cliente clienteActualizado = clienteRepository.guardar(clienteExistente);
-        return convertirADTO(clienteActualizado);
+        // Actualizar datos del cliente. Se modifica la entidad registrada (las reservas la referencian),
+        // así que si otro alta gana el email entre la comprobación y el guardado se restauran sus datos
+        ClienteDTO anterior = ClienteMapper.aDTO(clienteExistente);
+        Cliente clienteActualizado = conBarrera(() -> {
+            ClienteMapper.actualizarEntidad(clienteExistente, clienteDTO);
+
+            // Guardar cambios
+            try {
+                return clienteRepository.guardar(clienteExistente);
+            } catch (RuntimeException e) {
+                ClienteMapper.actualizarEntidad(clienteExistente, anterior);
+                throw e;
+            }
+        });
+        return ClienteMapper.aDTO(clienteActualizado);
     }
 
     @Override
@@ -106,8 +143,10 @@ public class ClienteServiceImpl implements ClienteService {
                 .orElseThrow(() -> new ClienteNoEncontradoException("No se puede eliminar. Cliente no encontrado con ID: " + id));
         
         // Eliminación lógica
-        cliente.desactivar();
-        clienteRepository.guardar(cliente);
+        conBarrera(() -> {
+            cliente.desactivar();
+            return clienteRepository.guardar(cliente);
+        });
     }
 
     @Override
@@ -124,10 +163,23 @@ public class ClienteServiceImpl implements ClienteService {
                 .orElse(false);
     }
 
-    // Método auxiliar para convertir entidad a DTO
-    private ClienteDTO convertirADTO(Cliente cliente) {
-        ClienteDTO dto = new ClienteDTO();
-        BeanUtils.copyProperties(cliente, dto);
-        return dto;
+    @Override
+    public ResultadoImportacion importarClientesCsv(Path archivo, Path archivoRechazos) throws IOException {
+        // Las filas se validan en paralelo y se guardan por lotes; el repositorio descarta los emails duplicados
+        return new ImportadorClientesCsv(clienteRepository).importar(archivo, archivoRechazos);
+    }
+
+    // Métodos auxiliares
+    private <T> T conBarrera(Supplier<T> mutacion) {
+        Lock barrera = barreraMutaciones;
+        if (barrera == null) {
+            return mutacion.get();
+        }
+        barrera.lock();
+        try {
+            return mutacion.get();
+        } finally {
+            barrera.unlock();
+        }
     }
 }
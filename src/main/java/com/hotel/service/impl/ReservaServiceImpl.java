@@ -0,0 +1,746 @@
+package com.hotel.service.impl;
+
+import com.hotel.cache.CacheTinyLfu;
+import com.hotel.cache.EstadisticasCache;
+import com.hotel.disponibilidad.BloqueosPorHabitacion;
+import com.hotel.disponibilidad.IndiceDisponibilidad;
+import com.hotel.disponibilidad.MatrizOcupacion;
+import com.hotel.disponibilidad.RetencionesTemporales;
+import com.hotel.dto.HabitacionDTO;
+import com.hotel.dto.Pagina;
+import com.hotel.dto.ReservaDTO;
+import com.hotel.dto.ResumenAuditoriaNocturna;
+import com.hotel.dto.mapper.HabitacionMapper;
+import com.hotel.dto.mapper.ReservaMapper;
+import com.hotel.evento.PublicadorEventos;
+import com.hotel.evento.TipoEventoDominio;
+import com.hotel.exception.ClienteNoEncontradoException;
+import com.hotel.exception.HabitacionNoDisponibleException;
+import com.hotel.exception.HabitacionNoEncontradaException;
+import com.hotel.exception.ReservaNoEncontradaException;
+import com.hotel.model.Cliente;
+import com.hotel.model.Habitacion;
+import com.hotel.model.Reserva;
+import com.hotel.model.Reserva.EstadoReserva;
+import com.hotel.repository.ClienteRepository;
+import com.hotel.repository.HabitacionRepository;
+import com.hotel.repository.ReservaRepository;
+import com.hotel.service.ReservaService;
+import com.hotel.tarifa.Montos;
+import com.hotel.tarifa.MotorTarifas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de gestión de reservas.
+ * La disponibilidad se resuelve con un {@link IndiceDisponibilidad} por habitación,
+ * que se mantiene al crear, actualizar, cancelar y registrar el check-out de las reservas.
+ * Las búsquedas sobre todo el catálogo se resuelven con una {@link MatrizOcupacion} habitación × noche.
+ * Toda operación que modifica una reserva se ejecuta con el bloqueo de su habitación
+ * ({@link BloqueosPorHabitacion}), por lo que comprobar disponibilidad y registrar la reserva es atómico
+ * por habitación mientras que las reservas de habitaciones distintas avanzan en paralelo.
+ * {@link #buscarPorId} se sirve desde una {@link CacheTinyLfu} de DTOs que se rellena y se invalida con ese
+ * mismo bloqueo, de modo que nunca devuelve un estado anterior al último cambio.
+ */
+@Service
+@Transactional
+public class ReservaServiceImpl implements ReservaService {
+
+    private static final Logger LOGGER = Logger.getLogger(ReservaServiceImpl.class.getName());
+    private static final int HORIZONTE_OCUPACION_DIAS = 3 * 365;
+    private static final int CAPACIDAD_MINIMA_MATRIZ = 1024;
+    private static final int FRANJAS_BLOQUEO = 1024;
+    private static final int TAMANO_PAGINA_MAXIMO = 1000;
+    private static final Duration RESOLUCION_RETENCIONES = Duration.ofSeconds(1);
+    private static final int CACHE_MAXIMO_ENTRADAS = 50_000;
+    private static final long CACHE_MAXIMO_BYTES = 32L * 1024 * 1024;
+
+    private final ReservaRepository reservaRepository;
+    private final ClienteRepository clienteRepository;
+    private final HabitacionRepository habitacionRepository;
+    private final IndiceDisponibilidad indiceDisponibilidad;
+    private final MatrizOcupacion matrizOcupacion;
+    private final MotorTarifas motorTarifas;
+    private final BloqueosPorHabitacion bloqueos = new BloqueosPorHabitacion(FRANJAS_BLOQUEO);
+    private final CacheTinyLfu<String, ReservaDTO> cacheReservas =
+            new CacheTinyLfu<>(CACHE_MAXIMO_ENTRADAS, CACHE_MAXIMO_BYTES, ReservaServiceImpl::pesoAproximado);
+    private volatile PublicadorEventos publicadorEventos = PublicadorEventos.NINGUNO;
+    private volatile RetencionesTemporales retenciones;
+    private LocalDate ultimaFechaAuditada;
+
+    @Autowired
+    public ReservaServiceImpl(ReservaRepository reservaRepository, ClienteRepository clienteRepository,
+                              HabitacionRepository habitacionRepository) {
+        this(reservaRepository, clienteRepository, habitacionRepository, new IndiceDisponibilidad(),
+                MatrizOcupacion.enHeap(LocalDate.now(), HORIZONTE_OCUPACION_DIAS,
+                        Math.max(CAPACIDAD_MINIMA_MATRIZ, 2 * habitacionRepository.listarTodas().size())));
+    }
+
+    public ReservaServiceImpl(ReservaRepository reservaRepository, ClienteRepository clienteRepository,
+                              HabitacionRepository habitacionRepository, IndiceDisponibilidad indiceDisponibilidad,
+                              MatrizOcupacion matrizOcupacion) {
+        this(reservaRepository, clienteRepository, habitacionRepository, indiceDisponibilidad, matrizOcupacion,
+                new MotorTarifas());
+    }
+
+    public ReservaServiceImpl(ReservaRepository reservaRepository, ClienteRepository clienteRepository,
+                              HabitacionRepository habitacionRepository, IndiceDisponibilidad indiceDisponibilidad,
+                              MatrizOcupacion matrizOcupacion, MotorTarifas motorTarifas) {
+        this.reservaRepository = reservaRepository;
+        this.clienteRepository = clienteRepository;
+        this.habitacionRepository = habitacionRepository;
+        this.indiceDisponibilidad = indiceDisponibilidad;
+        this.matrizOcupacion = matrizOcupacion;
+        this.motorTarifas = motorTarifas;
+        sincronizarCatalogo();
+        cargarOcupacion();
+    }
+
+    /**
+     * Motor con los calendarios de tarifas con los que se cotizan las reservas de este servicio.
+     * @return el motor de tarifas
+     */
+    public MotorTarifas getMotorTarifas() {
+        return motorTarifas;
+    }
+
+    /**
+     * Estadísticas de la caché de {@link #buscarPorId}.
+     * @return aciertos, fallos, desalojos, invalidaciones y ocupación actual
+     */
+    public EstadisticasCache getEstadisticasCache() {
+        return cacheReservas.getEstadisticas();
+    }
+
+    /**
+     * Configura el destino de los eventos de dominio de las reservas (por ejemplo, un
+     * {@link com.hotel.evento.BusEventos}). Sin configurar, los eventos se descartan.
+     * @param publicadorEventos El publicador de eventos
+     */
+    @Autowired(required = false)
+    public void setPublicadorEventos(PublicadorEventos publicadorEventos) {
+        this.publicadorEventos = publicadorEventos != null ? publicadorEventos : PublicadorEventos.NINGUNO;
+    }
+
+    /**
+     * Configura una barrera que toda mutación adquiere antes que los bloqueos de sus habitaciones, como la de
+     * {@link com.hotel.persistencia.PersistenciaHotel#getBarreraMutaciones()}, para que las instantáneas
+     * vean cada cambio completo junto con su evento.
+     * @param barrera Bloqueo compartido por las mutaciones, o null para ninguno
+     */
+    public void setBarreraMutaciones(Lock barrera) {
+        bloqueos.setBarrera(barrera);
+    }
+
+    /**
+     * Activa las retenciones temporales: desde ahora, cada reserva creada en estado PENDIENTE retiene su
+     * habitación durante el TTL indicado y, si no se confirma ni se cancela antes, se cancela sola y
+     * devuelve la disponibilidad. Sin activarlas, las reservas pendientes retienen la habitación
+     * indefinidamente.
+     * <p>
+     * Las reservas que ya estaban pendientes (por ejemplo, las recuperadas al arrancar) se retienen durante
+     * lo que les quede del TTL. Como solo se conoce el día de creación, se cuenta desde el final de ese día:
+     * una reserva de hoy recibe el TTL completo y nunca vence antes de tiempo.
+     * @param ttl Duración de la retención (por ejemplo, el tiempo para completar el pago)
+     * @throws IllegalStateException Si las retenciones ya estaban activas
+     */
+    public synchronized void activarRetenciones(Duration ttl) {
+        if (retenciones != null) {
+            throw new IllegalStateException("Las retenciones temporales ya están activas");
+        }
+        RetencionesTemporales activas = new RetencionesTemporales(ttl, RESOLUCION_RETENCIONES, this::expirarRetencion);
+        retenciones = activas;
+        LocalDateTime ahora = LocalDateTime.now();
+        for (Reserva reserva : reservaRepository.listarTodas()) {
+            // Si se confirma o cancela entretanto, expirarRetencion() ya no la encuentra pendiente
+            if (reserva.getEstado() == EstadoReserva.PENDIENTE) {
+                activas.retener(reserva.getId(), ttlRestante(reserva, ttl, ahora));
+            }
+        }
+    }
+
+    /**
+     * @return las retenciones temporales activas, o null si no se activaron
+     */
+    public RetencionesTemporales getRetenciones() {
+        return retenciones;
+    }
+
+    /**
+     * Registra en la matriz de ocupación las habitaciones del catálogo que aún no figuran en ella.
+     * Debe invocarse tras dar de alta habitaciones nuevas para que aparezcan en las búsquedas.
+     */
+    public void sincronizarCatalogo() {
+        habitacionRepository.listarTodas()
+                .forEach(habitacion -> matrizOcupacion.registrarHabitacion(habitacion.getNumeroHabitacion()));
+    }
+
+    @Override
+    public ReservaDTO crearReserva(ReservaDTO reservaDTO)
+            throws HabitacionNoDisponibleException, HabitacionNoEncontradaException, ClienteNoEncontradoException {
+        Cliente cliente = clienteRepository.buscarPorId(reservaDTO.getClienteId())
+                .orElseThrow(() -> new ClienteNoEncontradoException("No se encontró el cliente con ID: " + reservaDTO.getClienteId()));
+        Habitacion habitacion = buscarHabitacion(numeroHabitacion(reservaDTO));
+
+        Reserva reserva = new Reserva(cliente, habitacion, reservaDTO.getFechaCheckIn(),
+                reservaDTO.getFechaCheckOut(), reservaDTO.getNumeroHuespedes(), reservaDTO.getNotas());
+        cotizar(reserva);
+
+        return bloqueos.conBloqueo(habitacion.getNumeroHabitacion(), () -> {
+            if (!indiceDisponibilidad.ocupar(habitacion.getNumeroHabitacion(), reserva.getId(),
+                    reserva.getFechaCheckIn(), reserva.getFechaCheckOut())) {
+                throw new HabitacionNoDisponibleException(habitacion.getNumeroHabitacion(),
+                        reserva.getFechaCheckIn().toString(), reserva.getFechaCheckOut().toString());
+            }
+            try {
+                matrizOcupacion.ocupar(habitacion.getNumeroHabitacion(), reserva.getFechaCheckIn(), reserva.getFechaCheckOut());
+                guardar(reserva);
+            } catch (RuntimeException e) {
+                liberarOcupacion(reserva, reserva.getFechaCheckIn(), reserva.getFechaCheckOut());
+                throw e;
+            }
+            retener(reserva);
+            publicadorEventos.publicar(TipoEventoDominio.RESERVA_CREADA, reserva);
+            return ReservaMapper.aDTO(reserva);
+        });
+    }
+
+    @Override
+    public List<ReservaDTO> crearReservasEnLote(List<ReservaDTO> reservasDTO)
+            throws HabitacionNoDisponibleException, HabitacionNoEncontradaException, ClienteNoEncontradoException {
+        if (reservasDTO.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Cliente> clientes = new HashMap<>();
+        Map<String, Habitacion> habitaciones = new HashMap<>();
+        List<Reserva> reservas = new ArrayList<>(reservasDTO.size());
+        for (ReservaDTO reservaDTO : reservasDTO) {
+            Cliente cliente = clientes.computeIfAbsent(reservaDTO.getClienteId(), id -> clienteRepository.buscarPorId(id)
+                    .orElseThrow(() -> new ClienteNoEncontradoException("No se encontró el cliente con ID: " + id)));
+            Habitacion habitacion = habitaciones.computeIfAbsent(numeroHabitacion(reservaDTO), this::buscarHabitacion);
+            Reserva reserva = new Reserva(cliente, habitacion, reservaDTO.getFechaCheckIn(),
+                    reservaDTO.getFechaCheckOut(), reservaDTO.getNumeroHuespedes(), reservaDTO.getNotas());
+            cotizar(reserva);
+            reservas.add(reserva);
+        }
+
+        // Un único paso por los bloqueos de todas las habitaciones, adquiridos en orden determinista
+        return bloqueos.conBloqueo(habitaciones.keySet(), () -> {
+            List<Reserva> ocupadas = new ArrayList<>(reservas.size());
+            StringBuilder conflictos = null;
+            for (Reserva reserva : reservas) {
+                String numero = reserva.getHabitacion().getNumeroHabitacion();
+                if (indiceDisponibilidad.ocupar(numero, reserva.getId(), reserva.getFechaCheckIn(), reserva.getFechaCheckOut())) {
+                    ocupadas.add(reserva);
+                } else {
+                    conflictos = (conflictos == null ? new StringBuilder() : conflictos.append(", "))
+                            .append(numero).append(" (").append(reserva.getFechaCheckIn())
+                            .append(" a ").append(reserva.getFechaCheckOut()).append(')');
+                }
+            }
+            if (conflictos != null) {
+                ocupadas.forEach(r -> indiceDisponibilidad.liberar(r.getHabitacion().getNumeroHabitacion(), r.getId()));
+                throw new HabitacionNoDisponibleException(
+                        "No se creó ninguna reserva del lote; habitaciones no disponibles: " + conflictos);
+            }
+            try {
+                for (Reserva reserva : reservas) {
+                    matrizOcupacion.ocupar(reserva.getHabitacion().getNumeroHabitacion(),
+                            reserva.getFechaCheckIn(), reserva.getFechaCheckOut());
+                }
+                reservaRepository.guardarLote(reservas);
+            } catch (RuntimeException e) {
+                reservas.forEach(r -> liberarOcupacion(r, r.getFechaCheckIn(), r.getFechaCheckOut()));
+                throw e;
+            }
+            reservas.forEach(this::retener);
+            reservas.forEach(r -> publicadorEventos.publicar(TipoEventoDominio.RESERVA_CREADA, r));
+            return ReservaMapper.aDTOs(reservas);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservaDTO buscarPorId(String id) throws ReservaNoEncontradaException {
+        ReservaDTO enCache = cacheReservas.obtener(id);
+        if (enCache != null) {
+            return new ReservaDTO(enCache);
+        }
+        Reserva reserva = obtenerReserva(id);
+        // Se carga con el bloqueo de la habitación: ningún cambio de estado puede colarse entre
+        // leer la reserva y guardarla en la caché, así que la caché nunca queda con un estado antiguo
+        return conBloqueoDeReserva(reserva, () -> {
+            ReservaDTO dto = ReservaMapper.aDTO(reserva);
+            cacheReservas.poner(id, dto);
+            return new ReservaDTO(dto);
+        });
+    }
+
+    @Override
+    public ReservaDTO actualizarReserva(String id, ReservaDTO reservaDTO)
+            throws ReservaNoEncontradaException, HabitacionNoDisponibleException {
+        Reserva reserva = obtenerReserva(id);
+        String numeroSolicitado = numeroHabitacion(reservaDTO);
+        Habitacion habitacionSolicitada = numeroSolicitado != null ? buscarHabitacion(numeroSolicitado) : null;
+        while (true) {
+            Habitacion habitacionActual = reserva.getHabitacion();
+            Habitacion habitacionNueva = habitacionSolicitada != null ? habitacionSolicitada : habitacionActual;
+            ReservaDTO actualizada = bloqueos.conBloqueo(
+                    List.of(habitacionActual.getNumeroHabitacion(), habitacionNueva.getNumeroHabitacion()), () -> {
+                        if (reserva.getHabitacion() != habitacionActual) {
+                            return null; // Otra operación la cambió de habitación; se reintenta
+                        }
+                        return aplicarActualizacion(reserva, habitacionNueva, reservaDTO);
+                    });
+            if (actualizada != null) {
+                return actualizada;
+            }
+        }
+    }
+
+    @Override
+    public void cancelarReserva(String id, String motivo) throws ReservaNoEncontradaException {
+        Reserva reserva = obtenerReserva(id);
+        conBloqueoDeReserva(reserva, () -> {
+            reserva.cancelar(motivo);
+            guardar(reserva);
+            liberarRetencion(reserva);
+            liberarOcupacion(reserva, reserva.getFechaCheckIn(), reserva.getFechaCheckOut());
+            publicadorEventos.publicar(TipoEventoDominio.RESERVA_CANCELADA, reserva, null, motivo);
+            return null;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservaDTO> listarReservasPorCliente(String clienteId) {
+        return ReservaMapper.aDTOs(reservaRepository.listarPorCliente(clienteId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservaDTO> listarReservasPorHabitacion(String habitacionId) {
+        return ReservaMapper.aDTOs(reservaRepository.listarPorHabitacion(habitacionId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean verificarDisponibilidad(String habitacionId, LocalDate fechaInicio, LocalDate fechaFin) {
+        return habitacionRepository.existePorNumero(habitacionId)
+                && indiceDisponibilidad.estaDisponible(habitacionId, fechaInicio, fechaFin);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HabitacionDTO> buscarHabitacionesDisponibles(LocalDate fechaInicio, LocalDate fechaFin) {
+        if (fechaInicio == null || fechaFin == null || !fechaFin.isAfter(fechaInicio)) {
+            throw new IllegalArgumentException("La fecha de fin debe ser posterior a la fecha de inicio");
+        }
+        return matrizOcupacion.habitacionesLibres(fechaInicio, fechaFin)
+                .map(libres -> libres.stream()
+                        .map(habitacionRepository::buscarPorNumero)
+                        .flatMap(Optional::stream))
+                // Fuera del horizonte de la matriz se consulta el índice de intervalos habitación por habitación
+                .orElseGet(() -> habitacionRepository.listarTodas().stream()
+                        .filter(h -> indiceDisponibilidad.estaDisponible(h.getNumeroHabitacion(), fechaInicio, fechaFin)))
+                .map(HabitacionMapper::aDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ReservaDTO registrarCheckIn(String id) throws ReservaNoEncontradaException {
+        Reserva reserva = obtenerReserva(id);
+        return conBloqueoDeReserva(reserva, () -> {
+            String numero = reserva.getHabitacion().getNumeroHabitacion();
+            LocalDate reservadoDesde = reserva.getFechaCheckIn();
+            LocalDate checkOut = reserva.getFechaCheckOut();
+            LocalDate llegada = LocalDate.now();
+            // La llegada real sustituye a la reservada: la ocupación se mueve antes de cambiar el estado para
+            // que el índice, la matriz y la reserva coincidan y el check-out libere exactamente esas noches
+            boolean mover = reserva.getEstado() == EstadoReserva.CONFIRMADA && !llegada.equals(reservadoDesde);
+            if (mover) {
+                if (!checkOut.isAfter(llegada)) {
+                    throw new IllegalStateException("No se puede hacer check-in a partir de la fecha de salida de la reserva");
+                }
+                if (!indiceDisponibilidad.reubicar(reserva.getId(), numero, numero, llegada, checkOut)) {
+                    throw new HabitacionNoDisponibleException(numero, llegada.toString(), checkOut.toString());
+                }
+            }
+            reserva.registrarCheckIn();
+            if (mover) {
+                reserva.reprogramar(reserva.getHabitacion(), llegada, checkOut);
+                cotizar(reserva);
+                matrizOcupacion.liberar(numero, reservadoDesde, checkOut);
+                matrizOcupacion.ocupar(numero, llegada, checkOut);
+            }
+            guardar(reserva);
+            publicadorEventos.publicar(TipoEventoDominio.CHECK_IN_REGISTRADO, reserva);
+            return ReservaMapper.aDTO(reserva);
+        });
+    }
+
+    @Override
+    public ReservaDTO registrarCheckOut(String id) throws ReservaNoEncontradaException {
+        Reserva reserva = obtenerReserva(id);
+        return conBloqueoDeReserva(reserva, () -> {
+            LocalDate checkIn = reserva.getFechaCheckIn();
+            LocalDate checkOut = reserva.getFechaCheckOut();
+            reserva.registrarCheckOut();
+            cotizar(reserva);
+            guardar(reserva);
+            // Tras la salida, las noches restantes vuelven a estar disponibles
+            liberarOcupacion(reserva, checkIn, checkOut);
+            publicadorEventos.publicar(TipoEventoDominio.CHECK_OUT_REGISTRADO, reserva);
+            return ReservaMapper.aDTO(reserva);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservaDTO> listarReservasPorRangoFechas(LocalDate fechaInicio, LocalDate fechaFin) {
+        return ReservaMapper.aDTOs(reservaRepository.listarPorRangoFechas(fechaInicio, fechaFin));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<ReservaDTO> listarReservasPorRangoFechas(LocalDate fechaInicio, LocalDate fechaFin,
+                                                           EstadoReserva estado, String tipoHabitacion,
+                                                           String cursor, int tamanoPagina) {
+        if (tamanoPagina <= 0 || tamanoPagina > TAMANO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO);
+        }
+        Predicate<Reserva> filtro = null;
+        if (estado != null) {
+            filtro = reserva -> reserva.getEstado() == estado;
+        }
+        if (tipoHabitacion != null) {
+            Predicate<Reserva> porTipo = reserva -> reserva.getHabitacion().getTipo().equalsIgnoreCase(tipoHabitacion);
+            filtro = filtro != null ? filtro.and(porTipo) : porTipo;
+        }
+
+        // El cursor codifica la clave (fecha de check-in, ID) de la última reserva devuelta
+        LocalDate despuesDeCheckIn = null;
+        String despuesDeId = null;
+        String clave = Pagina.claveDe(cursor);
+        if (clave != null) {
+            int separador = clave.indexOf('|');
+            try {
+                despuesDeCheckIn = LocalDate.parse(separador > 0 ? clave.substring(0, separador) : clave);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Cursor de paginación inválido: " + cursor, e);
+            }
+            despuesDeId = separador > 0 ? clave.substring(separador + 1) : "";
+        }
+
+        // Se pide una reserva de más para saber si hay página siguiente sin otra consulta
+        List<Reserva> reservas = reservaRepository.listarPorRangoFechasDesde(
+                fechaInicio, fechaFin, despuesDeCheckIn, despuesDeId, filtro, tamanoPagina + 1);
+        if (reservas.size() <= tamanoPagina) {
+            return new Pagina<>(ReservaMapper.aDTOs(reservas), null);
+        }
+        List<Reserva> pagina = reservas.subList(0, tamanoPagina);
+        Reserva ultima = pagina.get(tamanoPagina - 1);
+        return new Pagina<>(ReservaMapper.aDTOs(pagina),
+                Pagina.cursorDe(ultima.getFechaCheckIn() + "|" + ultima.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public double cotizarEstancia(String numeroHabitacion, LocalDate fechaCheckIn, LocalDate fechaCheckOut)
+            throws HabitacionNoEncontradaException {
+        if (fechaCheckIn == null || fechaCheckOut == null || !fechaCheckOut.isAfter(fechaCheckIn)) {
+            throw new IllegalArgumentException("La fecha de check-out debe ser posterior al check-in");
+        }
+        return Montos.aDecimal(motorTarifas.cotizar(buscarHabitacion(numeroHabitacion), fechaCheckIn, fechaCheckOut));
+    }
+
+    @Override
+    public ReservaDTO cambiarEstadoReserva(String id, EstadoReserva nuevoEstado) throws ReservaNoEncontradaException {
+        return switch (nuevoEstado) {
+            case CONFIRMADA -> {
+                Reserva reserva = obtenerReserva(id);
+                yield conBloqueoDeReserva(reserva, () -> {
+                    reserva.confirmar();
+                    guardar(reserva);
+                    liberarRetencion(reserva);
+                    publicadorEventos.publicar(TipoEventoDominio.RESERVA_CONFIRMADA, reserva);
+                    return ReservaMapper.aDTO(reserva);
+                });
+            }
+            case CANCELADA -> {
+                cancelarReserva(id, null);
+                yield buscarPorId(id);
+            }
+            case EN_CURSO -> registrarCheckIn(id);
+            case COMPLETADA -> registrarCheckOut(id);
+            case NO_SHOW -> {
+                Reserva reserva = obtenerReserva(id);
+                conBloqueoDeReserva(reserva, () -> {
+                    marcarNoShow(reserva);
+                    return null;
+                });
+                yield ReservaMapper.aDTO(reserva);
+            }
+            default -> throw new IllegalStateException("Cambio de estado no soportado: " + nuevoEstado);
+        };
+    }
+
+    @Override
+    public synchronized ResumenAuditoriaNocturna ejecutarAuditoriaNocturna(LocalDate fechaAuditoria) {
+        if (fechaAuditoria == null) {
+            throw new IllegalArgumentException("La fecha de auditoría es obligatoria");
+        }
+        if (fechaAuditoria.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("La fecha de auditoría no puede ser posterior a hoy");
+        }
+        long inicio = System.nanoTime();
+        avanzarHorizonteOcupacion(fechaAuditoria.plusDays(1).isAfter(LocalDate.now())
+                ? LocalDate.now() : fechaAuditoria.plusDays(1));
+        // Se retoma tras la última fecha auditada para no perder días si una ejecución se saltó; la primera
+        // vez se empieza por la llegada confirmada más antigua, que puede ser anterior al arranque. Esa marca
+        // no necesita persistirse: las llegadas ya auditadas quedan guardadas como NO_SHOW y el índice por
+        // estado del repositorio da la primera confirmada pendiente en O(log n)
+        LocalDate desde = ultimaFechaAuditada != null ? ultimaFechaAuditada.plusDays(1)
+                : reservaRepository.buscarPrimeraPorFechaCheckIn(EstadoReserva.CONFIRMADA)
+                .map(Reserva::getFechaCheckIn)
+                .filter(fechaAuditoria::isAfter)
+                .orElse(fechaAuditoria);
+        if (desde.isAfter(fechaAuditoria)) {
+            return new ResumenAuditoriaNocturna(null, null, 0, List.of(), 0, 0);
+        }
+        List<Reserva> llegadas = reservaRepository.listarPorFechaCheckIn(desde, fechaAuditoria.plusDays(1));
+        LocalDate primeraNocheLibre = fechaAuditoria.plusDays(1);
+        List<String> noPresentadas = new ArrayList<>();
+        long nochesLiberadas = 0;
+        for (Reserva reserva : llegadas) {
+            if (reserva.getEstado() != EstadoReserva.CONFIRMADA) {
+                continue;
+            }
+            boolean marcada = conBloqueoDeReserva(reserva, () -> {
+                // El estado pudo cambiar (check-in, cancelación) mientras se esperaba el bloqueo
+                if (reserva.getEstado() != EstadoReserva.CONFIRMADA) {
+                    return false;
+                }
+                marcarNoShow(reserva);
+                return true;
+            });
+            if (marcada) {
+                noPresentadas.add(reserva.getId());
+                if (reserva.getFechaCheckOut().isAfter(primeraNocheLibre)) {
+                    nochesLiberadas += ChronoUnit.DAYS.between(
+                            reserva.getFechaCheckIn().isAfter(primeraNocheLibre) ? reserva.getFechaCheckIn() : primeraNocheLibre,
+                            reserva.getFechaCheckOut());
+                }
+            }
+        }
+        ultimaFechaAuditada = fechaAuditoria;
+        ResumenAuditoriaNocturna resumen = new ResumenAuditoriaNocturna(desde, fechaAuditoria, llegadas.size(),
+                noPresentadas, nochesLiberadas, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        LOGGER.info(resumen.toString());
+        return resumen;
+    }
+
+    // Métodos auxiliares
+    /**
+     * Registra en el índice y en la matriz las reservas que ya estaban en el repositorio (por ejemplo, las
+     * recuperadas del disco) y ocupan habitación. Si el índice recibido ya las contenía, se dejan como están.
+     */
+    private void cargarOcupacion() {
+        for (Reserva reserva : reservaRepository.listarTodas()) {
+            EstadoReserva estado = reserva.getEstado();
+            if (estado == EstadoReserva.PENDIENTE || estado == EstadoReserva.CONFIRMADA
+                    || estado == EstadoReserva.EN_CURSO) {
+                String numero = reserva.getHabitacion().getNumeroHabitacion();
+                indiceDisponibilidad.ocupar(numero, reserva.getId(), reserva.getFechaCheckIn(), reserva.getFechaCheckOut());
+                matrizOcupacion.ocupar(numero, reserva.getFechaCheckIn(), reserva.getFechaCheckOut());
+            }
+        }
+    }
+
+    /**
+     * Desplaza la matriz de ocupación para que empiece en la fecha indicada y marca en las noches que entran
+     * por el final las ocupaciones que ya existían; hasta terminar, las búsquedas sobre esas noches van al
+     * índice. Cada habitación se rellena con su bloqueo, así que una reserva concurrente o ya estaba en el
+     * índice al rellenar o se marca después sobre el horizonte nuevo.
+     */
+    private void avanzarHorizonteOcupacion(LocalDate nuevoOrigen) {
+        LocalDate nuevasDesde = matrizOcupacion.avanzarHasta(nuevoOrigen);
+        if (nuevasDesde == null) {
+            return;
+        }
+        LocalDate nuevasHasta = nuevoOrigen.plusDays(matrizOcupacion.getHorizonteDias());
+        for (Habitacion habitacion : habitacionRepository.listarTodas()) {
+            String numero = habitacion.getNumeroHabitacion();
+            bloqueos.conBloqueo(numero, () -> {
+                indiceDisponibilidad.paraCadaOcupacion(numero, nuevasDesde, nuevasHasta,
+                        (checkIn, checkOut) -> matrizOcupacion.ocupar(numero, checkIn, checkOut));
+                return null;
+            });
+        }
+        matrizOcupacion.completarAvance();
+    }
+
+    /**
+     * Marca la reserva como no presentada y libera sus noches; se invoca con el bloqueo de su habitación.
+     */
+    private void marcarNoShow(Reserva reserva) {
+        reserva.marcarNoShow();
+        guardar(reserva);
+        liberarOcupacion(reserva, reserva.getFechaCheckIn(), reserva.getFechaCheckOut());
+        publicadorEventos.publicar(TipoEventoDominio.RESERVA_NO_SHOW, reserva);
+    }
+
+    /**
+     * Aplica los cambios de una actualización; se invoca con los bloqueos de ambas habitaciones adquiridos.
+     */
+    private ReservaDTO aplicarActualizacion(Reserva reserva, Habitacion habitacionNueva, ReservaDTO reservaDTO) {
+        if (reserva.getEstado() != EstadoReserva.PENDIENTE && reserva.getEstado() != EstadoReserva.CONFIRMADA) {
+            throw new IllegalStateException("Solo se pueden modificar reservas pendientes o confirmadas");
+        }
+        Habitacion habitacionActual = reserva.getHabitacion();
+        LocalDate checkIn = Optional.ofNullable(reservaDTO.getFechaCheckIn()).orElse(reserva.getFechaCheckIn());
+        LocalDate checkOut = Optional.ofNullable(reservaDTO.getFechaCheckOut()).orElse(reserva.getFechaCheckOut());
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("La fecha de check-out debe ser posterior al check-in");
+        }
+        int huespedes = reservaDTO.getNumeroHuespedes() > 0 ? reservaDTO.getNumeroHuespedes() : reserva.getNumeroHuespedes();
+        if (huespedes > habitacionNueva.getCapacidadMaxima()) {
+            throw new IllegalArgumentException("El número de huéspedes excede la capacidad de la habitación");
+        }
+
+        if (!indiceDisponibilidad.reubicar(reserva.getId(), habitacionActual.getNumeroHabitacion(),
+                habitacionNueva.getNumeroHabitacion(), checkIn, checkOut)) {
+            throw new HabitacionNoDisponibleException(habitacionNueva.getNumeroHabitacion(),
+                    checkIn.toString(), checkOut.toString());
+        }
+        matrizOcupacion.liberar(habitacionActual.getNumeroHabitacion(), reserva.getFechaCheckIn(), reserva.getFechaCheckOut());
+        matrizOcupacion.ocupar(habitacionNueva.getNumeroHabitacion(), checkIn, checkOut);
+
+        reserva.reprogramar(habitacionNueva, checkIn, checkOut);
+        reserva.setNumeroHuespedes(huespedes);
+        cotizar(reserva);
+        if (reservaDTO.getNotas() != null) {
+            reserva.setNotas(reservaDTO.getNotas());
+        }
+        guardar(reserva);
+        publicadorEventos.publicar(TipoEventoDominio.RESERVA_MODIFICADA, reserva);
+        return ReservaMapper.aDTO(reserva);
+    }
+
+    /**
+     * Sustituye el monto calculado por la reserva por la cotización del motor de tarifas.
+     */
+    private void cotizar(Reserva reserva) {
+        reserva.establecerMontoTotal(Montos.aDecimal(
+                motorTarifas.cotizar(reserva.getHabitacion(), reserva.getFechaCheckIn(), reserva.getFechaCheckOut())));
+    }
+
+    private Reserva obtenerReserva(String id) {
+        return reservaRepository.buscarPorId(id)
+                .orElseThrow(() -> new ReservaNoEncontradaException(id, true));
+    }
+
+    /**
+     * Ejecuta una operación con el bloqueo de la habitación de la reserva adquirido.
+     * Si mientras se esperaba el bloqueo la reserva cambió de habitación, se reintenta con la nueva.
+     */
+    private <T> T conBloqueoDeReserva(Reserva reserva, Supplier<T> operacion) {
+        return bloqueos.conBloqueoVigente(() -> reserva.getHabitacion().getNumeroHabitacion(), operacion);
+    }
+
+    /**
+     * Cancela una reserva cuya retención venció si sigue pendiente; lo invoca el hilo de las retenciones.
+     */
+    private void expirarRetencion(String id) {
+        reservaRepository.buscarPorId(id).ifPresent(reserva -> conBloqueoDeReserva(reserva, () -> {
+            if (reserva.getEstado() != EstadoReserva.PENDIENTE) {
+                return null;
+            }
+            reserva.cancelar("Retención expirada");
+            guardar(reserva);
+            liberarOcupacion(reserva, reserva.getFechaCheckIn(), reserva.getFechaCheckOut());
+            publicadorEventos.publicar(TipoEventoDominio.RETENCION_EXPIRADA, reserva);
+            return null;
+        }));
+    }
+
+    private void retener(Reserva reserva) {
+        RetencionesTemporales activas = retenciones;
+        if (activas != null && reserva.getEstado() == EstadoReserva.PENDIENTE) {
+            activas.retener(reserva.getId());
+        }
+    }
+
+    private static Duration ttlRestante(Reserva reserva, Duration ttl, LocalDateTime ahora) {
+        if (reserva.getFechaCreacion() == null) {
+            return ttl;
+        }
+        Duration transcurrido = Duration.between(reserva.getFechaCreacion().plusDays(1).atStartOfDay(), ahora);
+        // Una reserva ya vencida recibe el plazo mínimo y vence en el siguiente tick
+        return transcurrido.isNegative() ? ttl : ttl.minus(transcurrido);
+    }
+
+    private void liberarRetencion(Reserva reserva) {
+        RetencionesTemporales activas = retenciones;
+        if (activas != null) {
+            activas.liberar(reserva.getId());
+        }
+    }
+
+    /**
+     * Guarda una reserva modificada e invalida su entrada de la caché; se invoca con el bloqueo de su habitación.
+     */
+    private void guardar(Reserva reserva) {
+        reservaRepository.guardar(reserva);
+        cacheReservas.invalidar(reserva.getId());
+    }
+
+    /**
+     * Peso aproximado en bytes de un DTO en la caché: cabecera y campos, más las cadenas de texto.
+     */
+    private static int pesoAproximado(ReservaDTO dto) {
+        return 160 + pesoTexto(dto.getId()) + pesoTexto(dto.getClienteId()) + pesoTexto(dto.getClienteNombre())
+                + pesoTexto(dto.getHabitacionNumero()) + pesoTexto(dto.getTipoHabitacion())
+                + pesoTexto(dto.getEstado()) + pesoTexto(dto.getNotas());
+    }
+
+    private static int pesoTexto(String texto) {
+        return texto == null ? 0 : 40 + texto.length();
+    }
+
+    private void liberarOcupacion(Reserva reserva, LocalDate checkIn, LocalDate checkOut) {
+        String numero = reserva.getHabitacion().getNumeroHabitacion();
+        // La matriz no sabe qué reserva ocupa cada noche: solo se limpia si el índice aún tenía la ocupación,
+        // para no borrar noches que otra reserva volvió a ocupar tras una liberación anterior
+        if (indiceDisponibilidad.liberar(numero, reserva.getId())) {
+            matrizOcupacion.liberar(numero, checkIn, checkOut);
+        }
+    }
+
+    private Habitacion buscarHabitacion(String numeroHabitacion) {
+        return habitacionRepository.buscarPorNumero(numeroHabitacion)
+                .orElseThrow(() -> new HabitacionNoEncontradaException("No se encontró la habitación con número: " + numeroHabitacion));
+    }
+
+    private String numeroHabitacion(ReservaDTO reservaDTO) {
+        return reservaDTO.getHabitacionNumero() != null ? reservaDTO.getHabitacionNumero() : reservaDTO.getHabitacionId();
+    }
+}
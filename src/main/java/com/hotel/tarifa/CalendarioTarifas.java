@@ -0,0 +1,157 @@
+package com.hotel.tarifa;
+
+import java.util.Arrays;
+
+/**
+ * Calendario de tarifas por noche de un tipo de habitación, codificado por tramos (run-length).
+ * <p>
+ * Cada tramo {@code i} cubre las noches {@code [inicios[i], inicios[i + 1])} con la tarifa {@code tarifas[i]}
+ * en unidades mínimas, o {@link #SIN_TARIFA} si esas noches usan el precio base de la habitación. El primer
+ * tramo empieza en {@link Long#MIN_VALUE}, así que toda noche pertenece a exactamente un tramo, y dos tramos
+ * contiguos nunca tienen la misma tarifa: "180,00 todo julio" ocupa un único tramo.
+ * <p>
+ * Es inmutable: las modificaciones devuelven un calendario nuevo, de modo que las cotizaciones leen sin
+ * bloqueos ni asignaciones mientras otro hilo publica cambios.
+ */
+public final class CalendarioTarifas {
+
+    /** Marca de las noches sin tarifa propia, que se cotizan con el precio base de la habitación. */
+    public static final long SIN_TARIFA = -1;
+
+    static final CalendarioTarifas VACIO = new CalendarioTarifas(new long[]{Long.MIN_VALUE}, new long[]{SIN_TARIFA});
+
+    private final long[] inicios;
+    private final long[] tarifas;
+
+    private CalendarioTarifas(long[] inicios, long[] tarifas) {
+        this.inicios = inicios;
+        this.tarifas = tarifas;
+    }
+
+    /**
+     * Obtiene la tarifa de una noche.
+     * @param dia Día epoch de la noche
+     * @return la tarifa en unidades mínimas, o {@link #SIN_TARIFA}
+     */
+    public long tarifaEn(long dia) {
+        return tarifas[indiceDe(dia)];
+    }
+
+    /**
+     * Suma las tarifas de las noches {@code [desde, hasta)}, recorriendo tramos en lugar de noches.
+     * @param desde Día epoch de la primera noche
+     * @param hasta Día epoch siguiente a la última noche
+     * @param tarifaPorDefecto Tarifa de las noches sin tarifa propia, en unidades mínimas
+     * @return el importe total en unidades mínimas
+     * @throws ArithmeticException Si el total desborda un {@code long}
+     */
+    public long sumar(long desde, long hasta, long tarifaPorDefecto) {
+        long total = 0;
+        int i = indiceDe(desde);
+        long dia = desde;
+        while (dia < hasta) {
+            long finTramo = i + 1 < inicios.length ? Math.min(inicios[i + 1], hasta) : hasta;
+            long tarifa = tarifas[i] == SIN_TARIFA ? tarifaPorDefecto : tarifas[i];
+            total = Math.addExact(total, Math.multiplyExact(tarifa, finTramo - dia));
+            dia = finTramo;
+            i++;
+        }
+        return total;
+    }
+
+    /**
+     * Devuelve un calendario con la misma tarifa para todas las noches de {@code [desde, hasta)}.
+     * @param desde Día epoch de la primera noche
+     * @param hasta Día epoch siguiente a la última noche
+     * @param tarifa Tarifa en unidades mínimas, o {@link #SIN_TARIFA} para volver al precio base
+     * @return el calendario resultante
+     */
+    public CalendarioTarifas conTarifa(long desde, long hasta, long tarifa) {
+        validarTarifa(tarifa);
+        return reemplazar(desde, hasta, null, tarifa);
+    }
+
+    /**
+     * Devuelve un calendario con una tarifa distinta por noche a partir de {@code desde}.
+     * Las noches consecutivas con la misma tarifa se agrupan en un solo tramo.
+     * @param desde Día epoch de la primera noche
+     * @param tarifasPorNoche Tarifa de cada noche en unidades mínimas, o {@link #SIN_TARIFA}
+     * @return el calendario resultante
+     */
+    public CalendarioTarifas conTarifasPorNoche(long desde, long[] tarifasPorNoche) {
+        for (long tarifa : tarifasPorNoche) {
+            validarTarifa(tarifa);
+        }
+        return reemplazar(desde, desde + tarifasPorNoche.length, tarifasPorNoche, 0);
+    }
+
+    /**
+     * @return el número de tramos del calendario
+     */
+    public int getTramos() {
+        return inicios.length;
+    }
+
+    // Métodos auxiliares
+    private CalendarioTarifas reemplazar(long desde, long hasta, long[] tarifasPorNoche, long tarifaUnica) {
+        if (desde >= hasta) {
+            throw new IllegalArgumentException("El rango de noches debe terminar después de empezar");
+        }
+        int maximoTramos = inicios.length + 2 + (tarifasPorNoche != null ? tarifasPorNoche.length : 1);
+        long[] nuevosInicios = new long[maximoTramos];
+        long[] nuevasTarifas = new long[maximoTramos];
+        int n = 0;
+        for (int i = 0; i < inicios.length && inicios[i] < desde; i++) {
+            n = anexar(nuevosInicios, nuevasTarifas, n, inicios[i], tarifas[i]);
+        }
+        if (tarifasPorNoche == null) {
+            n = anexar(nuevosInicios, nuevasTarifas, n, desde, tarifaUnica);
+        } else {
+            for (int i = 0; i < tarifasPorNoche.length; i++) {
+                n = anexar(nuevosInicios, nuevasTarifas, n, desde + i, tarifasPorNoche[i]);
+            }
+        }
+        // A partir de hasta continúa la tarifa que regía antes del cambio
+        int tramoHasta = indiceDe(hasta);
+        n = anexar(nuevosInicios, nuevasTarifas, n, hasta, tarifas[tramoHasta]);
+        for (int i = tramoHasta + 1; i < inicios.length; i++) {
+            n = anexar(nuevosInicios, nuevasTarifas, n, inicios[i], tarifas[i]);
+        }
+        return new CalendarioTarifas(Arrays.copyOf(nuevosInicios, n), Arrays.copyOf(nuevasTarifas, n));
+    }
+
+    /**
+     * Añade un tramo, fusionándolo con el anterior si tiene la misma tarifa.
+     */
+    private static int anexar(long[] inicios, long[] tarifas, int n, long inicio, long tarifa) {
+        if (n > 0 && tarifas[n - 1] == tarifa) {
+            return n;
+        }
+        inicios[n] = inicio;
+        tarifas[n] = tarifa;
+        return n + 1;
+    }
+
+    /**
+     * Índice del tramo que contiene la noche: el último cuyo inicio es menor o igual.
+     */
+    private int indiceDe(long dia) {
+        int bajo = 0;
+        int alto = inicios.length - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto + 1) >>> 1;
+            if (inicios[medio] <= dia) {
+                bajo = medio;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return bajo;
+    }
+
+    private static void validarTarifa(long tarifa) {
+        if (tarifa < 0 && tarifa != SIN_TARIFA) {
+            throw new IllegalArgumentException("La tarifa no puede ser negativa");
+        }
+    }
+}
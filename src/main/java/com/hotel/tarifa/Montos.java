@@ -0,0 +1,44 @@
+package com.hotel.tarifa;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversión entre importes decimales y unidades mínimas de la moneda (céntimos).
+ * Los cálculos de tarifas se hacen en {@code long} de unidades mínimas para que sean exactos;
+ * solo se convierte a decimal en los bordes (DTOs, consola, persistencia existente).
+ */
+public final class Montos {
+
+    public static final int DECIMALES = 2;
+    private static final long UNIDADES_POR_ENTERO = 100;
+
+    private Montos() {
+    }
+
+    /**
+     * Convierte un importe decimal a unidades mínimas, redondeando al céntimo más cercano.
+     * @param monto Importe decimal
+     * @return el importe en unidades mínimas
+     */
+    public static long aUnidadesMinimas(double monto) {
+        return Math.round(monto * UNIDADES_POR_ENTERO);
+    }
+
+    /**
+     * Convierte un importe en unidades mínimas a decimal.
+     * @param unidadesMinimas Importe en unidades mínimas
+     * @return el importe decimal
+     */
+    public static double aDecimal(long unidadesMinimas) {
+        return (double) unidadesMinimas / UNIDADES_POR_ENTERO;
+    }
+
+    /**
+     * Convierte un importe en unidades mínimas a {@link BigDecimal} con la escala de la moneda.
+     * @param unidadesMinimas Importe en unidades mínimas
+     * @return el importe exacto
+     */
+    public static BigDecimal aBigDecimal(long unidadesMinimas) {
+        return BigDecimal.valueOf(unidadesMinimas, DECIMALES);
+    }
+}
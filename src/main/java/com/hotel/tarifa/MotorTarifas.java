@@ -0,0 +1,135 @@
+package com.hotel.tarifa;
+
+import com.hotel.model.Habitacion;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Motor de tarifas: calendarios de precio por noche para cada tipo de habitación y cotización de estancias.
+ * <p>
+ * Las tarifas se definen por tipo ("SUITE", "ESTANDAR"), no por habitación, así que un cambio de precio
+ * para miles de habitaciones del mismo tipo es una sola operación sobre su calendario. Las noches sin
+ * tarifa definida usan el precio por noche de la habitación. A la tarifa de cada noche se suma el recargo
+ * de la habitación (por ejemplo, jacuzzi o habitaciones adicionales de una {@link com.hotel.model.Suite}),
+ * es decir, la diferencia entre {@link Habitacion#calcularPrecioBase()} y su precio por noche.
+ * <p>
+ * Todos los importes son {@code long} en unidades mínimas ({@link Montos}). Las cotizaciones no asignan
+ * memoria ni toman bloqueos: leen el calendario publicado, que se reemplaza atómicamente en cada cambio.
+ */
+public class MotorTarifas {
+
+    private final ConcurrentMap<String, CalendarioTarifas> calendarios = new ConcurrentHashMap<>();
+
+    /**
+     * Fija la misma tarifa para todas las noches de {@code [desde, hasta)} de un tipo de habitación.
+     * @param tipo Tipo de habitación
+     * @param desde Primera noche
+     * @param hasta Noche siguiente a la última
+     * @param tarifa Tarifa por noche en unidades mínimas
+     */
+    public void establecerTarifa(String tipo, LocalDate desde, LocalDate hasta, long tarifa) {
+        if (tarifa < 0) {
+            throw new IllegalArgumentException("La tarifa no puede ser negativa");
+        }
+        calendarios.compute(clave(tipo), (t, actual) -> calendarioOVacio(actual)
+                .conTarifa(desde.toEpochDay(), hasta.toEpochDay(), tarifa));
+    }
+
+    /**
+     * Fija una tarifa por noche a partir de {@code desde} para un tipo de habitación
+     * (por ejemplo, el año completo calculado por el sistema de revenue).
+     * @param tipo Tipo de habitación
+     * @param desde Primera noche
+     * @param tarifasPorNoche Tarifa de cada noche en unidades mínimas, o {@link CalendarioTarifas#SIN_TARIFA}
+     */
+    public void establecerTarifasPorNoche(String tipo, LocalDate desde, long[] tarifasPorNoche) {
+        if (tarifasPorNoche.length == 0) {
+            return;
+        }
+        calendarios.compute(clave(tipo), (t, actual) -> calendarioOVacio(actual)
+                .conTarifasPorNoche(desde.toEpochDay(), tarifasPorNoche));
+    }
+
+    /**
+     * Aplica en bloque tarifas por noche a varios tipos de habitación a partir de la misma fecha.
+     * Cada tipo se publica de forma atómica; las cotizaciones ven el calendario anterior o el nuevo de cada tipo.
+     * @param tarifasPorTipo Tarifas por noche de cada tipo, en unidades mínimas
+     * @param desde Primera noche
+     */
+    public void actualizarEnLote(Map<String, long[]> tarifasPorTipo, LocalDate desde) {
+        tarifasPorTipo.forEach((tipo, tarifas) -> establecerTarifasPorNoche(tipo, desde, tarifas));
+    }
+
+    /**
+     * Elimina la tarifa de las noches {@code [desde, hasta)}, que vuelven a cotizarse con el precio base.
+     * @param tipo Tipo de habitación
+     * @param desde Primera noche
+     * @param hasta Noche siguiente a la última
+     */
+    public void quitarTarifa(String tipo, LocalDate desde, LocalDate hasta) {
+        calendarios.computeIfPresent(clave(tipo), (t, actual) -> actual
+                .conTarifa(desde.toEpochDay(), hasta.toEpochDay(), CalendarioTarifas.SIN_TARIFA));
+    }
+
+    /**
+     * Obtiene el calendario vigente de un tipo de habitación.
+     * @param tipo Tipo de habitación
+     * @return el calendario, vacío si el tipo no tiene tarifas
+     */
+    public CalendarioTarifas calendarioDe(String tipo) {
+        return calendarioOVacio(calendarios.get(clave(tipo)));
+    }
+
+    /**
+     * Cotiza una estancia en una habitación.
+     * @param habitacion La habitación
+     * @param checkIn Fecha de entrada
+     * @param checkOut Fecha de salida
+     * @return el importe total en unidades mínimas (0 si no hay noches)
+     */
+    public long cotizar(Habitacion habitacion, LocalDate checkIn, LocalDate checkOut) {
+        long precioPorNoche = Montos.aUnidadesMinimas(habitacion.getPrecioPorNoche());
+        long recargoPorNoche = Montos.aUnidadesMinimas(habitacion.calcularPrecioBase()) - precioPorNoche;
+        return cotizar(habitacion.getTipo(), precioPorNoche, recargoPorNoche,
+                checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    /**
+     * Cotiza una estancia a partir de los precios ya convertidos, para cotizar muchos resultados
+     * de búsqueda sin volver a consultar la habitación.
+     * @param tipo Tipo de habitación
+     * @param precioPorNoche Precio de las noches sin tarifa, en unidades mínimas
+     * @param recargoPorNoche Recargo que se suma a cada noche, en unidades mínimas
+     * @param desde Día epoch de la primera noche
+     * @param hasta Día epoch siguiente a la última noche
+     * @return el importe total en unidades mínimas (0 si no hay noches)
+     */
+    public long cotizar(String tipo, long precioPorNoche, long recargoPorNoche, long desde, long hasta) {
+        if (hasta <= desde) {
+            return 0;
+        }
+        CalendarioTarifas calendario = calendarios.get(tipo);
+        long noches = hasta - desde;
+        long tarifas = calendario != null
+                ? calendario.sumar(desde, hasta, precioPorNoche)
+                : Math.multiplyExact(precioPorNoche, noches);
+        return Math.addExact(tarifas, Math.multiplyExact(recargoPorNoche, noches));
+    }
+
+    // Métodos auxiliares
+    private static CalendarioTarifas calendarioOVacio(CalendarioTarifas calendario) {
+        return calendario != null ? calendario : CalendarioTarifas.VACIO;
+    }
+
+    /**
+     * Los tipos se guardan en mayúsculas, igual que los devuelve {@link Habitacion#getTipo()},
+     * para que la cotización pueda buscar el calendario sin normalizar.
+     */
+    private static String clave(String tipo) {
+        return tipo.toUpperCase(Locale.ROOT);
+    }
+}
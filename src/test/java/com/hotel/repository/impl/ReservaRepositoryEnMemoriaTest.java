@@ -0,0 +1,103 @@
+package com.hotel.repository.impl;
+
+import com.hotel.model.Cliente;
+import com.hotel.model.Habitacion;
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Reserva;
+import com.hotel.model.Reserva.EstadoReserva;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservaRepositoryEnMemoriaTest {
+
+    private final LocalDate hoy = LocalDate.now();
+    private final Cliente cliente = new Cliente("C1", "Ana", "ana@example.com", "600000000", "Calle Mayor 1");
+    private final Habitacion habitacion = new HabitacionEstandar("101", 80.0, 2, "Estándar", true, true, true);
+
+    @Test
+    void laPrimeraLlegadaPorEstadoSigueLosCambiosDeEstado() {
+        ReservaRepositoryEnMemoria reservas = new ReservaRepositoryEnMemoria();
+        Reserva antigua = reserva("R1", hoy.minusDays(5));
+        Reserva reciente = reserva("R2", hoy.minusDays(2));
+        reservas.guardar(reciente);
+        reservas.guardar(antigua);
+
+        assertEquals(Optional.of(antigua), reservas.buscarPrimeraPorFechaCheckIn(EstadoReserva.CONFIRMADA));
+
+        antigua.marcarNoShow();
+        reservas.guardar(antigua);
+
+        assertEquals(Optional.of(reciente), reservas.buscarPrimeraPorFechaCheckIn(EstadoReserva.CONFIRMADA));
+        assertEquals(Optional.of(antigua), reservas.buscarPrimeraPorFechaCheckIn(EstadoReserva.NO_SHOW));
+
+        reservas.eliminar(reciente.getId());
+
+        assertTrue(reservas.buscarPrimeraPorFechaCheckIn(EstadoReserva.CONFIRMADA).isEmpty());
+    }
+
+    @Test
+    void lasPaginasPorRangoIncluyenLasEstanciasLargasYSoloLasQueSeSolapan() {
+        ReservaRepositoryEnMemoria reservas = new ReservaRepositoryEnMemoria();
+        List<Reserva> todas = new ArrayList<>();
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            // Alguna estancia de un año entre muchas de pocas noches
+            int noches = i % 500 == 0 ? 365 : 1 + aleatorio.nextInt(7);
+            Reserva reserva = reserva(String.format("R%04d", i), hoy.plusDays(aleatorio.nextInt(1_000)), noches);
+            reservas.guardar(reserva);
+            todas.add(reserva);
+        }
+        for (int i = 0; i < 2_000; i += 3) {
+            reservas.eliminar(todas.get(i).getId());
+        }
+        todas.removeIf(reserva -> !reservas.existePorId(reserva.getId()));
+
+        for (int consulta = 0; consulta < 50; consulta++) {
+            LocalDate inicio = hoy.plusDays(aleatorio.nextInt(1_000));
+            LocalDate fin = inicio.plusDays(1 + aleatorio.nextInt(30));
+            List<String> esperadas = todas.stream()
+                    .filter(r -> r.getFechaCheckIn().isBefore(fin) && r.getFechaCheckOut().isAfter(inicio))
+                    .sorted(Comparator.comparing(Reserva::getFechaCheckIn).thenComparing(Reserva::getId))
+                    .map(Reserva::getId)
+                    .collect(Collectors.toList());
+
+            assertEquals(esperadas, ids(reservas.listarPorRangoFechas(inicio, fin)));
+
+            List<String> paginadas = new ArrayList<>();
+            Reserva ultima = null;
+            List<Reserva> pagina;
+            do {
+                pagina = reservas.listarPorRangoFechasDesde(inicio, fin,
+                        ultima != null ? ultima.getFechaCheckIn() : null, ultima != null ? ultima.getId() : null,
+                        null, 4);
+                paginadas.addAll(ids(pagina));
+                ultima = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1);
+            } while (pagina.size() == 4);
+            assertEquals(esperadas, paginadas);
+        }
+    }
+
+    // Métodos auxiliares
+    private Reserva reserva(String id, LocalDate checkIn) {
+        return reserva(id, checkIn, 3);
+    }
+
+    private Reserva reserva(String id, LocalDate checkIn, int noches) {
+        return Reserva.restaurar(id, cliente, habitacion, checkIn, checkIn.plusDays(noches), 1,
+                EstadoReserva.CONFIRMADA, 80.0 * noches, checkIn.minusDays(10), "");
+    }
+
+    private static List<String> ids(List<Reserva> reservas) {
+        return reservas.stream().map(Reserva::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,91 @@
+package com.hotel.service.impl;
+
+import com.hotel.dto.HabitacionDTO;
+import com.hotel.dto.ReservaDTO;
+import com.hotel.model.Cliente;
+import com.hotel.model.Habitacion;
+import com.hotel.model.HabitacionEstandar;
+import com.hotel.model.Reserva;
+import com.hotel.model.Reserva.EstadoReserva;
+import com.hotel.repository.impl.ClienteRepositoryEnMemoria;
+import com.hotel.repository.impl.HabitacionRepositoryEnMemoria;
+import com.hotel.repository.impl.ReservaRepositoryEnMemoria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservaServiceImplTest {
+
+    private static final String HABITACION = "101";
+
+    private final LocalDate hoy = LocalDate.now();
+    private ReservaRepositoryEnMemoria reservas;
+    private Cliente cliente;
+    private Habitacion habitacion;
+
+    @BeforeEach
+    void preparar() {
+        reservas = new ReservaRepositoryEnMemoria();
+        cliente = new Cliente("C1", "Ana", "ana@example.com", "600000000", "Calle Mayor 1");
+        habitacion = new HabitacionEstandar(HABITACION, 80.0, 2, "Estándar", true, true, true);
+    }
+
+    @Test
+    void cancelarUnaReservaNoPresentadaNoLiberaLasNochesReocupadas() {
+        // Llegó ayer y no se presentó; sus noches desde hoy quedan libres tras la auditoría
+        Reserva noPresentada = Reserva.restaurar("R1", cliente, habitacion, hoy.minusDays(1), hoy.plusDays(3), 1,
+                EstadoReserva.CONFIRMADA, 320.0, hoy.minusDays(10), "");
+        reservas.guardar(noPresentada);
+        ReservaServiceImpl servicio = crearServicio();
+
+        servicio.ejecutarAuditoriaNocturna(hoy.minusDays(1));
+        assertEquals(EstadoReserva.NO_SHOW, noPresentada.getEstado());
+
+        ReservaDTO nueva = servicio.crearReserva(solicitud(hoy, hoy.plusDays(3)));
+
+        assertThrows(IllegalStateException.class, () -> servicio.cancelarReserva(noPresentada.getId(), "Tarde"));
+        assertEquals(EstadoReserva.NO_SHOW, noPresentada.getEstado());
+        assertFalse(servicio.verificarDisponibilidad(HABITACION, hoy, hoy.plusDays(3)));
+        assertTrue(servicio.buscarHabitacionesDisponibles(hoy, hoy.plusDays(3)).stream()
+                .map(HabitacionDTO::getNumeroHabitacion)
+                .noneMatch(HABITACION::equals));
+        assertEquals(EstadoReserva.PENDIENTE.name(), servicio.buscarPorId(nueva.getId()).getEstado());
+    }
+
+    @Test
+    void cancelarUnaReservaLiberaSusNoches() {
+        ReservaServiceImpl servicio = crearServicio();
+        ReservaDTO reserva = servicio.crearReserva(solicitud(hoy.plusDays(5), hoy.plusDays(7)));
+        assertFalse(servicio.verificarDisponibilidad(HABITACION, hoy.plusDays(5), hoy.plusDays(7)));
+
+        servicio.cancelarReserva(reserva.getId(), "Cambio de planes");
+
+        assertTrue(servicio.verificarDisponibilidad(HABITACION, hoy.plusDays(5), hoy.plusDays(7)));
+        assertEquals(1, servicio.buscarHabitacionesDisponibles(hoy.plusDays(5), hoy.plusDays(7)).size());
+    }
+
+    // Métodos auxiliares
+    private ReservaServiceImpl crearServicio() {
+        ClienteRepositoryEnMemoria clientes = new ClienteRepositoryEnMemoria();
+        clientes.guardar(cliente);
+        HabitacionRepositoryEnMemoria habitaciones = new HabitacionRepositoryEnMemoria();
+        habitaciones.guardar(habitacion);
+        return new ReservaServiceImpl(reservas, clientes, habitaciones);
+    }
+
+    private ReservaDTO solicitud(LocalDate checkIn, LocalDate checkOut) {
+        ReservaDTO dto = new ReservaDTO();
+        dto.setClienteId(cliente.getId());
+        dto.setHabitacionNumero(HABITACION);
+        dto.setFechaCheckIn(checkIn);
+        dto.setFechaCheckOut(checkOut);
+        dto.setNumeroHuespedes(1);
+        return dto;
+    }
+}